@@ -13,6 +13,15 @@ CREATE TABLE IF NOT EXISTS clients (
     mot_de_passe_hash VARCHAR(255) NOT NULL
     );
 
+-- Agences : chaque compte est rattaché à une agence ('AG-000', le siège, par défaut).
+CREATE TABLE IF NOT EXISTS agences (
+    code VARCHAR(20) PRIMARY KEY,
+    nom VARCHAR(100) NOT NULL,
+    ville VARCHAR(100)
+    );
+
+INSERT IGNORE INTO agences (code, nom, ville) VALUES ('AG-000', 'Siège', NULL);
+
 -- Table pour les comptes
 -- Si elle existe déjà, vous devrez peut-être la DROPper et la recréer si les colonnes changent
 -- ou utiliser ALTER TABLE pour ajouter/modifier des colonnes.
@@ -20,13 +29,17 @@ CREATE TABLE IF NOT EXISTS clients (
 -- DROP TABLE IF EXISTS comptes;
 CREATE TABLE IF NOT EXISTS comptes (
                                        numero VARCHAR(50) PRIMARY KEY,
-    solde DOUBLE NOT NULL DEFAULT 0.0,
+    solde_centimes BIGINT NOT NULL DEFAULT 0, -- Montants en centimes (entiers exacts), voir util/Montant
     date_ouverture DATE NOT NULL,
     client_id VARCHAR(50) NOT NULL, -- Clé étrangère vers la table clients
     type_compte VARCHAR(20) NOT NULL, -- 'COURANT' ou 'EPARGNE'
-    decouvert_autorise DOUBLE, -- Applicable seulement pour les comptes courants
+    decouvert_autorise_centimes BIGINT, -- Applicable seulement pour les comptes courants
     taux_interet DOUBLE,      -- Applicable seulement pour les comptes épargne
-    FOREIGN KEY (client_id) REFERENCES clients(id)
+    code_agence VARCHAR(20) NOT NULL DEFAULT 'AG-000', -- Agence de rattachement
+    FOREIGN KEY (client_id) REFERENCES clients(id),
+    FOREIGN KEY (code_agence) REFERENCES agences(code),
+    INDEX idx_comptes_type_numero (type_compte, numero), -- Parcours par lots des comptes d'un type (intérêts)
+    INDEX idx_comptes_agence_numero (code_agence, numero) -- Comptes d'une agence, par lots
     );
 
 -- Table pour les administrateurs (aucune modification)
@@ -40,11 +53,84 @@ CREATE TABLE IF NOT EXISTS admins (
 CREATE TABLE IF NOT EXISTS transactions (
                                             id VARCHAR(50) PRIMARY KEY,
     type_transaction VARCHAR(20) NOT NULL, -- 'DEBIT', 'CREDIT', 'TRANSFERT'
-    montant DOUBLE NOT NULL,
+    montant_centimes BIGINT NOT NULL,
     date_transaction DATETIME NOT NULL,
     description VARCHAR(255),
     compte_source_numero VARCHAR(50) NOT NULL, -- Numéro du compte source
     compte_destination_numero VARCHAR(50), -- Numéro du compte destination (nullable si type_transaction est DEBIT/CREDIT)
     FOREIGN KEY (compte_source_numero) REFERENCES comptes(numero),
-    FOREIGN KEY (compte_destination_numero) REFERENCES comptes(numero)
+    FOREIGN KEY (compte_destination_numero) REFERENCES comptes(numero),
+    -- Index composites pour l'historique paginé (ordre date DESC, id DESC) :
+    -- une page ne lit que ses propres lignes, quelle que soit l'ancienneté du compte.
+    INDEX idx_transactions_source_date (compte_source_numero, date_transaction, id),
+    INDEX idx_transactions_destination_date (compte_destination_numero, date_transaction, id)
     );
+
+-- Pour une base existante, créer les index de l'historique paginé :
+-- ALTER TABLE transactions
+--     ADD INDEX idx_transactions_source_date (compte_source_numero, date_transaction, id),
+--     ADD INDEX idx_transactions_destination_date (compte_destination_numero, date_transaction, id);
+
+-- Pour une base existante : ALTER TABLE comptes ADD INDEX idx_comptes_type_numero (type_compte, numero);
+
+-- Pour une base existante, rattacher les comptes au siège (après création de la table agences) :
+-- ALTER TABLE comptes
+--     ADD COLUMN code_agence VARCHAR(20) NOT NULL DEFAULT 'AG-000',
+--     ADD FOREIGN KEY (code_agence) REFERENCES agences(code),
+--     ADD INDEX idx_comptes_agence_numero (code_agence, numero);
+
+-- Intérêts déjà versés, un enregistrement par compte épargne et par période (ex: '2024-05').
+-- Sert à rendre le calcul des intérêts de fin de mois rejouable sans double versement.
+CREATE TABLE IF NOT EXISTS interets_verses (
+    periode CHAR(7) NOT NULL,
+    numero_compte VARCHAR(50) NOT NULL,
+    montant_centimes BIGINT NOT NULL,
+    date_versement DATETIME NOT NULL,
+    PRIMARY KEY (periode, numero_compte) -- Pas de clé étrangère : un compte soldé puis supprimé garde sa trace
+    );
+
+-- Notifications des clients, écrites par lots en arrière-plan (voir NotificationService).
+-- Une ligne peut regrouper plusieurs opérations rapprochées d'un même client.
+CREATE TABLE IF NOT EXISTS notifications (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    client_id VARCHAR(50) NOT NULL, -- Pas de clé étrangère : contrôle inutile sur une écriture en masse
+    contenu VARCHAR(500) NOT NULL,
+    nombre_operations INT NOT NULL,
+    date_creation DATETIME NOT NULL,
+    lue BOOLEAN NOT NULL DEFAULT FALSE,
+    INDEX idx_notifications_client_date (client_id, date_creation, id) -- Dernières notifications d'un client
+    );
+
+-- Synthèse des comptes de chaque client, tenue à jour dans la même transaction que les soldes
+-- (voir PortefeuilleService) et vérifiée par ReconciliationPortefeuilles.
+CREATE TABLE IF NOT EXISTS portefeuilles (
+    client_id VARCHAR(50) PRIMARY KEY,
+    comptes_courants INT NOT NULL DEFAULT 0,
+    comptes_epargne INT NOT NULL DEFAULT 0,
+    solde_courants_centimes BIGINT NOT NULL DEFAULT 0,
+    solde_epargne_centimes BIGINT NOT NULL DEFAULT 0,
+    decouvert_utilise_centimes BIGINT NOT NULL DEFAULT 0, -- Somme des soldes négatifs des comptes courants
+    FOREIGN KEY (client_id) REFERENCES clients(id) ON DELETE CASCADE
+    );
+
+-- Pour une base existante, remplir les synthèses à partir des comptes (ou lancer ReconciliationPortefeuilles avec correction) :
+-- INSERT INTO portefeuilles (client_id, comptes_courants, comptes_epargne, solde_courants_centimes, solde_epargne_centimes, decouvert_utilise_centimes)
+-- SELECT client_id,
+--        SUM(CASE WHEN type_compte = 'COURANT' THEN 1 ELSE 0 END),
+--        SUM(CASE WHEN type_compte = 'EPARGNE' THEN 1 ELSE 0 END),
+--        SUM(CASE WHEN type_compte = 'COURANT' THEN solde_centimes ELSE 0 END),
+--        SUM(CASE WHEN type_compte = 'EPARGNE' THEN solde_centimes ELSE 0 END),
+--        SUM(CASE WHEN type_compte = 'COURANT' AND solde_centimes < 0 THEN -solde_centimes ELSE 0 END)
+-- FROM comptes GROUP BY client_id;
+
+-- Pour une base existante, convertir les montants DOUBLE en centimes (BIGINT), arrondis au centime :
+-- ALTER TABLE comptes
+--     ADD COLUMN solde_centimes BIGINT NOT NULL DEFAULT 0 AFTER solde,
+--     ADD COLUMN decouvert_autorise_centimes BIGINT AFTER decouvert_autorise;
+-- UPDATE comptes SET solde_centimes = ROUND(solde * 100), decouvert_autorise_centimes = ROUND(decouvert_autorise * 100);
+-- ALTER TABLE comptes DROP COLUMN solde, DROP COLUMN decouvert_autorise;
+-- ALTER TABLE transactions ADD COLUMN montant_centimes BIGINT NOT NULL DEFAULT 0 AFTER montant;
+-- UPDATE transactions SET montant_centimes = ROUND(montant * 100);
+-- ALTER TABLE transactions DROP COLUMN montant, ALTER COLUMN montant_centimes DROP DEFAULT;
+-- UPDATE interets_verses SET montant = ROUND(montant * 100);
+-- ALTER TABLE interets_verses CHANGE montant montant_centimes BIGINT NOT NULL;
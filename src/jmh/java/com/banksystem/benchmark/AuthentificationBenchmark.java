@@ -0,0 +1,74 @@
+// src/jmh/java/com/banksystem/benchmark/AuthentificationBenchmark.java
+package com.banksystem.benchmark;
+
+import com.banksystem.exception.AuthentificationException;
+import com.banksystem.model.Client;
+import com.banksystem.service.AuthentificationService;
+import com.banksystem.service.GestionMotDePasse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connexion d'un client : recherche par email puis vérification BCrypt.
+ * Le coût est dominé par BCrypt ; le cas "email inconnu" montre la part de la base seule.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {EnvironnementBenchmark.URL_H2_MEMOIRE, EnvironnementBenchmark.UTILISATEUR_H2,
+        EnvironnementBenchmark.SANS_LIMITE_TENTATIVES})
+@State(Scope.Benchmark)
+public class AuthentificationBenchmark {
+
+    private static final String MOT_DE_PASSE = "motDePasseBenchmark";
+
+    private AuthentificationService authentificationService;
+    private String email;
+
+    @Setup(Level.Trial)
+    public void preparer() throws SQLException, IOException {
+        EnvironnementBenchmark.preparerBase();
+        authentificationService = new AuthentificationService();
+        Client client = EnvironnementBenchmark.creerClient(new GestionMotDePasse().hasher(MOT_DE_PASSE));
+        email = client.getEmail();
+    }
+
+    @Benchmark
+    public Client connexionReussie() {
+        return authentificationService.authentifierClient(email, MOT_DE_PASSE);
+    }
+
+    @Benchmark
+    public boolean mauvaisMotDePasse() {
+        try {
+            authentificationService.authentifierClient(email, "mauvais");
+            return true;
+        } catch (AuthentificationException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean emailInconnu() {
+        try {
+            authentificationService.authentifierClient("inconnu@bench.local", MOT_DE_PASSE);
+            return true;
+        } catch (AuthentificationException e) {
+            return false;
+        }
+    }
+}
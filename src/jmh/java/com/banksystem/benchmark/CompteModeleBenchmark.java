@@ -0,0 +1,56 @@
+// src/jmh/java/com/banksystem/benchmark/CompteModeleBenchmark.java
+package com.banksystem.benchmark;
+
+import com.banksystem.model.CompteCourant;
+import com.banksystem.model.CompteEpargne;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Méthodes du modèle Compte, sans base de données.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompteModeleBenchmark {
+
+    private CompteCourant compteCourant;
+    private CompteEpargne compteEpargne;
+
+    @Setup
+    public void preparer() {
+        EnvironnementBenchmark.reduireJournal();
+        compteCourant = new CompteCourant("CC-BENCH", 100_000, null, 50_000);
+        compteEpargne = new CompteEpargne("CE-BENCH", 1_234_567, null, 1.5);
+    }
+
+    @Benchmark
+    public long depotPuisRetrait() {
+        compteCourant.deposer(1_250);
+        compteCourant.retirer(1_250);
+        return compteCourant.getSoldeCentimes();
+    }
+
+    @Benchmark
+    public long calculerInterets() {
+        return compteEpargne.calculerInterets();
+    }
+
+    @Benchmark
+    public String versChaine() {
+        return compteCourant.toString();
+    }
+}
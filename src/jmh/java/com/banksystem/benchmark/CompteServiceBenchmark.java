@@ -0,0 +1,84 @@
+// src/jmh/java/com/banksystem/benchmark/CompteServiceBenchmark.java
+package com.banksystem.benchmark;
+
+import com.banksystem.model.Client;
+import com.banksystem.model.Compte;
+import com.banksystem.service.CompteService;
+import com.banksystem.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dépôts, retraits et virements via les services, sur H2 en mémoire.
+ * Les comptes sont tirés au hasard parmi nombreComptes : avec peu de comptes et plusieurs threads (-t),
+ * le benchmark mesure la contention sur les mêmes lignes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {EnvironnementBenchmark.URL_H2_MEMOIRE, EnvironnementBenchmark.UTILISATEUR_H2})
+@State(Scope.Benchmark)
+public class CompteServiceBenchmark {
+
+    private static final long MONTANT_CENTIMES = 1_000;
+
+    @Param({"100"})
+    public int nombreComptes;
+
+    private CompteService compteService;
+    private TransactionService transactionService;
+    private String[] numeros;
+
+    @Setup(Level.Trial)
+    public void preparer() throws SQLException, IOException {
+        EnvironnementBenchmark.preparerBase();
+        compteService = new CompteService();
+        transactionService = new TransactionService();
+        Client client = EnvironnementBenchmark.creerClient("non-utilise");
+        // Solde et découvert suffisants pour toute la durée de la mesure
+        List<Compte> comptes = EnvironnementBenchmark.creerComptesCourants(client, nombreComptes, 1_000_000_000_00L);
+        numeros = new String[comptes.size()];
+        for (int i = 0; i < numeros.length; i++) {
+            numeros[i] = comptes.get(i).getNumero();
+        }
+    }
+
+    private String compteAuHasard() {
+        return numeros[ThreadLocalRandom.current().nextInt(numeros.length)];
+    }
+
+    @Benchmark
+    public void deposer() throws SQLException {
+        compteService.deposer(compteAuHasard(), MONTANT_CENTIMES);
+    }
+
+    @Benchmark
+    public void retirer() throws SQLException {
+        compteService.retirer(compteAuHasard(), MONTANT_CENTIMES);
+    }
+
+    @Benchmark
+    public void effectuerVirement() throws SQLException {
+        ThreadLocalRandom aleatoire = ThreadLocalRandom.current();
+        int source = aleatoire.nextInt(numeros.length);
+        int destination = (source + 1 + aleatoire.nextInt(numeros.length - 1)) % numeros.length;
+        transactionService.effectuerVirement(numeros[source], numeros[destination], MONTANT_CENTIMES, "Virement benchmark");
+    }
+}
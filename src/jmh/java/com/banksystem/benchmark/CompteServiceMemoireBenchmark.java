@@ -0,0 +1,12 @@
+// src/jmh/java/com/banksystem/benchmark/CompteServiceMemoireBenchmark.java
+package com.banksystem.benchmark;
+
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * Mêmes opérations que {@link CompteServiceBenchmark}, avec le moteur de stockage en mémoire :
+ * l'écart entre les deux mesure le coût de la base (connexion, SQL, commit) dans chaque opération.
+ */
+@Fork(value = 1, jvmArgsAppend = {EnvironnementBenchmark.STOCKAGE_MEMOIRE})
+public class CompteServiceMemoireBenchmark extends CompteServiceBenchmark {
+}
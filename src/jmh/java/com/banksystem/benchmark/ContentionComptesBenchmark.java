@@ -0,0 +1,128 @@
+// src/jmh/java/com/banksystem/benchmark/ContentionComptesBenchmark.java
+package com.banksystem.benchmark;
+
+import com.banksystem.exception.SoldeInsuffisantException;
+import com.banksystem.model.Client;
+import com.banksystem.model.Compte;
+import com.banksystem.model.Transaction;
+import com.banksystem.service.CompteService;
+import com.banksystem.service.TransactionService;
+import com.banksystem.util.VerrousComptes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Test de charge des verrous de comptes : de nombreux threads font des dépôts, retraits et virements
+ * croisés sur quelques comptes "chauds". À la fin de l'essai, la somme des soldes doit être égale à la somme
+ * initiale plus les dépôts moins les retraits réussis, et le solde de chaque compte doit être égal à son solde
+ * initial plus les transactions enregistrées pour lui : sinon l'essai échoue (IllegalStateException).
+ * Les métriques des verrous (attentes, temps d'attente maximal) sont affichées à la fin de l'essai.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {EnvironnementBenchmark.URL_H2_MEMOIRE, EnvironnementBenchmark.UTILISATEUR_H2,
+        "-Dbanksystem.db.pool.max=16"})
+@Threads(16)
+@State(Scope.Benchmark)
+public class ContentionComptesBenchmark {
+
+    private static final long SOLDE_INITIAL_CENTIMES = 1_000_000_00L;
+
+    @Param({"2", "8"})
+    public int nombreComptes;
+
+    private CompteService compteService;
+    private TransactionService transactionService;
+    private String[] numeros;
+    private final LongAdder deposeCentimes = new LongAdder();
+    private final LongAdder retireCentimes = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void preparer() throws SQLException, IOException {
+        EnvironnementBenchmark.preparerBase();
+        compteService = new CompteService();
+        transactionService = new TransactionService();
+        Client client = EnvironnementBenchmark.creerClient("non-utilise");
+        List<Compte> comptes = EnvironnementBenchmark.creerComptesCourants(client, nombreComptes, SOLDE_INITIAL_CENTIMES);
+        numeros = new String[comptes.size()];
+        for (int i = 0; i < numeros.length; i++) {
+            numeros[i] = comptes.get(i).getNumero();
+        }
+    }
+
+    @Benchmark
+    public void operationAuHasard() throws SQLException {
+        ThreadLocalRandom aleatoire = ThreadLocalRandom.current();
+        int source = aleatoire.nextInt(numeros.length);
+        long montant = 1 + aleatoire.nextInt(10_000);
+        int tirage = aleatoire.nextInt(10);
+        try {
+            if (tirage < 2) {
+                compteService.deposer(numeros[source], montant);
+                deposeCentimes.add(montant);
+            } else if (tirage < 4) {
+                compteService.retirer(numeros[source], montant);
+                retireCentimes.add(montant);
+            } else {
+                int destination = (source + 1 + aleatoire.nextInt(numeros.length - 1)) % numeros.length;
+                transactionService.effectuerVirement(numeros[source], numeros[destination], montant, "Virement de charge");
+            }
+        } catch (SoldeInsuffisantException e) {
+            // Refus attendu lorsqu'un compte est vidé : l'opération n'a rien modifié.
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void verifierConservation() throws SQLException {
+        long attendu = SOLDE_INITIAL_CENTIMES * numeros.length + deposeCentimes.sum() - retireCentimes.sum();
+        long total = 0;
+        for (String numero : numeros) {
+            long solde = compteService.getCompte(numero).getSoldeCentimes();
+            long selonHistorique = SOLDE_INITIAL_CENTIMES;
+            for (Transaction transaction : transactionService.getHistoriqueTransactions(numero)) {
+                selonHistorique += variation(transaction, numero);
+            }
+            if (solde != selonHistorique) {
+                throw new IllegalStateException("Solde du compte " + numero + " incohérent avec ses transactions : " + solde
+                        + " centimes au lieu de " + selonHistorique + ".");
+            }
+            total += solde;
+        }
+        System.out.println(VerrousComptes.getMetriques());
+        if (total != attendu) {
+            throw new IllegalStateException("Somme des soldes incohérente : " + total + " centimes au lieu de " + attendu + ".");
+        }
+    }
+
+    private static long variation(Transaction transaction, String numero) {
+        switch (transaction.getType()) {
+            case "CREDIT":
+                return transaction.getMontantCentimes();
+            case "DEBIT":
+                return -transaction.getMontantCentimes();
+            default: // TRANSFERT
+                return numero.equals(transaction.getNumeroCompteSource()) ? -transaction.getMontantCentimes() : transaction.getMontantCentimes();
+        }
+    }
+}
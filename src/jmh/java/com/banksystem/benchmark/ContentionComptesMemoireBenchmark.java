@@ -0,0 +1,12 @@
+// src/jmh/java/com/banksystem/benchmark/ContentionComptesMemoireBenchmark.java
+package com.banksystem.benchmark;
+
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * Même test de charge que {@link ContentionComptesBenchmark}, avec le moteur de stockage en mémoire :
+ * sans base, l'attente se concentre sur les verrous de comptes.
+ */
+@Fork(value = 1, jvmArgsAppend = {EnvironnementBenchmark.STOCKAGE_MEMOIRE})
+public class ContentionComptesMemoireBenchmark extends ContentionComptesBenchmark {
+}
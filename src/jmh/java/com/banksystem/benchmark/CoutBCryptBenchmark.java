@@ -0,0 +1,52 @@
+// src/jmh/java/com/banksystem/benchmark/CoutBCryptBenchmark.java
+package com.banksystem.benchmark;
+
+import com.banksystem.service.GestionMotDePasse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temps d'une vérification BCrypt selon le coût, sans base de données : la table sert à choisir
+ * -Dbanksystem.bcrypt.cout pour la latence de connexion visée (chaque point double le temps).
+ * GestionMotDePasse.calibrerCout fait ce choix automatiquement (BankApplication --calibrer-bcrypt=100).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CoutBCryptBenchmark {
+
+    private static final String MOT_DE_PASSE = "motDePasseBenchmark";
+
+    @Param({"8", "10", "11", "12", "13"})
+    public int cout;
+
+    private GestionMotDePasse gestionMotDePasse;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        EnvironnementBenchmark.reduireJournal();
+        gestionMotDePasse = new GestionMotDePasse(cout);
+        hash = gestionMotDePasse.hasher(MOT_DE_PASSE);
+    }
+
+    @Benchmark
+    public boolean verifier() {
+        return gestionMotDePasse.verifier(MOT_DE_PASSE, hash);
+    }
+}
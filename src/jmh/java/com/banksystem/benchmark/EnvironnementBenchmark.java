@@ -0,0 +1,157 @@
+// src/jmh/java/com/banksystem/benchmark/EnvironnementBenchmark.java
+package com.banksystem.benchmark;
+
+import com.banksystem.dao.FabriqueRepositories;
+import com.banksystem.dao.TransactionRepository;
+import com.banksystem.model.Client;
+import com.banksystem.model.Compte;
+import com.banksystem.model.CompteCourant;
+import com.banksystem.model.Transaction;
+import com.banksystem.util.DatabaseConnection;
+import com.banksystem.util.Journal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Préparation commune des benchmarks : base H2 embarquée à la place de MySQL, schéma, jeux de données.
+ * <p>
+ * Les paramètres de connexion sont lus une seule fois par DatabaseConnection : ils sont donc passés
+ * à la JVM de mesure (@Fork(jvmArgsAppend = ...)) et non positionnés depuis le code.
+ */
+final class EnvironnementBenchmark {
+
+    /** Base H2 en mémoire, compatible MySQL, conservée tant que la JVM de mesure tourne. */
+    static final String URL_H2_MEMOIRE = "-Dbanksystem.db.url=jdbc:h2:mem:banque;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    /** Base H2 sur disque, pour les volumes qui ne tiennent pas dans le tas (export de millions de lignes). */
+    static final String URL_H2_FICHIER = "-Dbanksystem.db.url=jdbc:h2:file:./target/jmh-db/banque;MODE=MySQL;DATABASE_TO_LOWER=TRUE;LAZY_QUERY_EXECUTION=TRUE";
+    static final String UTILISATEUR_H2 = "-Dbanksystem.db.user=sa";
+    /** Moteur de stockage en mémoire à la place de JDBC (aucune base). */
+    static final String STOCKAGE_MEMOIRE = "-Dbanksystem.stockage=memoire";
+    /** Sans limite de tentatives de connexion : les benchmarks répètent la même connexion des milliers de fois. */
+    static final String SANS_LIMITE_TENTATIVES = "-Dbanksystem.auth.tentatives.max=0";
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static boolean schemaCree;
+
+    private EnvironnementBenchmark() {
+    }
+
+    /**
+     * Crée le schéma (schema-h2.sql) s'il n'existe pas encore. Sans effet avec le stockage en mémoire.
+     */
+    static synchronized void preparerBase() throws SQLException, IOException {
+        reduireJournal();
+        // Journal des actions (ouvert à la première opération) sous target/ plutôt que dans le répertoire courant
+        if (System.getProperty("banksystem.wal.repertoire") == null) {
+            System.setProperty("banksystem.wal.repertoire", "target/jmh-journal-actions");
+        }
+        if (schemaCree || FabriqueRepositories.getStockage() == FabriqueRepositories.Stockage.MEMOIRE) {
+            return;
+        }
+        Connection connection = null;
+        Statement statement = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.createStatement();
+            for (String instruction : lireScript("/schema-h2.sql")) {
+                statement.execute(instruction);
+            }
+            schemaCree = true;
+        } finally {
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Ne garde que les avertissements et erreurs : les messages INFO des services (un par opération)
+     * occuperaient le thread d'écriture du journal pendant la mesure.
+     */
+    static void reduireJournal() {
+        Journal.setNiveau(Journal.Niveau.AVERTISSEMENT);
+    }
+
+    /**
+     * Retourne un identifiant unique dans la JVM de mesure (ex: "BV-12").
+     */
+    static String identifiant(String prefixe) {
+        return prefixe + "-" + SEQUENCE.incrementAndGet();
+    }
+
+    static Client creerClient(String motDePasseHash) throws SQLException {
+        String id = identifiant("CL");
+        Client client = new Client(id, "Bench", "Client " + id, id.toLowerCase() + "@bench.local", "0600000000", "1 rue du Test", motDePasseHash);
+        FabriqueRepositories.clients().addClient(client);
+        return client;
+    }
+
+    /**
+     * Crée des comptes courants avec un solde et un découvert assez élevés pour qu'aucun débit
+     * du benchmark n'échoue faute de fonds.
+     */
+    static List<Compte> creerComptesCourants(Client client, int nombre, long soldeCentimes) throws SQLException {
+        List<Compte> comptes = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            comptes.add(new CompteCourant(identifiant("CC"), soldeCentimes, client, soldeCentimes));
+        }
+        FabriqueRepositories.comptes().addComptes(comptes);
+        return comptes;
+    }
+
+    /**
+     * Ajoute nombre virements alternés entre deux comptes, par lots, avec des dates croissantes.
+     */
+    static void creerHistorique(String numeroA, String numeroB, long nombre) throws SQLException {
+        TransactionRepository transactionDAO = FabriqueRepositories.transactions();
+        LocalDateTime debut = LocalDateTime.now().minusSeconds(nombre);
+        List<Transaction> lot = new ArrayList<>(10_000);
+        for (long i = 0; i < nombre; i++) {
+            boolean aller = i % 2 == 0;
+            lot.add(new Transaction(identifiant("T"), "TRANSFERT", 100 + i % 1_000, debut.plusSeconds(i),
+                    "Virement de test " + i, aller ? numeroA : numeroB, aller ? numeroB : numeroA));
+            if (lot.size() == 10_000) {
+                transactionDAO.addTransactions(lot);
+                lot.clear();
+            }
+        }
+        if (!lot.isEmpty()) {
+            transactionDAO.addTransactions(lot);
+        }
+    }
+
+    private static List<String> lireScript(String ressource) throws IOException {
+        InputStream flux = EnvironnementBenchmark.class.getResourceAsStream(ressource);
+        if (flux == null) {
+            throw new IOException("Ressource introuvable : " + ressource);
+        }
+        List<String> instructions = new ArrayList<>();
+        try (BufferedReader lecteur = new BufferedReader(new InputStreamReader(flux, StandardCharsets.UTF_8))) {
+            StringBuilder courante = new StringBuilder();
+            String ligne;
+            while ((ligne = lecteur.readLine()) != null) {
+                if (ligne.trim().startsWith("--")) {
+                    continue;
+                }
+                courante.append(ligne).append('\n');
+                if (ligne.trim().endsWith(";")) {
+                    instructions.add(courante.toString().trim().replaceAll(";$", ""));
+                    courante.setLength(0);
+                }
+            }
+        }
+        return instructions;
+    }
+}
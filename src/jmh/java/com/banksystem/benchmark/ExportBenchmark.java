@@ -0,0 +1,107 @@
+// src/jmh/java/com/banksystem/benchmark/ExportBenchmark.java
+package com.banksystem.benchmark;
+
+import com.banksystem.dao.CompteDAO;
+import com.banksystem.model.Client;
+import com.banksystem.model.CompteCourant;
+import com.banksystem.model.Compte;
+import com.banksystem.service.ExportTransactionsService;
+import com.banksystem.util.DatabaseConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Export en flux de tout l'historique d'un compte avec un tas volontairement limité (-Xmx64m) :
+ * si l'export matérialisait la liste, la mesure échouerait en OutOfMemoryError.
+ * Les lignes sont dans une base H2 sur disque (target/jmh-db), créées au premier lancement et réutilisées.
+ * Le volume cible est 10 millions de lignes ; la première exécution les crée (plusieurs minutes).
+ * Essai rapide : java -jar target/benchmarks.jar Export -p lignes=1000000
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {EnvironnementBenchmark.URL_H2_FICHIER, EnvironnementBenchmark.UTILISATEUR_H2, "-Xmx64m"})
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    @Param({"10000000"})
+    public long lignes;
+
+    private ExportTransactionsService exportService;
+    private String numeroCompte;
+
+    @Setup(Level.Trial)
+    public void preparer() throws SQLException, IOException {
+        EnvironnementBenchmark.preparerBase();
+        exportService = new ExportTransactionsService();
+        // Un compte par volume : les lignes déjà créées par un lancement précédent sont réutilisées.
+        numeroCompte = "EXPORT-" + lignes;
+        String numeroContrepartie = "EXPORT-" + lignes + "-B";
+        CompteDAO compteDAO = new CompteDAO();
+        if (!compteDAO.existeCompte(numeroCompte)) {
+            Client client = EnvironnementBenchmark.creerClient("non-utilise");
+            List<Compte> comptes = new ArrayList<>();
+            comptes.add(new CompteCourant(numeroCompte, 0, client, 0));
+            comptes.add(new CompteCourant(numeroContrepartie, 0, client, 0));
+            compteDAO.addComptes(comptes);
+        }
+        long existantes = compterTransactions(numeroCompte);
+        if (existantes < lignes) {
+            EnvironnementBenchmark.creerHistorique(numeroCompte, numeroContrepartie, lignes - existantes);
+        }
+    }
+
+    private static long compterTransactions(String numeroCompte) throws SQLException {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement("SELECT COUNT(*) FROM transactions WHERE compte_source_numero = ? OR compte_destination_numero = ?");
+            statement.setString(1, numeroCompte);
+            statement.setString(2, numeroCompte);
+            resultSet = statement.executeQuery();
+            resultSet.next();
+            return resultSet.getLong(1);
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+    }
+
+    @Benchmark
+    public long exporterCsv() throws SQLException, IOException {
+        return exportService.exporterCsv(numeroCompte, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public long exporterJsonLignes() throws SQLException, IOException {
+        return exportService.exporterJsonLignes(numeroCompte, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,89 @@
+// src/jmh/java/com/banksystem/benchmark/HistoriqueBenchmark.java
+package com.banksystem.benchmark;
+
+import com.banksystem.dao.CompteDAO;
+import com.banksystem.dao.TransactionDAO;
+import com.banksystem.model.Client;
+import com.banksystem.model.Compte;
+import com.banksystem.model.CritereHistorique;
+import com.banksystem.model.PageTransactions;
+import com.banksystem.model.Transaction;
+import com.banksystem.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Historique des transactions d'un compte selon l'ancienneté du compte (tailleHistorique) :
+ * chargement complet par jointure, première page en pagination par clé, et chargement "N+1"
+ * (une requête compte + client par ligne, caches désactivés), tel que le faisait l'ancien chargeur.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {EnvironnementBenchmark.URL_H2_MEMOIRE, EnvironnementBenchmark.UTILISATEUR_H2})
+@State(Scope.Benchmark)
+public class HistoriqueBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int tailleHistorique;
+
+    private TransactionService transactionService;
+    private TransactionDAO transactionDAO;
+    private CompteDAO compteDAO;
+    private String numeroCompte;
+
+    @Setup(Level.Trial)
+    public void preparer() throws SQLException, IOException {
+        EnvironnementBenchmark.preparerBase();
+        transactionService = new TransactionService();
+        transactionDAO = new TransactionDAO();
+        compteDAO = new CompteDAO();
+        Client client = EnvironnementBenchmark.creerClient("non-utilise");
+        List<Compte> comptes = EnvironnementBenchmark.creerComptesCourants(client, 2, 0);
+        numeroCompte = comptes.get(0).getNumero();
+        EnvironnementBenchmark.creerHistorique(numeroCompte, comptes.get(1).getNumero(), tailleHistorique);
+    }
+
+    @Benchmark
+    public List<Transaction> historiqueComplet() throws SQLException {
+        return transactionService.getHistoriqueTransactions(numeroCompte);
+    }
+
+    @Benchmark
+    public PageTransactions premierePage() throws SQLException {
+        return transactionService.getHistoriqueTransactions(numeroCompte, new CritereHistorique(20));
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {EnvironnementBenchmark.URL_H2_MEMOIRE, EnvironnementBenchmark.UTILISATEUR_H2,
+            "-Dbanksystem.cache.comptes.dureeVieMs=0", "-Dbanksystem.cache.clients.dureeVieMs=0"})
+    public List<Compte> historiqueNPlusUn() throws SQLException, IOException {
+        List<Compte> comptes = new ArrayList<>();
+        transactionDAO.parcourirTransactions(numeroCompte, transaction -> {
+            try {
+                comptes.add(compteDAO.getCompteByNumero(transaction.getNumeroCompteSource()).orElse(null));
+                comptes.add(compteDAO.getCompteByNumero(transaction.getNumeroCompteDestination()).orElse(null));
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+        });
+        return comptes;
+    }
+}
@@ -0,0 +1,49 @@
+// src/jmh/java/com/banksystem/benchmark/IdentifiantsBenchmark.java
+package com.banksystem.benchmark;
+
+import com.banksystem.util.Identifiants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de génération d'un identifiant par plusieurs threads à la fois : ancien format (8 caractères d'un
+ * UUID aléatoire, tiré de SecureRandom) contre les générateurs aléatoire et ordonné de Identifiants.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class IdentifiantsBenchmark {
+
+    private final Identifiants.Generateur aleatoire = Identifiants.aleatoire();
+    private final Identifiants.Generateur ordonne = Identifiants.ordonne(1);
+
+    @Benchmark
+    public String uuidTronque() {
+        return "T-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    public String aleatoire() {
+        return aleatoire.nouveau("T-");
+    }
+
+    @Benchmark
+    public String ordonne() {
+        return ordonne.nouveau("T-");
+    }
+}
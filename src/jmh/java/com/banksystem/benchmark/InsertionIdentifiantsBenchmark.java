@@ -0,0 +1,142 @@
+// src/jmh/java/com/banksystem/benchmark/InsertionIdentifiantsBenchmark.java
+package com.banksystem.benchmark;
+
+import com.banksystem.dao.CompteDAO;
+import com.banksystem.dao.TransactionDAO;
+import com.banksystem.model.Client;
+import com.banksystem.model.Compte;
+import com.banksystem.model.CompteCourant;
+import com.banksystem.model.Transaction;
+import com.banksystem.util.DatabaseConnection;
+import com.banksystem.util.Identifiants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit d'insertion par lots dans une table des transactions déjà volumineuse, selon le générateur
+ * d'identifiants (clé primaire) : aléatoire, les insertions touchent des pages dispersées dans l'index ;
+ * ordonné, elles s'ajoutent en fin d'index. Les lignes existantes sont créées avec le même générateur et un
+ * préfixe propre ("TA-" ou "TO-") : chaque générateur remplit sa propre plage de l'index.
+ * Les lignes sont dans une base H2 sur disque (target/jmh-db), créées au premier lancement et réutilisées ;
+ * H2 range aussi les lignes selon la clé primaire, l'écart est à confirmer sur MySQL/InnoDB.
+ * Volume cible : java -jar target/benchmarks.jar InsertionIdentifiants -p lignes=10000000
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {EnvironnementBenchmark.URL_H2_FICHIER, EnvironnementBenchmark.UTILISATEUR_H2})
+@State(Scope.Benchmark)
+public class InsertionIdentifiantsBenchmark {
+
+    private static final int NOMBRE_LIGNES = 1_000;
+    private static final int TAILLE_LOT = 500;
+
+    @Param({"aleatoire", "ordonne"})
+    public String generateur;
+
+    @Param({"1000000"})
+    public long lignes;
+
+    private TransactionDAO transactionDAO;
+    private Identifiants.Generateur identifiants;
+    private String prefixe;
+    private String numeroSource;
+    private String numeroDestination;
+    private List<Transaction> transactions;
+
+    @Setup(Level.Trial)
+    public void preparer() throws SQLException, IOException {
+        EnvironnementBenchmark.preparerBase();
+        transactionDAO = new TransactionDAO();
+        identifiants = "ordonne".equals(generateur) ? Identifiants.ordonne(1) : Identifiants.aleatoire();
+        prefixe = "ordonne".equals(generateur) ? "TO-" : "TA-";
+        // Deux comptes par générateur : les lignes d'un lancement précédent sont réutilisées.
+        numeroSource = "IDS-" + generateur;
+        numeroDestination = "IDS-" + generateur + "-B";
+        CompteDAO compteDAO = new CompteDAO();
+        if (!compteDAO.existeCompte(numeroSource)) {
+            Client client = EnvironnementBenchmark.creerClient("non-utilise");
+            List<Compte> comptes = new ArrayList<>();
+            comptes.add(new CompteCourant(numeroSource, 0, client, 0));
+            comptes.add(new CompteCourant(numeroDestination, 0, client, 0));
+            compteDAO.addComptes(comptes);
+        }
+        long existantes = compterTransactions(numeroSource);
+        List<Transaction> lot = new ArrayList<>(10_000);
+        for (long i = existantes; i < lignes; i++) {
+            lot.add(nouvelleTransaction(LocalDateTime.now()));
+            if (lot.size() == 10_000) {
+                transactionDAO.addTransactions(lot);
+                lot.clear();
+            }
+        }
+        if (!lot.isEmpty()) {
+            transactionDAO.addTransactions(lot);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void preparerLignes() {
+        // Identifiants générés hors de la mesure : seule l'insertion est comparée.
+        LocalDateTime maintenant = LocalDateTime.now();
+        transactions = new ArrayList<>(NOMBRE_LIGNES);
+        for (int i = 0; i < NOMBRE_LIGNES; i++) {
+            transactions.add(nouvelleTransaction(maintenant));
+        }
+    }
+
+    private Transaction nouvelleTransaction(LocalDateTime date) {
+        return new Transaction(identifiants.nouveau(prefixe), "TRANSFERT", 100, date, "Insertion benchmark",
+                numeroSource, numeroDestination);
+    }
+
+    private static long compterTransactions(String numeroCompte) throws SQLException {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement("SELECT COUNT(*) FROM transactions WHERE compte_source_numero = ?");
+            statement.setString(1, numeroCompte);
+            resultSet = statement.executeQuery();
+            resultSet.next();
+            return resultSet.getLong(1);
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOMBRE_LIGNES)
+    public boolean[] parLots() throws SQLException {
+        return transactionDAO.addTransactions(transactions, TAILLE_LOT);
+    }
+}
@@ -0,0 +1,90 @@
+// src/jmh/java/com/banksystem/benchmark/InsertionLotsBenchmark.java
+package com.banksystem.benchmark;
+
+import com.banksystem.dao.TransactionDAO;
+import com.banksystem.model.Client;
+import com.banksystem.model.Compte;
+import com.banksystem.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit d'insertion des transactions : ligne par ligne (addTransaction, une connexion et un commit
+ * par ligne) contre les lots JDBC (addTransactions) pour différentes tailles de lot.
+ * Chaque invocation insère NOMBRE_LIGNES transactions ; le score est exprimé par ligne.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {EnvironnementBenchmark.URL_H2_MEMOIRE, EnvironnementBenchmark.UTILISATEUR_H2})
+@State(Scope.Benchmark)
+public class InsertionLotsBenchmark {
+
+    private static final int NOMBRE_LIGNES = 1_000;
+
+    @Param({"100", "500"})
+    public int tailleLot;
+
+    private TransactionDAO transactionDAO;
+    private String numeroSource;
+    private String numeroDestination;
+    private List<Transaction> transactions;
+
+    @Setup(Level.Trial)
+    public void preparer() throws SQLException, IOException {
+        EnvironnementBenchmark.preparerBase();
+        transactionDAO = new TransactionDAO();
+        Client client = EnvironnementBenchmark.creerClient("non-utilise");
+        List<Compte> comptes = EnvironnementBenchmark.creerComptesCourants(client, 2, 0);
+        numeroSource = comptes.get(0).getNumero();
+        numeroDestination = comptes.get(1).getNumero();
+    }
+
+    @Setup(Level.Invocation)
+    public void preparerLignes() {
+        // Identifiants neufs à chaque invocation (clé primaire) ; préparés hors de la mesure.
+        LocalDateTime maintenant = LocalDateTime.now();
+        transactions = new ArrayList<>(NOMBRE_LIGNES);
+        for (int i = 0; i < NOMBRE_LIGNES; i++) {
+            transactions.add(new Transaction(EnvironnementBenchmark.identifiant("TL"), "TRANSFERT", 100, maintenant,
+                    "Insertion benchmark", numeroSource, numeroDestination));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOMBRE_LIGNES)
+    public int ligneParLigne() throws SQLException {
+        int inserees = 0;
+        for (Transaction transaction : transactions) {
+            if (transactionDAO.addTransaction(transaction)) {
+                inserees++;
+            }
+        }
+        return inserees;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOMBRE_LIGNES)
+    public boolean[] parLots() throws SQLException {
+        return transactionDAO.addTransactions(transactions, tailleLot);
+    }
+}
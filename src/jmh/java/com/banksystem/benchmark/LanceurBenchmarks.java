@@ -0,0 +1,46 @@
+// src/jmh/java/com/banksystem/benchmark/LanceurBenchmarks.java
+package com.banksystem.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Point d'entrée de target/benchmarks.jar. Accepte les options habituelles de JMH
+ * (filtre de benchmarks, -p, -f, -t, -prof...) et écrit par défaut les résultats en JSON
+ * dans target/jmh-resultats.json pour la comparaison entre versions.
+ */
+public final class LanceurBenchmarks {
+
+    private static final String FICHIER_RESULTATS = "target/jmh-resultats.json";
+
+    private LanceurBenchmarks() {
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException, CommandLineOptionException {
+        CommandLineOptions ligneDeCommande = new CommandLineOptions(args);
+        if (ligneDeCommande.shouldHelp()) {
+            ligneDeCommande.showHelp();
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(ligneDeCommande);
+        if (!ligneDeCommande.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!ligneDeCommande.getResult().hasValue()) {
+            options.result(FICHIER_RESULTATS);
+        }
+        Runner runner = new Runner(options.build());
+        if (ligneDeCommande.shouldList()) {
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
@@ -0,0 +1,98 @@
+// src/jmh/java/com/banksystem/benchmark/MontantBenchmark.java
+package com.banksystem.benchmark;
+
+import com.banksystem.util.Montant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arithmétique monétaire : centimes en long (Montant) comparés au double et à BigDecimal,
+ * sur une suite de dépôts et de retraits avec contrôle de découvert, comme dans Compte.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MontantBenchmark {
+
+    private static final int NOMBRE_MOUVEMENTS = 1_024;
+
+    private long[] mouvementsCentimes;
+    private double[] mouvementsDouble;
+    private BigDecimal[] mouvementsBigDecimal;
+    private final BigDecimal decouvertBigDecimal = BigDecimal.valueOf(-50_000, 2);
+
+    @Setup
+    public void preparer() {
+        Random aleatoire = new Random(42);
+        mouvementsCentimes = new long[NOMBRE_MOUVEMENTS];
+        mouvementsDouble = new double[NOMBRE_MOUVEMENTS];
+        mouvementsBigDecimal = new BigDecimal[NOMBRE_MOUVEMENTS];
+        for (int i = 0; i < NOMBRE_MOUVEMENTS; i++) {
+            long centimes = (aleatoire.nextInt(20_000) + 1) * (i % 2 == 0 ? 1L : -1L);
+            mouvementsCentimes[i] = centimes;
+            mouvementsDouble[i] = centimes / 100.0;
+            mouvementsBigDecimal[i] = BigDecimal.valueOf(centimes, 2);
+        }
+    }
+
+    @Benchmark
+    public long centimesLong() {
+        long solde = 0;
+        for (long mouvement : mouvementsCentimes) {
+            long nouveauSolde = Montant.ajouter(solde, mouvement);
+            if (nouveauSolde >= -50_000) {
+                solde = nouveauSolde;
+            }
+        }
+        return solde;
+    }
+
+    @Benchmark
+    public double eurosDouble() {
+        double solde = 0;
+        for (double mouvement : mouvementsDouble) {
+            double nouveauSolde = solde + mouvement;
+            if (nouveauSolde >= -500.0) {
+                solde = nouveauSolde;
+            }
+        }
+        return solde;
+    }
+
+    @Benchmark
+    public BigDecimal eurosBigDecimal() {
+        BigDecimal solde = BigDecimal.ZERO;
+        for (BigDecimal mouvement : mouvementsBigDecimal) {
+            BigDecimal nouveauSolde = solde.add(mouvement);
+            if (nouveauSolde.compareTo(decouvertBigDecimal) >= 0) {
+                solde = nouveauSolde;
+            }
+        }
+        return solde;
+    }
+
+    @Benchmark
+    public String formaterCentimes() {
+        return Montant.formater(mouvementsCentimes[17]);
+    }
+
+    @Benchmark
+    public String formaterBigDecimal() {
+        return mouvementsBigDecimal[17].toPlainString();
+    }
+}
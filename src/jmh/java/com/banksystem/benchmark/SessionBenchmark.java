@@ -0,0 +1,71 @@
+// src/jmh/java/com/banksystem/benchmark/SessionBenchmark.java
+package com.banksystem.benchmark;
+
+import com.banksystem.exception.SessionInvalideException;
+import com.banksystem.model.Client;
+import com.banksystem.model.Session;
+import com.banksystem.service.GestionMotDePasse;
+import com.banksystem.service.SessionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation d'un jeton de session, à comparer à AuthentificationBenchmark (BCrypt à chaque requête).
+ * Le jeton falsifié mesure le rejet sur la seule signature.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {EnvironnementBenchmark.STOCKAGE_MEMOIRE, EnvironnementBenchmark.SANS_LIMITE_TENTATIVES})
+@Threads(4)
+@State(Scope.Benchmark)
+public class SessionBenchmark {
+
+    private static final String MOT_DE_PASSE = "motDePasseBenchmark";
+
+    private SessionService sessionService;
+    private String jeton;
+    private String jetonFalsifie;
+
+    @Setup(Level.Trial)
+    public void preparer() throws SQLException, IOException {
+        EnvironnementBenchmark.preparerBase();
+        sessionService = new SessionService();
+        Client client = EnvironnementBenchmark.creerClient(new GestionMotDePasse().hasher(MOT_DE_PASSE));
+        Session session = sessionService.connecterClient(client.getEmail(), MOT_DE_PASSE);
+        jeton = session.getJeton();
+        // Un caractère modifié au milieu de la signature (le dernier ne porte en partie que du bourrage Base64)
+        int position = jeton.length() - 10;
+        jetonFalsifie = jeton.substring(0, position) + (jeton.charAt(position) == 'A' ? 'B' : 'A') + jeton.substring(position + 1);
+    }
+
+    @Benchmark
+    public Session validerJeton() {
+        return sessionService.valider(jeton);
+    }
+
+    @Benchmark
+    public boolean rejeterJetonFalsifie() {
+        try {
+            sessionService.valider(jetonFalsifie);
+            return true;
+        } catch (SessionInvalideException e) {
+            return false;
+        }
+    }
+}
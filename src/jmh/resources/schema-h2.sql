@@ -0,0 +1,87 @@
+-- Schéma de DataBase.sql adapté à H2 (mode MySQL), utilisé par les benchmarks JMH.
+-- H2 ne gère pas les INDEX déclarés dans CREATE TABLE : ils sont créés séparément.
+-- À tenir à jour avec DataBase.sql.
+
+CREATE TABLE IF NOT EXISTS clients (
+    id VARCHAR(50) PRIMARY KEY,
+    nom VARCHAR(100) NOT NULL,
+    prenom VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    telephone VARCHAR(20),
+    adresse VARCHAR(255),
+    mot_de_passe_hash VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS agences (
+    code VARCHAR(20) PRIMARY KEY,
+    nom VARCHAR(100) NOT NULL,
+    ville VARCHAR(100)
+);
+
+MERGE INTO agences (code, nom, ville) KEY (code) VALUES ('AG-000', 'Siège', NULL);
+
+CREATE TABLE IF NOT EXISTS comptes (
+    numero VARCHAR(50) PRIMARY KEY,
+    solde_centimes BIGINT NOT NULL DEFAULT 0,
+    date_ouverture DATE NOT NULL,
+    client_id VARCHAR(50) NOT NULL,
+    type_compte VARCHAR(20) NOT NULL,
+    decouvert_autorise_centimes BIGINT,
+    taux_interet DOUBLE,
+    code_agence VARCHAR(20) NOT NULL DEFAULT 'AG-000',
+    FOREIGN KEY (client_id) REFERENCES clients(id),
+    FOREIGN KEY (code_agence) REFERENCES agences(code)
+);
+
+CREATE INDEX IF NOT EXISTS idx_comptes_type_numero ON comptes (type_compte, numero);
+CREATE INDEX IF NOT EXISTS idx_comptes_agence_numero ON comptes (code_agence, numero);
+
+CREATE TABLE IF NOT EXISTS admins (
+    id VARCHAR(50) PRIMARY KEY,
+    login VARCHAR(50) NOT NULL UNIQUE,
+    mot_de_passe_hash VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id VARCHAR(50) PRIMARY KEY,
+    type_transaction VARCHAR(20) NOT NULL,
+    montant_centimes BIGINT NOT NULL,
+    date_transaction DATETIME NOT NULL,
+    description VARCHAR(255),
+    compte_source_numero VARCHAR(50) NOT NULL,
+    compte_destination_numero VARCHAR(50),
+    FOREIGN KEY (compte_source_numero) REFERENCES comptes(numero),
+    FOREIGN KEY (compte_destination_numero) REFERENCES comptes(numero)
+);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_source_date ON transactions (compte_source_numero, date_transaction, id);
+CREATE INDEX IF NOT EXISTS idx_transactions_destination_date ON transactions (compte_destination_numero, date_transaction, id);
+
+CREATE TABLE IF NOT EXISTS interets_verses (
+    periode CHAR(7) NOT NULL,
+    numero_compte VARCHAR(50) NOT NULL,
+    montant_centimes BIGINT NOT NULL,
+    date_versement DATETIME NOT NULL,
+    PRIMARY KEY (periode, numero_compte)
+);
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    client_id VARCHAR(50) NOT NULL,
+    contenu VARCHAR(500) NOT NULL,
+    nombre_operations INT NOT NULL,
+    date_creation DATETIME NOT NULL,
+    lue BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_client_date ON notifications (client_id, date_creation, id);
+
+CREATE TABLE IF NOT EXISTS portefeuilles (
+    client_id VARCHAR(50) PRIMARY KEY,
+    comptes_courants INT NOT NULL DEFAULT 0,
+    comptes_epargne INT NOT NULL DEFAULT 0,
+    solde_courants_centimes BIGINT NOT NULL DEFAULT 0,
+    solde_epargne_centimes BIGINT NOT NULL DEFAULT 0,
+    decouvert_utilise_centimes BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (client_id) REFERENCES clients(id) ON DELETE CASCADE
+);
@@ -3,31 +3,62 @@ package com.banksystem.app;
 
 import com.banksystem.model.Client;
 import com.banksystem.model.Admin;
+import com.banksystem.model.AgregatsAgence;
 import com.banksystem.model.Compte;
 import com.banksystem.model.CompteCourant;
 import com.banksystem.model.CompteEpargne;
-import com.banksystem.model.Transaction;
+import com.banksystem.model.CritereHistorique;
+import com.banksystem.model.Notification;
+import com.banksystem.model.PageTransactions;
+import com.banksystem.model.Session;
+import com.banksystem.service.AgenceService;
 import com.banksystem.service.AuthentificationService;
 import com.banksystem.service.GestionMotDePasse;
+import com.banksystem.service.JournalisationActions;
+import com.banksystem.service.MoteurInterets;
+import com.banksystem.service.NotificationService;
+import com.banksystem.service.PortefeuilleService;
+import com.banksystem.service.ReconciliationPortefeuilles;
+import com.banksystem.service.SessionService;
 import com.banksystem.service.CompteService;     // Nouveau service
+import com.banksystem.service.ExecuteurServices;
 import com.banksystem.service.TransactionService; // Nouveau service
-import com.banksystem.dao.ClientDAO;
 import com.banksystem.dao.AdminDAO;
+import com.banksystem.dao.AdminRepository;
+import com.banksystem.dao.ClientDAO;
+import com.banksystem.dao.ClientRepository;
+import com.banksystem.dao.CompteDAO;
+import com.banksystem.dao.FabriqueRepositories;
 import com.banksystem.exception.AuthentificationException;
 import com.banksystem.exception.CompteNonTrouveException;
 import com.banksystem.exception.SoldeInsuffisantException;
+import com.banksystem.util.DatabaseConnection;
+import com.banksystem.util.Identifiants;
+import com.banksystem.util.Journal;
+import com.banksystem.util.Montant;
 
 import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID; // Pour générer des IDs uniques
+import java.util.concurrent.CompletableFuture;
 
 public class BankApplication {
 
     public static void main(String[] args) {
+        // Mode calibration : --calibrer-bcrypt=<ms> affiche le coût BCrypt à configurer pour cette machine
+        for (String argument : args) {
+            if (argument.startsWith("--calibrer-bcrypt=")) {
+                long cibleMillis = Long.parseLong(argument.substring("--calibrer-bcrypt=".length()));
+                int cout = GestionMotDePasse.calibrerCout(cibleMillis);
+                System.out.println("Coût BCrypt conseillé pour " + cibleMillis + " ms par vérification : -Dbanksystem.bcrypt.cout=" + cout);
+                return;
+            }
+        }
         AuthentificationService authService = new AuthentificationService();
         GestionMotDePasse passwordManager = new GestionMotDePasse();
-        ClientDAO clientDAO = new ClientDAO();
-        AdminDAO adminDAO = new AdminDAO();
+        ClientRepository clientDAO = FabriqueRepositories.clients();
+        AdminRepository adminDAO = FabriqueRepositories.admins();
         CompteService compteService = new CompteService(); // Nouveau
         TransactionService transactionService = new TransactionService(); // Nouveau
 
@@ -45,7 +76,7 @@ public class BankApplication {
             String client1Email = "client1@example.com";
             if (!clientDAO.getClientByEmail(client1Email).isPresent()) {
                 String clientPassHash = passwordManager.hasher("pass123");
-                client1 = new Client("C-" + UUID.randomUUID().toString().substring(0, 8), "Doe", "John", client1Email, "0601020304", "10 Rue A", clientPassHash);
+                client1 = new Client(Identifiants.nouveau("C-"), "Doe", "John", client1Email, "0601020304", "10 Rue A", clientPassHash);
                 clientDAO.addClient(client1);
                 System.out.println("Client 1 ajouté : " + client1.getNomComplet());
             } else {
@@ -56,14 +87,14 @@ public class BankApplication {
             // Charger les comptes existants du client si présents
             List<Compte> existingComptes = compteService.getCompteDAO().getComptesByClientId(client1.getId());
             if (existingComptes.isEmpty()) {
-                compte1 = compteService.creerCompteCourant(client1, 1000.0, 200.0);
-                compte2 = compteService.creerCompteEpargne(client1, 500.0, 1.5);
+                compte1 = compteService.creerCompteCourant(client1, Montant.deEuros(1000.0), Montant.deEuros(200.0));
+                compte2 = compteService.creerCompteEpargne(client1, Montant.deEuros(500.0), 1.5);
             } else {
                 compte1 = existingComptes.get(0); // On suppose qu'il y a au moins un compte
                 if (existingComptes.size() > 1) {
                     compte2 = existingComptes.get(1); // On suppose qu'il y a un deuxième
                 } else {
-                    compte2 = compteService.creerCompteEpargne(client1, 500.0, 1.5); // Si un seul, en créer un deuxième
+                    compte2 = compteService.creerCompteEpargne(client1, Montant.deEuros(500.0), 1.5); // Si un seul, en créer un deuxième
                 }
                 System.out.println("Comptes du client 1 chargés.");
             }
@@ -73,7 +104,7 @@ public class BankApplication {
             String client2Email = "client2@example.com";
             if (!clientDAO.getClientByEmail(client2Email).isPresent()) {
                 String client2PassHash = passwordManager.hasher("pass456");
-                client2 = new Client("C-" + UUID.randomUUID().toString().substring(0, 8), "Smith", "Jane", client2Email, "0701020304", "20 Rue B", client2PassHash);
+                client2 = new Client(Identifiants.nouveau("C-"), "Smith", "Jane", client2Email, "0701020304", "20 Rue B", client2PassHash);
                 clientDAO.addClient(client2);
                 System.out.println("Client 2 ajouté : " + client2.getNomComplet());
             } else {
@@ -83,7 +114,7 @@ public class BankApplication {
 
             List<Compte> existingComptes2 = compteService.getCompteDAO().getComptesByClientId(client2.getId());
             if (existingComptes2.isEmpty()) {
-                compte3 = compteService.creerCompteCourant(client2, 200.0, 50.0);
+                compte3 = compteService.creerCompteCourant(client2, Montant.deEuros(200.0), Montant.deEuros(50.0));
             } else {
                 compte3 = existingComptes2.get(0);
                 System.out.println("Compte du client 2 chargé.");
@@ -94,7 +125,7 @@ public class BankApplication {
             String adminLogin = "superadmin";
             if (!adminDAO.getAdminByLogin(adminLogin).isPresent()) {
                 String adminPassHash = passwordManager.hasher("adminpass");
-                Admin testAdmin = new Admin("A-" + UUID.randomUUID().toString().substring(0, 8), adminLogin, adminPassHash);
+                Admin testAdmin = new Admin(Identifiants.nouveau("A-"), adminLogin, adminPassHash);
                 adminDAO.addAdmin(testAdmin);
                 System.out.println("Admin de test ajouté : " + testAdmin.getLogin());
             } else {
@@ -121,30 +152,44 @@ public class BankApplication {
             System.out.println("Authentification Client échouée : " + e.getMessage());
         }
 
+        // --- Sessions : une seule vérification du mot de passe, puis le jeton ---
+        System.out.println("\n--- Sessions ---");
+        SessionService sessionService = new SessionService(authService);
+        try {
+            Session session = sessionService.connecterClient("client1@example.com", "pass123");
+            System.out.println("Session ouverte : " + session);
+            System.out.println("Jeton validé pour : " + sessionService.valider(session.getJeton()).getClient().getNomComplet());
+            sessionService.revoquer(session.getJeton());
+            sessionService.valider(session.getJeton());
+        } catch (AuthentificationException e) {
+            System.out.println("Jeton refusé : " + e.getMessage());
+        }
+
         // --- Tests des opérations sur les comptes ---
         System.out.println("\n--- Tests des opérations sur les comptes ---");
         if (compte1 != null) {
             try {
-                System.out.println("Solde initial compte 1 (" + compte1.getNumero() + ") : " + compte1.getSolde());
-                compteService.deposer(compte1.getNumero(), 50.0);
-                System.out.println("Nouveau solde compte 1 après dépôt: " + compteService.getCompte(compte1.getNumero()).getSolde());
+                System.out.println("Solde initial compte 1 (" + compte1.getNumero() + ") : " + Montant.formater(compte1.getSoldeCentimes()));
+                compteService.deposer(compte1.getNumero(), Montant.deEuros(50.0));
+                System.out.println("Nouveau solde compte 1 après dépôt: " + Montant.formater(compteService.getCompte(compte1.getNumero()).getSoldeCentimes()));
 
-                compteService.retirer(compte1.getNumero(), 100.0);
-                System.out.println("Nouveau solde compte 1 après retrait: " + compteService.getCompte(compte1.getNumero()).getSolde());
+                compteService.retirer(compte1.getNumero(), Montant.deEuros(100.0));
+                System.out.println("Nouveau solde compte 1 après retrait: " + Montant.formater(compteService.getCompte(compte1.getNumero()).getSoldeCentimes()));
 
                 // Tentative de retrait dépassant le découvert
                 try {
-                    compteService.retirer(compte1.getNumero(), 1500.0); // Devrait échouer
+                    compteService.retirer(compte1.getNumero(), Montant.deEuros(1500.0)); // Devrait échouer
                 } catch (SoldeInsuffisantException e) {
                     System.out.println("Retrait échoué (attendu) : " + e.getMessage());
                 }
 
                 if (compte2 != null) {
-                    System.out.println("Solde initial compte 2 (" + compte2.getNumero() + ") : " + compte2.getSolde());
-                    double interets = ((CompteEpargne)compte2).calculerInterets();
-                    System.out.println("Intérêts calculés pour compte 2 : " + interets + " EUR");
-                    compteService.deposer(compte2.getNumero(), interets); // Ajout des intérêts
-                    System.out.println("Nouveau solde compte 2 après ajout intérêts: " + compteService.getCompte(compte2.getNumero()).getSolde());
+                    System.out.println("Solde initial compte 2 (" + compte2.getNumero() + ") : " + Montant.formater(compte2.getSoldeCentimes()));
+                    System.out.println("Intérêts mensuels attendus pour compte 2 : " + Montant.formater(Montant.appliquerTaux(compte2.getSoldeCentimes(), ((CompteEpargne) compte2).getTauxInteret(), 12)) + " EUR");
+                    // Versement des intérêts du mois à tous les comptes épargne (idempotent : une seule fois par mois)
+                    MoteurInterets moteurInterets = new MoteurInterets();
+                    moteurInterets.verserInterets(YearMonth.now());
+                    System.out.println("Nouveau solde compte 2 après versement des intérêts: " + Montant.formater(compteService.getCompte(compte2.getNumero()).getSoldeCentimes()));
                 }
 
             } catch (CompteNonTrouveException | SoldeInsuffisantException | IllegalArgumentException | SQLException e) {
@@ -158,13 +203,13 @@ public class BankApplication {
         // MODIFICATION ICI : Ajout de la vérification pour compte3
         if (compte1 != null && compte2 != null && compte3 != null) {
             try {
-                System.out.println("Avant virement (C1->C2) : C1=" + compte1.getSolde() + ", C2=" + compte2.getSolde());
-                transactionService.effectuerVirement(compte1.getNumero(), compte2.getNumero(), 50.0, "Transfert test");
-                System.out.println("Après virement (C1->C2) : C1=" + compteService.getCompte(compte1.getNumero()).getSolde() + ", C2=" + compteService.getCompte(compte2.getNumero()).getSolde());
+                System.out.println("Avant virement (C1->C2) : C1=" + Montant.formater(compte1.getSoldeCentimes()) + ", C2=" + Montant.formater(compte2.getSoldeCentimes()));
+                transactionService.effectuerVirement(compte1.getNumero(), compte2.getNumero(), Montant.deEuros(50.0), "Transfert test");
+                System.out.println("Après virement (C1->C2) : C1=" + Montant.formater(compteService.getCompte(compte1.getNumero()).getSoldeCentimes()) + ", C2=" + Montant.formater(compteService.getCompte(compte2.getNumero()).getSoldeCentimes()));
 
                 // Test de virement échoué (solde insuffisant)
                 try {
-                    transactionService.effectuerVirement(compte1.getNumero(), compte3.getNumero(), 2000.0, "Virement trop grand");
+                    transactionService.effectuerVirement(compte1.getNumero(), compte3.getNumero(), Montant.deEuros(2000.0), "Virement trop grand");
                 } catch (SoldeInsuffisantException e) {
                     System.out.println("Virement échoué (attendu) : " + e.getMessage());
                 }
@@ -193,7 +238,7 @@ public class BankApplication {
             // Créer un compte temporaire avec solde nul pour la suppression
             Client tempClient = new Client("C-TEMP", "Temp", "Client", "temp@example.com", "000", "Temp", passwordManager.hasher("temp"));
             clientDAO.addClient(tempClient);
-            Compte compteTemp = compteService.creerCompteCourant(tempClient, 0.0, 0.0);
+            Compte compteTemp = compteService.creerCompteCourant(tempClient, Montant.deEuros(0.0), Montant.deEuros(0.0));
             System.out.println("Compte temporaire créé : " + compteTemp.getNumero());
 
             boolean compteTempSupprime = compteService.supprimerCompte(compteTemp.getNumero());
@@ -222,17 +267,98 @@ public class BankApplication {
             e.printStackTrace();
         }
 
+        // --- Opérations concurrentes sur threads virtuels ---
+        System.out.println("\n--- Opérations concurrentes (threads virtuels) ---");
+        if (compte1 != null && compte3 != null) {
+            try (ExecuteurServices executeur = new ExecuteurServices()) {
+                // Virements croisés 1.00 EUR aller-retour : le solde net de chaque compte ne change pas
+                List<CompletableFuture<Void>> operations = new ArrayList<>();
+                for (int i = 0; i < 100; i++) {
+                    operations.add(executeur.effectuerVirement(compte1.getNumero(), compte3.getNumero(), 100, "Virement concurrent aller " + i));
+                    operations.add(executeur.effectuerVirement(compte3.getNumero(), compte1.getNumero(), 100, "Virement concurrent retour " + i));
+                }
+                CompletableFuture.allOf(operations.toArray(new CompletableFuture[0]))
+                        .exceptionally(e -> null) // Les échecs individuels sont comptés par l'exécuteur
+                        .join();
+                System.out.println(executeur);
+                System.out.println("Solde final " + compte1.getNumero() + " : " + Montant.formater(compteService.getCompte(compte1.getNumero()).getSoldeCentimes()) + " EUR");
+                System.out.println("Solde final " + compte3.getNumero() + " : " + Montant.formater(compteService.getCompte(compte3.getNumero()).getSoldeCentimes()) + " EUR");
+            } catch (SQLException | CompteNonTrouveException e) {
+                System.err.println("Erreur lors des opérations concurrentes : " + e.getMessage());
+            }
+        }
+
         // --- Test de l'historique des transactions ---
         System.out.println("\n--- Historique des transactions ---");
         if (compte1 != null) {
             try {
-                List<Transaction> transactionsC1 = transactionService.getHistoriqueTransactions(compte1.getNumero());
-                System.out.println("Historique pour le compte " + compte1.getNumero() + " (" + transactionsC1.size() + " transactions) :");
-                transactionsC1.forEach(t -> System.out.println("  - [" + t.getDate() + "] " + t.getType() + ": " + t.getMontant() + " EUR - " + t.getDescription()));
+                // Lecture paginée : chaque page repart du curseur de la précédente
+                CritereHistorique critere = new CritereHistorique(20);
+                System.out.println("Historique pour le compte " + compte1.getNumero() + " :");
+                PageTransactions page;
+                do {
+                    page = transactionService.getHistoriqueTransactions(compte1.getNumero(), critere);
+                    page.getTransactions().forEach(t -> System.out.println("  - [" + t.getDate() + "] " + t.getType() + ": " + Montant.formater(t.getMontantCentimes()) + " EUR - " + t.getDescription()));
+                    critere.setApres(page.getSuivant());
+                } while (page.aUnePageSuivante());
             } catch (SQLException e) {
                 System.err.println("Erreur lors de la récupération de l'historique : " + e.getMessage());
                 e.printStackTrace();
             }
         }
+
+        // --- Notifications (écrites en arrière-plan, regroupées par client) ---
+        System.out.println("\n--- Notifications ---");
+        NotificationService.vider(2_000);
+        if (client1 != null) {
+            try {
+                for (Notification notification : NotificationService.getNotifications(client1.getId(), 5)) {
+                    System.out.println("  - [" + notification.getDateCreation() + "] " + notification.getContenu());
+                }
+            } catch (SQLException e) {
+                System.err.println("Erreur lors de la récupération des notifications : " + e.getMessage());
+            }
+        }
+        System.out.println(NotificationService.getMetriques());
+
+        // --- Tableau de bord des agences (agrégats tenus à jour à chaque mouvement, sans SUM sur la table) ---
+        System.out.println("\n--- Agences ---");
+        try {
+            for (AgregatsAgence agregats : new AgenceService().getTableauDeBord()) {
+                System.out.println("  - " + agregats);
+            }
+        } catch (SQLException e) {
+            System.err.println("Erreur lors du calcul des agrégats des agences : " + e.getMessage());
+        }
+
+        // --- Synthèse des avoirs d'un client (une lecture par clé) et vérification de toutes les synthèses ---
+        System.out.println("\n--- Portefeuilles ---");
+        try {
+            if (client1 != null) {
+                System.out.println("  " + new PortefeuilleService().getPortefeuille(client1.getId()));
+            }
+            System.out.println("  " + new ReconciliationPortefeuilles().reconcilier(false));
+        } catch (SQLException e) {
+            System.err.println("Erreur lors de la vérification des portefeuilles : " + e.getMessage());
+        }
+
+        // --- Statistiques du pool de connexions et des caches ---
+        Journal.vider(1_000); // Les messages des services sont écrits en arrière-plan : les laisser passer avant le bilan
+        System.out.println("\n--- Authentification ---");
+        System.out.println(AuthentificationService.getMetriques());
+        System.out.println(SessionService.getMetriques());
+        if (JournalisationActions.getJournal() != null) {
+            System.out.println("\n--- Journal des actions ---");
+            System.out.println(JournalisationActions.getJournal());
+        }
+        if (FabriqueRepositories.getStockage() == FabriqueRepositories.Stockage.JDBC) {
+            System.out.println("\n--- Pool de connexions et caches ---");
+            System.out.println(DatabaseConnection.getMetriquesPool());
+            System.out.println(CompteDAO.getCache());
+            System.out.println(ClientDAO.getCache());
+            System.out.println(ClientDAO.getFiltreEmails());
+            System.out.println(AdminDAO.getFiltreLogins());
+            DatabaseConnection.fermerPool();
+        }
     }
-}
+}
\ No newline at end of file
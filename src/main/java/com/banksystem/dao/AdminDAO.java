@@ -3,11 +3,22 @@ package com.banksystem.dao;
 
 import com.banksystem.model.Admin;
 import com.banksystem.util.DatabaseConnection;
+import com.banksystem.util.FiltreBloom;
+import com.banksystem.util.Journal;
 
 import java.sql.*;
 import java.util.Optional;
 
-public class AdminDAO {
+public class AdminDAO implements AdminRepository {
+
+    private static final Journal JOURNAL = Journal.pour(AdminDAO.class);
+
+    // Filtre des logins existants, comme celui des emails de ClientDAO : désactivé par défaut, réservé à une
+    // instance seule à écrire dans la base (-Dbanksystem.filtres.actifs=true) et rechargé à son expiration.
+    private static final FiltreBloom FILTRE_LOGINS = Boolean.getBoolean("banksystem.filtres.actifs")
+            ? new FiltreBloom("logins", Integer.getInteger("banksystem.filtres.logins.capacite", 10_000), 0.01,
+                    Long.getLong("banksystem.filtres.dureeVieMs", 300_000L))
+            : null;
 
     /**
      * Enregistre un nouvel administrateur dans la base de données.
@@ -16,6 +27,7 @@ public class AdminDAO {
      * @return true si l'admin est ajouté avec succès, false sinon.
      * @throws SQLException En cas d'erreur SQL.
      */
+    @Override
     public boolean addAdmin(Admin admin) throws SQLException {
         String sql = "INSERT INTO admins (id, login, mot_de_passe_hash) VALUES (?, ?, ?)";
         Connection connection = null;
@@ -27,13 +39,14 @@ public class AdminDAO {
             statement.setString(2, admin.getLogin());
             statement.setString(3, admin.getMotDePasseHash());
 
+            ajouterAuFiltre(admin.getLogin()); // Avant l'insertion, comme pour les emails des clients
             int rowsAffected = statement.executeUpdate();
             return rowsAffected > 0;
         } finally {
-            DatabaseConnection.closeConnection(connection);
             if (statement != null) {
                 statement.close();
             }
+            DatabaseConnection.closeConnection(connection);
         }
     }
 
@@ -45,7 +58,12 @@ public class AdminDAO {
      * @return Un Optional contenant l'objet Admin si trouvé, ou un Optional.empty() sinon.
      * @throws SQLException En cas d'erreur SQL.
      */
+    @Override
     public Optional<Admin> getAdminByLogin(String login) throws SQLException {
+        boolean filtre = filtreLoginsUtilisable();
+        if (filtre && !FILTRE_LOGINS.peutContenir(login)) {
+            return Optional.empty(); // Login inconnu à coup sûr : aucune connexion empruntée
+        }
         String sql = "SELECT id, login, mot_de_passe_hash FROM admins WHERE login = ?";
         Connection connection = null;
         PreparedStatement statement = null;
@@ -62,16 +80,113 @@ public class AdminDAO {
                 Admin admin = new Admin(id, login, motDePasseHash);
                 return Optional.of(admin);
             }
+            if (filtre) {
+                FILTRE_LOGINS.signalerFauxPositif();
+            }
         } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
             DatabaseConnection.closeConnection(connection);
+        }
+        return Optional.empty(); // Aucun administrateur trouvé
+    }
+
+    /**
+     * Remplace le hachage du mot de passe d'un administrateur (mise à jour conditionnelle sur l'ancien hachage).
+     *
+     * @param login Le login de l'administrateur.
+     * @param ancienHash Le hachage attendu en base.
+     * @param nouveauHash Le nouveau hachage.
+     * @return true si la ligne a été modifiée, false sinon.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public boolean updateMotDePasseHash(String login, String ancienHash, String nouveauHash) throws SQLException {
+        String sql = "UPDATE admins SET mot_de_passe_hash = ? WHERE login = ? AND mot_de_passe_hash = ?";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            statement.setString(1, nouveauHash);
+            statement.setString(2, login);
+            statement.setString(3, ancienHash);
+
+            int rowsAffected = statement.executeUpdate();
+            return rowsAffected > 0;
+        } finally {
             if (statement != null) {
                 statement.close();
             }
+            DatabaseConnection.closeConnection(connection);
+        }
+    }
+
+    private static void ajouterAuFiltre(String login) {
+        if (FILTRE_LOGINS != null) {
+            FILTRE_LOGINS.ajouter(login);
+        }
+    }
+
+    /**
+     * Indique si le filtre des logins peut écarter une recherche ; le (re)charge au premier appel après son
+     * expiration.
+     */
+    private static boolean filtreLoginsUtilisable() {
+        if (FILTRE_LOGINS == null) {
+            return false;
+        }
+        if (FILTRE_LOGINS.estCharge()) {
+            return true;
+        }
+        if (FILTRE_LOGINS.demarrerChargement()) {
+            boolean reussi = false;
+            try {
+                chargerFiltreLogins();
+                reussi = true;
+            } catch (SQLException e) {
+                JOURNAL.avertissement("Chargement du filtre des logins impossible, nouvel essai à la prochaine recherche", e);
+            } finally {
+                FILTRE_LOGINS.terminerChargement(reussi);
+            }
+        }
+        return FILTRE_LOGINS.estCharge();
+    }
+
+    private static void chargerFiltreLogins() throws SQLException {
+        String sql = "SELECT login FROM admins";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                FILTRE_LOGINS.ajouter(resultSet.getString(1));
+            }
+        } finally {
             if (resultSet != null) {
                 resultSet.close();
             }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
         }
-        return Optional.empty(); // Aucun administrateur trouvé
+    }
+
+    /**
+     * Retourne le filtre des logins existants (compteurs et taux de faux positifs).
+     *
+     * @return Le filtre, ou null s'il est désactivé (sans -Dbanksystem.filtres.actifs=true).
+     */
+    public static FiltreBloom getFiltreLogins() {
+        return FILTRE_LOGINS;
     }
 
     // Ajoutez d'autres méthodes CRUD si nécessaire :
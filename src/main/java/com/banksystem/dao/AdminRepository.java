@@ -0,0 +1,44 @@
+// src/main/java/com/banksystem/dao/AdminRepository.java
+package com.banksystem.dao;
+
+import com.banksystem.model.Admin;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Accès aux administrateurs, indépendamment du stockage (base JDBC ou moteur en mémoire).
+ * Les services obtiennent leur implémentation par {@link FabriqueRepositories#admins()}.
+ */
+public interface AdminRepository {
+
+    /**
+     * Enregistre un nouvel administrateur.
+     *
+     * @param admin L'administrateur à enregistrer.
+     * @return true si l'admin est ajouté, false sinon.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean addAdmin(Admin admin) throws SQLException;
+
+    /**
+     * Récupère un administrateur par son login (authentification).
+     *
+     * @param login Le login de l'administrateur.
+     * @return L'administrateur, ou Optional.empty() s'il n'existe pas.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    Optional<Admin> getAdminByLogin(String login) throws SQLException;
+
+    /**
+     * Remplace le hachage du mot de passe d'un administrateur, seulement s'il vaut encore ancienHash
+     * (un changement de mot de passe concurrent n'est pas écrasé).
+     *
+     * @param login Le login de l'administrateur.
+     * @param ancienHash Le hachage lu lors de l'authentification.
+     * @param nouveauHash Le nouveau hachage.
+     * @return true si le hachage a été remplacé, false si l'admin n'existe plus ou si son hachage a changé.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean updateMotDePasseHash(String login, String ancienHash, String nouveauHash) throws SQLException;
+}
@@ -0,0 +1,108 @@
+// src/main/java/com/banksystem/dao/AgenceDAO.java
+package com.banksystem.dao;
+
+import com.banksystem.model.Agence;
+import com.banksystem.util.DatabaseConnection;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Accès à la table agences.
+ */
+public class AgenceDAO implements AgenceRepository {
+
+    /**
+     * Enregistre une nouvelle agence dans la base de données.
+     *
+     * @param agence L'agence à enregistrer.
+     * @return true si l'agence est ajoutée avec succès, false sinon.
+     * @throws SQLException En cas d'erreur SQL (ou si le code existe déjà).
+     */
+    @Override
+    public boolean addAgence(Agence agence) throws SQLException {
+        String sql = "INSERT INTO agences (code, nom, ville) VALUES (?, ?, ?)";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            statement.setString(1, agence.getCode());
+            statement.setString(2, agence.getNom());
+            statement.setString(3, agence.getVille());
+            return statement.executeUpdate() > 0;
+        } finally {
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Récupère une agence par son code.
+     *
+     * @param code Le code de l'agence.
+     * @return Un Optional contenant l'agence si trouvée, ou un Optional.empty() sinon.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public Optional<Agence> getAgenceByCode(String code) throws SQLException {
+        String sql = "SELECT code, nom, ville FROM agences WHERE code = ?";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            statement.setString(1, code);
+            resultSet = statement.executeQuery();
+            if (resultSet.next()) {
+                return Optional.of(new Agence(resultSet.getString("code"), resultSet.getString("nom"), resultSet.getString("ville")));
+            }
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Récupère toutes les agences, dans l'ordre des codes.
+     *
+     * @return La liste des agences.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public List<Agence> getAllAgences() throws SQLException {
+        List<Agence> agences = new ArrayList<>();
+        String sql = "SELECT code, nom, ville FROM agences ORDER BY code";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                agences.add(new Agence(resultSet.getString("code"), resultSet.getString("nom"), resultSet.getString("ville")));
+            }
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+        return agences;
+    }
+}
@@ -0,0 +1,41 @@
+// src/main/java/com/banksystem/dao/AgenceRepository.java
+package com.banksystem.dao;
+
+import com.banksystem.model.Agence;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Accès aux agences, indépendamment du stockage.
+ * Les services obtiennent leur implémentation par {@link FabriqueRepositories#agences()}.
+ */
+public interface AgenceRepository {
+
+    /**
+     * Enregistre une nouvelle agence.
+     *
+     * @param agence L'agence à enregistrer.
+     * @return true si l'agence est ajoutée, false sinon.
+     * @throws SQLException En cas d'erreur d'accès au stockage (ou si le code existe déjà).
+     */
+    boolean addAgence(Agence agence) throws SQLException;
+
+    /**
+     * Récupère une agence par son code.
+     *
+     * @param code Le code de l'agence.
+     * @return L'agence, ou Optional.empty() si elle n'existe pas.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    Optional<Agence> getAgenceByCode(String code) throws SQLException;
+
+    /**
+     * Récupère toutes les agences, dans l'ordre des codes.
+     *
+     * @return Les agences.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    List<Agence> getAllAgences() throws SQLException;
+}
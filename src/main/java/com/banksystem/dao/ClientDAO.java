@@ -2,14 +2,41 @@
 package com.banksystem.dao;
 
 import com.banksystem.model.Client;
+import com.banksystem.util.CacheLRU;
 import com.banksystem.util.DatabaseConnection;
+import com.banksystem.util.FiltreBloom;
+import com.banksystem.util.Journal;
+import com.banksystem.util.LotsJdbc;
+import com.banksystem.util.UnitOfWork;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
-public class ClientDAO {
+public class ClientDAO implements ClientRepository {
+
+    // Cache partagé par toutes les instances de ClientDAO, indexé par ID client. Il garde ses propres
+    // exemplaires et chaque lecture en retourne une copie (voir copier) : un appelant peut modifier son client.
+    private static final CacheLRU<String, Client> CACHE_CLIENTS = new CacheLRU<>("clients",
+            Integer.getInteger("banksystem.cache.clients.taille", 10_000),
+            Long.getLong("banksystem.cache.clients.dureeVieMs", 60_000L));
+
+    private static final Journal JOURNAL = Journal.pour(ClientDAO.class);
+
+    // Filtre des emails existants : un email inconnu (bourrage d'identifiants) est écarté sans requête.
+    // Désactivé par défaut : le filtre ne voit que les ajouts faits par cette JVM, un email créé par une autre
+    // instance le rendrait faux et ferait refuser la connexion de ce client. -Dbanksystem.filtres.actifs=true ne
+    // convient qu'à une instance seule à écrire dans la base ; le filtre est alors rechargé toutes les
+    // -Dbanksystem.filtres.dureeVieMs (5 min par défaut) pour voir les ajouts faits hors de l'application,
+    // et tant qu'il ne l'est pas, les recherches interrogent la base.
+    private static final FiltreBloom FILTRE_EMAILS = Boolean.getBoolean("banksystem.filtres.actifs")
+            ? new FiltreBloom("emails", Integer.getInteger("banksystem.filtres.emails.capacite", 1_000_000), 0.01,
+                    Long.getLong("banksystem.filtres.dureeVieMs", 300_000L))
+            : null;
 
     /**
      * Enregistre un nouveau client dans la base de données.
@@ -18,6 +45,7 @@ public class ClientDAO {
      * @return true si le client est ajouté avec succès, false sinon.
      * @throws SQLException En cas d'erreur SQL.
      */
+    @Override
     public boolean addClient(Client client) throws SQLException {
         String sql = "INSERT INTO clients (id, nom, prenom, email, telephone, adresse, mot_de_passe_hash) VALUES (?, ?, ?, ?, ?, ?, ?)";
         Connection connection = null;
@@ -33,14 +61,101 @@ public class ClientDAO {
             statement.setString(6, client.getAdresse());
             statement.setString(7, client.getMotDePasseHash());
 
+            // Ajouté avant l'insertion : l'email n'est jamais en base sans être dans le filtre
+            // (en cas d'échec ou d'annulation, il n'y reste qu'un faux positif).
+            ajouterAuFiltre(client.getEmail());
             int rowsAffected = statement.executeUpdate();
             return rowsAffected > 0;
         } finally {
+            if (statement != null) {
+                statement.close();
+            }
             DatabaseConnection.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Enregistre plusieurs clients par lots JDBC (un INSERT multi-lignes par lot avec MySQL).
+     * Comme pour addClient, chaque email est ajouté au filtre avant son insertion. Un client refusé (ex: email
+     * déjà utilisé) est marqué false sans écarter les autres, même dans une unité de travail
+     * (voir {@link LotsJdbc#executerLigneParLigne}).
+     *
+     * @param clients Les clients à enregistrer.
+     * @param tailleLot Le nombre de clients par lot.
+     * @return Pour chaque client (dans l'ordre), true s'il a été enregistré.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public boolean[] addClients(List<Client> clients, int tailleLot) throws SQLException {
+        String sql = "INSERT INTO clients (id, nom, prenom, email, telephone, adresse, mot_de_passe_hash) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        for (Client client : clients) {
+            ajouterAuFiltre(client.getEmail());
+        }
+        return LotsJdbc.executerLigneParLigne(sql, clients, tailleLot, (statement, client) -> {
+            statement.setString(1, client.getId());
+            statement.setString(2, client.getNom());
+            statement.setString(3, client.getPrenom());
+            statement.setString(4, client.getEmail());
+            statement.setString(5, client.getTelephone());
+            statement.setString(6, client.getAdresse());
+            statement.setString(7, client.getMotDePasseHash());
+        });
+    }
+
+    /**
+     * Indique, parmi des emails, ceux qui sont déjà en base : les emails que le filtre écarte ne sont pas
+     * recherchés, les autres le sont en une seule requête (email IN (...), index unique sur email).
+     *
+     * @param emails Les emails recherchés.
+     * @return Les emails trouvés, tels qu'enregistrés.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public Set<String> getEmailsExistants(Collection<String> emails) throws SQLException {
+        Set<String> existants = new HashSet<>();
+        boolean filtre = filtreEmailsUtilisable();
+        List<String> candidats = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            if (!filtre || FILTRE_EMAILS.peutContenir(email)) {
+                candidats.add(email);
+            }
+        }
+        if (candidats.isEmpty()) {
+            return existants;
+        }
+        StringBuilder sql = new StringBuilder("SELECT email FROM clients WHERE email IN (");
+        for (int i = 0; i < candidats.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql.toString());
+            for (int i = 0; i < candidats.size(); i++) {
+                statement.setString(i + 1, candidats.get(i));
+            }
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                existants.add(resultSet.getString("email"));
+            }
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
             if (statement != null) {
                 statement.close();
             }
+            DatabaseConnection.closeConnection(connection);
+        }
+        if (filtre) {
+            for (int i = existants.size(); i < candidats.size(); i++) {
+                FILTRE_EMAILS.signalerFauxPositif();
+            }
         }
+        return existants;
     }
 
     /**
@@ -51,7 +166,12 @@ public class ClientDAO {
      * @return Un Optional contenant l'objet Client si trouvé, ou un Optional.empty() sinon.
      * @throws SQLException En cas d'erreur SQL.
      */
+    @Override
     public Optional<Client> getClientByEmail(String email) throws SQLException {
+        boolean filtre = filtreEmailsUtilisable();
+        if (filtre && !FILTRE_EMAILS.peutContenir(email)) {
+            return Optional.empty(); // Email inconnu à coup sûr : aucune connexion empruntée
+        }
         String sql = "SELECT id, nom, prenom, email, telephone, adresse, mot_de_passe_hash FROM clients WHERE email = ?";
         Connection connection = null;
         PreparedStatement statement = null;
@@ -75,14 +195,17 @@ public class ClientDAO {
                 Client client = new Client(id, nom, prenom, email, tele, adresse, motDePasseHash);
                 return Optional.of(client);
             }
-        } finally {
-            DatabaseConnection.closeConnection(connection);
-            if (statement != null) {
-                statement.close();
+            if (filtre) {
+                FILTRE_EMAILS.signalerFauxPositif();
             }
+        } finally {
             if (resultSet != null) {
                 resultSet.close();
             }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
         }
         return Optional.empty(); // Aucun client trouvé
     }
@@ -94,7 +217,14 @@ public class ClientDAO {
      * @return Un Optional contenant l'objet Client si trouvé, ou un Optional.empty() sinon.
      * @throws SQLException En cas d'erreur SQL.
      */
+    @Override
     public Optional<Client> getClientById(String idClient) throws SQLException {
+        Client enCache = CACHE_CLIENTS.get(idClient);
+        if (enCache != null) {
+            return Optional.of(copier(enCache));
+        }
+        long jeton = CACHE_CLIENTS.jeton(idClient);
+
         String sql = "SELECT id, nom, prenom, email, telephone, adresse, mot_de_passe_hash FROM clients WHERE id = ?";
         Connection connection = null;
         PreparedStatement statement = null;
@@ -115,16 +245,20 @@ public class ClientDAO {
                 String motDePasseHash = resultSet.getString("mot_de_passe_hash");
 
                 Client client = new Client(id, nom, prenom, email, tele, adresse, motDePasseHash);
+                // Dans une unité de travail, la lecture peut voir des modifications non validées : pas de mise en cache.
+                if (!UnitOfWork.estActive()) {
+                    CACHE_CLIENTS.putSiInchange(idClient, copier(client), jeton);
+                }
                 return Optional.of(client);
             }
         } finally {
-            DatabaseConnection.closeConnection(connection);
-            if (statement != null) {
-                statement.close();
-            }
             if (resultSet != null) {
                 resultSet.close();
             }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
         }
         return Optional.empty(); // Aucun client trouvé
     }
@@ -136,6 +270,7 @@ public class ClientDAO {
      * @return true si la mise à jour réussit, false sinon.
      * @throws SQLException En cas d'erreur SQL.
      */
+    @Override
     public boolean updateClient(Client client) throws SQLException {
         String sql = "UPDATE clients SET nom = ?, prenom = ?, email = ?, telephone = ?, adresse = ?, mot_de_passe_hash = ? WHERE id = ?";
         Connection connection = null;
@@ -151,13 +286,47 @@ public class ClientDAO {
             statement.setString(6, client.getMotDePasseHash());
             statement.setString(7, client.getId()); // Condition WHERE sur l'ID
 
+            ajouterAuFiltre(client.getEmail()); // L'email a peut-être changé ; l'ancien reste un faux positif
             int rowsAffected = statement.executeUpdate();
+            invalider(client.getId());
             return rowsAffected > 0;
         } finally {
+            if (statement != null) {
+                statement.close();
+            }
             DatabaseConnection.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Remplace le hachage du mot de passe d'un client (mise à jour conditionnelle sur l'ancien hachage).
+     *
+     * @param idClient L'ID du client.
+     * @param ancienHash Le hachage attendu en base.
+     * @param nouveauHash Le nouveau hachage.
+     * @return true si la ligne a été modifiée, false sinon.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public boolean updateMotDePasseHash(String idClient, String ancienHash, String nouveauHash) throws SQLException {
+        String sql = "UPDATE clients SET mot_de_passe_hash = ? WHERE id = ? AND mot_de_passe_hash = ?";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            statement.setString(1, nouveauHash);
+            statement.setString(2, idClient);
+            statement.setString(3, ancienHash);
+
+            int rowsAffected = statement.executeUpdate();
+            invalider(idClient);
+            return rowsAffected > 0;
+        } finally {
             if (statement != null) {
                 statement.close();
             }
+            DatabaseConnection.closeConnection(connection);
         }
     }
 
@@ -170,6 +339,7 @@ public class ClientDAO {
      * @return true si le client est supprimé avec succès, false sinon.
      * @throws SQLException En cas d'erreur SQL.
      */
+    @Override
     public boolean deleteClient(String idClient) throws SQLException {
         // Logique pour supprimer les comptes du client d'abord si nécessaire,
         // ou la contrainte FOREIGN KEY (ON DELETE CASCADE) gérera cela.
@@ -184,12 +354,13 @@ public class ClientDAO {
             statement.setString(1, idClient);
 
             int rowsAffected = statement.executeUpdate();
+            invalider(idClient);
             return rowsAffected > 0;
         } finally {
-            DatabaseConnection.closeConnection(connection);
             if (statement != null) {
                 statement.close();
             }
+            DatabaseConnection.closeConnection(connection);
         }
     }
 
@@ -199,6 +370,7 @@ public class ClientDAO {
      * @return Une liste de tous les objets Client.
      * @throws SQLException En cas d'erreur SQL.
      */
+    @Override
     public List<Client> getAllClients() throws SQLException {
         List<Client> clients = new ArrayList<>();
         String sql = "SELECT id, nom, prenom, email, telephone, adresse, mot_de_passe_hash FROM clients";
@@ -223,14 +395,181 @@ public class ClientDAO {
                 clients.add(client);
             }
         } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
             DatabaseConnection.closeConnection(connection);
+        }
+        return clients;
+    }
+
+    /**
+     * Parcours par clé des IDs clients, dans l'ordre de la clé primaire : chaque appel ne lit que son lot.
+     *
+     * @param apresId Le dernier ID du lot précédent, ou null pour commencer au début.
+     * @param limite Le nombre maximal d'IDs à retourner.
+     * @return Les IDs du lot, triés.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public List<String> getIdsClientsApres(String apresId, int limite) throws SQLException {
+        List<String> ids = new ArrayList<>();
+        String sql = "SELECT id FROM clients WHERE id > ? ORDER BY id LIMIT ?";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            statement.setString(1, apresId != null ? apresId : "");
+            statement.setInt(2, limite);
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                ids.add(resultSet.getString("id"));
+            }
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
             if (statement != null) {
                 statement.close();
             }
+            DatabaseConnection.closeConnection(connection);
+        }
+        return ids;
+    }
+
+    /**
+     * Retire un client du cache (ainsi que les comptes en cache qui le référencent),
+     * immédiatement puis à nouveau après la validation de l'unité de travail courante.
+     */
+    private static void invalider(String idClient) {
+        CACHE_CLIENTS.invalider(idClient);
+        UnitOfWork.apresValidation(() -> CACHE_CLIENTS.invalider(idClient));
+        CompteDAO.invaliderComptesDuClient(idClient);
+    }
+
+    /**
+     * Copie d'un client sans sa liste de comptes, comme StockageMemoire.copier pour le moteur en mémoire :
+     * l'exemplaire du cache n'est jamais remis à un appelant, qui pourrait le modifier
+     * (ex: Client.ajouterCompte) pendant qu'un autre thread le lit.
+     */
+    static Client copier(Client client) {
+        return new Client(client.getId(), client.getNom(), client.getPrenom(), client.getEmail(),
+                client.getTelephone(), client.getAdresse(), client.getMotDePasseHash());
+    }
+
+    private static void ajouterAuFiltre(String email) {
+        if (FILTRE_EMAILS != null) {
+            FILTRE_EMAILS.ajouter(email);
+        }
+    }
+
+    /**
+     * Indique si le filtre des emails peut écarter une recherche. Au premier appel, et au premier appel après
+     * l'expiration du filtre, il est (re)chargé avec les emails existants (une requête) ; pendant ce chargement,
+     * les autres recherches interrogent la base.
+     */
+    private static boolean filtreEmailsUtilisable() {
+        if (FILTRE_EMAILS == null) {
+            return false;
+        }
+        if (FILTRE_EMAILS.estCharge()) {
+            return true;
+        }
+        if (FILTRE_EMAILS.demarrerChargement()) {
+            boolean reussi = false;
+            try {
+                chargerFiltreEmails();
+                reussi = true;
+            } catch (SQLException e) {
+                JOURNAL.avertissement("Chargement du filtre des emails impossible, nouvel essai à la prochaine recherche", e);
+            } finally {
+                FILTRE_EMAILS.terminerChargement(reussi);
+            }
+        }
+        return FILTRE_EMAILS.estCharge();
+    }
+
+    private static void chargerFiltreEmails() throws SQLException {
+        String sql = "SELECT email FROM clients";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            statement.setFetchSize(1_000);
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                FILTRE_EMAILS.ajouter(resultSet.getString(1));
+            }
+        } finally {
             if (resultSet != null) {
                 resultSet.close();
             }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
         }
-        return clients;
+    }
+
+    /**
+     * Retourne le filtre des emails existants (compteurs et taux de faux positifs).
+     *
+     * @return Le filtre, ou null s'il est désactivé (sans -Dbanksystem.filtres.actifs=true).
+     */
+    public static FiltreBloom getFiltreEmails() {
+        return FILTRE_EMAILS;
+    }
+
+    /**
+     * Retourne le cache des clients (taille et compteurs succès/échecs/évictions).
+     *
+     * @return Le cache des clients.
+     */
+    public static CacheLRU<String, Client> getCache() {
+        return CACHE_CLIENTS;
+    }
+
+    /**
+     * Liste des colonnes d'un client pour une requête avec jointure, chaque colonne
+     * étant renommée avec un préfixe (ex: "cl.id AS cl_id").
+     *
+     * @param alias L'alias de la table clients dans la requête, aussi utilisé comme préfixe.
+     * @return La liste des colonnes à insérer dans la clause SELECT.
+     */
+    static String colonnesClient(String alias) {
+        return alias + ".id AS " + alias + "_id, "
+                + alias + ".nom AS " + alias + "_nom, "
+                + alias + ".prenom AS " + alias + "_prenom, "
+                + alias + ".email AS " + alias + "_email, "
+                + alias + ".telephone AS " + alias + "_telephone, "
+                + alias + ".adresse AS " + alias + "_adresse, "
+                + alias + ".mot_de_passe_hash AS " + alias + "_mot_de_passe_hash";
+    }
+
+    /**
+     * Construit un Client à partir de la ligne courante d'une requête utilisant {@link #colonnesClient(String)}.
+     *
+     * @param resultSet Le ResultSet positionné sur la ligne à lire.
+     * @param alias L'alias utilisé dans colonnesClient.
+     * @return Le client lu.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    static Client lireClient(ResultSet resultSet, String alias) throws SQLException {
+        String prefixe = alias + "_";
+        return new Client(
+                resultSet.getString(prefixe + "id"),
+                resultSet.getString(prefixe + "nom"),
+                resultSet.getString(prefixe + "prenom"),
+                resultSet.getString(prefixe + "email"),
+                resultSet.getString(prefixe + "telephone"),
+                resultSet.getString(prefixe + "adresse"),
+                resultSet.getString(prefixe + "mot_de_passe_hash"));
     }
 }
\ No newline at end of file
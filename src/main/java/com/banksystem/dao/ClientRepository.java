@@ -0,0 +1,112 @@
+// src/main/java/com/banksystem/dao/ClientRepository.java
+package com.banksystem.dao;
+
+import com.banksystem.model.Client;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Accès aux clients, indépendamment du stockage (base JDBC ou moteur en mémoire).
+ * Les services obtiennent leur implémentation par {@link FabriqueRepositories#clients()}.
+ */
+public interface ClientRepository {
+
+    /**
+     * Enregistre un nouveau client.
+     *
+     * @param client Le client à enregistrer.
+     * @return true si le client est ajouté, false sinon.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean addClient(Client client) throws SQLException;
+
+    /**
+     * Enregistre plusieurs clients par lots. Un client refusé pour ses données (ex: email déjà utilisé) est
+     * marqué false sans écarter les autres, y compris dans une unité de travail.
+     *
+     * @param clients Les clients à enregistrer.
+     * @param tailleLot Le nombre de clients par lot (stockage JDBC).
+     * @return Pour chaque client (dans l'ordre), true s'il a été enregistré.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean[] addClients(List<Client> clients, int tailleLot) throws SQLException;
+
+    /**
+     * Indique, parmi des emails, ceux qui sont déjà utilisés par un client.
+     *
+     * @param emails Les emails recherchés.
+     * @return Les emails trouvés, tels qu'enregistrés (la casse peut différer de celle recherchée).
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    Set<String> getEmailsExistants(Collection<String> emails) throws SQLException;
+
+    /**
+     * Récupère un client par son email (authentification).
+     *
+     * @param email L'email du client.
+     * @return Le client, ou Optional.empty() s'il n'existe pas.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    Optional<Client> getClientByEmail(String email) throws SQLException;
+
+    /**
+     * Récupère un client par son ID.
+     *
+     * @param idClient L'ID du client.
+     * @return Le client, ou Optional.empty() s'il n'existe pas.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    Optional<Client> getClientById(String idClient) throws SQLException;
+
+    /**
+     * Met à jour les informations d'un client existant.
+     *
+     * @param client Le client à mettre à jour (l'ID doit exister).
+     * @return true si la mise à jour réussit, false sinon.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean updateClient(Client client) throws SQLException;
+
+    /**
+     * Remplace le hachage du mot de passe d'un client, seulement s'il vaut encore ancienHash
+     * (un changement de mot de passe concurrent n'est pas écrasé).
+     *
+     * @param idClient L'ID du client.
+     * @param ancienHash Le hachage lu lors de l'authentification.
+     * @param nouveauHash Le nouveau hachage.
+     * @return true si le hachage a été remplacé, false si le client n'existe plus ou si son hachage a changé.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean updateMotDePasseHash(String idClient, String ancienHash, String nouveauHash) throws SQLException;
+
+    /**
+     * Supprime un client par son ID.
+     *
+     * @param idClient L'ID du client à supprimer.
+     * @return true si le client est supprimé, false sinon.
+     * @throws SQLException En cas d'erreur d'accès au stockage (ex: comptes encore rattachés).
+     */
+    boolean deleteClient(String idClient) throws SQLException;
+
+    /**
+     * Récupère tous les clients.
+     *
+     * @return La liste des clients.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    List<Client> getAllClients() throws SQLException;
+
+    /**
+     * Parcours par clé des IDs clients : au plus limite IDs qui suivent apresId, dans l'ordre.
+     *
+     * @param apresId Le dernier ID du lot précédent, ou null pour commencer au début.
+     * @param limite Le nombre maximal d'IDs à retourner.
+     * @return Les IDs du lot, triés.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    List<String> getIdsClientsApres(String apresId, int limite) throws SQLException;
+}
@@ -1,22 +1,51 @@
 // src/main/java/com/banksystem/dao/CompteDAO.java
 package com.banksystem.dao;
 
+import com.banksystem.model.AgregatsAgence;
 import com.banksystem.model.Client;
 import com.banksystem.model.Compte;
 import com.banksystem.model.CompteCourant;
 import com.banksystem.model.CompteEpargne;
+import com.banksystem.model.MouvementSolde;
+import com.banksystem.model.Portefeuille;
+import com.banksystem.model.Transaction;
+import com.banksystem.util.CacheLRU;
 import com.banksystem.util.DatabaseConnection;
+import com.banksystem.util.Journal;
+import com.banksystem.util.LotsJdbc;
+import com.banksystem.util.UnitOfWork;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
-public class CompteDAO {
+public class CompteDAO implements CompteRepository {
+
+    private static final Journal JOURNAL = Journal.pour(CompteDAO.class);
 
     private ClientDAO clientDAO = new ClientDAO(); // Pour récupérer l'objet Client associé
 
+    // Cache partagé par toutes les instances de CompteDAO (chaque service crée ses propres DAO).
+    // Le cache garde ses propres exemplaires et chaque lecture en retourne une copie (voir copier) :
+    // un appelant peut modifier son compte, ou le client de ce compte, sans toucher aux autres threads.
+    private static final CacheLRU<String, Compte> CACHE_COMPTES = new CacheLRU<>("comptes",
+            Integer.getInteger("banksystem.cache.comptes.taille", 10_000),
+            Long.getLong("banksystem.cache.comptes.dureeVieMs", 30_000L));
+
+    // Agence, client et type d'un compte ne changent jamais : gardés sans expiration pour les mouvements de solde
+    // (avec MySQL, le nouveau solde revient de l'UPDATE lui-même ; seuls ces attributs manqueraient).
+    private static final CacheLRU<String, AttributsCompte> CACHE_ATTRIBUTS = new CacheLRU<>("attributsComptes",
+            Integer.getInteger("banksystem.cache.comptes.taille", 10_000), Long.MAX_VALUE);
+
+    /** Décalage qui garde positif le solde passé à LAST_INSERT_ID (non signé), voir {@link #appliquerMouvement}. */
+    private static final long DECALAGE_SOLDE = 1L << 62;
+
+    private static final String SQL_INSERTION = "INSERT INTO comptes (numero, solde_centimes, date_ouverture, client_id, type_compte, decouvert_autorise_centimes, taux_interet, code_agence) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
     /**
      * Enregistre un nouveau compte (courant ou épargne) dans la base de données.
      *
@@ -24,40 +53,60 @@ public class CompteDAO {
      * @return true si le compte est ajouté avec succès, false sinon.
      * @throws SQLException En cas d'erreur SQL.
      */
+    @Override
     public boolean addCompte(Compte compte) throws SQLException {
-        String sql = "INSERT INTO comptes (numero, solde, date_ouverture, client_id, type_compte, decouvert_autorise, taux_interet) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String sql = SQL_INSERTION;
         Connection connection = null;
         PreparedStatement statement = null;
         try {
             connection = DatabaseConnection.getConnection();
             statement = connection.prepareStatement(sql);
-            statement.setString(1, compte.getNumero());
-            statement.setDouble(2, compte.getSolde());
-            statement.setDate(3, Date.valueOf(compte.getDateOuverture()));
-            statement.setString(4, compte.getClient().getId()); // Récupère l'ID du client
-
-            if (compte instanceof CompteCourant) {
-                CompteCourant cc = (CompteCourant) compte;
-                statement.setString(5, "COURANT");
-                statement.setDouble(6, cc.getDecouvertAutorise());
-                statement.setNull(7, Types.DOUBLE); // Pas de taux d'intérêt pour un compte courant
-            } else if (compte instanceof CompteEpargne) {
-                CompteEpargne ce = (CompteEpargne) compte;
-                statement.setString(5, "EPARGNE");
-                statement.setNull(6, Types.DOUBLE); // Pas de découvert pour un compte épargne
-                statement.setDouble(7, ce.getTauxInteret());
-            } else {
-                throw new SQLException("Type de compte non supporté.");
-            }
+            lierInsertion(statement, compte);
 
             int rowsAffected = statement.executeUpdate();
             return rowsAffected > 0;
         } finally {
-            DatabaseConnection.closeConnection(connection);
             if (statement != null) {
                 statement.close();
             }
+            DatabaseConnection.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Enregistre plusieurs comptes par lots JDBC (un aller-retour par lot au lieu d'un par compte).
+     * Hors unité de travail, chaque lot est validé séparément ; voir {@link LotsJdbc#executer}.
+     *
+     * @param comptes Les comptes à enregistrer.
+     * @param tailleLot Le nombre de comptes par lot.
+     * @return Pour chaque compte (dans l'ordre), true s'il a été enregistré.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public boolean[] addComptes(List<Compte> comptes, int tailleLot) throws SQLException {
+        return LotsJdbc.executer(SQL_INSERTION, comptes, tailleLot, CompteDAO::lierInsertion);
+    }
+
+    private static void lierInsertion(PreparedStatement statement, Compte compte) throws SQLException {
+        statement.setString(1, compte.getNumero());
+        statement.setLong(2, compte.getSoldeCentimes());
+        statement.setDate(3, Date.valueOf(compte.getDateOuverture()));
+        statement.setString(4, compte.getClient().getId()); // Récupère l'ID du client
+
+        if (compte instanceof CompteCourant) {
+            CompteCourant cc = (CompteCourant) compte;
+            statement.setString(5, "COURANT");
+            statement.setLong(6, cc.getDecouvertAutoriseCentimes());
+            statement.setNull(7, Types.DOUBLE); // Pas de taux d'intérêt pour un compte courant
+        } else if (compte instanceof CompteEpargne) {
+            CompteEpargne ce = (CompteEpargne) compte;
+            statement.setString(5, "EPARGNE");
+            statement.setNull(6, Types.BIGINT); // Pas de découvert pour un compte épargne
+            statement.setDouble(7, ce.getTauxInteret());
+        } else {
+            throw new SQLException("Type de compte non supporté.");
         }
+        statement.setString(8, compte.getCodeAgence());
     }
 
     /**
@@ -67,8 +116,22 @@ public class CompteDAO {
      * @return Un Optional contenant l'objet Compte si trouvé, ou un Optional.empty() sinon.
      * @throws SQLException En cas d'erreur SQL.
      */
+    @Override
     public Optional<Compte> getCompteByNumero(String numeroCompte) throws SQLException {
-        String sql = "SELECT numero, solde, date_ouverture, client_id, type_compte, decouvert_autorise, taux_interet FROM comptes WHERE numero = ?";
+        Compte enCache = CACHE_COMPTES.get(numeroCompte);
+        if (enCache != null) {
+            return Optional.of(copier(enCache));
+        }
+        long jeton = CACHE_COMPTES.jeton(numeroCompte);
+
+        String sql = "SELECT numero, solde_centimes, date_ouverture, client_id, type_compte, decouvert_autorise_centimes, taux_interet, code_agence FROM comptes WHERE numero = ?";
+        String numero;
+        long soldeCentimes;
+        String clientId;
+        String typeCompte;
+        long decouvertAutoriseCentimes;
+        double tauxInteret;
+        String codeAgence;
         Connection connection = null;
         PreparedStatement statement = null;
         ResultSet resultSet = null;
@@ -78,42 +141,48 @@ public class CompteDAO {
             statement.setString(1, numeroCompte);
             resultSet = statement.executeQuery();
 
-            if (resultSet.next()) {
-                String numero = resultSet.getString("numero");
-                double solde = resultSet.getDouble("solde");
-                LocalDate dateOuverture = resultSet.getDate("date_ouverture").toLocalDate();
-                String clientId = resultSet.getString("client_id");
-                String typeCompte = resultSet.getString("type_compte");
-                double decouvertAutorise = resultSet.getDouble("decouvert_autorise");
-                double tauxInteret = resultSet.getDouble("taux_interet");
-
-                // Récupérer l'objet Client associé
-                Optional<Client> clientOptional = clientDAO.getClientById(clientId);
-                if (!clientOptional.isPresent()) {
-                    throw new SQLException("Client associé au compte non trouvé : " + clientId);
-                }
-                Client client = clientOptional.get();
-
-                Compte compte;
-                if ("COURANT".equals(typeCompte)) {
-                    compte = new CompteCourant(numero, solde, client, decouvertAutorise);
-                } else if ("EPARGNE".equals(typeCompte)) {
-                    compte = new CompteEpargne(numero, solde, client, tauxInteret);
-                } else {
-                    throw new SQLException("Type de compte inconnu dans la base de données : " + typeCompte);
-                }
-                return Optional.of(compte);
+            if (!resultSet.next()) {
+                return Optional.empty();
             }
+            numero = resultSet.getString("numero");
+            soldeCentimes = resultSet.getLong("solde_centimes");
+            clientId = resultSet.getString("client_id");
+            typeCompte = resultSet.getString("type_compte");
+            decouvertAutoriseCentimes = resultSet.getLong("decouvert_autorise_centimes");
+            tauxInteret = resultSet.getDouble("taux_interet");
+            codeAgence = resultSet.getString("code_agence");
         } finally {
-            DatabaseConnection.closeConnection(connection);
-            if (statement != null) {
-                statement.close();
-            }
             if (resultSet != null) {
                 resultSet.close();
             }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+
+        // Le client est lu après la libération de la connexion : emprunter une seconde connexion
+        // en gardant la première pourrait bloquer le pool lorsqu'il est saturé.
+        Optional<Client> clientOptional = clientDAO.getClientById(clientId);
+        if (!clientOptional.isPresent()) {
+            throw new SQLException("Client associé au compte non trouvé : " + clientId);
         }
-        return Optional.empty();
+        Client client = clientOptional.get();
+
+        Compte compte;
+        if ("COURANT".equals(typeCompte)) {
+            compte = new CompteCourant(numero, soldeCentimes, client, decouvertAutoriseCentimes);
+        } else if ("EPARGNE".equals(typeCompte)) {
+            compte = new CompteEpargne(numero, soldeCentimes, client, tauxInteret);
+        } else {
+            throw new SQLException("Type de compte inconnu dans la base de données : " + typeCompte);
+        }
+        compte.setCodeAgence(codeAgence);
+        // Dans une unité de travail, la lecture peut voir des modifications non validées : pas de mise en cache.
+        if (!UnitOfWork.estActive()) {
+            CACHE_COMPTES.putSiInchange(numeroCompte, copier(compte), jeton);
+        }
+        return Optional.of(compte);
     }
 
     /**
@@ -123,22 +192,23 @@ public class CompteDAO {
      * @return true si la mise à jour réussit, false sinon.
      * @throws SQLException En cas d'erreur SQL.
      */
+    @Override
     public boolean updateCompte(Compte compte) throws SQLException {
-        String sql = "UPDATE comptes SET solde = ?, decouvert_autorise = ?, taux_interet = ? WHERE numero = ?";
+        String sql = "UPDATE comptes SET solde_centimes = ?, decouvert_autorise_centimes = ?, taux_interet = ? WHERE numero = ?";
         Connection connection = null;
         PreparedStatement statement = null;
         try {
             connection = DatabaseConnection.getConnection();
             statement = connection.prepareStatement(sql);
-            statement.setDouble(1, compte.getSolde());
+            statement.setLong(1, compte.getSoldeCentimes());
 
             if (compte instanceof CompteCourant) {
                 CompteCourant cc = (CompteCourant) compte;
-                statement.setDouble(2, cc.getDecouvertAutorise());
+                statement.setLong(2, cc.getDecouvertAutoriseCentimes());
                 statement.setNull(3, Types.DOUBLE); // Pas de taux d'intérêt
             } else if (compte instanceof CompteEpargne) {
                 CompteEpargne ce = (CompteEpargne) compte;
-                statement.setNull(2, Types.DOUBLE); // Pas de découvert
+                statement.setNull(2, Types.BIGINT); // Pas de découvert
                 statement.setDouble(3, ce.getTauxInteret());
             } else {
                 throw new SQLException("Type de compte non supporté pour la mise à jour.");
@@ -146,41 +216,414 @@ public class CompteDAO {
             statement.setString(4, compte.getNumero());
 
             int rowsAffected = statement.executeUpdate();
+            invalider(compte.getNumero());
             return rowsAffected > 0;
         } finally {
+            if (statement != null) {
+                statement.close();
+            }
             DatabaseConnection.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Crédite un compte directement en base (solde = solde + montant), sans charger l'objet Compte.
+     *
+     * @param numeroCompte Le numéro du compte à créditer.
+     * @param montantCentimes Le montant à ajouter, en centimes (positif).
+     * @return Le mouvement avec le nouveau solde, ou Optional.empty() si le compte n'existe pas.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public Optional<MouvementSolde> crediter(String numeroCompte, long montantCentimes) throws SQLException {
+        return appliquerMouvement("solde_centimes + ?", "", numeroCompte, montantCentimes, false);
+    }
+
+    /**
+     * Débite un compte directement en base, seulement si le solde après débit reste
+     * au-dessus du découvert autorisé (0 pour un compte épargne).
+     * La condition et la mise à jour forment une seule instruction : deux débits concurrents
+     * sur le même compte ne peuvent pas tous deux passer sous le découvert autorisé.
+     *
+     * @param numeroCompte Le numéro du compte à débiter.
+     * @param montantCentimes Le montant à retirer, en centimes (positif).
+     * @return Le mouvement avec le nouveau solde, ou Optional.empty() si le compte n'existe pas
+     *         ou si les fonds sont insuffisants (voir {@link #existeCompte(String)} pour distinguer).
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public Optional<MouvementSolde> debiter(String numeroCompte, long montantCentimes) throws SQLException {
+        return appliquerMouvement("solde_centimes - ?", " AND solde_centimes - ? >= -COALESCE(decouvert_autorise_centimes, 0)",
+                numeroCompte, montantCentimes, true);
+    }
+
+    /**
+     * Applique un mouvement de solde en une instruction. Avec MySQL, le nouveau solde est renvoyé par l'UPDATE
+     * lui-même : il passe par LAST_INSERT_ID(expr), que le serveur retourne avec le compte des lignes modifiées
+     * (getGeneratedKeys, sans autre aller-retour). LAST_INSERT_ID étant non signé, le solde y est décalé de 2^62
+     * pour rester positif même en découvert. L'agence, le client et le type du compte viennent de
+     * CACHE_ATTRIBUTS, lus une fois par compte. Les autres bases (H2 des benchmarks) relisent la ligne après
+     * l'UPDATE, dans la même transaction : elle reste verrouillée, le solde relu est celui de ce mouvement.
+     *
+     * @param nouveauSolde L'expression du nouveau solde (premier paramètre : le montant).
+     * @param condition La condition ajoutée à "WHERE numero = ?" (vide, ou avec le montant en troisième paramètre).
+     * @param conditionnel true si la condition porte un troisième paramètre (débit).
+     */
+    private Optional<MouvementSolde> appliquerMouvement(String nouveauSolde, String condition, String numeroCompte,
+                                                        long montantCentimes, boolean conditionnel) throws SQLException {
+        return UnitOfWork.executer(() -> {
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = DatabaseConnection.getConnection();
+                boolean mysql = "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+                if (mysql) {
+                    statement = connection.prepareStatement("UPDATE comptes SET solde_centimes = CAST(LAST_INSERT_ID(" + nouveauSolde
+                            + " + " + DECALAGE_SOLDE + ") AS SIGNED) - " + DECALAGE_SOLDE + " WHERE numero = ?" + condition,
+                            Statement.RETURN_GENERATED_KEYS);
+                } else {
+                    statement = connection.prepareStatement("UPDATE comptes SET solde_centimes = " + nouveauSolde + " WHERE numero = ?" + condition);
+                }
+                statement.setLong(1, montantCentimes);
+                statement.setString(2, numeroCompte);
+                if (conditionnel) {
+                    statement.setLong(3, montantCentimes);
+                }
+                if (statement.executeUpdate() == 0) {
+                    return Optional.<MouvementSolde>empty();
+                }
+                invalider(numeroCompte);
+
+                long nouveau;
+                AttributsCompte attributs;
+                if (mysql) {
+                    resultSet = statement.getGeneratedKeys();
+                    if (!resultSet.next()) {
+                        throw new SQLException("Solde non retourné par la mise à jour du compte : " + numeroCompte);
+                    }
+                    nouveau = resultSet.getLong(1) - DECALAGE_SOLDE;
+                    attributs = CACHE_ATTRIBUTS.get(numeroCompte);
+                } else {
+                    resultSet = relireCompte(connection, numeroCompte);
+                    nouveau = resultSet.getLong("solde_centimes");
+                    attributs = new AttributsCompte(resultSet);
+                }
+                if (attributs == null) { // Premier mouvement de ce compte dans cette JVM
+                    resultSet.close();
+                    resultSet = relireCompte(connection, numeroCompte);
+                    attributs = new AttributsCompte(resultSet);
+                }
+                CACHE_ATTRIBUTS.put(numeroCompte, attributs);
+                long ancien = conditionnel ? nouveau + montantCentimes : nouveau - montantCentimes;
+                return Optional.of(new MouvementSolde(numeroCompte, ancien, nouveau, attributs.codeAgence, attributs.clientId, attributs.epargne));
+            } finally {
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                if (statement != null) {
+                    statement.close();
+                }
+                DatabaseConnection.closeConnection(connection);
+            }
+        });
+    }
+
+    private static ResultSet relireCompte(Connection connection, String numeroCompte) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement("SELECT solde_centimes, code_agence, client_id, type_compte FROM comptes WHERE numero = ?");
+        statement.closeOnCompletion(); // Fermée avec le ResultSet
+        statement.setString(1, numeroCompte);
+        ResultSet resultSet = statement.executeQuery();
+        if (!resultSet.next()) {
+            resultSet.close();
+            throw new SQLException("Compte introuvable après mise à jour du solde : " + numeroCompte);
+        }
+        return resultSet;
+    }
+
+    /**
+     * Attributs d'un compte qui ne changent pas après sa création.
+     */
+    private static final class AttributsCompte {
+        final String codeAgence;
+        final String clientId;
+        final boolean epargne;
+
+        AttributsCompte(ResultSet resultSet) throws SQLException {
+            this.codeAgence = resultSet.getString("code_agence");
+            this.clientId = resultSet.getString("client_id");
+            this.epargne = "EPARGNE".equals(resultSet.getString("type_compte"));
+        }
+    }
+
+    /**
+     * Crédite plusieurs comptes par lots JDBC (solde = solde + montant), par exemple pour le versement
+     * des intérêts. Chaque transaction fournit le compte à créditer (numéro source) et le montant.
+     *
+     * @param credits Les crédits à appliquer.
+     * @param tailleLot Le nombre de crédits par lot.
+     * @return Pour chaque crédit (dans l'ordre), true si le compte a été mis à jour.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public boolean[] appliquerCredits(List<Transaction> credits, int tailleLot) throws SQLException {
+        String sql = "UPDATE comptes SET solde_centimes = solde_centimes + ? WHERE numero = ?";
+        boolean[] resultats = LotsJdbc.executer(sql, credits, tailleLot, (statement, credit) -> {
+            statement.setLong(1, credit.getMontantCentimes());
+            statement.setString(2, credit.getNumeroCompteSource());
+        });
+        for (Transaction credit : credits) {
+            invalider(credit.getNumeroCompteSource());
+        }
+        return resultats;
+    }
+
+    /**
+     * Parcours par clé des comptes épargne : retourne au plus limite comptes dont le numéro suit
+     * apresNumero, dans l'ordre des numéros. Chaque appel ne lit que son lot (index type_compte, numero).
+     * Les comptes retournés ne portent pas leur Client (getClient() retourne null), seulement son ID.
+     *
+     * @param apresNumero Le dernier numéro du lot précédent, ou null pour commencer au début.
+     * @param limite Le nombre maximal de comptes à retourner.
+     * @return Les comptes épargne du lot, sans client.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public List<CompteEpargne> getComptesEpargneApres(String apresNumero, int limite) throws SQLException {
+        List<CompteEpargne> comptes = new ArrayList<>();
+        String sql = "SELECT numero, solde_centimes, client_id, taux_interet, code_agence FROM comptes WHERE type_compte = 'EPARGNE' AND numero > ? ORDER BY numero LIMIT ?";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            statement.setString(1, apresNumero != null ? apresNumero : "");
+            statement.setInt(2, limite);
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                CompteEpargne compte = new CompteEpargne(resultSet.getString("numero"), resultSet.getLong("solde_centimes"), null, resultSet.getDouble("taux_interet"));
+                compte.setClientId(resultSet.getString("client_id"));
+                compte.setCodeAgence(resultSet.getString("code_agence"));
+                comptes.add(compte);
+            }
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
             if (statement != null) {
                 statement.close();
             }
+            DatabaseConnection.closeConnection(connection);
         }
+        return comptes;
     }
 
     /**
-     * Supprime un compte de la base de données par son numéro.
+     * Parcours par clé des comptes d'une agence, dans l'ordre des numéros (index code_agence, numero) :
+     * chaque appel ne lit que son lot, quelle que soit la taille de l'agence.
+     * Les comptes retournés ne portent pas leur Client (getClient() retourne null).
      *
-     * @param numeroCompte Le numéro du compte à supprimer.
-     * @return true si le compte est supprimé avec succès, false sinon.
+     * @param codeAgence Le code de l'agence.
+     * @param apresNumero Le dernier numéro du lot précédent, ou null pour commencer au début.
+     * @param limite Le nombre maximal de comptes à retourner.
+     * @return Les comptes du lot, sans client.
      * @throws SQLException En cas d'erreur SQL.
      */
-    public boolean deleteCompte(String numeroCompte) throws SQLException {
-        String sql = "DELETE FROM comptes WHERE numero = ?";
+    @Override
+    public List<Compte> getComptesByAgence(String codeAgence, String apresNumero, int limite) throws SQLException {
+        List<Compte> comptes = new ArrayList<>();
+        String sql = "SELECT " + colonnesCompte("c") + " FROM comptes c WHERE c.code_agence = ? AND c.numero > ? ORDER BY c.numero LIMIT ?";
         Connection connection = null;
         PreparedStatement statement = null;
+        ResultSet resultSet = null;
         try {
             connection = DatabaseConnection.getConnection();
             statement = connection.prepareStatement(sql);
-            statement.setString(1, numeroCompte);
+            statement.setString(1, codeAgence);
+            statement.setString(2, apresNumero != null ? apresNumero : "");
+            statement.setInt(3, limite);
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                comptes.add(lireCompte(resultSet, "c", null));
+            }
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+        return comptes;
+    }
 
-            int rowsAffected = statement.executeUpdate();
-            return rowsAffected > 0;
+    /**
+     * Calcule les agrégats de chaque agence ayant des comptes, en une seule requête (GROUP BY code_agence).
+     * Parcourt toute la table : sert à initialiser ou réaligner les agrégats tenus à jour par les services.
+     *
+     * @return Les agrégats par code d'agence.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public Map<String, AgregatsAgence> calculerAgregatsParAgence() throws SQLException {
+        Map<String, AgregatsAgence> agregats = new LinkedHashMap<>();
+        String sql = "SELECT code_agence,"
+                + " SUM(CASE WHEN type_compte = 'COURANT' THEN 1 ELSE 0 END) AS courants,"
+                + " SUM(CASE WHEN type_compte = 'EPARGNE' THEN 1 ELSE 0 END) AS epargne,"
+                + " SUM(CASE WHEN solde_centimes > 0 THEN solde_centimes ELSE 0 END) AS depots,"
+                + " SUM(CASE WHEN solde_centimes < 0 THEN -solde_centimes ELSE 0 END) AS exposition,"
+                + " SUM(COALESCE(decouvert_autorise_centimes, 0)) AS decouvert_autorise"
+                + " FROM comptes GROUP BY code_agence ORDER BY code_agence";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                String code = resultSet.getString("code_agence");
+                agregats.put(code, new AgregatsAgence(code, resultSet.getLong("courants"), resultSet.getLong("epargne"),
+                        resultSet.getLong("depots"), resultSet.getLong("exposition"), resultSet.getLong("decouvert_autorise")));
+            }
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+        return agregats;
+    }
+
+    /**
+     * Calcule la synthèse des clients d'une tranche d'IDs en une seule requête (GROUP BY client_id sur
+     * l'index de la clé étrangère client_id) : chaque appel ne lit que les comptes de sa tranche.
+     *
+     * @param apresClientId Le dernier ID de la tranche précédente, ou null pour commencer au début.
+     * @param dernierClientId Le dernier ID de la tranche.
+     * @return Les synthèses par ID client, triées.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public Map<String, Portefeuille> calculerPortefeuilles(String apresClientId, String dernierClientId) throws SQLException {
+        Map<String, Portefeuille> portefeuilles = new LinkedHashMap<>();
+        String sql = "SELECT client_id,"
+                + " SUM(CASE WHEN type_compte = 'COURANT' THEN 1 ELSE 0 END) AS courants,"
+                + " SUM(CASE WHEN type_compte = 'EPARGNE' THEN 1 ELSE 0 END) AS epargne,"
+                + " SUM(CASE WHEN type_compte = 'COURANT' THEN solde_centimes ELSE 0 END) AS solde_courants,"
+                + " SUM(CASE WHEN type_compte = 'EPARGNE' THEN solde_centimes ELSE 0 END) AS solde_epargne,"
+                + " SUM(CASE WHEN type_compte = 'COURANT' AND solde_centimes < 0 THEN -solde_centimes ELSE 0 END) AS decouvert_utilise"
+                + " FROM comptes WHERE client_id > ? AND client_id <= ? GROUP BY client_id ORDER BY client_id";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            statement.setString(1, apresClientId != null ? apresClientId : "");
+            statement.setString(2, dernierClientId);
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                String clientId = resultSet.getString("client_id");
+                portefeuilles.put(clientId, new Portefeuille(clientId, resultSet.getInt("courants"), resultSet.getInt("epargne"),
+                        resultSet.getLong("solde_courants"), resultSet.getLong("solde_epargne"), resultSet.getLong("decouvert_utilise")));
+            }
         } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
             DatabaseConnection.closeConnection(connection);
+        }
+        return portefeuilles;
+    }
+
+    /**
+     * Vérifie l'existence d'un compte sans le charger.
+     *
+     * @param numeroCompte Le numéro du compte.
+     * @return true si le compte existe, false sinon.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public boolean existeCompte(String numeroCompte) throws SQLException {
+        String sql = "SELECT 1 FROM comptes WHERE numero = ?";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            statement.setString(1, numeroCompte);
+            resultSet = statement.executeQuery();
+            return resultSet.next();
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
             if (statement != null) {
                 statement.close();
             }
+            DatabaseConnection.closeConnection(connection);
         }
     }
 
+    /**
+     * Supprime un compte seulement si son solde est nul, après l'avoir lu sous verrou (SELECT ... FOR UPDATE).
+     *
+     * @param numeroCompte Le numéro du compte à supprimer.
+     * @return Le compte supprimé (sans Client, seulement son ID), ou Optional.empty() si le compte n'existe pas
+     *         ou si son solde n'est pas nul.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public Optional<Compte> deleteCompteSoldeNul(String numeroCompte) throws SQLException {
+        // Lecture verrouillée (FOR UPDATE) et suppression dans la même transaction : la ligne ne peut pas
+        // changer entre les deux, le compte lu est bien celui supprimé.
+        return UnitOfWork.executer(() -> {
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = DatabaseConnection.getConnection();
+                statement = connection.prepareStatement("SELECT " + colonnesCompte("c") + " FROM comptes c WHERE c.numero = ? FOR UPDATE");
+                statement.setString(1, numeroCompte);
+                resultSet = statement.executeQuery();
+                if (!resultSet.next()) {
+                    return Optional.<Compte>empty();
+                }
+                Compte compte = lireCompte(resultSet, "c", null);
+                resultSet.close();
+                resultSet = null;
+                statement.close();
+
+                statement = connection.prepareStatement("DELETE FROM comptes WHERE numero = ? AND solde_centimes = 0");
+                statement.setString(1, numeroCompte);
+                if (statement.executeUpdate() == 0) {
+                    return Optional.<Compte>empty();
+                }
+                invalider(numeroCompte);
+                CACHE_ATTRIBUTS.invalider(numeroCompte);
+                return Optional.of(compte);
+            } finally {
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                if (statement != null) {
+                    statement.close();
+                }
+                DatabaseConnection.closeConnection(connection);
+            }
+        });
+    }
+
     /**
      * Récupère tous les comptes associés à un client donné.
      *
@@ -188,9 +631,18 @@ public class CompteDAO {
      * @return Une liste de tous les comptes du client.
      * @throws SQLException En cas d'erreur SQL.
      */
+    @Override
     public List<Compte> getComptesByClientId(String clientId) throws SQLException {
         List<Compte> comptes = new ArrayList<>();
-        String sql = "SELECT numero, solde, date_ouverture, client_id, type_compte, decouvert_autorise, taux_interet FROM comptes WHERE client_id = ?";
+        String sql = "SELECT numero, solde_centimes, date_ouverture, client_id, type_compte, decouvert_autorise_centimes, taux_interet, code_agence FROM comptes WHERE client_id = ?";
+        // Récupérer le client une seule fois pour tous les comptes, avant d'emprunter la connexion
+        // de la requête : en tenir deux à la fois pourrait bloquer le pool lorsqu'il est saturé.
+        Optional<Client> clientOptional = clientDAO.getClientById(clientId);
+        if (!clientOptional.isPresent()) {
+            throw new SQLException("Client associé aux comptes non trouvé : " + clientId);
+        }
+        Client client = clientOptional.get();
+
         Connection connection = null;
         PreparedStatement statement = null;
         ResultSet resultSet = null;
@@ -200,41 +652,123 @@ public class CompteDAO {
             statement.setString(1, clientId);
             resultSet = statement.executeQuery();
 
-            // Récupérer le client une seule fois pour tous les comptes
-            Optional<Client> clientOptional = clientDAO.getClientById(clientId);
-            if (!clientOptional.isPresent()) {
-                throw new SQLException("Client associé aux comptes non trouvé : " + clientId);
-            }
-            Client client = clientOptional.get();
-
             while (resultSet.next()) {
                 String numero = resultSet.getString("numero");
-                double solde = resultSet.getDouble("solde");
+                long soldeCentimes = resultSet.getLong("solde_centimes");
                 LocalDate dateOuverture = resultSet.getDate("date_ouverture").toLocalDate();
                 String typeCompte = resultSet.getString("type_compte");
-                double decouvertAutorise = resultSet.getDouble("decouvert_autorise");
+                long decouvertAutoriseCentimes = resultSet.getLong("decouvert_autorise_centimes");
                 double tauxInteret = resultSet.getDouble("taux_interet");
 
                 Compte compte;
                 if ("COURANT".equals(typeCompte)) {
-                    compte = new CompteCourant(numero, solde, client, decouvertAutorise);
+                    compte = new CompteCourant(numero, soldeCentimes, client, decouvertAutoriseCentimes);
                 } else if ("EPARGNE".equals(typeCompte)) {
-                    compte = new CompteEpargne(numero, solde, client, tauxInteret);
+                    compte = new CompteEpargne(numero, soldeCentimes, client, tauxInteret);
                 } else {
-                    System.err.println("Type de compte inconnu trouvé dans la base de données : " + typeCompte);
+                    JOURNAL.avertissement("Type de compte inconnu trouvé dans la base de données : {}", typeCompte);
                     continue; // Passer ce compte et continuer
                 }
+                compte.setCodeAgence(resultSet.getString("code_agence"));
                 comptes.add(compte);
             }
         } finally {
-            DatabaseConnection.closeConnection(connection);
-            if (statement != null) {
-                statement.close();
-            }
             if (resultSet != null) {
                 resultSet.close();
             }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
         }
         return comptes;
     }
+
+    /**
+     * Copie d'un compte et de son client : l'exemplaire du cache n'est jamais remis à un appelant.
+     */
+    private static Compte copier(Compte compte) {
+        Client client = compte.getClient() != null ? ClientDAO.copier(compte.getClient()) : null;
+        Compte copie;
+        if (compte instanceof CompteCourant) {
+            copie = new CompteCourant(compte.getNumero(), compte.getSoldeCentimes(), client,
+                    ((CompteCourant) compte).getDecouvertAutoriseCentimes());
+        } else {
+            copie = new CompteEpargne(compte.getNumero(), compte.getSoldeCentimes(), client,
+                    ((CompteEpargne) compte).getTauxInteret());
+        }
+        copie.setCodeAgence(compte.getCodeAgence());
+        return copie;
+    }
+
+    /**
+     * Retire un compte du cache, immédiatement puis à nouveau après la validation de l'unité de travail
+     * courante : une lecture concurrente faite avant le commit ne peut pas laisser l'ancienne valeur en cache.
+     */
+    private static void invalider(String numeroCompte) {
+        CACHE_COMPTES.invalider(numeroCompte);
+        UnitOfWork.apresValidation(() -> CACHE_COMPTES.invalider(numeroCompte));
+    }
+
+    /**
+     * Retire du cache tous les comptes d'un client (ils référencent l'objet Client, qui a changé).
+     */
+    static void invaliderComptesDuClient(String clientId) {
+        CACHE_COMPTES.invaliderSi(compte -> compte.getClient() != null && clientId.equals(compte.getClient().getId()));
+        UnitOfWork.apresValidation(() -> CACHE_COMPTES.invaliderSi(compte -> compte.getClient() != null && clientId.equals(compte.getClient().getId())));
+    }
+
+    /**
+     * Retourne le cache des comptes (taille et compteurs succès/échecs/évictions).
+     *
+     * @return Le cache des comptes.
+     */
+    public static CacheLRU<String, Compte> getCache() {
+        return CACHE_COMPTES;
+    }
+
+    /**
+     * Liste des colonnes d'un compte pour une requête avec jointure, chaque colonne
+     * étant renommée avec un préfixe (ex: "c.numero AS c_numero").
+     *
+     * @param alias L'alias de la table comptes dans la requête, aussi utilisé comme préfixe.
+     * @return La liste des colonnes à insérer dans la clause SELECT.
+     */
+    static String colonnesCompte(String alias) {
+        return alias + ".numero AS " + alias + "_numero, "
+                + alias + ".solde_centimes AS " + alias + "_solde_centimes, "
+                + alias + ".date_ouverture AS " + alias + "_date_ouverture, "
+                + alias + ".client_id AS " + alias + "_client_id, "
+                + alias + ".type_compte AS " + alias + "_type_compte, "
+                + alias + ".decouvert_autorise_centimes AS " + alias + "_decouvert_autorise_centimes, "
+                + alias + ".taux_interet AS " + alias + "_taux_interet, "
+                + alias + ".code_agence AS " + alias + "_code_agence";
+    }
+
+    /**
+     * Construit un Compte à partir de la ligne courante d'une requête utilisant {@link #colonnesCompte(String)}.
+     *
+     * @param resultSet Le ResultSet positionné sur la ligne à lire.
+     * @param alias L'alias utilisé dans colonnesCompte.
+     * @param client Le client propriétaire, déjà résolu par l'appelant.
+     * @return Le compte lu.
+     * @throws SQLException En cas d'erreur SQL ou de type de compte inconnu.
+     */
+    static Compte lireCompte(ResultSet resultSet, String alias, Client client) throws SQLException {
+        String prefixe = alias + "_";
+        String numero = resultSet.getString(prefixe + "numero");
+        long soldeCentimes = resultSet.getLong(prefixe + "solde_centimes");
+        String typeCompte = resultSet.getString(prefixe + "type_compte");
+        Compte compte;
+        if ("COURANT".equals(typeCompte)) {
+            compte = new CompteCourant(numero, soldeCentimes, client, resultSet.getLong(prefixe + "decouvert_autorise_centimes"));
+        } else if ("EPARGNE".equals(typeCompte)) {
+            compte = new CompteEpargne(numero, soldeCentimes, client, resultSet.getDouble(prefixe + "taux_interet"));
+        } else {
+            throw new SQLException("Type de compte inconnu dans la base de données : " + typeCompte);
+        }
+        compte.setClientId(resultSet.getString(prefixe + "client_id"));
+        compte.setCodeAgence(resultSet.getString(prefixe + "code_agence"));
+        return compte;
+    }
 }
\ No newline at end of file
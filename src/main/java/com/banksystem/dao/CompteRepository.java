@@ -0,0 +1,177 @@
+// src/main/java/com/banksystem/dao/CompteRepository.java
+package com.banksystem.dao;
+
+import com.banksystem.model.AgregatsAgence;
+import com.banksystem.model.Compte;
+import com.banksystem.model.CompteEpargne;
+import com.banksystem.model.MouvementSolde;
+import com.banksystem.model.Portefeuille;
+import com.banksystem.model.Transaction;
+import com.banksystem.util.LotsJdbc;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Accès aux comptes, indépendamment du stockage (base JDBC ou moteur en mémoire).
+ * Les services obtiennent leur implémentation par {@link FabriqueRepositories#comptes()}.
+ * <p>
+ * Les comptes retournés peuvent être partagés entre appelants (cache, moteur en mémoire) :
+ * les soldes se modifient par {@link #crediter}/{@link #debiter} ou {@link #updateCompte}, jamais en mémoire.
+ */
+public interface CompteRepository {
+
+    /**
+     * Enregistre un nouveau compte (courant ou épargne).
+     *
+     * @param compte Le compte à enregistrer.
+     * @return true si le compte est ajouté, false sinon.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean addCompte(Compte compte) throws SQLException;
+
+    /**
+     * Enregistre plusieurs comptes par lots.
+     *
+     * @param comptes Les comptes à enregistrer.
+     * @param tailleLot Le nombre de comptes par lot (stockage JDBC).
+     * @return Pour chaque compte (dans l'ordre), true s'il a été enregistré.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean[] addComptes(List<Compte> comptes, int tailleLot) throws SQLException;
+
+    /**
+     * Enregistre plusieurs comptes par lots de taille par défaut ({@link LotsJdbc#TAILLE_LOT_DEFAUT}).
+     *
+     * @param comptes Les comptes à enregistrer.
+     * @return Pour chaque compte (dans l'ordre), true s'il a été enregistré.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    default boolean[] addComptes(List<Compte> comptes) throws SQLException {
+        return addComptes(comptes, LotsJdbc.TAILLE_LOT_DEFAUT);
+    }
+
+    /**
+     * Récupère un compte par son numéro, avec son client.
+     *
+     * @param numeroCompte Le numéro du compte.
+     * @return Le compte, ou Optional.empty() s'il n'existe pas.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    Optional<Compte> getCompteByNumero(String numeroCompte) throws SQLException;
+
+    /**
+     * Met à jour le solde et les paramètres spécifiques d'un compte.
+     *
+     * @param compte Le compte avec les informations à mettre à jour.
+     * @return true si la mise à jour réussit, false sinon.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean updateCompte(Compte compte) throws SQLException;
+
+    /**
+     * Crédite un compte sans le charger.
+     *
+     * @param numeroCompte Le numéro du compte à créditer.
+     * @param montantCentimes Le montant à ajouter, en centimes (positif).
+     * @return Le mouvement avec le nouveau solde, ou Optional.empty() si le compte n'existe pas.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    Optional<MouvementSolde> crediter(String numeroCompte, long montantCentimes) throws SQLException;
+
+    /**
+     * Débite un compte sans le charger, seulement si le solde après débit reste au-dessus du découvert
+     * autorisé (0 pour un compte épargne). Le contrôle et la mise à jour sont atomiques.
+     *
+     * @param numeroCompte Le numéro du compte à débiter.
+     * @param montantCentimes Le montant à retirer, en centimes (positif).
+     * @return Le mouvement avec le nouveau solde, ou Optional.empty() si le compte n'existe pas
+     *         ou si les fonds sont insuffisants (voir {@link #existeCompte(String)} pour distinguer).
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    Optional<MouvementSolde> debiter(String numeroCompte, long montantCentimes) throws SQLException;
+
+    /**
+     * Crédite plusieurs comptes (compte = numéro source de chaque transaction, montant de la transaction).
+     *
+     * @param credits Les crédits à appliquer.
+     * @param tailleLot Le nombre de crédits par lot (stockage JDBC).
+     * @return Pour chaque crédit (dans l'ordre), true si le compte a été mis à jour.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean[] appliquerCredits(List<Transaction> credits, int tailleLot) throws SQLException;
+
+    /**
+     * Parcours par clé des comptes épargne : au plus limite comptes dont le numéro suit apresNumero,
+     * dans l'ordre des numéros. Les comptes retournés ne portent pas leur Client.
+     *
+     * @param apresNumero Le dernier numéro du lot précédent, ou null pour commencer au début.
+     * @param limite Le nombre maximal de comptes à retourner.
+     * @return Les comptes épargne du lot, sans client.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    List<CompteEpargne> getComptesEpargneApres(String apresNumero, int limite) throws SQLException;
+
+    /**
+     * Parcours par clé des comptes d'une agence : au plus limite comptes dont le numéro suit apresNumero,
+     * dans l'ordre des numéros. Les comptes retournés ne portent pas leur Client.
+     *
+     * @param codeAgence Le code de l'agence.
+     * @param apresNumero Le dernier numéro du lot précédent, ou null pour commencer au début.
+     * @param limite Le nombre maximal de comptes à retourner.
+     * @return Les comptes du lot, sans client.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    List<Compte> getComptesByAgence(String codeAgence, String apresNumero, int limite) throws SQLException;
+
+    /**
+     * Calcule les agrégats de chaque agence ayant des comptes en parcourant tous les comptes.
+     *
+     * @return Les agrégats par code d'agence.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    Map<String, AgregatsAgence> calculerAgregatsParAgence() throws SQLException;
+
+    /**
+     * Calcule, à partir des comptes, la synthèse de chaque client d'une tranche d'IDs (apresClientId exclu,
+     * dernierClientId inclus) ayant au moins un compte.
+     *
+     * @param apresClientId Le dernier ID de la tranche précédente, ou null pour commencer au début.
+     * @param dernierClientId Le dernier ID de la tranche.
+     * @return Les synthèses par ID client, triées.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    Map<String, Portefeuille> calculerPortefeuilles(String apresClientId, String dernierClientId) throws SQLException;
+
+    /**
+     * Vérifie l'existence d'un compte sans le charger.
+     *
+     * @param numeroCompte Le numéro du compte.
+     * @return true si le compte existe, false sinon.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean existeCompte(String numeroCompte) throws SQLException;
+
+    /**
+     * Supprime un compte seulement si son solde est nul (DELETE ... WHERE numero = ? AND solde_centimes = 0).
+     * Le compte est lu sous verrou juste avant la suppression : le compte retourné est exactement la ligne
+     * supprimée, et sert à calculer les variations de fermeture (synthèses, agrégats).
+     *
+     * @param numeroCompte Le numéro du compte à supprimer.
+     * @return Le compte supprimé (sans Client, seulement son ID), ou Optional.empty() si le compte n'existe pas
+     *         ou si son solde n'est pas nul.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    Optional<Compte> deleteCompteSoldeNul(String numeroCompte) throws SQLException;
+
+    /**
+     * Récupère tous les comptes d'un client.
+     *
+     * @param clientId L'ID du client.
+     * @return Les comptes du client.
+     * @throws SQLException En cas d'erreur d'accès au stockage (ou si le client n'existe pas).
+     */
+    List<Compte> getComptesByClientId(String clientId) throws SQLException;
+}
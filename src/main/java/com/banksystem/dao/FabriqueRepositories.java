@@ -0,0 +1,113 @@
+// src/main/java/com/banksystem/dao/FabriqueRepositories.java
+package com.banksystem.dao;
+
+import com.banksystem.dao.memoire.AdminMemoire;
+import com.banksystem.dao.memoire.AgenceMemoire;
+import com.banksystem.dao.memoire.ClientMemoire;
+import com.banksystem.dao.memoire.CompteMemoire;
+import com.banksystem.dao.memoire.InteretsMemoire;
+import com.banksystem.dao.memoire.NotificationMemoire;
+import com.banksystem.dao.memoire.PortefeuilleMemoire;
+import com.banksystem.dao.memoire.StockageMemoire;
+import com.banksystem.dao.memoire.TransactionMemoire;
+
+/**
+ * Point d'accès unique aux repositories : les services n'instancient plus les DAO eux-mêmes.
+ * <p>
+ * Le stockage est choisi une fois pour toutes au démarrage via -Dbanksystem.stockage :
+ * <ul>
+ *   <li>{@code jdbc} (défaut) : les DAO JDBC (MySQL, ou H2 pour les benchmarks) ;</li>
+ *   <li>{@code memoire} : le moteur en mémoire de {@code com.banksystem.dao.memoire}, sans base de données,
+ *       pour les essais, les benchmarks et les lectures sensibles à la latence. Ses données sont perdues
+ *       à l'arrêt de la JVM.</li>
+ * </ul>
+ * Les repositories retournés sont sans état propre à l'appelant et partagés par tous les services.
+ */
+public final class FabriqueRepositories {
+
+    public enum Stockage {
+        JDBC, MEMOIRE
+    }
+
+    private static final Stockage STOCKAGE = lireStockage();
+
+    private FabriqueRepositories() {
+    }
+
+    /**
+     * Les deux jeux de repositories ne sont créés qu'au premier accès (idiome du "holder") :
+     * en mode mémoire, aucune classe JDBC n'est initialisée.
+     */
+    private static final class Jdbc {
+        private static final ClientRepository CLIENTS = new ClientDAO();
+        private static final AdminRepository ADMINS = new AdminDAO();
+        private static final AgenceRepository AGENCES = new AgenceDAO();
+        private static final CompteRepository COMPTES = new CompteDAO();
+        private static final TransactionRepository TRANSACTIONS = new TransactionDAO();
+        private static final InteretsRepository INTERETS = new InteretsDAO();
+        private static final NotificationRepository NOTIFICATIONS = new NotificationDAO();
+        private static final PortefeuilleRepository PORTEFEUILLES = new PortefeuilleDAO();
+    }
+
+    private static final class Memoire {
+        private static final StockageMemoire STOCKAGE = new StockageMemoire();
+        private static final ClientRepository CLIENTS = new ClientMemoire(STOCKAGE);
+        private static final AdminRepository ADMINS = new AdminMemoire(STOCKAGE);
+        private static final AgenceRepository AGENCES = new AgenceMemoire(STOCKAGE);
+        private static final CompteRepository COMPTES = new CompteMemoire(STOCKAGE);
+        private static final TransactionRepository TRANSACTIONS = new TransactionMemoire(STOCKAGE);
+        private static final InteretsRepository INTERETS = new InteretsMemoire(STOCKAGE);
+        private static final NotificationRepository NOTIFICATIONS = new NotificationMemoire(STOCKAGE);
+        private static final PortefeuilleRepository PORTEFEUILLES = new PortefeuilleMemoire(STOCKAGE);
+    }
+
+    /**
+     * Retourne le stockage choisi au démarrage.
+     *
+     * @return Le stockage utilisé par les repositories.
+     */
+    public static Stockage getStockage() {
+        return STOCKAGE;
+    }
+
+    public static ClientRepository clients() {
+        return STOCKAGE == Stockage.MEMOIRE ? Memoire.CLIENTS : Jdbc.CLIENTS;
+    }
+
+    public static AdminRepository admins() {
+        return STOCKAGE == Stockage.MEMOIRE ? Memoire.ADMINS : Jdbc.ADMINS;
+    }
+
+    public static AgenceRepository agences() {
+        return STOCKAGE == Stockage.MEMOIRE ? Memoire.AGENCES : Jdbc.AGENCES;
+    }
+
+    public static CompteRepository comptes() {
+        return STOCKAGE == Stockage.MEMOIRE ? Memoire.COMPTES : Jdbc.COMPTES;
+    }
+
+    public static TransactionRepository transactions() {
+        return STOCKAGE == Stockage.MEMOIRE ? Memoire.TRANSACTIONS : Jdbc.TRANSACTIONS;
+    }
+
+    public static InteretsRepository interets() {
+        return STOCKAGE == Stockage.MEMOIRE ? Memoire.INTERETS : Jdbc.INTERETS;
+    }
+
+    public static NotificationRepository notifications() {
+        return STOCKAGE == Stockage.MEMOIRE ? Memoire.NOTIFICATIONS : Jdbc.NOTIFICATIONS;
+    }
+
+    public static PortefeuilleRepository portefeuilles() {
+        return STOCKAGE == Stockage.MEMOIRE ? Memoire.PORTEFEUILLES : Jdbc.PORTEFEUILLES;
+    }
+
+    private static Stockage lireStockage() {
+        String valeur = System.getProperty("banksystem.stockage", "jdbc");
+        try {
+            return Stockage.valueOf(valeur.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Stockage inconnu (-Dbanksystem.stockage) : " + valeur + " ; valeurs possibles : jdbc, memoire.");
+        }
+    }
+}
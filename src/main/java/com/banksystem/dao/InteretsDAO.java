@@ -0,0 +1,85 @@
+// src/main/java/com/banksystem/dao/InteretsDAO.java
+package com.banksystem.dao;
+
+import com.banksystem.model.Transaction;
+import com.banksystem.util.DatabaseConnection;
+import com.banksystem.util.LotsJdbc;
+
+import java.sql.*;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Accès à la table interets_verses : trace des intérêts déjà versés par compte et par période,
+ * qui rend le versement des intérêts idempotent.
+ */
+public class InteretsDAO implements InteretsRepository {
+
+    /**
+     * Retourne, parmi les comptes donnés, ceux qui ont déjà reçu leurs intérêts pour la période.
+     * Dans une unité de travail, les lignes lues sont verrouillées (FOR UPDATE) jusqu'au commit.
+     *
+     * @param periode La période (ex: "2024-05").
+     * @param numerosComptes Les numéros des comptes à vérifier.
+     * @return Les numéros des comptes déjà crédités pour cette période.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public Set<String> getComptesDejaCredites(String periode, List<String> numerosComptes) throws SQLException {
+        Set<String> dejaCredites = new HashSet<>();
+        if (numerosComptes.isEmpty()) {
+            return dejaCredites;
+        }
+        StringBuilder sql = new StringBuilder("SELECT numero_compte FROM interets_verses WHERE periode = ? AND numero_compte IN (");
+        for (int i = 0; i < numerosComptes.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(") FOR UPDATE");
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql.toString());
+            statement.setString(1, periode);
+            for (int i = 0; i < numerosComptes.size(); i++) {
+                statement.setString(i + 2, numerosComptes.get(i));
+            }
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                dejaCredites.add(resultSet.getString("numero_compte"));
+            }
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+        return dejaCredites;
+    }
+
+    /**
+     * Enregistre, par lots, le versement des intérêts de la période pour chaque crédit.
+     * La clé primaire (periode, numero_compte) interdit un second versement pour le même compte.
+     *
+     * @param periode La période (ex: "2024-05").
+     * @param credits Les transactions de crédit des intérêts (compte source = compte crédité).
+     * @param tailleLot Le nombre de lignes par lot.
+     * @return Pour chaque crédit (dans l'ordre), true si le versement a été enregistré.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public boolean[] marquerVerses(String periode, List<Transaction> credits, int tailleLot) throws SQLException {
+        String sql = "INSERT INTO interets_verses (periode, numero_compte, montant_centimes, date_versement) VALUES (?, ?, ?, ?)";
+        return LotsJdbc.executer(sql, credits, tailleLot, (statement, credit) -> {
+            statement.setString(1, periode);
+            statement.setString(2, credit.getNumeroCompteSource());
+            statement.setLong(3, credit.getMontantCentimes());
+            statement.setTimestamp(4, Timestamp.valueOf(credit.getDate()));
+        });
+    }
+}
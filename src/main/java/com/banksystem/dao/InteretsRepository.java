@@ -0,0 +1,37 @@
+// src/main/java/com/banksystem/dao/InteretsRepository.java
+package com.banksystem.dao;
+
+import com.banksystem.model.Transaction;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Trace des intérêts versés par compte et par période, indépendamment du stockage.
+ * Les services obtiennent leur implémentation par {@link FabriqueRepositories#interets()}.
+ */
+public interface InteretsRepository {
+
+    /**
+     * Retourne, parmi les comptes donnés, ceux qui ont déjà reçu leurs intérêts pour la période.
+     *
+     * @param periode La période (ex: "2024-05").
+     * @param numerosComptes Les numéros des comptes à vérifier.
+     * @return Les numéros des comptes déjà crédités pour cette période.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    Set<String> getComptesDejaCredites(String periode, List<String> numerosComptes) throws SQLException;
+
+    /**
+     * Enregistre le versement des intérêts de la période pour chaque crédit ; un second versement
+     * pour le même compte et la même période est refusé.
+     *
+     * @param periode La période (ex: "2024-05").
+     * @param credits Les transactions de crédit des intérêts (compte source = compte crédité).
+     * @param tailleLot Le nombre de lignes par lot (stockage JDBC).
+     * @return Pour chaque crédit (dans l'ordre), true si le versement a été enregistré.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean[] marquerVerses(String periode, List<Transaction> credits, int tailleLot) throws SQLException;
+}
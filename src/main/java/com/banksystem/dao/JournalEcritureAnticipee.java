@@ -0,0 +1,576 @@
+// src/main/java/com/banksystem/dao/JournalEcritureAnticipee.java
+package com.banksystem.dao;
+
+import com.banksystem.model.JournalAction;
+import com.banksystem.util.Journal;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal d'écriture anticipée des actions sur les comptes : fichiers binaires en ajout seul, projetés en
+ * mémoire (memory-mapped), découpés en segments de taille fixe (actions-000000000000.wal, ...).
+ * <p>
+ * Chaque enregistrement est précédé de sa longueur et de son CRC32C ; la relecture s'arrête au premier
+ * enregistrement incomplet ou corrompu (écriture interrompue par un arrêt brutal). Trois genres
+ * d'enregistrements : l'action elle-même, écrite avant la validation en base, puis sa validation ou son
+ * annulation (par plage de séquences). Une action sans l'une ni l'autre est "incertaine" : la JVM s'est arrêtée
+ * entre l'écriture et la fin de l'unité de travail, sa référence permet de la vérifier en base.
+ * <p>
+ * Validation groupée : les écritures sont de simples copies dans la projection ; un thread de synchronisation
+ * force (fsync) le segment pour tout ce qui a été écrit depuis son dernier passage, et réveille en une fois
+ * tous les appelants couverts. Sous charge, un seul fsync sert des dizaines d'actions. En mode synchrone
+ * (par défaut), {@link #ajouter(List)} ne rend la main qu'une fois ses actions sur disque ; sinon elles
+ * survivent à l'arrêt du processus mais pas à celui de la machine.
+ * <p>
+ * Les verrous sont des ReentrantLock (et non synchronized) : un thread virtuel qui attend le fsync libère
+ * son thread porteur.
+ */
+public class JournalEcritureAnticipee implements AutoCloseable {
+
+    /**
+     * Reçoit les enregistrements relus, dans l'ordre d'écriture.
+     */
+    public interface Lecteur {
+        void action(JournalAction action);
+
+        void validation(long premiereSequence, int nombre);
+
+        void annulation(long premiereSequence, int nombre);
+    }
+
+    private static final Journal JOURNAL = Journal.pour(JournalEcritureAnticipee.class);
+
+    private static final String PREFIXE = "actions-";
+    private static final String EXTENSION = ".wal";
+    private static final int ENTETE = 8; // Longueur (int) puis CRC32C du corps (int)
+    private static final int TAILLE_MAX_CHAINE = 1_024;
+    private static final byte GENRE_ACTION = 1;
+    private static final byte GENRE_VALIDATION = 2;
+    private static final byte GENRE_ANNULATION = 3;
+    private static final JournalAction.Type[] TYPES = JournalAction.Type.values();
+
+    private final Path repertoire;
+    private final int tailleSegment;
+    private final boolean synchrone;
+    private final long delaiGroupeNanos;
+
+    private final ReentrantLock verrou = new ReentrantLock();
+    private final Condition aSynchroniser = verrou.newCondition();
+    private final Condition synchronise = verrou.newCondition();
+    private final ByteBuffer tampon = ByteBuffer.allocate(ENTETE + 64 + 3 * (2 + TAILLE_MAX_CHAINE));
+    private final CRC32C crc = new CRC32C();
+    private final Thread synchroniseur;
+
+    // Protégés par verrou
+    private Segment segment;
+    private long sequenceSuivante;
+    private long lsnEcrit;   // Position (segment << 32 | octet) de la fin du dernier enregistrement écrit
+    private long lsnDurable; // Position jusqu'à laquelle le fichier est forcé sur disque
+    private IOException erreurSynchronisation;
+    private boolean ferme;
+
+    private final LongAdder actionsEcrites = new LongAdder();
+    private final LongAdder marquesEcrites = new LongAdder();
+    private final LongAdder synchronisations = new LongAdder();
+    private final LongAdder attentesDurables = new LongAdder();
+    private final LongAdder attenteDurableNanos = new LongAdder();
+    private final LongAdder segmentsOuverts = new LongAdder();
+
+    /**
+     * Ouvre (ou crée) le journal d'un répertoire ; la fin du dernier segment est retrouvée par relecture.
+     *
+     * @param repertoire Le répertoire des segments.
+     * @param tailleSegment La taille d'un segment, en octets.
+     * @param synchrone true pour attendre le fsync dans {@link #ajouter(List)}.
+     * @param delaiGroupeMicros Attente du thread de synchronisation avant chaque fsync, pour grouper davantage
+     *                          d'écritures (0 : synchroniser dès qu'une écriture arrive).
+     * @throws IOException Si le répertoire ou le dernier segment ne peut pas être ouvert.
+     */
+    public JournalEcritureAnticipee(Path repertoire, int tailleSegment, boolean synchrone, long delaiGroupeMicros) throws IOException {
+        if (tailleSegment < 4_096) {
+            throw new IllegalArgumentException("Segment trop petit : " + tailleSegment + " octets.");
+        }
+        this.repertoire = repertoire;
+        this.tailleSegment = tailleSegment;
+        this.synchrone = synchrone;
+        this.delaiGroupeNanos = TimeUnit.MICROSECONDS.toNanos(delaiGroupeMicros);
+        Files.createDirectories(repertoire);
+        recuperer();
+        this.synchroniseur = new Thread(this::synchroniser, "journal-actions-fsync");
+        this.synchroniseur.setDaemon(true);
+        this.synchroniseur.start();
+    }
+
+    /**
+     * Inscrit des actions (séquences consécutives) et, en mode synchrone, attend qu'elles soient sur disque.
+     *
+     * @param actions Les actions, dans l'ordre.
+     * @return La séquence attribuée à la première action.
+     * @throws IOException Si le journal est fermé ou si l'écriture ou le fsync échoue.
+     */
+    public long ajouter(List<JournalAction> actions) throws IOException {
+        long premiere;
+        long lsn;
+        verrou.lock();
+        try {
+            verifierOuvert();
+            premiere = sequenceSuivante;
+            long horodatage = System.currentTimeMillis();
+            for (JournalAction action : actions) {
+                tampon.clear();
+                tampon.put(GENRE_ACTION).putLong(sequenceSuivante++).putLong(horodatage)
+                        .put((byte) action.getType().ordinal()).putLong(action.getMontantCentimes());
+                ecrireChaine(action.getNumeroCompte());
+                ecrireChaine(action.getNumeroCompteDestination());
+                ecrireChaine(action.getReference());
+                ecrireEnregistrement();
+            }
+            actionsEcrites.add(actions.size());
+            lsn = lsnEcrit;
+            if (synchrone) {
+                attendreDurable(lsn);
+            }
+        } finally {
+            verrou.unlock();
+        }
+        return premiere;
+    }
+
+    public long ajouter(JournalAction action) throws IOException {
+        return ajouter(List.of(action));
+    }
+
+    /**
+     * Inscrit la validation d'une plage d'actions (sans attendre le fsync : une validation perdue rend seulement
+     * l'action incertaine à la relecture).
+     */
+    public void marquerValidees(long premiereSequence, int nombre) throws IOException {
+        marquer(GENRE_VALIDATION, premiereSequence, nombre);
+    }
+
+    /**
+     * Inscrit l'annulation d'une plage d'actions (unité de travail annulée après leur écriture).
+     */
+    public void marquerAnnulees(long premiereSequence, int nombre) throws IOException {
+        marquer(GENRE_ANNULATION, premiereSequence, nombre);
+    }
+
+    /**
+     * Relit tous les segments d'un répertoire, dans l'ordre.
+     *
+     * @param repertoire Le répertoire des segments.
+     * @param lecteur Reçoit chaque enregistrement valide.
+     * @throws IOException En cas d'erreur de lecture.
+     */
+    public static void lire(Path repertoire, Lecteur lecteur) throws IOException {
+        for (Path chemin : listerSegments(repertoire)) {
+            try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+                parcourir(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()), lecteur);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        verrou.lock();
+        try {
+            if (ferme) {
+                return;
+            }
+            ferme = true;
+            aSynchroniser.signalAll();
+        } finally {
+            verrou.unlock();
+        }
+        try {
+            synchroniseur.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        verrou.lock();
+        try {
+            segment.donnees.force();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            segment.canal.close();
+            synchronise.signalAll();
+            verrou.unlock();
+        }
+    }
+
+    // --- Écriture ---
+
+    private void marquer(byte genre, long premiereSequence, int nombre) throws IOException {
+        verrou.lock();
+        try {
+            verifierOuvert();
+            tampon.clear();
+            tampon.put(genre).putLong(premiereSequence).putInt(nombre);
+            ecrireEnregistrement();
+            marquesEcrites.increment();
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    private void ecrireChaine(String valeur) {
+        if (valeur == null) {
+            tampon.putShort((short) -1);
+            return;
+        }
+        byte[] octets = valeur.getBytes(StandardCharsets.UTF_8);
+        if (octets.length > TAILLE_MAX_CHAINE) {
+            throw new IllegalArgumentException("Valeur trop longue pour le journal des actions : " + octets.length + " octets.");
+        }
+        tampon.putShort((short) octets.length).put(octets);
+    }
+
+    /**
+     * Copie le corps préparé dans le tampon à la fin du segment courant (en changeant de segment s'il ne tient pas).
+     */
+    private void ecrireEnregistrement() throws IOException {
+        int longueur = tampon.position();
+        if (segment.position + ENTETE + longueur > segment.taille) {
+            rouler();
+        }
+        crc.reset();
+        crc.update(tampon.array(), 0, longueur);
+        MappedByteBuffer donnees = segment.donnees;
+        int position = segment.position;
+        donnees.put(position + ENTETE, tampon.array(), 0, longueur);
+        donnees.putInt(position + 4, (int) crc.getValue());
+        donnees.putInt(position, longueur); // La longueur en dernier : l'enregistrement n'est visible que complet
+        segment.position = position + ENTETE + longueur;
+        lsnEcrit = lsn(segment.numero, segment.position);
+        aSynchroniser.signal();
+    }
+
+    /**
+     * Ferme le segment courant (forcé sur disque) et en ouvre un nouveau. Appelé sous verrou.
+     */
+    private void rouler() throws IOException {
+        try {
+            segment.donnees.force();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        synchronisations.increment();
+        lsnDurable = lsnEcrit; // Tout ce qui précède est dans ce segment ou dans un segment déjà forcé
+        synchronise.signalAll();
+        segment.canal.close(); // La projection reste valide après la fermeture du canal
+        segment = ouvrirSegment(segment.numero + 1);
+    }
+
+    private void attendreDurable(long lsn) throws IOException {
+        if (lsnDurable >= lsn) {
+            return;
+        }
+        long debut = System.nanoTime();
+        try {
+            while (lsnDurable < lsn) {
+                if (erreurSynchronisation != null) {
+                    throw new IOException("Synchronisation du journal des actions impossible", erreurSynchronisation);
+                }
+                if (ferme && !synchroniseur.isAlive()) {
+                    throw new IOException("Journal des actions fermé avant la synchronisation.");
+                }
+                synchronise.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Attente de la synchronisation du journal des actions interrompue.");
+        } finally {
+            attentesDurables.increment();
+            attenteDurableNanos.add(System.nanoTime() - debut);
+        }
+    }
+
+    /**
+     * Boucle du thread de synchronisation : un fsync couvre toutes les écritures faites avant lui.
+     */
+    private void synchroniser() {
+        while (true) {
+            verrou.lock();
+            try {
+                while (lsnEcrit == lsnDurable && !ferme) {
+                    aSynchroniser.awaitUninterruptibly();
+                }
+                if (lsnEcrit == lsnDurable) {
+                    return; // Fermé et tout est sur disque
+                }
+            } finally {
+                verrou.unlock();
+            }
+            if (delaiGroupeNanos > 0) {
+                LockSupport.parkNanos(delaiGroupeNanos); // Laisse d'autres écritures rejoindre ce fsync
+            }
+            Segment cible;
+            long lsn;
+            verrou.lock();
+            try {
+                cible = segment;
+                lsn = lsnEcrit;
+            } finally {
+                verrou.unlock();
+            }
+            IOException erreur = null;
+            try {
+                cible.donnees.force();
+            } catch (UncheckedIOException e) {
+                erreur = e.getCause();
+                JOURNAL.erreur("fsync du journal des actions impossible", e);
+            }
+            verrou.lock();
+            try {
+                if (erreur != null) {
+                    erreurSynchronisation = erreur;
+                    synchronise.signalAll();
+                    return;
+                }
+                synchronisations.increment();
+                if (lsn > lsnDurable) {
+                    lsnDurable = lsn;
+                }
+                synchronise.signalAll();
+            } finally {
+                verrou.unlock();
+            }
+        }
+    }
+
+    private void verifierOuvert() throws IOException {
+        if (ferme) {
+            throw new IOException("Journal des actions fermé.");
+        }
+        if (erreurSynchronisation != null) {
+            throw new IOException("Journal des actions hors service après un échec de fsync", erreurSynchronisation);
+        }
+    }
+
+    // --- Ouverture et relecture ---
+
+    /**
+     * Rouvre le dernier segment à la fin de ses enregistrements valides et retrouve la prochaine séquence.
+     */
+    private void recuperer() throws IOException {
+        List<Path> segments = listerSegments(repertoire);
+        if (segments.isEmpty()) {
+            segment = ouvrirSegment(0);
+            sequenceSuivante = 1;
+        } else {
+            long[] derniereSequence = {0};
+            Lecteur maximum = new Lecteur() {
+                @Override
+                public void action(JournalAction action) {
+                    derniereSequence[0] = Math.max(derniereSequence[0], action.getSequence());
+                }
+
+                @Override
+                public void validation(long premiereSequence, int nombre) {
+                }
+
+                @Override
+                public void annulation(long premiereSequence, int nombre) {
+                }
+            };
+            Path dernier = segments.get(segments.size() - 1);
+            segment = ouvrirSegment(numeroDe(dernier));
+            segment.position = parcourir(segment.donnees.duplicate(), maximum);
+            // Reste d'une écriture interrompue : effacé pour ne pas être confondu avec la suite
+            if (segment.position + ENTETE <= segment.taille && segment.donnees.getInt(segment.position) != 0) {
+                for (int i = segment.position; i < segment.taille; i++) {
+                    segment.donnees.put(i, (byte) 0);
+                }
+                segment.donnees.force();
+            }
+            // Un segment ne contenant que des validations ne donne pas la dernière séquence : remonter
+            for (int i = segments.size() - 2; i >= 0 && derniereSequence[0] == 0; i--) {
+                try (FileChannel canal = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                    parcourir(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()), maximum);
+                }
+            }
+            sequenceSuivante = derniereSequence[0] + 1;
+            JOURNAL.info("Journal des actions rouvert : segment {}, octet {}, prochaine séquence {}.",
+                    segment.numero, segment.position, sequenceSuivante);
+        }
+        lsnEcrit = lsn(segment.numero, segment.position);
+        lsnDurable = lsnEcrit;
+    }
+
+    private Segment ouvrirSegment(long numero) throws IOException {
+        Path chemin = repertoire.resolve(String.format("%s%012d%s", PREFIXE, numero, EXTENSION));
+        FileChannel canal = FileChannel.open(chemin, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            int taille = (int) Math.max(canal.size(), tailleSegment); // Un segment existant garde sa taille
+            MappedByteBuffer donnees = canal.map(FileChannel.MapMode.READ_WRITE, 0, taille);
+            segmentsOuverts.increment();
+            return new Segment(numero, canal, donnees, taille);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Décode les enregistrements valides d'un segment.
+     *
+     * @return La position qui suit le dernier enregistrement valide.
+     */
+    private static int parcourir(ByteBuffer donnees, Lecteur lecteur) {
+        CRC32C controle = new CRC32C();
+        int position = 0;
+        while (position + ENTETE <= donnees.limit()) {
+            int longueur = donnees.getInt(position);
+            if (longueur <= 0 || longueur > donnees.limit() - position - ENTETE) {
+                break; // Fin des données (zéros) ou longueur incohérente
+            }
+            ByteBuffer corps = donnees.slice(position + ENTETE, longueur);
+            controle.reset();
+            controle.update(corps.duplicate());
+            if ((int) controle.getValue() != donnees.getInt(position + 4)) {
+                break; // Enregistrement incomplet : écriture interrompue
+            }
+            decoder(corps, lecteur);
+            position += ENTETE + longueur;
+        }
+        return position;
+    }
+
+    private static void decoder(ByteBuffer corps, Lecteur lecteur) {
+        byte genre = corps.get();
+        long sequence = corps.getLong();
+        switch (genre) {
+            case GENRE_ACTION:
+                long horodatage = corps.getLong();
+                JournalAction.Type type = TYPES[corps.get()];
+                long montant = corps.getLong();
+                String compte = lireChaine(corps);
+                String destination = lireChaine(corps);
+                String reference = lireChaine(corps);
+                lecteur.action(new JournalAction(sequence, horodatage, type, compte, destination, montant, reference));
+                break;
+            case GENRE_VALIDATION:
+                lecteur.validation(sequence, corps.getInt());
+                break;
+            case GENRE_ANNULATION:
+                lecteur.annulation(sequence, corps.getInt());
+                break;
+            default:
+                JOURNAL.avertissement("Enregistrement de genre inconnu ({}) ignoré, séquence {}.", genre, sequence);
+        }
+    }
+
+    private static String lireChaine(ByteBuffer corps) {
+        short longueur = corps.getShort();
+        if (longueur < 0) {
+            return null;
+        }
+        byte[] octets = new byte[longueur];
+        corps.get(octets);
+        return new String(octets, StandardCharsets.UTF_8);
+    }
+
+    private static List<Path> listerSegments(Path repertoire) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(repertoire)) {
+            return segments;
+        }
+        try (Stream<Path> fichiers = Files.list(repertoire)) {
+            fichiers.filter(chemin -> {
+                String nom = chemin.getFileName().toString();
+                return nom.startsWith(PREFIXE) && nom.endsWith(EXTENSION);
+            }).forEach(segments::add);
+        }
+        segments.sort((a, b) -> Long.compare(numeroDe(a), numeroDe(b)));
+        return segments;
+    }
+
+    private static long numeroDe(Path segment) {
+        String nom = segment.getFileName().toString();
+        return Long.parseLong(nom.substring(PREFIXE.length(), nom.length() - EXTENSION.length()));
+    }
+
+    private static long lsn(long numeroSegment, int position) {
+        return (numeroSegment << 32) | position;
+    }
+
+    // --- Statistiques ---
+    public Path getRepertoire() {
+        return repertoire;
+    }
+
+    public long getActionsEcrites() {
+        return actionsEcrites.sum();
+    }
+
+    public long getMarquesEcrites() {
+        return marquesEcrites.sum();
+    }
+
+    /**
+     * Nombre de fsync ; rapporté à getActionsEcrites(), donne la taille moyenne des groupes.
+     */
+    public long getSynchronisations() {
+        return synchronisations.sum();
+    }
+
+    public long getAttentesDurables() {
+        return attentesDurables.sum();
+    }
+
+    public long getAttenteDurableNanos() {
+        return attenteDurableNanos.sum();
+    }
+
+    public long getSegmentsOuverts() {
+        return segmentsOuverts.sum();
+    }
+
+    @Override
+    public String toString() {
+        long attentes = getAttentesDurables();
+        return "JournalEcritureAnticipee{" +
+                "repertoire='" + repertoire + '\'' +
+                ", synchrone=" + synchrone +
+                ", actions=" + getActionsEcrites() +
+                ", marques=" + getMarquesEcrites() +
+                ", fsync=" + getSynchronisations() +
+                ", segmentsOuverts=" + getSegmentsOuverts() +
+                ", attenteFsyncMoyenneUs=" + (attentes == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(getAttenteDurableNanos() / attentes)) +
+                '}';
+    }
+
+    private static final class Segment {
+        private final long numero;
+        private final FileChannel canal;
+        private final MappedByteBuffer donnees;
+        private final int taille;
+        private int position;
+
+        private Segment(long numero, FileChannel canal, MappedByteBuffer donnees, int taille) {
+            this.numero = numero;
+            this.canal = canal;
+            this.donnees = donnees;
+            this.taille = taille;
+        }
+    }
+}
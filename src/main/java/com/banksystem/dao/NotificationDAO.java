@@ -0,0 +1,82 @@
+// src/main/java/com/banksystem/dao/NotificationDAO.java
+package com.banksystem.dao;
+
+import com.banksystem.model.Notification;
+import com.banksystem.util.DatabaseConnection;
+import com.banksystem.util.LotsJdbc;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accès à la table notifications. Les notifications sont écrites par lots par les consommateurs
+ * de {@link com.banksystem.service.NotificationService}, jamais pendant une opération sur un compte.
+ */
+public class NotificationDAO implements NotificationRepository {
+
+    /**
+     * Enregistre des notifications par lots JDBC (un INSERT multi-lignes par lot avec MySQL).
+     * Les IDs sont attribués par la base (AUTO_INCREMENT) et ne sont pas relus.
+     *
+     * @param notifications Les notifications à enregistrer.
+     * @param tailleLot Le nombre de lignes par lot.
+     * @return Pour chaque notification (dans l'ordre), true si elle a été enregistrée.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public boolean[] addNotifications(List<Notification> notifications, int tailleLot) throws SQLException {
+        String sql = "INSERT INTO notifications (client_id, contenu, nombre_operations, date_creation, lue) VALUES (?, ?, ?, ?, ?)";
+        return LotsJdbc.executer(sql, notifications, tailleLot, (statement, notification) -> {
+            statement.setString(1, notification.getClientId());
+            statement.setString(2, notification.getContenu());
+            statement.setInt(3, notification.getNombreOperations());
+            statement.setTimestamp(4, Timestamp.valueOf(notification.getDateCreation()));
+            statement.setBoolean(5, notification.isLue());
+        });
+    }
+
+    /**
+     * Récupère les notifications les plus récentes d'un client (index (client_id, date_creation)).
+     *
+     * @param clientId L'ID du client.
+     * @param limite Le nombre maximal de notifications retournées.
+     * @return Les notifications, de la plus récente à la plus ancienne.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public List<Notification> getNotificationsByClientId(String clientId, int limite) throws SQLException {
+        List<Notification> notifications = new ArrayList<>();
+        String sql = "SELECT id, client_id, contenu, nombre_operations, date_creation, lue FROM notifications"
+                + " WHERE client_id = ? ORDER BY date_creation DESC, id DESC LIMIT ?";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            statement.setString(1, clientId);
+            statement.setInt(2, limite);
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                notifications.add(new Notification(
+                        resultSet.getLong("id"),
+                        resultSet.getString("client_id"),
+                        resultSet.getString("contenu"),
+                        resultSet.getInt("nombre_operations"),
+                        resultSet.getTimestamp("date_creation").toLocalDateTime(),
+                        resultSet.getBoolean("lue")
+                ));
+            }
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+        return notifications;
+    }
+}
@@ -0,0 +1,34 @@
+// src/main/java/com/banksystem/dao/NotificationRepository.java
+package com.banksystem.dao;
+
+import com.banksystem.model.Notification;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Accès aux notifications des clients, indépendamment du stockage.
+ * Les services obtiennent leur implémentation par {@link FabriqueRepositories#notifications()}.
+ */
+public interface NotificationRepository {
+
+    /**
+     * Enregistre des notifications par lots.
+     *
+     * @param notifications Les notifications à enregistrer.
+     * @param tailleLot Le nombre de lignes par lot (stockage JDBC).
+     * @return Pour chaque notification (dans l'ordre), true si elle a été enregistrée.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean[] addNotifications(List<Notification> notifications, int tailleLot) throws SQLException;
+
+    /**
+     * Récupère les notifications les plus récentes d'un client.
+     *
+     * @param clientId L'ID du client.
+     * @param limite Le nombre maximal de notifications retournées.
+     * @return Les notifications, de la plus récente à la plus ancienne.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    List<Notification> getNotificationsByClientId(String clientId, int limite) throws SQLException;
+}
@@ -0,0 +1,178 @@
+// src/main/java/com/banksystem/dao/PortefeuilleDAO.java
+package com.banksystem.dao;
+
+import com.banksystem.model.Portefeuille;
+import com.banksystem.util.DatabaseConnection;
+import com.banksystem.util.LotsJdbc;
+
+import java.sql.*;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Accès à la table portefeuilles : une ligne par client, lue par sa clé primaire.
+ * Les variations s'ajoutent aux colonnes (INSERT ... ON DUPLICATE KEY UPDATE colonne = colonne + ...),
+ * sans relecture préalable : la ligne n'est verrouillée que le temps de l'unité de travail.
+ */
+public class PortefeuilleDAO implements PortefeuilleRepository {
+
+    private static final String COLONNES = "client_id, comptes_courants, comptes_epargne, solde_courants_centimes, solde_epargne_centimes, decouvert_utilise_centimes";
+
+    private static final String SQL_VARIATION = "INSERT INTO portefeuilles (" + COLONNES + ") VALUES (?, ?, ?, ?, ?, ?)"
+            + " ON DUPLICATE KEY UPDATE comptes_courants = comptes_courants + VALUES(comptes_courants),"
+            + " comptes_epargne = comptes_epargne + VALUES(comptes_epargne),"
+            + " solde_courants_centimes = solde_courants_centimes + VALUES(solde_courants_centimes),"
+            + " solde_epargne_centimes = solde_epargne_centimes + VALUES(solde_epargne_centimes),"
+            + " decouvert_utilise_centimes = decouvert_utilise_centimes + VALUES(decouvert_utilise_centimes)";
+
+    private static final String SQL_REMPLACEMENT = "INSERT INTO portefeuilles (" + COLONNES + ") VALUES (?, ?, ?, ?, ?, ?)"
+            + " ON DUPLICATE KEY UPDATE comptes_courants = VALUES(comptes_courants),"
+            + " comptes_epargne = VALUES(comptes_epargne),"
+            + " solde_courants_centimes = VALUES(solde_courants_centimes),"
+            + " solde_epargne_centimes = VALUES(solde_epargne_centimes),"
+            + " decouvert_utilise_centimes = VALUES(decouvert_utilise_centimes)";
+
+    /**
+     * Récupère la synthèse d'un client par la clé primaire.
+     *
+     * @param clientId L'ID du client.
+     * @return La synthèse, ou Optional.empty() si le client n'a jamais eu de compte.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public Optional<Portefeuille> getPortefeuille(String clientId) throws SQLException {
+        return lire("SELECT " + COLONNES + " FROM portefeuilles WHERE client_id = ?", clientId);
+    }
+
+    /**
+     * Récupère la synthèse d'un client avec un verrou de ligne (SELECT ... FOR UPDATE), gardé jusqu'à la fin
+     * de l'unité de travail courante.
+     *
+     * @param clientId L'ID du client.
+     * @return La synthèse, ou Optional.empty() si elle n'existe pas.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public Optional<Portefeuille> getPortefeuillePourMiseAJour(String clientId) throws SQLException {
+        return lire("SELECT " + COLONNES + " FROM portefeuilles WHERE client_id = ? FOR UPDATE", clientId);
+    }
+
+    private Optional<Portefeuille> lire(String sql, String clientId) throws SQLException {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            statement.setString(1, clientId);
+            resultSet = statement.executeQuery();
+            return resultSet.next() ? Optional.of(lirePortefeuille(resultSet)) : Optional.empty();
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Récupère les synthèses d'une tranche d'IDs clients (parcours de la clé primaire).
+     *
+     * @param apresClientId Le dernier ID de la tranche précédente, ou null pour commencer au début.
+     * @param dernierClientId Le dernier ID de la tranche, ou null pour aller jusqu'au bout.
+     * @return Les synthèses par ID client, triées.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public Map<String, Portefeuille> getPortefeuilles(String apresClientId, String dernierClientId) throws SQLException {
+        Map<String, Portefeuille> portefeuilles = new LinkedHashMap<>();
+        String sql = "SELECT " + COLONNES + " FROM portefeuilles WHERE client_id > ?"
+                + (dernierClientId != null ? " AND client_id <= ?" : "") + " ORDER BY client_id";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            statement.setString(1, apresClientId != null ? apresClientId : "");
+            if (dernierClientId != null) {
+                statement.setString(2, dernierClientId);
+            }
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                Portefeuille portefeuille = lirePortefeuille(resultSet);
+                portefeuilles.put(portefeuille.getClientId(), portefeuille);
+            }
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+        return portefeuilles;
+    }
+
+    /**
+     * Ajoute des variations aux synthèses par lots JDBC (une synthèse absente est créée avec la variation).
+     *
+     * @param variations Les variations, au plus une par client, triées par ID client.
+     * @param tailleLot Le nombre de variations par lot.
+     * @throws SQLException En cas d'erreur SQL (ex: client inexistant).
+     */
+    @Override
+    public void appliquerVariations(List<Portefeuille> variations, int tailleLot) throws SQLException {
+        LotsJdbc.executer(SQL_VARIATION, variations, tailleLot, PortefeuilleDAO::lier);
+    }
+
+    /**
+     * Remplace (ou crée) la synthèse d'un client.
+     *
+     * @param portefeuille La synthèse exacte.
+     * @return true si la synthèse est enregistrée.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public boolean remplacerPortefeuille(Portefeuille portefeuille) throws SQLException {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(SQL_REMPLACEMENT);
+            lier(statement, portefeuille);
+            return statement.executeUpdate() > 0;
+        } finally {
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+    }
+
+    private static void lier(PreparedStatement statement, Portefeuille portefeuille) throws SQLException {
+        statement.setString(1, portefeuille.getClientId());
+        statement.setInt(2, portefeuille.getNombreComptesCourants());
+        statement.setInt(3, portefeuille.getNombreComptesEpargne());
+        statement.setLong(4, portefeuille.getSoldeCourantsCentimes());
+        statement.setLong(5, portefeuille.getSoldeEpargneCentimes());
+        statement.setLong(6, portefeuille.getDecouvertUtiliseCentimes());
+    }
+
+    private static Portefeuille lirePortefeuille(ResultSet resultSet) throws SQLException {
+        return new Portefeuille(
+                resultSet.getString("client_id"),
+                resultSet.getInt("comptes_courants"),
+                resultSet.getInt("comptes_epargne"),
+                resultSet.getLong("solde_courants_centimes"),
+                resultSet.getLong("solde_epargne_centimes"),
+                resultSet.getLong("decouvert_utilise_centimes")
+        );
+    }
+}
@@ -0,0 +1,67 @@
+// src/main/java/com/banksystem/dao/PortefeuilleRepository.java
+package com.banksystem.dao;
+
+import com.banksystem.model.Portefeuille;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Accès aux synthèses par client (table portefeuilles), indépendamment du stockage.
+ * Les services obtiennent leur implémentation par {@link FabriqueRepositories#portefeuilles()}.
+ * <p>
+ * Les synthèses sont modifiées par variations, dans la même unité de travail que les comptes dont
+ * elles résument les soldes ; {@link #remplacerPortefeuille(Portefeuille)} ne sert qu'à la réconciliation.
+ */
+public interface PortefeuilleRepository {
+
+    /**
+     * Récupère la synthèse d'un client.
+     *
+     * @param clientId L'ID du client.
+     * @return La synthèse, ou Optional.empty() si le client n'a jamais eu de compte.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    Optional<Portefeuille> getPortefeuille(String clientId) throws SQLException;
+
+    /**
+     * Récupère la synthèse d'un client en la verrouillant jusqu'à la fin de l'unité de travail courante
+     * (SELECT ... FOR UPDATE) : aucune variation ne peut s'y ajouter entre la lecture et la validation.
+     *
+     * @param clientId L'ID du client.
+     * @return La synthèse, ou Optional.empty() si elle n'existe pas.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    Optional<Portefeuille> getPortefeuillePourMiseAJour(String clientId) throws SQLException;
+
+    /**
+     * Récupère les synthèses enregistrées d'une tranche d'IDs clients (apresClientId exclu, dernierClientId inclus).
+     *
+     * @param apresClientId Le dernier ID de la tranche précédente, ou null pour commencer au début.
+     * @param dernierClientId Le dernier ID de la tranche, ou null pour aller jusqu'au bout.
+     * @return Les synthèses par ID client, triées.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    Map<String, Portefeuille> getPortefeuilles(String apresClientId, String dernierClientId) throws SQLException;
+
+    /**
+     * Ajoute des variations aux synthèses de leurs clients (une synthèse absente est créée), par lots.
+     * Pour éviter les interblocages entre unités de travail, les variations doivent être triées par ID client.
+     *
+     * @param variations Les variations, au plus une par client.
+     * @param tailleLot Le nombre de variations par lot (stockage JDBC).
+     * @throws SQLException En cas d'erreur d'accès au stockage (ou si un client n'existe pas).
+     */
+    void appliquerVariations(List<Portefeuille> variations, int tailleLot) throws SQLException;
+
+    /**
+     * Remplace (ou crée) la synthèse d'un client.
+     *
+     * @param portefeuille La synthèse exacte.
+     * @return true si la synthèse est enregistrée.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean remplacerPortefeuille(Portefeuille portefeuille) throws SQLException;
+}
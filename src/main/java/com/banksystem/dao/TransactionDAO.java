@@ -1,20 +1,32 @@
 // src/main/java/com/banksystem/dao/TransactionDAO.java
 package com.banksystem.dao;
 
+import com.banksystem.model.Client;
 import com.banksystem.model.Compte;
+import com.banksystem.model.CritereHistorique;
+import com.banksystem.model.CurseurHistorique;
+import com.banksystem.model.PageTransactions;
 import com.banksystem.model.Transaction;
 import com.banksystem.util.DatabaseConnection;
+import com.banksystem.util.Journal;
+import com.banksystem.util.LotsJdbc;
 
+import java.io.IOException;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
-public class TransactionDAO {
+public class TransactionDAO implements TransactionRepository {
 
-    // Nous aurons besoin de CompteDAO pour reconstituer les objets Compte
-    private CompteDAO compteDAO = new CompteDAO();
+    private static final Journal JOURNAL = Journal.pour(TransactionDAO.class);
+
+    // Nombre de lignes lues par aller-retour lors d'un parcours, pour les pilotes sans lecture en flux.
+    private static final int TAILLE_LOT_LECTURE = 1_000;
+
+    private static final String SQL_INSERTION = "INSERT INTO transactions (id, type_transaction, montant_centimes, date_transaction, description, compte_source_numero, compte_destination_numero) VALUES (?, ?, ?, ?, ?, ?, ?)";
 
     /**
      * Enregistre une nouvelle transaction dans la base de données.
@@ -23,46 +35,109 @@ public class TransactionDAO {
      * @return true si la transaction est ajoutée avec succès, false sinon.
      * @throws SQLException En cas d'erreur SQL.
      */
+    @Override
     public boolean addTransaction(Transaction transaction) throws SQLException {
-        String sql = "INSERT INTO transactions (id, type_transaction, montant, date_transaction, description, compte_source_numero, compte_destination_numero) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String sql = SQL_INSERTION;
         Connection connection = null;
         PreparedStatement statement = null;
         try {
             connection = DatabaseConnection.getConnection();
             statement = connection.prepareStatement(sql);
-            statement.setString(1, transaction.getId());
-            statement.setString(2, transaction.getType());
-            statement.setDouble(3, transaction.getMontant());
-            statement.setTimestamp(4, Timestamp.valueOf(transaction.getDate()));
-            statement.setString(5, transaction.getDescription());
-            statement.setString(6, transaction.getCompteSource().getNumero());
-            // Si compteDestination est null (ex: dépôt/retrait), on insère null en DB
-            if (transaction.getCompteDestination() != null) {
-                statement.setString(7, transaction.getCompteDestination().getNumero());
-            } else {
-                statement.setNull(7, Types.VARCHAR);
-            }
+            lierInsertion(statement, transaction);
 
             int rowsAffected = statement.executeUpdate();
             return rowsAffected > 0;
         } finally {
+            if (statement != null) {
+                statement.close();
+            }
             DatabaseConnection.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Enregistre plusieurs transactions par lots JDBC (un aller-retour par lot au lieu d'un par transaction).
+     * Hors unité de travail, chaque lot est validé séparément ; voir {@link LotsJdbc#executer}.
+     *
+     * @param transactions Les transactions à enregistrer.
+     * @param tailleLot Le nombre de transactions par lot.
+     * @return Pour chaque transaction (dans l'ordre), true si elle a été enregistrée.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public boolean[] addTransactions(List<Transaction> transactions, int tailleLot) throws SQLException {
+        return LotsJdbc.executer(SQL_INSERTION, transactions, tailleLot, TransactionDAO::lierInsertion);
+    }
+
+    private static void lierInsertion(PreparedStatement statement, Transaction transaction) throws SQLException {
+        statement.setString(1, transaction.getId());
+        statement.setString(2, transaction.getType());
+        statement.setLong(3, transaction.getMontantCentimes());
+        statement.setTimestamp(4, Timestamp.valueOf(transaction.getDate()));
+        statement.setString(5, transaction.getDescription());
+        statement.setString(6, transaction.getNumeroCompteSource());
+        // Si compteDestination est null (ex: dépôt/retrait), on insère null en DB
+        if (transaction.getNumeroCompteDestination() != null) {
+            statement.setString(7, transaction.getNumeroCompteDestination());
+        } else {
+            statement.setNull(7, Types.VARCHAR);
+        }
+    }
+
+    // Colonnes et jointures communes aux lectures d'historique : les comptes source/destination et
+    // leurs clients sont chargés par la même requête que les transactions.
+    private static final String COLONNES_HISTORIQUE = "t.id, t.type_transaction, t.montant_centimes, t.date_transaction, t.description, t.compte_source_numero, t.compte_destination_numero, "
+            + CompteDAO.colonnesCompte("cs") + ", " + ClientDAO.colonnesClient("cls") + ", "
+            + CompteDAO.colonnesCompte("cd") + ", " + ClientDAO.colonnesClient("cld");
+    private static final String JOINTURES_HISTORIQUE = " LEFT JOIN comptes cs ON cs.numero = t.compte_source_numero"
+            + " LEFT JOIN clients cls ON cls.id = cs.client_id"
+            + " LEFT JOIN comptes cd ON cd.numero = t.compte_destination_numero"
+            + " LEFT JOIN clients cld ON cld.id = cd.client_id";
+
+    /**
+     * Vérifie l'existence d'une transaction sans la charger.
+     *
+     * @param id L'ID de la transaction.
+     * @return true si la transaction existe, false sinon.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public boolean existeTransaction(String id) throws SQLException {
+        String sql = "SELECT 1 FROM transactions WHERE id = ?";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            statement.setString(1, id);
+            resultSet = statement.executeQuery();
+            return resultSet.next();
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
             if (statement != null) {
                 statement.close();
             }
+            DatabaseConnection.closeConnection(connection);
         }
     }
 
     /**
      * Récupère toutes les transactions associées à un compte donné (en tant que source ou destination).
+     * Les comptes et leurs clients sont chargés par la même requête (jointures) et chaque
+     * Compte/Client n'est construit qu'une fois grâce à une table d'identité propre à l'appel :
+     * le nombre de requêtes est constant (une seule) quel que soit le nombre de transactions.
      *
      * @param numeroCompte Le numéro du compte.
      * @return Une liste de transactions pour ce compte.
      * @throws SQLException En cas d'erreur SQL.
      */
+    @Override
     public List<Transaction> getTransactionsByCompteNumero(String numeroCompte) throws SQLException {
-        List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT id, type_transaction, montant, date_transaction, description, compte_source_numero, compte_destination_numero FROM transactions WHERE compte_source_numero = ? OR compte_destination_numero = ? ORDER BY date_transaction DESC";
+        String sql = "SELECT " + COLONNES_HISTORIQUE + " FROM transactions t" + JOINTURES_HISTORIQUE
+                + " WHERE t.compte_source_numero = ? OR t.compte_destination_numero = ? ORDER BY t.date_transaction DESC";
         Connection connection = null;
         PreparedStatement statement = null;
         ResultSet resultSet = null;
@@ -72,46 +147,247 @@ public class TransactionDAO {
             statement.setString(1, numeroCompte);
             statement.setString(2, numeroCompte); // Pour les transactions où c'est la destination
             resultSet = statement.executeQuery();
+            return lireTransactions(resultSet);
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+    }
 
-            while (resultSet.next()) {
-                String id = resultSet.getString("id");
-                String type = resultSet.getString("type_transaction");
-                double montant = resultSet.getDouble("montant");
-                LocalDateTime date = resultSet.getTimestamp("date_transaction").toLocalDateTime();
-                String description = resultSet.getString("description");
-                String compteSourceNumero = resultSet.getString("compte_source_numero");
-                String compteDestinationNumero = resultSet.getString("compte_destination_numero");
-
-                // Reconstituer les objets Compte
-                Optional<Compte> sourceCompte = compteDAO.getCompteByNumero(compteSourceNumero);
-                if (!sourceCompte.isPresent()) {
-                    System.err.println("Compte source non trouvé pour la transaction " + id + ": " + compteSourceNumero);
-                    continue; // Passer cette transaction si le compte source n'est pas trouvé
-                }
-
-                Compte destinationCompte = null;
-                if (compteDestinationNumero != null) {
-                    Optional<Compte> destCompte = compteDAO.getCompteByNumero(compteDestinationNumero);
-                    if (destCompte.isPresent()) {
-                        destinationCompte = destCompte.get();
-                    } else {
-                        System.err.println("Compte destination non trouvé pour la transaction " + id + ": " + compteDestinationNumero);
-                        // Vous pouvez choisir de jeter une exception ou de continuer avec un compte destination null
-                    }
-                }
+    /**
+     * Récupère une page de l'historique d'un compte, de la plus récente à la plus ancienne transaction
+     * (ordre date DESC, id DESC), en reprenant après le curseur des critères s'il est fourni.
+     * <p>
+     * Pagination par clé ("keyset") : au lieu d'un OFFSET, chaque page repart de la dernière (date, id) lue.
+     * Le OR source/destination est remplacé par deux sous-requêtes UNION ALL, chacune servie par son
+     * index composite (compte, date_transaction, id) et limitée à taille + 1 lignes : le coût d'une page
+     * est proportionnel à sa taille, quelle que soit l'ancienneté du compte.
+     *
+     * @param numeroCompte Le numéro du compte.
+     * @param critere La taille de page, le curseur et les filtres facultatifs.
+     * @return La page de transactions et le curseur de la page suivante.
+     * @throws SQLException En cas d'erreur SQL.
+     */
+    @Override
+    public PageTransactions getTransactionsPage(String numeroCompte, CritereHistorique critere) throws SQLException {
+        int limite = critere.getTaille() + 1; // Une ligne de plus pour savoir s'il existe une page suivante
+        String filtres = filtresHistorique(critere);
+        String sql = "SELECT " + COLONNES_HISTORIQUE + " FROM ("
+                + "(SELECT * FROM transactions WHERE compte_source_numero = ?" + filtres
+                + " ORDER BY date_transaction DESC, id DESC LIMIT ?)"
+                + " UNION ALL "
+                + "(SELECT * FROM transactions WHERE compte_destination_numero = ? AND compte_source_numero <> ?" + filtres
+                + " ORDER BY date_transaction DESC, id DESC LIMIT ?)"
+                + ") t" + JOINTURES_HISTORIQUE
+                + " ORDER BY t.date_transaction DESC, t.id DESC LIMIT ?";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            int index = 1;
+            statement.setString(index++, numeroCompte);
+            index = lierFiltresHistorique(statement, index, critere);
+            statement.setInt(index++, limite);
+            statement.setString(index++, numeroCompte); // Pour les transactions où c'est la destination
+            statement.setString(index++, numeroCompte);
+            index = lierFiltresHistorique(statement, index, critere);
+            statement.setInt(index++, limite);
+            statement.setInt(index, limite);
+            resultSet = statement.executeQuery();
 
-                Transaction transaction = new Transaction(id, type, montant, date, description, sourceCompte.get(), destinationCompte);
-                transactions.add(transaction);
+            List<Transaction> transactions = lireTransactions(resultSet);
+            CurseurHistorique suivant = null;
+            if (transactions.size() > critere.getTaille()) {
+                transactions = transactions.subList(0, critere.getTaille());
+                Transaction derniere = transactions.get(transactions.size() - 1);
+                suivant = new CurseurHistorique(derniere.getDate(), derniere.getId());
             }
+            return new PageTransactions(transactions, suivant);
         } finally {
-            DatabaseConnection.closeConnection(connection);
+            if (resultSet != null) {
+                resultSet.close();
+            }
             if (statement != null) {
                 statement.close();
             }
+            DatabaseConnection.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Parcourt les transactions d'un compte (ou de toute la banque si numeroCompte est null) sans jamais
+     * les charger toutes en mémoire : le ResultSet est en lecture seule, avant uniquement, et lu par
+     * flux (MySQL) ou par lots, chaque ligne étant transmise au consommateur puis oubliée.
+     * Les transactions transmises ne portent que les numéros de comptes (pas d'objets Compte).
+     * <p>
+     * Avec MySQL, la connexion est occupée par le flux jusqu'à la fin du parcours : le consommateur
+     * ne doit pas exécuter d'autres requêtes (ne pas appeler cette méthode dans une UnitOfWork).
+     *
+     * @param numeroCompte Le numéro du compte, ou null pour toutes les transactions.
+     * @param consommateur Le traitement appliqué à chaque transaction, dans l'ordre de lecture.
+     * @return Le nombre de transactions parcourues.
+     * @throws SQLException En cas d'erreur SQL.
+     * @throws IOException Si le consommateur échoue (ex: erreur d'écriture).
+     */
+    @Override
+    public long parcourirTransactions(String numeroCompte, ConsommateurTransaction consommateur) throws SQLException, IOException {
+        // Pour un compte : ordre chronologique. Pour toute la banque : ordre de la clé primaire, lu dans
+        // l'index cluster d'InnoDB sans tri supplémentaire.
+        String sql = numeroCompte != null
+                ? "SELECT id, type_transaction, montant_centimes, date_transaction, description, compte_source_numero, compte_destination_numero FROM transactions WHERE compte_source_numero = ? OR compte_destination_numero = ? ORDER BY date_transaction, id"
+                : "SELECT id, type_transaction, montant_centimes, date_transaction, description, compte_source_numero, compte_destination_numero FROM transactions ORDER BY id";
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        long nombre = 0;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Integer.MIN_VALUE demande au pilote MySQL de lire ligne par ligne au lieu de tout mettre en mémoire.
+            boolean mysql = "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            statement.setFetchSize(mysql ? Integer.MIN_VALUE : TAILLE_LOT_LECTURE);
+            if (numeroCompte != null) {
+                statement.setString(1, numeroCompte);
+                statement.setString(2, numeroCompte);
+            }
+            resultSet = statement.executeQuery();
+
+            while (resultSet.next()) {
+                Timestamp date = resultSet.getTimestamp("date_transaction");
+                consommateur.accepter(new Transaction(
+                        resultSet.getString("id"),
+                        resultSet.getString("type_transaction"),
+                        resultSet.getLong("montant_centimes"),
+                        date != null ? date.toLocalDateTime() : null,
+                        resultSet.getString("description"),
+                        resultSet.getString("compte_source_numero"),
+                        resultSet.getString("compte_destination_numero")));
+                nombre++;
+            }
+        } finally {
             if (resultSet != null) {
                 resultSet.close();
             }
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+        return nombre;
+    }
+
+    private String filtresHistorique(CritereHistorique critere) {
+        StringBuilder filtres = new StringBuilder();
+        if (critere.getApres() != null) {
+            filtres.append(" AND (date_transaction < ? OR (date_transaction = ? AND id < ?))");
+        }
+        if (critere.getDateDebut() != null) {
+            filtres.append(" AND date_transaction >= ?");
+        }
+        if (critere.getDateFin() != null) {
+            filtres.append(" AND date_transaction < ?");
+        }
+        if (critere.getType() != null) {
+            filtres.append(" AND type_transaction = ?");
+        }
+        return filtres.toString();
+    }
+
+    private int lierFiltresHistorique(PreparedStatement statement, int index, CritereHistorique critere) throws SQLException {
+        CurseurHistorique apres = critere.getApres();
+        if (apres != null) {
+            Timestamp dateCurseur = Timestamp.valueOf(apres.getDate());
+            statement.setTimestamp(index++, dateCurseur);
+            statement.setTimestamp(index++, dateCurseur);
+            statement.setString(index++, apres.getId());
+        }
+        if (critere.getDateDebut() != null) {
+            statement.setTimestamp(index++, Timestamp.valueOf(critere.getDateDebut()));
+        }
+        if (critere.getDateFin() != null) {
+            statement.setTimestamp(index++, Timestamp.valueOf(critere.getDateFin()));
+        }
+        if (critere.getType() != null) {
+            statement.setString(index++, critere.getType());
+        }
+        return index;
+    }
+
+    /**
+     * Construit les transactions d'un ResultSet utilisant COLONNES_HISTORIQUE et JOINTURES_HISTORIQUE.
+     */
+    private List<Transaction> lireTransactions(ResultSet resultSet) throws SQLException {
+        List<Transaction> transactions = new ArrayList<>();
+
+        // Tables d'identité : un même compte (ou client) apparaît sur de nombreuses lignes
+        // mais n'est matérialisé qu'une seule fois.
+        Map<String, Compte> comptes = new HashMap<>();
+        Map<String, Client> clients = new HashMap<>();
+
+        while (resultSet.next()) {
+            String id = resultSet.getString("id");
+            String type = resultSet.getString("type_transaction");
+            long montantCentimes = resultSet.getLong("montant_centimes");
+            LocalDateTime date = resultSet.getTimestamp("date_transaction").toLocalDateTime();
+            String description = resultSet.getString("description");
+            String compteSourceNumero = resultSet.getString("compte_source_numero");
+            String compteDestinationNumero = resultSet.getString("compte_destination_numero");
+
+            // Reconstituer les objets Compte
+            Compte sourceCompte = resoudreCompte(resultSet, "cs", "cls", comptes, clients);
+            if (sourceCompte == null) {
+                JOURNAL.avertissement("Compte source non trouvé pour la transaction {} : {}", id, compteSourceNumero);
+                continue; // Passer cette transaction si le compte source n'est pas trouvé
+            }
+
+            Compte destinationCompte = null;
+            if (compteDestinationNumero != null) {
+                destinationCompte = resoudreCompte(resultSet, "cd", "cld", comptes, clients);
+                if (destinationCompte == null) {
+                    JOURNAL.avertissement("Compte destination non trouvé pour la transaction {} : {}", id, compteDestinationNumero);
+                    // Vous pouvez choisir de jeter une exception ou de continuer avec un compte destination null
+                }
+            }
+
+            Transaction transaction = new Transaction(id, type, montantCentimes, date, description, sourceCompte, destinationCompte);
+            transactions.add(transaction);
         }
         return transactions;
     }
+
+    /**
+     * Retourne le compte de la ligne courante (colonnes préfixées par aliasCompte), en le construisant
+     * seulement s'il n'est pas déjà dans la table d'identité.
+     *
+     * @return Le compte, ou null si la jointure n'a trouvé aucun compte (ou aucun client).
+     */
+    private Compte resoudreCompte(ResultSet resultSet, String aliasCompte, String aliasClient,
+                                  Map<String, Compte> comptes, Map<String, Client> clients) throws SQLException {
+        String numero = resultSet.getString(aliasCompte + "_numero");
+        if (numero == null) {
+            return null;
+        }
+        Compte compte = comptes.get(numero);
+        if (compte == null) {
+            String clientId = resultSet.getString(aliasClient + "_id");
+            if (clientId == null) {
+                return null;
+            }
+            Client client = clients.get(clientId);
+            if (client == null) {
+                client = ClientDAO.lireClient(resultSet, aliasClient);
+                clients.put(clientId, client);
+            }
+            compte = CompteDAO.lireCompte(resultSet, aliasCompte, client);
+            comptes.put(numero, compte);
+        }
+        return compte;
+    }
 }
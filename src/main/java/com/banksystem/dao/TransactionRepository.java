@@ -0,0 +1,99 @@
+// src/main/java/com/banksystem/dao/TransactionRepository.java
+package com.banksystem.dao;
+
+import com.banksystem.model.CritereHistorique;
+import com.banksystem.model.PageTransactions;
+import com.banksystem.model.Transaction;
+import com.banksystem.util.LotsJdbc;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Accès aux transactions, indépendamment du stockage (base JDBC ou moteur en mémoire).
+ * Les services obtiennent leur implémentation par {@link FabriqueRepositories#transactions()}.
+ */
+public interface TransactionRepository {
+
+    /**
+     * Traitement appliqué à chaque transaction lue par {@link #parcourirTransactions(String, ConsommateurTransaction)}.
+     */
+    @FunctionalInterface
+    interface ConsommateurTransaction {
+        void accepter(Transaction transaction) throws IOException;
+    }
+
+    /**
+     * Enregistre une nouvelle transaction.
+     *
+     * @param transaction La transaction à enregistrer.
+     * @return true si la transaction est ajoutée, false sinon.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean addTransaction(Transaction transaction) throws SQLException;
+
+    /**
+     * Enregistre plusieurs transactions par lots.
+     *
+     * @param transactions Les transactions à enregistrer.
+     * @param tailleLot Le nombre de transactions par lot (stockage JDBC).
+     * @return Pour chaque transaction (dans l'ordre), true si elle a été enregistrée.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean[] addTransactions(List<Transaction> transactions, int tailleLot) throws SQLException;
+
+    /**
+     * Enregistre plusieurs transactions par lots de taille par défaut ({@link LotsJdbc#TAILLE_LOT_DEFAUT}).
+     *
+     * @param transactions Les transactions à enregistrer.
+     * @return Pour chaque transaction (dans l'ordre), true si elle a été enregistrée.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    default boolean[] addTransactions(List<Transaction> transactions) throws SQLException {
+        return addTransactions(transactions, LotsJdbc.TAILLE_LOT_DEFAUT);
+    }
+
+    /**
+     * Vérifie l'existence d'une transaction sans la charger.
+     *
+     * @param id L'ID de la transaction.
+     * @return true si la transaction existe, false sinon.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    boolean existeTransaction(String id) throws SQLException;
+
+    /**
+     * Récupère toutes les transactions d'un compte (source ou destination), de la plus récente à la plus
+     * ancienne, avec leurs comptes et clients.
+     *
+     * @param numeroCompte Le numéro du compte.
+     * @return Les transactions du compte.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    List<Transaction> getTransactionsByCompteNumero(String numeroCompte) throws SQLException;
+
+    /**
+     * Récupère une page de l'historique d'un compte (ordre date DESC, id DESC), en reprenant après
+     * le curseur des critères s'il est fourni.
+     *
+     * @param numeroCompte Le numéro du compte.
+     * @param critere La taille de page, le curseur et les filtres facultatifs.
+     * @return La page de transactions et le curseur de la page suivante.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    PageTransactions getTransactionsPage(String numeroCompte, CritereHistorique critere) throws SQLException;
+
+    /**
+     * Parcourt les transactions d'un compte (ordre chronologique) ou de toute la banque (numeroCompte null,
+     * sans ordre garanti) sans les charger toutes en mémoire. Les transactions transmises ne portent que
+     * les numéros de comptes.
+     *
+     * @param numeroCompte Le numéro du compte, ou null pour toutes les transactions.
+     * @param consommateur Le traitement appliqué à chaque transaction, dans l'ordre de lecture.
+     * @return Le nombre de transactions parcourues.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     * @throws IOException Si le consommateur échoue (ex: erreur d'écriture).
+     */
+    long parcourirTransactions(String numeroCompte, ConsommateurTransaction consommateur) throws SQLException, IOException;
+}
@@ -0,0 +1,59 @@
+// src/main/java/com/banksystem/dao/memoire/AdminMemoire.java
+package com.banksystem.dao.memoire;
+
+import com.banksystem.dao.AdminRepository;
+import com.banksystem.model.Admin;
+import com.banksystem.util.UnitOfWork;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.Optional;
+
+/**
+ * Administrateurs en mémoire : index unique par login.
+ */
+public class AdminMemoire implements AdminRepository {
+
+    private final StockageMemoire stockage;
+
+    public AdminMemoire(StockageMemoire stockage) {
+        this.stockage = stockage;
+    }
+
+    @Override
+    public boolean addAdmin(Admin admin) throws SQLException {
+        if (!stockage.idsAdmins.add(admin.getId())) {
+            throw new SQLIntegrityConstraintViolationException("Administrateur déjà existant : " + admin.getId());
+        }
+        if (stockage.adminsParLogin.putIfAbsent(admin.getLogin(), StockageMemoire.copier(admin)) != null) {
+            stockage.idsAdmins.remove(admin.getId());
+            throw new SQLIntegrityConstraintViolationException("Login déjà utilisé : " + admin.getLogin());
+        }
+        UnitOfWork.siAnnulation(() -> {
+            stockage.adminsParLogin.remove(admin.getLogin());
+            stockage.idsAdmins.remove(admin.getId());
+        });
+        return true;
+    }
+
+    @Override
+    public Optional<Admin> getAdminByLogin(String login) throws SQLException {
+        Admin admin = stockage.adminsParLogin.get(login);
+        return admin != null ? Optional.of(StockageMemoire.copier(admin)) : Optional.empty();
+    }
+
+    @Override
+    public boolean updateMotDePasseHash(String login, String ancienHash, String nouveauHash) throws SQLException {
+        Admin actuel = stockage.adminsParLogin.get(login);
+        if (actuel == null || !actuel.getMotDePasseHash().equals(ancienHash)) {
+            return false;
+        }
+        Admin modifie = StockageMemoire.copier(actuel);
+        modifie.setMotDePasseHash(nouveauHash);
+        if (!stockage.adminsParLogin.replace(login, actuel, modifie)) {
+            return false;
+        }
+        UnitOfWork.siAnnulation(() -> stockage.adminsParLogin.replace(login, modifie, actuel));
+        return true;
+    }
+}
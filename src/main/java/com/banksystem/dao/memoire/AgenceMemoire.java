@@ -0,0 +1,55 @@
+// src/main/java/com/banksystem/dao/memoire/AgenceMemoire.java
+package com.banksystem.dao.memoire;
+
+import com.banksystem.dao.AgenceRepository;
+import com.banksystem.model.Agence;
+import com.banksystem.util.UnitOfWork;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Agences en mémoire, indexées par code.
+ */
+public class AgenceMemoire implements AgenceRepository {
+
+    private final StockageMemoire stockage;
+
+    public AgenceMemoire(StockageMemoire stockage) {
+        this.stockage = stockage;
+    }
+
+    @Override
+    public boolean addAgence(Agence agence) throws SQLException {
+        Agence copie = copier(agence);
+        if (stockage.agencesParCode.putIfAbsent(copie.getCode(), copie) != null) {
+            throw new SQLIntegrityConstraintViolationException("Agence déjà existante : " + copie.getCode());
+        }
+        UnitOfWork.siAnnulation(() -> stockage.agencesParCode.remove(copie.getCode(), copie));
+        return true;
+    }
+
+    @Override
+    public Optional<Agence> getAgenceByCode(String code) throws SQLException {
+        Agence agence = stockage.agencesParCode.get(code);
+        return agence == null ? Optional.empty() : Optional.of(copier(agence));
+    }
+
+    @Override
+    public List<Agence> getAllAgences() throws SQLException {
+        List<Agence> agences = new ArrayList<>();
+        for (Agence agence : stockage.agencesParCode.values()) {
+            agences.add(copier(agence));
+        }
+        agences.sort(Comparator.comparing(Agence::getCode));
+        return agences;
+    }
+
+    private static Agence copier(Agence agence) {
+        return new Agence(agence.getCode(), agence.getNom(), agence.getVille());
+    }
+}
@@ -0,0 +1,161 @@
+// src/main/java/com/banksystem/dao/memoire/ClientMemoire.java
+package com.banksystem.dao.memoire;
+
+import com.banksystem.dao.ClientRepository;
+import com.banksystem.model.Client;
+import com.banksystem.model.Portefeuille;
+import com.banksystem.util.UnitOfWork;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Clients en mémoire : index par ID, index unique par email et IDs triés pour les parcours par lots.
+ */
+public class ClientMemoire implements ClientRepository {
+
+    private final StockageMemoire stockage;
+
+    public ClientMemoire(StockageMemoire stockage) {
+        this.stockage = stockage;
+    }
+
+    @Override
+    public boolean addClient(Client client) throws SQLException {
+        // L'email est réservé en premier : deux ajouts concurrents avec le même email ne peuvent pas réussir tous deux.
+        if (stockage.idClientParEmail.putIfAbsent(client.getEmail(), client.getId()) != null) {
+            throw new SQLIntegrityConstraintViolationException("Email déjà utilisé : " + client.getEmail());
+        }
+        if (stockage.clientsParId.putIfAbsent(client.getId(), StockageMemoire.copier(client)) != null) {
+            stockage.idClientParEmail.remove(client.getEmail(), client.getId());
+            throw new SQLIntegrityConstraintViolationException("Client déjà existant : " + client.getId());
+        }
+        stockage.idsClients.add(client.getId());
+        UnitOfWork.siAnnulation(() -> {
+            stockage.idsClients.remove(client.getId());
+            stockage.clientsParId.remove(client.getId());
+            stockage.idClientParEmail.remove(client.getEmail(), client.getId());
+        });
+        return true;
+    }
+
+    @Override
+    public boolean[] addClients(List<Client> clients, int tailleLot) throws SQLException {
+        return StockageMemoire.ecrireLigneParLigne(clients, this::addClient);
+    }
+
+    @Override
+    public Set<String> getEmailsExistants(Collection<String> emails) throws SQLException {
+        Set<String> existants = new HashSet<>();
+        for (String email : emails) {
+            if (stockage.idClientParEmail.containsKey(email)) {
+                existants.add(email);
+            }
+        }
+        return existants;
+    }
+
+    @Override
+    public Optional<Client> getClientByEmail(String email) throws SQLException {
+        String id = stockage.idClientParEmail.get(email);
+        return id != null ? getClientById(id) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Client> getClientById(String idClient) throws SQLException {
+        Client client = stockage.clientsParId.get(idClient);
+        return client != null ? Optional.of(StockageMemoire.copier(client)) : Optional.empty();
+    }
+
+    @Override
+    public boolean updateClient(Client client) throws SQLException {
+        Client ancien = stockage.clientsParId.get(client.getId());
+        if (ancien == null) {
+            return false;
+        }
+        boolean emailModifie = !ancien.getEmail().equals(client.getEmail());
+        if (emailModifie && stockage.idClientParEmail.putIfAbsent(client.getEmail(), client.getId()) != null) {
+            throw new SQLIntegrityConstraintViolationException("Email déjà utilisé : " + client.getEmail());
+        }
+        stockage.clientsParId.put(client.getId(), StockageMemoire.copier(client));
+        if (emailModifie) {
+            stockage.idClientParEmail.remove(ancien.getEmail(), client.getId());
+        }
+        UnitOfWork.siAnnulation(() -> {
+            stockage.clientsParId.put(ancien.getId(), ancien);
+            if (emailModifie) {
+                stockage.idClientParEmail.remove(client.getEmail(), client.getId());
+                stockage.idClientParEmail.put(ancien.getEmail(), ancien.getId());
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public boolean updateMotDePasseHash(String idClient, String ancienHash, String nouveauHash) throws SQLException {
+        Client actuel = stockage.clientsParId.get(idClient);
+        if (actuel == null || !actuel.getMotDePasseHash().equals(ancienHash)) {
+            return false;
+        }
+        Client modifie = StockageMemoire.copier(actuel);
+        modifie.setMotDePasseHash(nouveauHash);
+        // replace(clé, ancien, nouveau) compare les instances : échoue si le client a été modifié entre-temps.
+        if (!stockage.clientsParId.replace(idClient, actuel, modifie)) {
+            return false;
+        }
+        UnitOfWork.siAnnulation(() -> stockage.clientsParId.replace(idClient, modifie, actuel));
+        return true;
+    }
+
+    @Override
+    public boolean deleteClient(String idClient) throws SQLException {
+        // Même comportement que la clé étrangère comptes.client_id (sans ON DELETE CASCADE).
+        Set<String> comptes = stockage.numerosParClient.get(idClient);
+        if (comptes != null && !comptes.isEmpty()) {
+            throw new SQLIntegrityConstraintViolationException("Le client " + idClient + " possède encore des comptes.");
+        }
+        Client ancien = stockage.clientsParId.remove(idClient);
+        if (ancien == null) {
+            return false;
+        }
+        stockage.idClientParEmail.remove(ancien.getEmail(), idClient);
+        stockage.idsClients.remove(idClient);
+        Portefeuille portefeuille = stockage.portefeuillesParClient.remove(idClient); // ON DELETE CASCADE
+        UnitOfWork.siAnnulation(() -> {
+            stockage.clientsParId.put(idClient, ancien);
+            stockage.idClientParEmail.put(ancien.getEmail(), idClient);
+            stockage.idsClients.add(idClient);
+            if (portefeuille != null) {
+                stockage.portefeuillesParClient.put(idClient, portefeuille);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public List<Client> getAllClients() throws SQLException {
+        List<Client> clients = new ArrayList<>(stockage.clientsParId.size());
+        for (Client client : stockage.clientsParId.values()) {
+            clients.add(StockageMemoire.copier(client));
+        }
+        return clients;
+    }
+
+    @Override
+    public List<String> getIdsClientsApres(String apresId, int limite) throws SQLException {
+        List<String> ids = new ArrayList<>(Math.min(limite, 1_024));
+        for (String id : apresId != null ? stockage.idsClients.tailSet(apresId, false) : stockage.idsClients) {
+            if (ids.size() >= limite) {
+                break;
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,285 @@
+// src/main/java/com/banksystem/dao/memoire/CompteMemoire.java
+package com.banksystem.dao.memoire;
+
+import com.banksystem.dao.CompteRepository;
+import com.banksystem.model.AgregatsAgence;
+import com.banksystem.model.Client;
+import com.banksystem.model.Compte;
+import com.banksystem.model.CompteCourant;
+import com.banksystem.model.CompteEpargne;
+import com.banksystem.model.MouvementSolde;
+import com.banksystem.model.Portefeuille;
+import com.banksystem.model.Transaction;
+import com.banksystem.util.UnitOfWork;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Comptes en mémoire : index par numéro, index par client, index trié par agence et index trié des comptes épargne.
+ * Les mouvements de solde remplacent la ligne du compte de façon atomique (compute), sans verrou global.
+ */
+public class CompteMemoire implements CompteRepository {
+
+    private final StockageMemoire stockage;
+
+    public CompteMemoire(StockageMemoire stockage) {
+        this.stockage = stockage;
+    }
+
+    @Override
+    public boolean addCompte(Compte compte) throws SQLException {
+        if (!(compte instanceof CompteCourant) && !(compte instanceof CompteEpargne)) {
+            throw new SQLException("Type de compte non supporté.");
+        }
+        String clientId = compte.getClient().getId();
+        if (!stockage.clientsParId.containsKey(clientId)) {
+            throw new SQLIntegrityConstraintViolationException("Client inconnu : " + clientId);
+        }
+        if (!stockage.agencesParCode.containsKey(compte.getCodeAgence())) {
+            throw new SQLIntegrityConstraintViolationException("Agence inconnue : " + compte.getCodeAgence());
+        }
+        EtatCompte etat = EtatCompte.de(compte);
+        if (stockage.comptesParNumero.putIfAbsent(etat.numero, etat) != null) {
+            throw new SQLIntegrityConstraintViolationException("Compte déjà existant : " + etat.numero);
+        }
+        ajouterAuxIndex(etat);
+        UnitOfWork.siAnnulation(() -> retirer(etat));
+        return true;
+    }
+
+    @Override
+    public boolean[] addComptes(List<Compte> comptes, int tailleLot) throws SQLException {
+        return StockageMemoire.ecrireTous(comptes, this::addCompte);
+    }
+
+    @Override
+    public Optional<Compte> getCompteByNumero(String numeroCompte) throws SQLException {
+        EtatCompte etat = stockage.comptesParNumero.get(numeroCompte);
+        if (etat == null) {
+            return Optional.empty();
+        }
+        return Optional.of(etat.versCompte(client(etat.clientId)));
+    }
+
+    @Override
+    public boolean updateCompte(Compte compte) throws SQLException {
+        EtatCompte[] ancien = new EtatCompte[1];
+        EtatCompte nouveau = stockage.comptesParNumero.computeIfPresent(compte.getNumero(), (numero, etat) -> {
+            ancien[0] = etat;
+            // Comme l'UPDATE JDBC : le client et le type du compte ne changent pas.
+            long decouvert = compte instanceof CompteCourant ? ((CompteCourant) compte).getDecouvertAutoriseCentimes() : 0;
+            double taux = compte instanceof CompteEpargne ? ((CompteEpargne) compte).getTauxInteret() : 0;
+            return new EtatCompte(numero, compte.getSoldeCentimes(), etat.clientId, etat.epargne, decouvert, taux, etat.codeAgence);
+        });
+        if (nouveau == null) {
+            return false;
+        }
+        UnitOfWork.siAnnulation(() -> stockage.comptesParNumero.replace(ancien[0].numero, ancien[0]));
+        return true;
+    }
+
+    @Override
+    public Optional<MouvementSolde> crediter(String numeroCompte, long montantCentimes) throws SQLException {
+        EtatCompte etat = stockage.comptesParNumero.computeIfPresent(numeroCompte,
+                (numero, courant) -> courant.avecSolde(courant.soldeCentimes + montantCentimes));
+        if (etat == null) {
+            return Optional.empty();
+        }
+        UnitOfWork.siAnnulation(() -> stockage.comptesParNumero.computeIfPresent(numeroCompte,
+                (numero, courant) -> courant.avecSolde(courant.soldeCentimes - montantCentimes)));
+        return Optional.of(new MouvementSolde(numeroCompte, etat.soldeCentimes - montantCentimes, etat.soldeCentimes, etat.codeAgence,
+                etat.clientId, etat.epargne));
+    }
+
+    @Override
+    public Optional<MouvementSolde> debiter(String numeroCompte, long montantCentimes) throws SQLException {
+        boolean[] debite = new boolean[1];
+        // Le contrôle du découvert et la mise à jour s'exécutent ensemble sous le verrou de l'entrée.
+        EtatCompte etat = stockage.comptesParNumero.computeIfPresent(numeroCompte, (numero, courant) -> {
+            if (!courant.peutDebiter(montantCentimes)) {
+                return courant;
+            }
+            debite[0] = true;
+            return courant.avecSolde(courant.soldeCentimes - montantCentimes);
+        });
+        if (etat == null || !debite[0]) {
+            return Optional.empty();
+        }
+        UnitOfWork.siAnnulation(() -> stockage.comptesParNumero.computeIfPresent(numeroCompte,
+                (numero, courant) -> courant.avecSolde(courant.soldeCentimes + montantCentimes)));
+        return Optional.of(new MouvementSolde(numeroCompte, etat.soldeCentimes + montantCentimes, etat.soldeCentimes, etat.codeAgence,
+                etat.clientId, etat.epargne));
+    }
+
+    @Override
+    public boolean[] appliquerCredits(List<Transaction> credits, int tailleLot) throws SQLException {
+        return StockageMemoire.ecrireTous(credits,
+                credit -> crediter(credit.getNumeroCompteSource(), credit.getMontantCentimes()).isPresent());
+    }
+
+    @Override
+    public List<CompteEpargne> getComptesEpargneApres(String apresNumero, int limite) throws SQLException {
+        List<CompteEpargne> comptes = new ArrayList<>(Math.min(limite, 1_024));
+        Set<String> suite = apresNumero != null ? stockage.numerosEpargne.tailSet(apresNumero, false) : stockage.numerosEpargne;
+        for (String numero : suite) {
+            if (comptes.size() == limite) {
+                break;
+            }
+            EtatCompte etat = stockage.comptesParNumero.get(numero);
+            if (etat != null) { // Supprimé entre-temps
+                comptes.add((CompteEpargne) etat.versCompte(null));
+            }
+        }
+        return comptes;
+    }
+
+    @Override
+    public List<Compte> getComptesByAgence(String codeAgence, String apresNumero, int limite) throws SQLException {
+        List<Compte> comptes = new ArrayList<>(Math.min(limite, 1_024));
+        ConcurrentSkipListSet<String> numeros = stockage.numerosParAgence.get(codeAgence);
+        if (numeros == null) {
+            return comptes;
+        }
+        for (String numero : apresNumero != null ? numeros.tailSet(apresNumero, false) : numeros) {
+            if (comptes.size() == limite) {
+                break;
+            }
+            EtatCompte etat = stockage.comptesParNumero.get(numero);
+            if (etat != null) { // Supprimé entre-temps
+                comptes.add(etat.versCompte(null));
+            }
+        }
+        return comptes;
+    }
+
+    @Override
+    public Map<String, AgregatsAgence> calculerAgregatsParAgence() throws SQLException {
+        // Même calcul que le GROUP BY de CompteDAO : courants, épargne, dépôts, exposition, découvert autorisé
+        Map<String, long[]> sommes = new TreeMap<>();
+        for (EtatCompte etat : stockage.comptesParNumero.values()) {
+            long[] somme = sommes.computeIfAbsent(etat.codeAgence, code -> new long[5]);
+            somme[etat.epargne ? 1 : 0]++;
+            somme[2] += Math.max(etat.soldeCentimes, 0);
+            somme[3] += Math.max(-etat.soldeCentimes, 0);
+            somme[4] += etat.decouvertAutoriseCentimes;
+        }
+        Map<String, AgregatsAgence> agregats = new TreeMap<>();
+        for (Map.Entry<String, long[]> entree : sommes.entrySet()) {
+            long[] somme = entree.getValue();
+            agregats.put(entree.getKey(), new AgregatsAgence(entree.getKey(), somme[0], somme[1], somme[2], somme[3], somme[4]));
+        }
+        return agregats;
+    }
+
+    @Override
+    public Map<String, Portefeuille> calculerPortefeuilles(String apresClientId, String dernierClientId) throws SQLException {
+        // Même calcul que le GROUP BY client_id de CompteDAO, limité aux clients de la tranche
+        Map<String, Portefeuille> portefeuilles = new TreeMap<>();
+        Set<String> tranche = apresClientId != null
+                ? stockage.idsClients.subSet(apresClientId, false, dernierClientId, true)
+                : stockage.idsClients.headSet(dernierClientId, true);
+        for (String clientId : tranche) {
+            Set<String> numeros = stockage.numerosParClient.get(clientId);
+            if (numeros == null) {
+                continue;
+            }
+            Portefeuille portefeuille = Portefeuille.vide(clientId);
+            for (String numero : numeros) {
+                EtatCompte etat = stockage.comptesParNumero.get(numero);
+                if (etat != null) {
+                    portefeuille = portefeuille.plus(Portefeuille.variationCompte(clientId, etat.epargne, etat.soldeCentimes, 1));
+                }
+            }
+            if (portefeuille.getNombreComptes() > 0) {
+                portefeuilles.put(clientId, portefeuille);
+            }
+        }
+        return portefeuilles;
+    }
+
+    @Override
+    public boolean existeCompte(String numeroCompte) throws SQLException {
+        return stockage.comptesParNumero.containsKey(numeroCompte);
+    }
+
+    @Override
+    public Optional<Compte> deleteCompteSoldeNul(String numeroCompte) throws SQLException {
+        EtatCompte etat;
+        do {
+            etat = stockage.comptesParNumero.get(numeroCompte);
+            if (etat == null || etat.soldeCentimes != 0) {
+                return Optional.empty();
+            }
+            // Même comportement que les clés étrangères de transactions vers comptes.
+            JournalCompte journal = stockage.journauxParCompte.get(numeroCompte);
+            if (journal != null && journal.taille() > 0) {
+                throw new SQLIntegrityConstraintViolationException("Le compte " + numeroCompte + " est référencé par des transactions.");
+            }
+        } while (!stockage.comptesParNumero.remove(numeroCompte, etat)); // Solde modifié entre-temps : relecture
+        EtatCompte supprime = etat;
+        retirerDesIndex(supprime);
+        UnitOfWork.siAnnulation(() -> {
+            stockage.comptesParNumero.put(supprime.numero, supprime);
+            ajouterAuxIndex(supprime);
+        });
+        return Optional.of(supprime.versCompte(null));
+    }
+
+    @Override
+    public List<Compte> getComptesByClientId(String clientId) throws SQLException {
+        Client client = client(clientId);
+        Set<String> numeros = stockage.numerosParClient.get(clientId);
+        List<Compte> comptes = new ArrayList<>();
+        if (numeros != null) {
+            for (String numero : numeros) {
+                EtatCompte etat = stockage.comptesParNumero.get(numero);
+                if (etat != null) {
+                    comptes.add(etat.versCompte(client));
+                }
+            }
+        }
+        return comptes;
+    }
+
+    private Client client(String clientId) throws SQLException {
+        Client client = stockage.clientsParId.get(clientId);
+        if (client == null) {
+            throw new SQLException("Client associé au compte non trouvé : " + clientId);
+        }
+        return StockageMemoire.copier(client);
+    }
+
+    private void retirer(EtatCompte etat) {
+        stockage.comptesParNumero.remove(etat.numero);
+        retirerDesIndex(etat);
+    }
+
+    private void ajouterAuxIndex(EtatCompte etat) {
+        stockage.numerosParClient.computeIfAbsent(etat.clientId, id -> ConcurrentHashMap.newKeySet()).add(etat.numero);
+        stockage.numerosParAgence.computeIfAbsent(etat.codeAgence, code -> new ConcurrentSkipListSet<>()).add(etat.numero);
+        if (etat.epargne) {
+            stockage.numerosEpargne.add(etat.numero);
+        }
+    }
+
+    private void retirerDesIndex(EtatCompte etat) {
+        Set<String> numeros = stockage.numerosParClient.get(etat.clientId);
+        if (numeros != null) {
+            numeros.remove(etat.numero);
+        }
+        Set<String> numerosAgence = stockage.numerosParAgence.get(etat.codeAgence);
+        if (numerosAgence != null) {
+            numerosAgence.remove(etat.numero);
+        }
+        stockage.numerosEpargne.remove(etat.numero);
+    }
+}
@@ -0,0 +1,62 @@
+// src/main/java/com/banksystem/dao/memoire/EtatCompte.java
+package com.banksystem.dao.memoire;
+
+import com.banksystem.model.Client;
+import com.banksystem.model.Compte;
+import com.banksystem.model.CompteCourant;
+import com.banksystem.model.CompteEpargne;
+
+/**
+ * Ligne immuable de la "table" des comptes en mémoire. Un mouvement de solde remplace la ligne
+ * (ConcurrentHashMap.compute), ce qui rend le contrôle du découvert et la mise à jour atomiques.
+ */
+final class EtatCompte {
+    final String numero;
+    final long soldeCentimes;
+    final String clientId;
+    final boolean epargne;
+    final long decouvertAutoriseCentimes; // 0 pour un compte épargne
+    final double tauxInteret;             // 0 pour un compte courant
+    final String codeAgence;
+
+    EtatCompte(String numero, long soldeCentimes, String clientId, boolean epargne, long decouvertAutoriseCentimes, double tauxInteret,
+               String codeAgence) {
+        this.numero = numero;
+        this.soldeCentimes = soldeCentimes;
+        this.clientId = clientId;
+        this.epargne = epargne;
+        this.decouvertAutoriseCentimes = decouvertAutoriseCentimes;
+        this.tauxInteret = tauxInteret;
+        this.codeAgence = codeAgence;
+    }
+
+    static EtatCompte de(Compte compte) {
+        if (compte instanceof CompteCourant) {
+            return new EtatCompte(compte.getNumero(), compte.getSoldeCentimes(), compte.getClient().getId(), false,
+                    ((CompteCourant) compte).getDecouvertAutoriseCentimes(), 0, compte.getCodeAgence());
+        } else if (compte instanceof CompteEpargne) {
+            return new EtatCompte(compte.getNumero(), compte.getSoldeCentimes(), compte.getClient().getId(), true,
+                    0, ((CompteEpargne) compte).getTauxInteret(), compte.getCodeAgence());
+        }
+        throw new IllegalArgumentException("Type de compte non supporté : " + compte.getClass().getSimpleName());
+    }
+
+    EtatCompte avecSolde(long nouveauSoldeCentimes) {
+        return new EtatCompte(numero, nouveauSoldeCentimes, clientId, epargne, decouvertAutoriseCentimes, tauxInteret, codeAgence);
+    }
+
+    /**
+     * Vrai si le solde peut être diminué du montant sans passer sous le découvert autorisé.
+     */
+    boolean peutDebiter(long montantCentimes) {
+        return soldeCentimes - montantCentimes >= -decouvertAutoriseCentimes;
+    }
+
+    Compte versCompte(Client client) {
+        Compte compte = epargne ? new CompteEpargne(numero, soldeCentimes, client, tauxInteret)
+                : new CompteCourant(numero, soldeCentimes, client, decouvertAutoriseCentimes);
+        compte.setClientId(clientId);
+        compte.setCodeAgence(codeAgence);
+        return compte;
+    }
+}
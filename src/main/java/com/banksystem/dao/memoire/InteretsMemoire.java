@@ -0,0 +1,53 @@
+// src/main/java/com/banksystem/dao/memoire/InteretsMemoire.java
+package com.banksystem.dao.memoire;
+
+import com.banksystem.dao.InteretsRepository;
+import com.banksystem.model.Transaction;
+import com.banksystem.util.UnitOfWork;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Intérêts versés en mémoire, indexés par (periode, numero_compte).
+ */
+public class InteretsMemoire implements InteretsRepository {
+
+    private final StockageMemoire stockage;
+
+    public InteretsMemoire(StockageMemoire stockage) {
+        this.stockage = stockage;
+    }
+
+    @Override
+    public Set<String> getComptesDejaCredites(String periode, List<String> numerosComptes) throws SQLException {
+        Set<String> dejaCredites = new HashSet<>();
+        for (String numero : numerosComptes) {
+            if (stockage.interetsVerses.containsKey(cle(periode, numero))) {
+                dejaCredites.add(numero);
+            }
+        }
+        return dejaCredites;
+    }
+
+    @Override
+    public boolean[] marquerVerses(String periode, List<Transaction> credits, int tailleLot) throws SQLException {
+        return StockageMemoire.ecrireTous(credits, credit -> {
+            String cle = cle(periode, credit.getNumeroCompteSource());
+            // putIfAbsent tient lieu de clé primaire : un seul versement par compte et par période.
+            // Comme avec JDBC, un doublon dans une unité de travail l'annule (crédits compris).
+            if (stockage.interetsVerses.putIfAbsent(cle, credit.getMontantCentimes()) != null) {
+                throw new SQLIntegrityConstraintViolationException("Intérêts déjà versés pour " + cle);
+            }
+            UnitOfWork.siAnnulation(() -> stockage.interetsVerses.remove(cle));
+            return true;
+        });
+    }
+
+    private static String cle(String periode, String numeroCompte) {
+        return periode + '|' + numeroCompte;
+    }
+}
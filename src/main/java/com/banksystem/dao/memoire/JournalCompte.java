@@ -0,0 +1,65 @@
+// src/main/java/com/banksystem/dao/memoire/JournalCompte.java
+package com.banksystem.dao.memoire;
+
+import com.banksystem.model.Transaction;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Journal de transactions en ajout seul (un par compte, plus un journal global).
+ * <p>
+ * Les ajouts sont sérialisés ; les lectures sont sans verrou : un lecteur lit d'abord la taille
+ * (volatile) puis le tableau, et voit donc toujours un préfixe complet du journal.
+ * Tant que les transactions arrivent dans l'ordre (date, id) — le cas courant — le journal reste trié
+ * et une page d'historique se lit par recherche dichotomique puis parcours à rebours.
+ */
+final class JournalCompte {
+
+    static final Comparator<Transaction> ORDRE = Comparator.comparing(Transaction::getDate).thenComparing(Transaction::getId);
+
+    private volatile Transaction[] elements = new Transaction[16];
+    private volatile int taille;
+    private volatile boolean trie = true;
+
+    synchronized void ajouter(Transaction transaction) {
+        Transaction[] courant = elements;
+        int n = taille;
+        if (n == courant.length) {
+            courant = Arrays.copyOf(courant, n * 2);
+            elements = courant;
+        }
+        if (trie && n > 0 && ORDRE.compare(courant[n - 1], transaction) > 0) {
+            trie = false;
+        }
+        courant[n] = transaction;
+        taille = n + 1; // Publie l'élément (écriture volatile après l'écriture dans le tableau)
+    }
+
+    int taille() {
+        return taille;
+    }
+
+    /**
+     * Retourne les transactions du journal dans l'ordre d'ajout ; mêmes règles que {@link #elementsTries(int)}.
+     */
+    Transaction[] elements() {
+        return elements;
+    }
+
+    /**
+     * Retourne les transactions du journal dans l'ordre (date, id) croissant.
+     * Le tableau retourné peut être plus long que le journal : seuls les {@code taille} premiers éléments
+     * comptent, taille étant la valeur lue juste avant (voir {@link #taille()}).
+     */
+    Transaction[] elementsTries(int taille) {
+        Transaction[] courant = elements;
+        if (trie) {
+            return courant;
+        }
+        // Journal désordonné (dates fournies par l'appelant) : tri d'une copie, le journal reste en ajout seul.
+        Transaction[] copie = Arrays.copyOf(courant, taille);
+        Arrays.sort(copie, ORDRE);
+        return copie;
+    }
+}
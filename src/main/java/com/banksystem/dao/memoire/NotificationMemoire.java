@@ -0,0 +1,55 @@
+// src/main/java/com/banksystem/dao/memoire/NotificationMemoire.java
+package com.banksystem.dao.memoire;
+
+import com.banksystem.dao.NotificationRepository;
+import com.banksystem.model.Notification;
+import com.banksystem.util.UnitOfWork;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Notifications en mémoire : une file par client, la plus récente en tête.
+ */
+public class NotificationMemoire implements NotificationRepository {
+
+    private final StockageMemoire stockage;
+
+    public NotificationMemoire(StockageMemoire stockage) {
+        this.stockage = stockage;
+    }
+
+    @Override
+    public boolean[] addNotifications(List<Notification> notifications, int tailleLot) throws SQLException {
+        return StockageMemoire.ecrireTous(notifications, notification -> {
+            // Copie avec un ID attribué comme par AUTO_INCREMENT ; l'objet de l'appelant n'est pas retenu
+            Notification copie = new Notification(stockage.sequenceNotifications.incrementAndGet(), notification.getClientId(),
+                    notification.getContenu(), notification.getNombreOperations(), notification.getDateCreation(), notification.isLue());
+            Deque<Notification> file = stockage.notificationsParClient.computeIfAbsent(copie.getClientId(), id -> new ConcurrentLinkedDeque<>());
+            file.addFirst(copie);
+            UnitOfWork.siAnnulation(() -> file.remove(copie));
+            return true;
+        });
+    }
+
+    @Override
+    public List<Notification> getNotificationsByClientId(String clientId, int limite) throws SQLException {
+        List<Notification> notifications = new ArrayList<>();
+        Deque<Notification> file = stockage.notificationsParClient.get(clientId);
+        if (file == null) {
+            return notifications;
+        }
+        Iterator<Notification> it = file.iterator();
+        while (it.hasNext() && notifications.size() < limite) {
+            Notification notification = it.next();
+            notifications.add(new Notification(notification.getId(), notification.getClientId(), notification.getContenu(),
+                    notification.getNombreOperations(), notification.getDateCreation(), notification.isLue()));
+        }
+        return notifications;
+    }
+}
@@ -0,0 +1,78 @@
+// src/main/java/com/banksystem/dao/memoire/PortefeuilleMemoire.java
+package com.banksystem.dao.memoire;
+
+import com.banksystem.dao.PortefeuilleRepository;
+import com.banksystem.model.Portefeuille;
+import com.banksystem.util.UnitOfWork;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Synthèses par client en mémoire : une synthèse immuable par client, remplacée à chaque variation (merge).
+ * Sans verrou de ligne, {@link #getPortefeuillePourMiseAJour(String)} se contente d'une lecture.
+ */
+public class PortefeuilleMemoire implements PortefeuilleRepository {
+
+    private final StockageMemoire stockage;
+
+    public PortefeuilleMemoire(StockageMemoire stockage) {
+        this.stockage = stockage;
+    }
+
+    @Override
+    public Optional<Portefeuille> getPortefeuille(String clientId) throws SQLException {
+        return Optional.ofNullable(stockage.portefeuillesParClient.get(clientId));
+    }
+
+    @Override
+    public Optional<Portefeuille> getPortefeuillePourMiseAJour(String clientId) throws SQLException {
+        return getPortefeuille(clientId);
+    }
+
+    @Override
+    public Map<String, Portefeuille> getPortefeuilles(String apresClientId, String dernierClientId) throws SQLException {
+        Map<String, Portefeuille> portefeuilles = new TreeMap<>();
+        for (Portefeuille portefeuille : stockage.portefeuillesParClient.values()) {
+            String clientId = portefeuille.getClientId();
+            if ((apresClientId == null || clientId.compareTo(apresClientId) > 0)
+                    && (dernierClientId == null || clientId.compareTo(dernierClientId) <= 0)) {
+                portefeuilles.put(clientId, portefeuille);
+            }
+        }
+        return portefeuilles;
+    }
+
+    @Override
+    public void appliquerVariations(List<Portefeuille> variations, int tailleLot) throws SQLException {
+        StockageMemoire.ecrireTous(variations, variation -> {
+            // Même comportement que la clé étrangère portefeuilles.client_id
+            if (!stockage.clientsParId.containsKey(variation.getClientId())) {
+                throw new SQLIntegrityConstraintViolationException("Client inconnu : " + variation.getClientId());
+            }
+            stockage.portefeuillesParClient.merge(variation.getClientId(), variation, Portefeuille::plus);
+            UnitOfWork.siAnnulation(() -> stockage.portefeuillesParClient.merge(variation.getClientId(), variation.oppose(), Portefeuille::plus));
+            return true;
+        });
+    }
+
+    @Override
+    public boolean remplacerPortefeuille(Portefeuille portefeuille) throws SQLException {
+        if (!stockage.clientsParId.containsKey(portefeuille.getClientId())) {
+            throw new SQLIntegrityConstraintViolationException("Client inconnu : " + portefeuille.getClientId());
+        }
+        Portefeuille ancien = stockage.portefeuillesParClient.put(portefeuille.getClientId(), portefeuille);
+        UnitOfWork.siAnnulation(() -> {
+            if (ancien != null) {
+                stockage.portefeuillesParClient.put(portefeuille.getClientId(), ancien);
+            } else {
+                stockage.portefeuillesParClient.remove(portefeuille.getClientId(), portefeuille);
+            }
+        });
+        return true;
+    }
+}
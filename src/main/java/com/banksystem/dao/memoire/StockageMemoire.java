@@ -0,0 +1,129 @@
+// src/main/java/com/banksystem/dao/memoire/StockageMemoire.java
+package com.banksystem.dao.memoire;
+
+import com.banksystem.model.Admin;
+import com.banksystem.model.Agence;
+import com.banksystem.model.Client;
+import com.banksystem.model.Notification;
+import com.banksystem.model.Portefeuille;
+import com.banksystem.util.LotsJdbc;
+import com.banksystem.util.UnitOfWork;
+
+import java.sql.SQLException;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Données du moteur de stockage en mémoire, partagées par ses repositories (une instance par JVM,
+ * créée par FabriqueRepositories).
+ * <p>
+ * Chaque table est un index de hachage concurrent sur sa clé (numero, id, email, login, code), complété par
+ * les index secondaires dont les repositories ont besoin : IDs clients triés, comptes par client, comptes
+ * triés par numéro dans chaque agence, comptes épargne triés par numéro, et un journal de transactions en ajout seul par compte.
+ * Les contraintes de la base (clés primaires, unicité, clés étrangères) sont vérifiées à l'écriture
+ * et signalées par les mêmes SQLException qu'avec JDBC.
+ * <p>
+ * Il n'y a pas de transaction SQL : une écriture est immédiatement visible des autres threads.
+ * Dans une {@link UnitOfWork}, chaque écriture enregistre sa compensation (voir
+ * {@link UnitOfWork#siAnnulation(Runnable)}), si bien qu'une unité annulée ne laisse aucune trace ;
+ * seules les transactions ne sont publiées dans les journaux qu'après la validation.
+ */
+public class StockageMemoire {
+
+    // --- clients ---
+    final ConcurrentHashMap<String, Client> clientsParId = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<String, String> idClientParEmail = new ConcurrentHashMap<>();
+    final ConcurrentSkipListSet<String> idsClients = new ConcurrentSkipListSet<>();
+
+    // --- synthèses par client (portefeuilles) ---
+    final ConcurrentHashMap<String, Portefeuille> portefeuillesParClient = new ConcurrentHashMap<>();
+
+    // --- admins ---
+    final ConcurrentHashMap<String, Admin> adminsParLogin = new ConcurrentHashMap<>();
+    final Set<String> idsAdmins = ConcurrentHashMap.newKeySet();
+
+    // --- agences (l'agence par défaut existe toujours, comme la ligne insérée par DataBase.sql) ---
+    final ConcurrentHashMap<String, Agence> agencesParCode = new ConcurrentHashMap<>();
+
+    // --- comptes ---
+    final ConcurrentHashMap<String, EtatCompte> comptesParNumero = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<String, Set<String>> numerosParClient = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<String, ConcurrentSkipListSet<String>> numerosParAgence = new ConcurrentHashMap<>();
+    final ConcurrentSkipListSet<String> numerosEpargne = new ConcurrentSkipListSet<>();
+
+    // --- transactions ---
+    final Set<String> idsTransactions = ConcurrentHashMap.newKeySet();
+    final ConcurrentHashMap<String, JournalCompte> journauxParCompte = new ConcurrentHashMap<>();
+    final JournalCompte journalGlobal = new JournalCompte();
+
+    // --- intérêts versés, clé "periode|numero" ---
+    final ConcurrentHashMap<String, Long> interetsVerses = new ConcurrentHashMap<>();
+
+    // --- notifications, la plus récente en tête de la file de chaque client ---
+    final ConcurrentHashMap<String, Deque<Notification>> notificationsParClient = new ConcurrentHashMap<>();
+    final AtomicLong sequenceNotifications = new AtomicLong();
+
+    public StockageMemoire() {
+        agencesParCode.put(Agence.CODE_PAR_DEFAUT, new Agence(Agence.CODE_PAR_DEFAUT, "Siège", null));
+    }
+
+    /**
+     * Écriture d'un élément d'une liste traitée "par lots".
+     *
+     * @param <T> Le type des éléments.
+     */
+    @FunctionalInterface
+    interface Ecriture<T> {
+        boolean ecrire(T element) throws SQLException;
+    }
+
+    /**
+     * Équivalent en mémoire de LotsJdbc.executer : dans une unité de travail, la première erreur est propagée
+     * (et l'unité annulée) ; hors unité de travail, un élément refusé pour ses données est marqué false sans
+     * arrêter les suivants.
+     */
+    static <T> boolean[] ecrireTous(List<T> elements, Ecriture<T> ecriture) throws SQLException {
+        return ecrireTous(elements, ecriture, !UnitOfWork.estActive());
+    }
+
+    /**
+     * Équivalent en mémoire de LotsJdbc.executerLigneParLigne : un élément refusé pour ses données est marqué
+     * false, même dans une unité de travail. Une écriture refusée n'a rien modifié ni enregistré de compensation,
+     * il n'y a rien à défaire.
+     */
+    static <T> boolean[] ecrireLigneParLigne(List<T> elements, Ecriture<T> ecriture) throws SQLException {
+        return ecrireTous(elements, ecriture, true);
+    }
+
+    private static <T> boolean[] ecrireTous(List<T> elements, Ecriture<T> ecriture, boolean ligneParLigne) throws SQLException {
+        boolean[] resultats = new boolean[elements.size()];
+        for (int i = 0; i < resultats.length; i++) {
+            try {
+                resultats[i] = ecriture.ecrire(elements.get(i));
+            } catch (SQLException e) {
+                if (!ligneParLigne || !LotsJdbc.erreurDeDonnees(e)) {
+                    throw e;
+                }
+                resultats[i] = false;
+            }
+        }
+        return resultats;
+    }
+
+    /**
+     * Copie d'un client sans sa liste de comptes : les appelants peuvent modifier l'objet retourné
+     * sans toucher aux données stockées.
+     */
+    static Client copier(Client client) {
+        return new Client(client.getId(), client.getNom(), client.getPrenom(), client.getEmail(),
+                client.getTelephone(), client.getAdresse(), client.getMotDePasseHash());
+    }
+
+    static Admin copier(Admin admin) {
+        return new Admin(admin.getId(), admin.getLogin(), admin.getMotDePasseHash());
+    }
+}
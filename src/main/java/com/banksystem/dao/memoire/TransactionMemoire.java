@@ -0,0 +1,206 @@
+// src/main/java/com/banksystem/dao/memoire/TransactionMemoire.java
+package com.banksystem.dao.memoire;
+
+import com.banksystem.dao.TransactionRepository;
+import com.banksystem.model.Client;
+import com.banksystem.model.Compte;
+import com.banksystem.model.CritereHistorique;
+import com.banksystem.model.CurseurHistorique;
+import com.banksystem.model.PageTransactions;
+import com.banksystem.model.Transaction;
+import com.banksystem.util.UnitOfWork;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transactions en mémoire : chaque transaction validée est ajoutée au journal de son compte source,
+ * à celui de son compte destination et au journal global. L'historique d'un compte se lit dans son seul
+ * journal, sans parcourir les transactions des autres comptes.
+ */
+public class TransactionMemoire implements TransactionRepository {
+
+    private final StockageMemoire stockage;
+
+    public TransactionMemoire(StockageMemoire stockage) {
+        this.stockage = stockage;
+    }
+
+    @Override
+    public boolean addTransaction(Transaction transaction) throws SQLException {
+        String source = transaction.getNumeroCompteSource();
+        String destination = transaction.getNumeroCompteDestination();
+        // Clés étrangères vers comptes
+        if (source == null || !stockage.comptesParNumero.containsKey(source)) {
+            throw new SQLIntegrityConstraintViolationException("Compte source inconnu : " + source);
+        }
+        if (destination != null && !stockage.comptesParNumero.containsKey(destination)) {
+            throw new SQLIntegrityConstraintViolationException("Compte destination inconnu : " + destination);
+        }
+        if (!stockage.idsTransactions.add(transaction.getId())) {
+            throw new SQLIntegrityConstraintViolationException("Transaction déjà existante : " + transaction.getId());
+        }
+        // Seuls les numéros sont conservés : le journal ne retient pas les objets Compte de l'appelant.
+        Transaction copie = new Transaction(transaction.getId(), transaction.getType(), transaction.getMontantCentimes(),
+                transaction.getDate(), transaction.getDescription(), source, destination);
+        UnitOfWork.siAnnulation(() -> stockage.idsTransactions.remove(copie.getId()));
+        // Les journaux sont en ajout seul : une transaction n'y entre qu'une fois son unité de travail validée.
+        UnitOfWork.apresValidation(() -> publier(copie));
+        return true;
+    }
+
+    @Override
+    public boolean[] addTransactions(List<Transaction> transactions, int tailleLot) throws SQLException {
+        return StockageMemoire.ecrireTous(transactions, this::addTransaction);
+    }
+
+    @Override
+    public boolean existeTransaction(String id) throws SQLException {
+        return stockage.idsTransactions.contains(id);
+    }
+
+    private void publier(Transaction transaction) {
+        stockage.journalGlobal.ajouter(transaction);
+        journal(transaction.getNumeroCompteSource()).ajouter(transaction);
+        String destination = transaction.getNumeroCompteDestination();
+        if (destination != null && !destination.equals(transaction.getNumeroCompteSource())) {
+            journal(destination).ajouter(transaction);
+        }
+    }
+
+    private JournalCompte journal(String numeroCompte) {
+        return stockage.journauxParCompte.computeIfAbsent(numeroCompte, numero -> new JournalCompte());
+    }
+
+    @Override
+    public List<Transaction> getTransactionsByCompteNumero(String numeroCompte) throws SQLException {
+        JournalCompte journal = stockage.journauxParCompte.get(numeroCompte);
+        if (journal == null) {
+            return new ArrayList<>();
+        }
+        int taille = journal.taille();
+        return lireAReBours(journal.elementsTries(taille), taille, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public PageTransactions getTransactionsPage(String numeroCompte, CritereHistorique critere) throws SQLException {
+        JournalCompte journal = stockage.journauxParCompte.get(numeroCompte);
+        if (journal == null) {
+            return new PageTransactions(new ArrayList<>(), null);
+        }
+        int taille = journal.taille();
+        Transaction[] tries = journal.elementsTries(taille);
+
+        // Les bornes supérieures (curseur, dateFin exclue) se placent par dichotomie dans le journal trié.
+        int fin = taille;
+        CurseurHistorique apres = critere.getApres();
+        if (apres != null) {
+            fin = premierIndexNonInferieur(tries, fin, apres.getDate(), apres.getId());
+        }
+        if (critere.getDateFin() != null) {
+            fin = premierIndexNonInferieur(tries, fin, critere.getDateFin(), "");
+        }
+
+        List<Transaction> transactions = lireAReBours(tries, fin, critere, critere.getTaille() + 1);
+        CurseurHistorique suivant = null;
+        if (transactions.size() > critere.getTaille()) {
+            transactions = transactions.subList(0, critere.getTaille());
+            Transaction derniere = transactions.get(transactions.size() - 1);
+            suivant = new CurseurHistorique(derniere.getDate(), derniere.getId());
+        }
+        return new PageTransactions(transactions, suivant);
+    }
+
+    @Override
+    public long parcourirTransactions(String numeroCompte, ConsommateurTransaction consommateur) throws SQLException, IOException {
+        Transaction[] elements;
+        int taille;
+        if (numeroCompte == null) {
+            // Toute la banque : ordre d'enregistrement, sans tri (le contrat ne garantit pas d'ordre pour ce parcours).
+            taille = stockage.journalGlobal.taille();
+            elements = stockage.journalGlobal.elements();
+        } else {
+            JournalCompte journal = stockage.journauxParCompte.get(numeroCompte);
+            if (journal == null) {
+                return 0;
+            }
+            taille = journal.taille();
+            elements = journal.elementsTries(taille);
+        }
+        for (int i = 0; i < taille; i++) {
+            consommateur.accepter(elements[i]);
+        }
+        return taille;
+    }
+
+    /**
+     * Lit les transactions d'indice inférieur à fin, de la plus récente à la plus ancienne, en appliquant
+     * les filtres dateDebut et type des critères, jusqu'à limite transactions. Les comptes et clients sont
+     * résolus une seule fois par appel (table d'identité), comme dans TransactionDAO.
+     */
+    private List<Transaction> lireAReBours(Transaction[] tries, int fin, CritereHistorique critere, int limite) {
+        LocalDateTime dateDebut = critere != null ? critere.getDateDebut() : null;
+        String type = critere != null ? critere.getType() : null;
+        List<Transaction> transactions = new ArrayList<>(Math.min(fin, limite));
+        Map<String, Compte> comptes = new HashMap<>();
+        Map<String, Client> clients = new HashMap<>();
+        for (int i = fin - 1; i >= 0 && transactions.size() < limite; i--) {
+            Transaction transaction = tries[i];
+            if (dateDebut != null && transaction.getDate().isBefore(dateDebut)) {
+                break; // Journal trié : toutes les suivantes sont plus anciennes
+            }
+            if (type != null && !type.equals(transaction.getType())) {
+                continue;
+            }
+            Compte source = resoudreCompte(transaction.getNumeroCompteSource(), comptes, clients);
+            if (source == null) {
+                continue; // Compte supprimé : même comportement que la jointure de TransactionDAO
+            }
+            Compte destination = transaction.getNumeroCompteDestination() != null
+                    ? resoudreCompte(transaction.getNumeroCompteDestination(), comptes, clients)
+                    : null;
+            transactions.add(new Transaction(transaction.getId(), transaction.getType(), transaction.getMontantCentimes(),
+                    transaction.getDate(), transaction.getDescription(), source, destination));
+        }
+        return transactions;
+    }
+
+    private Compte resoudreCompte(String numero, Map<String, Compte> comptes, Map<String, Client> clients) {
+        Compte compte = comptes.get(numero);
+        if (compte == null) {
+            EtatCompte etat = stockage.comptesParNumero.get(numero);
+            if (etat == null) {
+                return null;
+            }
+            Client client = clients.get(etat.clientId);
+            if (client == null) {
+                Client stocke = stockage.clientsParId.get(etat.clientId);
+                if (stocke == null) {
+                    return null;
+                }
+                client = StockageMemoire.copier(stocke);
+                clients.put(etat.clientId, client);
+            }
+            compte = etat.versCompte(client);
+            comptes.put(numero, compte);
+        }
+        return compte;
+    }
+
+    /**
+     * Premier indice de [0, fin) dont la clé (date, id) est supérieure ou égale à (date, id) : les transactions
+     * d'indice inférieur sont strictement antérieures.
+     */
+    private static int premierIndexNonInferieur(Transaction[] tries, int fin, LocalDateTime date, String id) {
+        Transaction borne = new Transaction(id, null, 0, date, null, (String) null, null);
+        int position = Arrays.binarySearch(tries, 0, fin, borne, JournalCompte.ORDRE);
+        return position >= 0 ? position : -position - 1;
+    }
+}
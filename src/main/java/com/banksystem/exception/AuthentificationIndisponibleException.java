@@ -0,0 +1,12 @@
+// src/main/java/com/banksystem/exception/AuthentificationIndisponibleException.java
+package com.banksystem.exception;
+
+/**
+ * Levée lorsque la vérification du mot de passe ne peut pas être faite à temps (exécuteur de hachage saturé
+ * ou délai dépassé) : la tentative peut être renouvelée plus tard.
+ */
+public class AuthentificationIndisponibleException extends AuthentificationException {
+    public AuthentificationIndisponibleException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+// src/main/java/com/banksystem/exception/SessionInvalideException.java
+package com.banksystem.exception;
+
+/**
+ * Levée lorsqu'un jeton de session est mal formé, mal signé, expiré ou révoqué :
+ * l'appelant doit se reconnecter.
+ */
+public class SessionInvalideException extends AuthentificationException {
+    public SessionInvalideException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+// src/main/java/com/banksystem/exception/TropDeTentativesException.java
+package com.banksystem.exception;
+
+/**
+ * Levée lorsqu'un email (ou login) dépasse le nombre de tentatives de connexion autorisé :
+ * la tentative est refusée sans vérifier le mot de passe.
+ */
+public class TropDeTentativesException extends AuthentificationException {
+    public TropDeTentativesException(String message) {
+        super(message);
+    }
+}
@@ -1,4 +1,52 @@
+// src/main/java/com/banksystem/model/Agence.java
 package com.banksystem.model;
 
+/**
+ * Agence bancaire à laquelle les comptes sont rattachés. Un compte créé sans agence est rattaché
+ * à l'agence par défaut (le siège, {@link #CODE_PAR_DEFAUT}).
+ */
 public class Agence {
+
+    public static final String CODE_PAR_DEFAUT = "AG-000";
+
+    private final String code; // Ex: "AG-075"
+    private String nom;
+    private String ville;
+
+    public Agence(String code, String nom, String ville) {
+        this.code = code;
+        this.nom = nom;
+        this.ville = ville;
+    }
+
+    // --- Getters ---
+    public String getCode() {
+        return code;
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    public String getVille() {
+        return ville;
+    }
+
+    // --- Setters ---
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+
+    public void setVille(String ville) {
+        this.ville = ville;
+    }
+
+    @Override
+    public String toString() {
+        return "Agence{" +
+                "code='" + code + '\'' +
+                ", nom='" + nom + '\'' +
+                ", ville='" + ville + '\'' +
+                '}';
+    }
 }
@@ -0,0 +1,79 @@
+// src/main/java/com/banksystem/model/AgregatsAgence.java
+package com.banksystem.model;
+
+import com.banksystem.util.Montant;
+
+/**
+ * Indicateurs d'une agence à un instant donné, pour les tableaux de bord : nombre de comptes,
+ * total des dépôts (soldes positifs) et exposition au découvert (soldes négatifs, en valeur absolue).
+ */
+public class AgregatsAgence {
+
+    private final String codeAgence;
+    private final long nombreComptesCourants;
+    private final long nombreComptesEpargne;
+    private final long totalDepotsCentimes;
+    private final long expositionDecouvertCentimes;
+    private final long decouvertAutoriseTotalCentimes;
+
+    public AgregatsAgence(String codeAgence, long nombreComptesCourants, long nombreComptesEpargne, long totalDepotsCentimes,
+                          long expositionDecouvertCentimes, long decouvertAutoriseTotalCentimes) {
+        this.codeAgence = codeAgence;
+        this.nombreComptesCourants = nombreComptesCourants;
+        this.nombreComptesEpargne = nombreComptesEpargne;
+        this.totalDepotsCentimes = totalDepotsCentimes;
+        this.expositionDecouvertCentimes = expositionDecouvertCentimes;
+        this.decouvertAutoriseTotalCentimes = decouvertAutoriseTotalCentimes;
+    }
+
+    // --- Getters ---
+    public String getCodeAgence() {
+        return codeAgence;
+    }
+
+    public long getNombreComptes() {
+        return nombreComptesCourants + nombreComptesEpargne;
+    }
+
+    public long getNombreComptesCourants() {
+        return nombreComptesCourants;
+    }
+
+    public long getNombreComptesEpargne() {
+        return nombreComptesEpargne;
+    }
+
+    /**
+     * Somme des soldes positifs de l'agence.
+     */
+    public long getTotalDepotsCentimes() {
+        return totalDepotsCentimes;
+    }
+
+    /**
+     * Somme des découverts en cours (soldes négatifs, en valeur absolue).
+     */
+    public long getExpositionDecouvertCentimes() {
+        return expositionDecouvertCentimes;
+    }
+
+    /**
+     * Somme des découverts autorisés des comptes courants : exposition maximale de l'agence.
+     */
+    public long getDecouvertAutoriseTotalCentimes() {
+        return decouvertAutoriseTotalCentimes;
+    }
+
+    @Override
+    public String toString() {
+        return "AgregatsAgence{" +
+                "agence='" + codeAgence + '\'' +
+                ", comptes=" + getNombreComptes() +
+                " (courants=" + nombreComptesCourants +
+                ", epargne=" + nombreComptesEpargne +
+                "), totalDepots=" + Montant.formater(totalDepotsCentimes) +
+                ", expositionDecouvert=" + Montant.formater(expositionDecouvertCentimes) +
+                ", decouvertAutoriseTotal=" + Montant.formater(decouvertAutoriseTotalCentimes) +
+                '}';
+    }
+}
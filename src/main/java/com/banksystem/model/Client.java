@@ -1,10 +1,15 @@
 // src/main/java/com/banksystem/model/Client.java (MODIFIÉ)
 package com.banksystem.model;
 
+import com.banksystem.util.Journal;
+import com.banksystem.util.Montant;
+
 import java.util.ArrayList;
 import java.util.List;
 
 public class Client {
+    private static final Journal JOURNAL = Journal.pour(Client.class);
+
     private String id;
     private String nom;
     private String prenom;
@@ -103,16 +108,18 @@ public class Client {
     // La suppression réelle en DB est gérée par CompteService/CompteDAO.
     public void supprimerCompte(String numeroCompte) {
         this.comptes.removeIf(compte -> compte.getNumero().equals(numeroCompte));
-        System.out.println("Compte " + numeroCompte + " désassocié du client " + this.getNomComplet() + " en mémoire.");
+        JOURNAL.debug("Compte {} désassocié du client {} en mémoire.", numeroCompte, id);
     }
 
     // La logique du virement sera gérée par TransactionService.
     // Le client ne fait qu'initier l'action.
-    public void effectuerVirement(Compte compteSource, Compte compteDestination, double montant) {
+    public void effectuerVirement(Compte compteSource, Compte compteDestination, long montantCentimes) {
         // Cette méthode est maintenant un simple "appel" pour le client.
         // L'implémentation réelle de la logique de virement est dans TransactionService.
         // Une instance de TransactionService devrait être injectée ou accessible ici.
-        System.out.println("Le client " + getNomComplet() + " initie un virement de " + montant + " EUR de " + compteSource.getNumero() + " vers " + compteDestination.getNumero() + ".");
+        if (JOURNAL.estActif(Journal.Niveau.DEBUG)) {
+            JOURNAL.debug("Virement de {} EUR initié par le client, de {} vers {}.", Montant.formater(montantCentimes), compteSource.getNumero(), compteDestination.getNumero());
+        }
         // Le code réel pour appeler le service sera dans l'application ou un contrôleur.
     }
 
@@ -1,20 +1,25 @@
 // src/main/java/com/banksystem/model/Compte.java
 package com.banksystem.model;
 
+import com.banksystem.util.Montant;
+
 import java.time.LocalDate;
 
 public abstract class Compte {
     protected String numero;
-    protected double solde;
+    protected long soldeCentimes; // Montant exact en centimes (voir Montant)
     protected LocalDate dateOuverture;
     protected Client client; // Le client propriétaire du compte
+    protected String clientId; // Son ID, connu même quand le compte est lu sans son Client
+    protected String codeAgence = Agence.CODE_PAR_DEFAUT; // L'agence de rattachement
 
     // Constructeur
-    public Compte(String numero, double solde, Client client) {
+    public Compte(String numero, long soldeCentimes, Client client) {
         this.numero = numero;
-        this.solde = solde;
+        this.soldeCentimes = soldeCentimes;
         this.dateOuverture = LocalDate.now(); // Date d'ouverture par défaut à aujourd'hui
         this.client = client;
+        this.clientId = client != null ? client.getId() : null;
     }
 
     // --- Getters ---
@@ -22,8 +27,8 @@ public abstract class Compte {
         return numero;
     }
 
-    public double getSolde() {
-        return solde;
+    public long getSoldeCentimes() {
+        return soldeCentimes;
     }
 
     public LocalDate getDateOuverture() {
@@ -34,26 +39,42 @@ public abstract class Compte {
         return client;
     }
 
+    public String getClientId() {
+        return clientId;
+    }
+
+    public String getCodeAgence() {
+        return codeAgence;
+    }
+
     // --- Setters ---
 
-    public void setSolde(double solde) {
-        this.solde = solde;
+    public void setSoldeCentimes(long soldeCentimes) {
+        this.soldeCentimes = soldeCentimes;
+    }
+
+    public void setClientId(String clientId) {
+        this.clientId = clientId;
+    }
+
+    public void setCodeAgence(String codeAgence) {
+        this.codeAgence = codeAgence;
     }
 
 
-    public abstract void deposer(double montant);
-    public abstract void retirer(double montant);
+    public abstract void deposer(long montantCentimes);
+    public abstract void retirer(long montantCentimes);
 
 
     public void afficherSolde() {
-        System.out.println("Le solde du compte " + numero + " est : " + solde + " EUR");
+        System.out.println("Le solde du compte " + numero + " est : " + Montant.formater(soldeCentimes) + " EUR");
     }
 
     @Override
     public String toString() {
         return "Compte{" +
                 "numero='" + numero + '\'' +
-                ", solde=" + solde +
+                ", solde=" + Montant.formater(soldeCentimes) +
                 ", dateOuverture=" + dateOuverture +
                 ", client=" + (client != null ? client.getNomComplet() : "N/A") +
                 '}';
@@ -2,47 +2,56 @@
 package com.banksystem.model;
 
 import com.banksystem.exception.SoldeInsuffisantException;
+import com.banksystem.util.Journal;
+import com.banksystem.util.Montant;
 
 public class CompteCourant extends Compte {
-    private double decouvertAutorise;
+    private static final Journal JOURNAL = Journal.pour(CompteCourant.class);
 
-    public CompteCourant(String numero, double solde, Client client, double decouvertAutorise) {
-        super(numero, solde, client);
-        this.decouvertAutorise = decouvertAutorise;
+    private long decouvertAutoriseCentimes;
+
+    public CompteCourant(String numero, long soldeCentimes, Client client, long decouvertAutoriseCentimes) {
+        super(numero, soldeCentimes, client);
+        this.decouvertAutoriseCentimes = decouvertAutoriseCentimes;
     }
 
-    public double getDecouvertAutorise() {
-        return decouvertAutorise;
+    public long getDecouvertAutoriseCentimes() {
+        return decouvertAutoriseCentimes;
     }
 
-    public void setDecouvertAutorise(double decouvertAutorise) {
-        this.decouvertAutorise = decouvertAutorise;
+    public void setDecouvertAutoriseCentimes(long decouvertAutoriseCentimes) {
+        this.decouvertAutoriseCentimes = decouvertAutoriseCentimes;
     }
 
     // --- Implémentation des méthodes abstraites de Compte ---
     @Override
-    public void deposer(double montant) {
-        if (montant > 0) {
-            this.solde += montant;
-            System.out.println("Dépôt de " + montant + " EUR effectué sur le compte courant " + numero + ". Nouveau solde : " + solde + " EUR");
+    public void deposer(long montantCentimes) {
+        if (montantCentimes > 0) {
+            this.soldeCentimes = Montant.ajouter(soldeCentimes, montantCentimes);
+            if (JOURNAL.estActif(Journal.Niveau.DEBUG)) {
+                JOURNAL.debug("Dépôt de {} EUR effectué sur le compte courant {}. Nouveau solde : {} EUR", Montant.formater(montantCentimes), numero, Montant.formater(soldeCentimes));
+            }
         } else {
-            System.out.println("Le montant du dépôt doit être positif.");
+            JOURNAL.avertissement("Le montant du dépôt doit être positif (compte {}).", numero);
         }
     }
 
     @Override
-    public void retirer(double montant) {
-        if (montant <= 0) {
-            System.out.println("Le montant du retrait doit être positif.");
+    public void retirer(long montantCentimes) {
+        if (montantCentimes <= 0) {
+            JOURNAL.avertissement("Le montant du retrait doit être positif (compte {}).", numero);
             return;
         }
 
         // Vérifie si le retrait est possible en tenant compte du découvert autorisé
-        if (this.solde - montant >= -decouvertAutorise) {
-            this.solde -= montant;
-            System.out.println("Retrait de " + montant + " EUR effectué sur le compte courant " + numero + ". Nouveau solde : " + solde + " EUR");
+        long nouveauSolde = Montant.soustraire(soldeCentimes, montantCentimes);
+        if (nouveauSolde >= -decouvertAutoriseCentimes) {
+            this.soldeCentimes = nouveauSolde;
+            if (JOURNAL.estActif(Journal.Niveau.DEBUG)) {
+                JOURNAL.debug("Retrait de {} EUR effectué sur le compte courant {}. Nouveau solde : {} EUR", Montant.formater(montantCentimes), numero, Montant.formater(soldeCentimes));
+            }
         } else {
-            throw new SoldeInsuffisantException("Fonds insuffisants pour le retrait sur le compte " + numero + ". Découvert autorisé : " + decouvertAutorise);
+            throw new SoldeInsuffisantException("Fonds insuffisants pour le retrait sur le compte " + numero + ". Découvert autorisé : " + Montant.formater(decouvertAutoriseCentimes));
         }
     }
 
@@ -50,8 +59,8 @@ public class CompteCourant extends Compte {
     public String toString() {
         return "CompteCourant{" +
                 "numero='" + numero + '\'' +
-                ", solde=" + solde +
-                ", decouvertAutorise=" + decouvertAutorise +
+                ", solde=" + Montant.formater(soldeCentimes) +
+                ", decouvertAutorise=" + Montant.formater(decouvertAutoriseCentimes) +
                 ", client=" + (client != null ? client.getNomComplet() : "N/A") +
                 '}';
     }
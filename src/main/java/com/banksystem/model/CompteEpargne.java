@@ -2,12 +2,16 @@
 package com.banksystem.model;
 
 import com.banksystem.exception.SoldeInsuffisantException;
+import com.banksystem.util.Journal;
+import com.banksystem.util.Montant;
 
 public class CompteEpargne extends Compte {
+    private static final Journal JOURNAL = Journal.pour(CompteEpargne.class);
+
     private double tauxInteret;
 
-    public CompteEpargne(String numero, double solde, Client client, double tauxInteret) {
-        super(numero, solde, client);
+    public CompteEpargne(String numero, long soldeCentimes, Client client, double tauxInteret) {
+        super(numero, soldeCentimes, client);
         this.tauxInteret = tauxInteret;
     }
 
@@ -22,31 +26,36 @@ public class CompteEpargne extends Compte {
     }
 
     // --- Méthodes spécifiques au Compte Epargne ---
-    public double calculerInterets() {
-        return this.solde * (tauxInteret / 100.0);
+    // Intérêts annuels en centimes, arrondis au centime le plus proche
+    public long calculerInterets() {
+        return Montant.appliquerTaux(soldeCentimes, tauxInteret, 1);
     }
 
     // --- Implémentation des méthodes abstraites de Compte ---
     @Override
-    public void deposer(double montant) {
-        if (montant > 0) {
-            this.solde += montant;
-            System.out.println("Dépôt de " + montant + " EUR effectué sur le compte épargne " + numero + ". Nouveau solde : " + solde + " EUR");
+    public void deposer(long montantCentimes) {
+        if (montantCentimes > 0) {
+            this.soldeCentimes = Montant.ajouter(soldeCentimes, montantCentimes);
+            if (JOURNAL.estActif(Journal.Niveau.DEBUG)) {
+                JOURNAL.debug("Dépôt de {} EUR effectué sur le compte épargne {}. Nouveau solde : {} EUR", Montant.formater(montantCentimes), numero, Montant.formater(soldeCentimes));
+            }
         } else {
-            System.out.println("Le montant du dépôt doit être positif.");
+            JOURNAL.avertissement("Le montant du dépôt doit être positif (compte {}).", numero);
         }
     }
 
     @Override
-    public void retirer(double montant) {
-        if (montant <= 0) {
-            System.out.println("Le montant du retrait doit être positif.");
+    public void retirer(long montantCentimes) {
+        if (montantCentimes <= 0) {
+            JOURNAL.avertissement("Le montant du retrait doit être positif (compte {}).", numero);
             return;
         }
 
-        if (this.solde >= montant) {
-            this.solde -= montant;
-            System.out.println("Retrait de " + montant + " EUR effectué sur le compte épargne " + numero + ". Nouveau solde : " + solde + " EUR");
+        if (this.soldeCentimes >= montantCentimes) {
+            this.soldeCentimes -= montantCentimes;
+            if (JOURNAL.estActif(Journal.Niveau.DEBUG)) {
+                JOURNAL.debug("Retrait de {} EUR effectué sur le compte épargne {}. Nouveau solde : {} EUR", Montant.formater(montantCentimes), numero, Montant.formater(soldeCentimes));
+            }
         } else {
             throw new SoldeInsuffisantException("Fonds insuffisants pour le retrait sur le compte épargne " + numero + ". Pas de découvert autorisé.");
         }
@@ -56,7 +65,7 @@ public class CompteEpargne extends Compte {
     public String toString() {
         return "CompteEpargne{" +
                 "numero='" + numero + '\'' +
-                ", solde=" + solde +
+                ", solde=" + Montant.formater(soldeCentimes) +
                 ", tauxInteret=" + tauxInteret +
                 ", client=" + (client != null ? client.getNomComplet() : "N/A") +
                 '}';
@@ -0,0 +1,78 @@
+// src/main/java/com/banksystem/model/CritereHistorique.java
+package com.banksystem.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Critères de lecture d'une page de l'historique des transactions :
+ * taille de page, curseur de reprise et filtres facultatifs (période, type).
+ */
+public class CritereHistorique {
+    public static final int TAILLE_MAX = 500;
+
+    private int taille;
+    private CurseurHistorique apres;   // null pour la première page
+    private LocalDateTime dateDebut;   // incluse, null = pas de borne
+    private LocalDateTime dateFin;     // exclue, null = pas de borne
+    private String type;               // "DEBIT", "CREDIT", "TRANSFERT" ou null pour tous
+
+    public CritereHistorique(int taille) {
+        setTaille(taille);
+    }
+
+    // --- Getters ---
+    public int getTaille() {
+        return taille;
+    }
+
+    public CurseurHistorique getApres() {
+        return apres;
+    }
+
+    public LocalDateTime getDateDebut() {
+        return dateDebut;
+    }
+
+    public LocalDateTime getDateFin() {
+        return dateFin;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    // --- Setters ---
+    public void setTaille(int taille) {
+        if (taille <= 0 || taille > TAILLE_MAX) {
+            throw new IllegalArgumentException("La taille de page doit être comprise entre 1 et " + TAILLE_MAX + ".");
+        }
+        this.taille = taille;
+    }
+
+    public void setApres(CurseurHistorique apres) {
+        this.apres = apres;
+    }
+
+    public void setDateDebut(LocalDateTime dateDebut) {
+        this.dateDebut = dateDebut;
+    }
+
+    public void setDateFin(LocalDateTime dateFin) {
+        this.dateFin = dateFin;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    @Override
+    public String toString() {
+        return "CritereHistorique{" +
+                "taille=" + taille +
+                ", apres=" + apres +
+                ", dateDebut=" + dateDebut +
+                ", dateFin=" + dateFin +
+                ", type='" + type + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+// src/main/java/com/banksystem/model/CurseurHistorique.java
+package com.banksystem.model;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position dans l'historique des transactions d'un compte : la page suivante commence
+ * juste après la transaction (date, id) désignée par ce curseur, dans l'ordre (date DESC, id DESC).
+ */
+public class CurseurHistorique {
+    private static final char SEPARATEUR = '|';
+
+    private final LocalDateTime date;
+    private final String id;
+
+    public CurseurHistorique(LocalDateTime date, String id) {
+        if (date == null || id == null) {
+            throw new IllegalArgumentException("La date et l'id du curseur sont obligatoires.");
+        }
+        this.date = date;
+        this.id = id;
+    }
+
+    // --- Getters ---
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Encode le curseur sous forme de chaîne opaque, transmissible à un client (ex: "2024-05-01T10:15:30|T-1A2B3C4D").
+     *
+     * @return Le curseur encodé.
+     */
+    public String encoder() {
+        return date + String.valueOf(SEPARATEUR) + id;
+    }
+
+    /**
+     * Reconstruit un curseur à partir de sa forme encodée.
+     *
+     * @param valeur La chaîne produite par {@link #encoder()}.
+     * @return Le curseur correspondant.
+     * @throws IllegalArgumentException Si la chaîne n'est pas un curseur valide.
+     */
+    public static CurseurHistorique decoder(String valeur) {
+        int position = valeur != null ? valeur.indexOf(SEPARATEUR) : -1;
+        if (position <= 0 || position == valeur.length() - 1) {
+            throw new IllegalArgumentException("Curseur d'historique invalide : " + valeur);
+        }
+        try {
+            return new CurseurHistorique(LocalDateTime.parse(valeur.substring(0, position)), valeur.substring(position + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Curseur d'historique invalide : " + valeur, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CurseurHistorique{" +
+                "date=" + date +
+                ", id='" + id + '\'' +
+                '}';
+    }
+}
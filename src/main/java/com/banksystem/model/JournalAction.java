@@ -1,4 +1,97 @@
+// src/main/java/com/banksystem/model/JournalAction.java
 package com.banksystem.model;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Action ayant modifié (ou créé, ou supprimé) le solde d'un compte, telle qu'elle est inscrite dans le journal
+ * d'écriture anticipée avant la validation en base. La séquence et l'horodatage sont attribués à l'écriture.
+ */
 public class JournalAction {
+
+    public enum Type {
+        CREATION_COMPTE, // montant = solde initial
+        SUPPRESSION_COMPTE,
+        DEPOT,
+        RETRAIT,
+        VIREMENT,        // du compte vers le compte destination
+        INTERETS
+    }
+
+    private final long sequence;
+    private final long horodatageMillis;
+    private final Type type;
+    private final String numeroCompte;
+    private final String numeroCompteDestination; // Virement uniquement
+    private final long montantCentimes;
+    private final String reference; // ID de la transaction enregistrée en base, si elle existe
+
+    /**
+     * Action à journaliser (séquence et horodatage attribués par le journal).
+     */
+    public JournalAction(Type type, String numeroCompte, String numeroCompteDestination, long montantCentimes, String reference) {
+        this(0, 0, type, numeroCompte, numeroCompteDestination, montantCentimes, reference);
+    }
+
+    /**
+     * Action relue depuis le journal.
+     */
+    public JournalAction(long sequence, long horodatageMillis, Type type, String numeroCompte, String numeroCompteDestination,
+                         long montantCentimes, String reference) {
+        this.sequence = sequence;
+        this.horodatageMillis = horodatageMillis;
+        this.type = type;
+        this.numeroCompte = numeroCompte;
+        this.numeroCompteDestination = numeroCompteDestination;
+        this.montantCentimes = montantCentimes;
+        this.reference = reference;
+    }
+
+    // --- Getters ---
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getHorodatageMillis() {
+        return horodatageMillis;
+    }
+
+    public LocalDateTime getHorodatage() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(horodatageMillis), ZoneId.systemDefault());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getNumeroCompte() {
+        return numeroCompte;
+    }
+
+    public String getNumeroCompteDestination() {
+        return numeroCompteDestination;
+    }
+
+    public long getMontantCentimes() {
+        return montantCentimes;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalAction{" +
+                "sequence=" + sequence +
+                ", horodatage=" + getHorodatage() +
+                ", type=" + type +
+                ", compte='" + numeroCompte + '\'' +
+                (numeroCompteDestination != null ? ", destination='" + numeroCompteDestination + '\'' : "") +
+                ", montantCentimes=" + montantCentimes +
+                (reference != null ? ", reference='" + reference + '\'' : "") +
+                '}';
+    }
 }
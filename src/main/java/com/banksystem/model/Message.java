@@ -1,4 +1,78 @@
+// src/main/java/com/banksystem/model/Message.java
 package com.banksystem.model;
 
+/**
+ * Évènement publié par une opération sur un compte, à destination du client propriétaire.
+ * Il ne contient que des valeurs brutes, dont l'ID du client propriétaire que l'opération connaît déjà
+ * (MouvementSolde) : le texte et la persistance sont résolus plus tard par les consommateurs des
+ * notifications, hors du chemin de l'opération et sans relire le compte.
+ */
 public class Message {
+
+    public enum Type {
+        DEPOT,
+        RETRAIT,
+        VIREMENT_EMIS,
+        VIREMENT_RECU
+    }
+
+    private final Type type;
+    private final String numeroCompte;
+    private final String clientId;
+    private final long montantCentimes;
+    private final long horodatageMillis;
+
+    public Message(Type type, String numeroCompte, String clientId, long montantCentimes) {
+        this(type, numeroCompte, clientId, montantCentimes, System.currentTimeMillis());
+    }
+
+    public Message(Type type, String numeroCompte, String clientId, long montantCentimes, long horodatageMillis) {
+        this.type = type;
+        this.numeroCompte = numeroCompte;
+        this.clientId = clientId;
+        this.montantCentimes = montantCentimes;
+        this.horodatageMillis = horodatageMillis;
+    }
+
+    // --- Getters ---
+    public Type getType() {
+        return type;
+    }
+
+    public String getNumeroCompte() {
+        return numeroCompte;
+    }
+
+    /**
+     * L'ID du client propriétaire du compte, destinataire de la notification.
+     */
+    public String getClientId() {
+        return clientId;
+    }
+
+    public long getMontantCentimes() {
+        return montantCentimes;
+    }
+
+    /**
+     * Montant signé : positif pour un crédit du compte, négatif pour un débit.
+     */
+    public long getVariationCentimes() {
+        return type == Type.RETRAIT || type == Type.VIREMENT_EMIS ? -montantCentimes : montantCentimes;
+    }
+
+    public long getHorodatageMillis() {
+        return horodatageMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "Message{" +
+                "type=" + type +
+                ", compte='" + numeroCompte + '\'' +
+                ", client='" + clientId + '\'' +
+                ", montantCentimes=" + montantCentimes +
+                ", horodatageMillis=" + horodatageMillis +
+                '}';
+    }
 }
@@ -0,0 +1,69 @@
+// src/main/java/com/banksystem/model/MouvementSolde.java
+package com.banksystem.model;
+
+import com.banksystem.util.Montant;
+
+/**
+ * Résultat d'un mouvement (crédit ou débit) appliqué directement en base sur le solde d'un compte.
+ * Évite de recharger tout l'objet Compte (et son Client) pour connaître le nouveau solde.
+ * L'ancien solde, l'agence, le client et le type du compte permettent de tenir à jour les agrégats
+ * par agence et la synthèse du client.
+ */
+public class MouvementSolde {
+    private final String numeroCompte;
+    private final long ancienSoldeCentimes;
+    private final long nouveauSoldeCentimes;
+    private final String codeAgence;
+    private final String clientId;
+    private final boolean epargne;
+
+    public MouvementSolde(String numeroCompte, long ancienSoldeCentimes, long nouveauSoldeCentimes, String codeAgence,
+                          String clientId, boolean epargne) {
+        this.numeroCompte = numeroCompte;
+        this.ancienSoldeCentimes = ancienSoldeCentimes;
+        this.nouveauSoldeCentimes = nouveauSoldeCentimes;
+        this.codeAgence = codeAgence;
+        this.clientId = clientId;
+        this.epargne = epargne;
+    }
+
+    // --- Getters ---
+    public String getNumeroCompte() {
+        return numeroCompte;
+    }
+
+    public long getAncienSoldeCentimes() {
+        return ancienSoldeCentimes;
+    }
+
+    public long getNouveauSoldeCentimes() {
+        return nouveauSoldeCentimes;
+    }
+
+    public String getCodeAgence() {
+        return codeAgence;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    /**
+     * @return true pour un compte épargne, false pour un compte courant.
+     */
+    public boolean isEpargne() {
+        return epargne;
+    }
+
+    @Override
+    public String toString() {
+        return "MouvementSolde{" +
+                "numeroCompte='" + numeroCompte + '\'' +
+                ", ancienSolde=" + Montant.formater(ancienSoldeCentimes) +
+                ", nouveauSolde=" + Montant.formater(nouveauSoldeCentimes) +
+                ", agence='" + codeAgence + '\'' +
+                ", client='" + clientId + '\'' +
+                ", epargne=" + epargne +
+                '}';
+    }
+}
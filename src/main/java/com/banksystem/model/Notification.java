@@ -1,4 +1,77 @@
+// src/main/java/com/banksystem/model/Notification.java
 package com.banksystem.model;
 
+import java.time.LocalDateTime;
+
+/**
+ * Notification adressée à un client, enregistrée dans la table notifications. Une notification peut
+ * regrouper plusieurs opérations rapprochées (ex: "3 opérations sur vos comptes").
+ */
 public class Notification {
+
+    private long id; // Attribué par la base (0 tant que la notification n'est pas enregistrée)
+    private final String clientId;
+    private final String contenu;
+    private final int nombreOperations;
+    private final LocalDateTime dateCreation;
+    private boolean lue;
+
+    public Notification(String clientId, String contenu, int nombreOperations, LocalDateTime dateCreation) {
+        this(0, clientId, contenu, nombreOperations, dateCreation, false);
+    }
+
+    public Notification(long id, String clientId, String contenu, int nombreOperations, LocalDateTime dateCreation, boolean lue) {
+        this.id = id;
+        this.clientId = clientId;
+        this.contenu = contenu;
+        this.nombreOperations = nombreOperations;
+        this.dateCreation = dateCreation;
+        this.lue = lue;
+    }
+
+    // --- Getters ---
+    public long getId() {
+        return id;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public String getContenu() {
+        return contenu;
+    }
+
+    public int getNombreOperations() {
+        return nombreOperations;
+    }
+
+    public LocalDateTime getDateCreation() {
+        return dateCreation;
+    }
+
+    public boolean isLue() {
+        return lue;
+    }
+
+    // --- Setters ---
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public void setLue(boolean lue) {
+        this.lue = lue;
+    }
+
+    @Override
+    public String toString() {
+        return "Notification{" +
+                "id=" + id +
+                ", clientId='" + clientId + '\'' +
+                ", contenu='" + contenu + '\'' +
+                ", nombreOperations=" + nombreOperations +
+                ", dateCreation=" + dateCreation +
+                ", lue=" + lue +
+                '}';
+    }
 }
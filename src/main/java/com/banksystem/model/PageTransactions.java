@@ -0,0 +1,39 @@
+// src/main/java/com/banksystem/model/PageTransactions.java
+package com.banksystem.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Une page de l'historique des transactions, avec le curseur permettant de lire la suivante.
+ */
+public class PageTransactions {
+    private final List<Transaction> transactions;
+    private final CurseurHistorique suivant; // null s'il n'y a plus de page
+
+    public PageTransactions(List<Transaction> transactions, CurseurHistorique suivant) {
+        this.transactions = Collections.unmodifiableList(transactions);
+        this.suivant = suivant;
+    }
+
+    // --- Getters ---
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public CurseurHistorique getSuivant() {
+        return suivant;
+    }
+
+    public boolean aUnePageSuivante() {
+        return suivant != null;
+    }
+
+    @Override
+    public String toString() {
+        return "PageTransactions{" +
+                "transactions=" + transactions.size() +
+                ", suivant=" + suivant +
+                '}';
+    }
+}
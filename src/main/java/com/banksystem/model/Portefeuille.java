@@ -0,0 +1,151 @@
+// src/main/java/com/banksystem/model/Portefeuille.java
+package com.banksystem.model;
+
+import com.banksystem.util.Montant;
+
+/**
+ * Synthèse des avoirs d'un client : nombre de comptes et soldes cumulés par type de compte, et découvert
+ * utilisé (somme des soldes négatifs des comptes courants, en valeur absolue).
+ * <p>
+ * La même classe sert aux variations appliquées à une synthèse (ouverture, mouvement, fermeture) :
+ * chaque champ est alors un écart, éventuellement négatif.
+ */
+public class Portefeuille {
+
+    private final String clientId;
+    private final int nombreComptesCourants;
+    private final int nombreComptesEpargne;
+    private final long soldeCourantsCentimes;
+    private final long soldeEpargneCentimes;
+    private final long decouvertUtiliseCentimes;
+
+    public Portefeuille(String clientId, int nombreComptesCourants, int nombreComptesEpargne, long soldeCourantsCentimes,
+                        long soldeEpargneCentimes, long decouvertUtiliseCentimes) {
+        this.clientId = clientId;
+        this.nombreComptesCourants = nombreComptesCourants;
+        this.nombreComptesEpargne = nombreComptesEpargne;
+        this.soldeCourantsCentimes = soldeCourantsCentimes;
+        this.soldeEpargneCentimes = soldeEpargneCentimes;
+        this.decouvertUtiliseCentimes = decouvertUtiliseCentimes;
+    }
+
+    /**
+     * Synthèse d'un client sans compte.
+     */
+    public static Portefeuille vide(String clientId) {
+        return new Portefeuille(clientId, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Variation due à l'ouverture (sens = 1) ou à la fermeture (sens = -1) d'un compte.
+     *
+     * @param clientId Le client propriétaire du compte.
+     * @param epargne true pour un compte épargne, false pour un compte courant.
+     * @param soldeCentimes Le solde du compte à l'ouverture ou à la fermeture.
+     * @param sens 1 pour une ouverture, -1 pour une fermeture.
+     */
+    public static Portefeuille variationCompte(String clientId, boolean epargne, long soldeCentimes, int sens) {
+        return epargne
+                ? new Portefeuille(clientId, 0, sens, 0, sens * soldeCentimes, 0)
+                : new Portefeuille(clientId, sens, 0, sens * soldeCentimes, 0, sens * Math.max(-soldeCentimes, 0));
+    }
+
+    /**
+     * Variation due au passage du solde d'un compte de ancienSolde à nouveauSolde.
+     */
+    public static Portefeuille variationSolde(String clientId, boolean epargne, long ancienSoldeCentimes, long nouveauSoldeCentimes) {
+        long ecart = nouveauSoldeCentimes - ancienSoldeCentimes;
+        return epargne
+                ? new Portefeuille(clientId, 0, 0, 0, ecart, 0)
+                : new Portefeuille(clientId, 0, 0, ecart, 0, Math.max(-nouveauSoldeCentimes, 0) - Math.max(-ancienSoldeCentimes, 0));
+    }
+
+    /**
+     * Somme de cette synthèse (ou variation) et d'une variation du même client.
+     */
+    public Portefeuille plus(Portefeuille variation) {
+        return new Portefeuille(clientId,
+                nombreComptesCourants + variation.nombreComptesCourants,
+                nombreComptesEpargne + variation.nombreComptesEpargne,
+                soldeCourantsCentimes + variation.soldeCourantsCentimes,
+                soldeEpargneCentimes + variation.soldeEpargneCentimes,
+                decouvertUtiliseCentimes + variation.decouvertUtiliseCentimes);
+    }
+
+    /**
+     * Synthèse (ou variation) de signe opposé, pour annuler une variation.
+     */
+    public Portefeuille oppose() {
+        return new Portefeuille(clientId, -nombreComptesCourants, -nombreComptesEpargne, -soldeCourantsCentimes,
+                -soldeEpargneCentimes, -decouvertUtiliseCentimes);
+    }
+
+    /**
+     * Vrai si tous les compteurs sont nuls (client sans compte, ou variation sans effet).
+     */
+    public boolean estNul() {
+        return nombreComptesCourants == 0 && nombreComptesEpargne == 0 && soldeCourantsCentimes == 0
+                && soldeEpargneCentimes == 0 && decouvertUtiliseCentimes == 0;
+    }
+
+    /**
+     * Vrai si les deux synthèses ont les mêmes compteurs (quel que soit le client).
+     */
+    public boolean memesTotaux(Portefeuille autre) {
+        return nombreComptesCourants == autre.nombreComptesCourants
+                && nombreComptesEpargne == autre.nombreComptesEpargne
+                && soldeCourantsCentimes == autre.soldeCourantsCentimes
+                && soldeEpargneCentimes == autre.soldeEpargneCentimes
+                && decouvertUtiliseCentimes == autre.decouvertUtiliseCentimes;
+    }
+
+    // --- Getters ---
+    public String getClientId() {
+        return clientId;
+    }
+
+    public int getNombreComptes() {
+        return nombreComptesCourants + nombreComptesEpargne;
+    }
+
+    public int getNombreComptesCourants() {
+        return nombreComptesCourants;
+    }
+
+    public int getNombreComptesEpargne() {
+        return nombreComptesEpargne;
+    }
+
+    /**
+     * Somme des soldes de tous les comptes du client (découverts déduits).
+     */
+    public long getTotalCentimes() {
+        return soldeCourantsCentimes + soldeEpargneCentimes;
+    }
+
+    public long getSoldeCourantsCentimes() {
+        return soldeCourantsCentimes;
+    }
+
+    public long getSoldeEpargneCentimes() {
+        return soldeEpargneCentimes;
+    }
+
+    public long getDecouvertUtiliseCentimes() {
+        return decouvertUtiliseCentimes;
+    }
+
+    @Override
+    public String toString() {
+        return "Portefeuille{" +
+                "client='" + clientId + '\'' +
+                ", comptes=" + getNombreComptes() +
+                " (courants=" + nombreComptesCourants +
+                ", epargne=" + nombreComptesEpargne +
+                "), total=" + Montant.formater(getTotalCentimes()) +
+                ", soldeCourants=" + Montant.formater(soldeCourantsCentimes) +
+                ", soldeEpargne=" + Montant.formater(soldeEpargneCentimes) +
+                ", decouvertUtilise=" + Montant.formater(decouvertUtiliseCentimes) +
+                '}';
+    }
+}
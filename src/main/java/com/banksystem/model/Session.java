@@ -0,0 +1,97 @@
+// src/main/java/com/banksystem/model/Session.java
+package com.banksystem.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Session ouverte après une connexion réussie, identifiée par un jeton signé.
+ * Une session appartient soit à un client, soit à un administrateur.
+ */
+public class Session {
+
+    public enum Type {
+        CLIENT, ADMIN
+    }
+
+    private final String jeton;
+    private final String identifiant; // Identifiant de la session (partie du jeton)
+    private final Type type;
+    private final Client client;
+    private final Admin admin;
+    private final long expirationMillis;
+
+    public Session(String jeton, String identifiant, Client client, long expirationMillis) {
+        this(jeton, identifiant, Type.CLIENT, client, null, expirationMillis);
+    }
+
+    public Session(String jeton, String identifiant, Admin admin, long expirationMillis) {
+        this(jeton, identifiant, Type.ADMIN, null, admin, expirationMillis);
+    }
+
+    private Session(String jeton, String identifiant, Type type, Client client, Admin admin, long expirationMillis) {
+        this.jeton = jeton;
+        this.identifiant = identifiant;
+        this.type = type;
+        this.client = client;
+        this.admin = admin;
+        this.expirationMillis = expirationMillis;
+    }
+
+    // --- Getters ---
+    public String getJeton() {
+        return jeton;
+    }
+
+    public String getIdentifiant() {
+        return identifiant;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return Le client connecté, ou null pour une session administrateur.
+     */
+    public Client getClient() {
+        return client;
+    }
+
+    /**
+     * @return L'administrateur connecté, ou null pour une session client.
+     */
+    public Admin getAdmin() {
+        return admin;
+    }
+
+    /**
+     * @return L'identifiant du client ou de l'administrateur propriétaire de la session.
+     */
+    public String getIdUtilisateur() {
+        return type == Type.CLIENT ? client.getId() : admin.getId();
+    }
+
+    public long getExpirationMillis() {
+        return expirationMillis;
+    }
+
+    public LocalDateTime getExpiration() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(expirationMillis), ZoneId.systemDefault());
+    }
+
+    public boolean estExpiree(long maintenantMillis) {
+        return maintenantMillis >= expirationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "Session{" +
+                "identifiant='" + identifiant + '\'' +
+                ", type=" + type +
+                ", utilisateur='" + getIdUtilisateur() + '\'' +
+                ", expiration=" + getExpiration() +
+                '}';
+    }
+}
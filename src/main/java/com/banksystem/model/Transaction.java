@@ -1,26 +1,44 @@
 // src/main/java/com/banksystem/model/Transaction.java
 package com.banksystem.model;
 
+import com.banksystem.util.Montant;
+
 import java.time.LocalDateTime;
 
 public class Transaction {
     private String id;
     private String type;       // "DEBIT", "CREDIT", "TRANSFERT" - Utilisez une énumération réelle en Java
-    private double montant;
+    private long montantCentimes; // Montant exact en centimes (voir Montant)
     private LocalDateTime date;
     private String description;
     private Compte compteSource; // Le compte d'où l'argent provient
     private Compte compteDestination; // Le compte où l'argent va (peut être null pour DEBIT/CREDIT)
+    private String numeroCompteSource;
+    private String numeroCompteDestination; // null pour DEBIT/CREDIT
 
     // Constructeur
-    public Transaction(String id, String type, double montant, LocalDateTime date, String description, Compte compteSource, Compte compteDestination) {
+    public Transaction(String id, String type, long montantCentimes, LocalDateTime date, String description, Compte compteSource, Compte compteDestination) {
         this.id = id;
         this.type = type;
-        this.montant = montant;
+        this.montantCentimes = montantCentimes;
         this.date = date;
         this.description = description;
         this.compteSource = compteSource;
         this.compteDestination = compteDestination;
+        this.numeroCompteSource = compteSource != null ? compteSource.getNumero() : null;
+        this.numeroCompteDestination = compteDestination != null ? compteDestination.getNumero() : null;
+    }
+
+    // Constructeur par numéros de comptes : évite de charger les objets Compte quand seuls les numéros sont connus.
+    // getCompteSource()/getCompteDestination() retournent alors null.
+    public Transaction(String id, String type, long montantCentimes, LocalDateTime date, String description, String numeroCompteSource, String numeroCompteDestination) {
+        this.id = id;
+        this.type = type;
+        this.montantCentimes = montantCentimes;
+        this.date = date;
+        this.description = description;
+        this.numeroCompteSource = numeroCompteSource;
+        this.numeroCompteDestination = numeroCompteDestination;
     }
 
     // --- Getters ---
@@ -32,8 +50,8 @@ public class Transaction {
         return type;
     }
 
-    public double getMontant() {
-        return montant;
+    public long getMontantCentimes() {
+        return montantCentimes;
     }
 
     public LocalDateTime getDate() {
@@ -52,6 +70,14 @@ public class Transaction {
         return compteDestination;
     }
 
+    public String getNumeroCompteSource() {
+        return numeroCompteSource;
+    }
+
+    public String getNumeroCompteDestination() {
+        return numeroCompteDestination;
+    }
+
     // --- Setters (si nécessaire, mais les transactions sont généralement immuables) ---
     // Les setters ne sont généralement pas utilisés pour les transactions une fois créées,
     // car une transaction représente un événement figé dans le temps.
@@ -61,11 +87,11 @@ public class Transaction {
         return "Transaction{" +
                 "id='" + id + '\'' +
                 ", type='" + type + '\'' +
-                ", montant=" + montant +
+                ", montant=" + Montant.formater(montantCentimes) +
                 ", date=" + date +
                 ", description='" + description + '\'' +
-                ", compteSource=" + (compteSource != null ? compteSource.getNumero() : "N/A") +
-                ", compteDestination=" + (compteDestination != null ? compteDestination.getNumero() : "N/A") +
+                ", compteSource=" + (numeroCompteSource != null ? numeroCompteSource : "N/A") +
+                ", compteDestination=" + (numeroCompteDestination != null ? numeroCompteDestination : "N/A") +
                 '}';
     }
 }
@@ -0,0 +1,106 @@
+// src/main/java/com/banksystem/service/AgenceService.java
+package com.banksystem.service;
+
+import com.banksystem.dao.AgenceRepository;
+import com.banksystem.dao.CompteRepository;
+import com.banksystem.dao.FabriqueRepositories;
+import com.banksystem.model.Agence;
+import com.banksystem.model.AgregatsAgence;
+import com.banksystem.model.Compte;
+import com.banksystem.util.Journal;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agences et tableaux de bord par agence. Les agrégats (nombre de comptes, dépôts, exposition au découvert)
+ * sont tenus à jour par les services à chaque opération : les lire ne coûte aucune requête sur les comptes.
+ */
+public class AgenceService {
+
+    private static final Journal JOURNAL = Journal.pour(AgenceService.class);
+
+    private AgenceRepository agenceDAO;
+    private CompteRepository compteDAO;
+
+    public AgenceService() {
+        this.agenceDAO = FabriqueRepositories.agences();
+        this.compteDAO = FabriqueRepositories.comptes();
+    }
+
+    /**
+     * Crée une agence.
+     *
+     * @param code Le code de l'agence (ex: "AG-075").
+     * @param nom Le nom de l'agence.
+     * @param ville La ville de l'agence.
+     * @return L'agence créée.
+     * @throws SQLException En cas d'erreur de base de données (ou si le code existe déjà).
+     */
+    public Agence creerAgence(String code, String nom, String ville) throws SQLException {
+        Agence agence = new Agence(code, nom, ville);
+        if (!agenceDAO.addAgence(agence)) {
+            throw new SQLException("Impossible de créer l'agence " + code + ".");
+        }
+        JOURNAL.info("Agence {} ({}) créée.", code, nom);
+        return agence;
+    }
+
+    public List<Agence> getAgences() throws SQLException {
+        return agenceDAO.getAllAgences();
+    }
+
+    /**
+     * Retourne les agrégats d'une agence, sans lecture des comptes.
+     *
+     * @param codeAgence Le code de l'agence.
+     * @return Les agrégats (zéros si l'agence n'a aucun compte).
+     * @throws SQLException Si les agrégats n'ont pas pu être chargés.
+     */
+    public AgregatsAgence getAgregats(String codeAgence) throws SQLException {
+        return AgregatsAgences.getAgregats(codeAgence);
+    }
+
+    /**
+     * Retourne les agrégats de toutes les agences, dans l'ordre des codes (une ligne par agence,
+     * y compris celles sans compte).
+     *
+     * @return Le tableau de bord des agences.
+     * @throws SQLException En cas d'erreur de base de données.
+     */
+    public List<AgregatsAgence> getTableauDeBord() throws SQLException {
+        Map<String, AgregatsAgence> agregats = AgregatsAgences.getTous();
+        List<AgregatsAgence> tableau = new ArrayList<>();
+        for (Agence agence : agenceDAO.getAllAgences()) {
+            AgregatsAgence agregat = agregats.get(agence.getCode());
+            tableau.add(agregat != null ? agregat : new AgregatsAgence(agence.getCode(), 0, 0, 0, 0, 0));
+        }
+        return tableau;
+    }
+
+    /**
+     * Parcours par lots des comptes d'une agence (sans leur client).
+     *
+     * @param codeAgence Le code de l'agence.
+     * @param apresNumero Le dernier numéro du lot précédent, ou null pour commencer au début.
+     * @param limite Le nombre maximal de comptes.
+     * @return Les comptes du lot, dans l'ordre des numéros.
+     * @throws SQLException En cas d'erreur de base de données.
+     */
+    public List<Compte> getComptes(String codeAgence, String apresNumero, int limite) throws SQLException {
+        return compteDAO.getComptesByAgence(codeAgence, apresNumero, limite);
+    }
+
+    /**
+     * Recalcule les agrégats à partir des comptes (parcours complet), par exemple après une modification
+     * de la base faite hors de cette application.
+     *
+     * @throws SQLException En cas d'erreur de base de données.
+     */
+    public void recalculerAgregats() throws SQLException {
+        AgregatsAgences.recalculer();
+        JOURNAL.info("Agrégats des agences recalculés.");
+    }
+}
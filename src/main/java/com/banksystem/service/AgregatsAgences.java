@@ -0,0 +1,183 @@
+// src/main/java/com/banksystem/service/AgregatsAgences.java
+package com.banksystem.service;
+
+import com.banksystem.dao.FabriqueRepositories;
+import com.banksystem.model.AgregatsAgence;
+import com.banksystem.model.Compte;
+import com.banksystem.model.CompteCourant;
+import com.banksystem.model.MouvementSolde;
+import com.banksystem.util.Journal;
+import com.banksystem.util.UnitOfWork;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrégats par agence tenus à jour à chaque ouverture, fermeture et mouvement de solde, pour que les
+ * tableaux de bord des agences se lisent sans parcourir les comptes.
+ * <p>
+ * Les agrégats sont chargés une fois (un GROUP BY sur les comptes) à la création du premier service qui
+ * modifie des soldes, puis chaque variation validée y est ajoutée : compteurs LongAdder (répartis entre
+ * cellules, sans point de contention même quand toutes les opérations touchent la même agence), mis à jour
+ * après le commit de l'unité de travail. Une unité annulée ne les modifie pas.
+ * <p>
+ * Seules les variations faites par les services de cette JVM sont vues : après une modification en base
+ * par un autre processus (ou par CompteRepository.updateCompte), {@link #recalculer()} les réaligne.
+ */
+final class AgregatsAgences {
+
+    private static final Journal JOURNAL = Journal.pour(AgregatsAgences.class);
+
+    private static volatile ConcurrentHashMap<String, Compteurs> compteurs; // null tant qu'ils ne sont pas chargés
+
+    private AgregatsAgences() {
+    }
+
+    private static final class Compteurs {
+        final LongAdder courants = new LongAdder();
+        final LongAdder epargne = new LongAdder();
+        final LongAdder depots = new LongAdder();
+        final LongAdder exposition = new LongAdder();
+        final LongAdder decouvertAutorise = new LongAdder();
+
+        AgregatsAgence instantane(String codeAgence) {
+            return new AgregatsAgence(codeAgence, courants.sum(), epargne.sum(), depots.sum(), exposition.sum(), decouvertAutorise.sum());
+        }
+    }
+
+    /**
+     * Charge les agrégats s'ils ne le sont pas encore. En cas d'échec, les variations sont ignorées jusqu'au
+     * prochain chargement réussi (qui les inclura).
+     */
+    static void initialiser() {
+        if (compteurs != null) {
+            return;
+        }
+        synchronized (AgregatsAgences.class) {
+            if (compteurs != null) {
+                return;
+            }
+            try {
+                recalculer();
+            } catch (SQLException e) {
+                JOURNAL.avertissement("Agrégats des agences non chargés : {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Recalcule les agrégats à partir des comptes. Une variation validée pendant le calcul peut être comptée
+     * deux fois ou pas du tout : à lancer quand les opérations sont calmes.
+     *
+     * @throws SQLException En cas d'erreur de base de données.
+     */
+    static void recalculer() throws SQLException {
+        ConcurrentHashMap<String, Compteurs> nouveaux = new ConcurrentHashMap<>();
+        for (AgregatsAgence agregat : FabriqueRepositories.comptes().calculerAgregatsParAgence().values()) {
+            Compteurs c = new Compteurs();
+            c.courants.add(agregat.getNombreComptesCourants());
+            c.epargne.add(agregat.getNombreComptesEpargne());
+            c.depots.add(agregat.getTotalDepotsCentimes());
+            c.exposition.add(agregat.getExpositionDecouvertCentimes());
+            c.decouvertAutorise.add(agregat.getDecouvertAutoriseTotalCentimes());
+            nouveaux.put(agregat.getCodeAgence(), c);
+        }
+        compteurs = nouveaux;
+    }
+
+    /**
+     * Ouverture d'un compte, prise en compte à la validation de l'unité de travail courante.
+     */
+    static void enregistrerOuverture(Compte compte) {
+        enregistrerCompte(compte, 1);
+    }
+
+    /**
+     * Suppression d'un compte, prise en compte à la validation de l'unité de travail courante.
+     */
+    static void enregistrerFermeture(Compte compte) {
+        enregistrerCompte(compte, -1);
+    }
+
+    /**
+     * Mouvement de solde, pris en compte à la validation de l'unité de travail courante.
+     */
+    static void enregistrerMouvement(MouvementSolde mouvement) {
+        enregistrerVariation(mouvement.getCodeAgence(), mouvement.getAncienSoldeCentimes(), mouvement.getNouveauSoldeCentimes());
+    }
+
+    /**
+     * Passage d'un solde de ancienSolde à nouveauSolde dans une agence, pris en compte à la validation
+     * de l'unité de travail courante.
+     */
+    static void enregistrerVariation(String codeAgence, long ancienSoldeCentimes, long nouveauSoldeCentimes) {
+        long depots = Math.max(nouveauSoldeCentimes, 0) - Math.max(ancienSoldeCentimes, 0);
+        long exposition = Math.max(-nouveauSoldeCentimes, 0) - Math.max(-ancienSoldeCentimes, 0);
+        if (depots == 0 && exposition == 0) {
+            return;
+        }
+        UnitOfWork.apresValidation(() -> {
+            Compteurs c = compteursDe(codeAgence);
+            if (c != null) {
+                c.depots.add(depots);
+                c.exposition.add(exposition);
+            }
+        });
+    }
+
+    /**
+     * Agrégats d'une agence (zéros si elle n'a pas de compte).
+     *
+     * @throws SQLException Si les agrégats n'ont pas pu être chargés.
+     */
+    static AgregatsAgence getAgregats(String codeAgence) throws SQLException {
+        Compteurs c = charges().get(codeAgence);
+        return c != null ? c.instantane(codeAgence) : new AgregatsAgence(codeAgence, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Agrégats de toutes les agences ayant eu des comptes, par code.
+     *
+     * @throws SQLException Si les agrégats n'ont pas pu être chargés.
+     */
+    static Map<String, AgregatsAgence> getTous() throws SQLException {
+        Map<String, AgregatsAgence> tous = new TreeMap<>();
+        for (Map.Entry<String, Compteurs> entree : charges().entrySet()) {
+            tous.put(entree.getKey(), entree.getValue().instantane(entree.getKey()));
+        }
+        return tous;
+    }
+
+    private static ConcurrentHashMap<String, Compteurs> charges() throws SQLException {
+        initialiser();
+        ConcurrentHashMap<String, Compteurs> courants = compteurs;
+        if (courants == null) {
+            throw new SQLException("Agrégats des agences indisponibles (chargement en échec).");
+        }
+        return courants;
+    }
+
+    private static void enregistrerCompte(Compte compte, int sens) {
+        String codeAgence = compte.getCodeAgence();
+        boolean courant = compte instanceof CompteCourant;
+        long decouvert = courant ? ((CompteCourant) compte).getDecouvertAutoriseCentimes() : 0;
+        long solde = compte.getSoldeCentimes();
+        UnitOfWork.apresValidation(() -> {
+            Compteurs c = compteursDe(codeAgence);
+            if (c != null) {
+                (courant ? c.courants : c.epargne).add(sens);
+                c.decouvertAutorise.add(sens * decouvert);
+                c.depots.add(sens * Math.max(solde, 0));
+                c.exposition.add(sens * Math.max(-solde, 0));
+            }
+        });
+    }
+
+    private static Compteurs compteursDe(String codeAgence) {
+        ConcurrentHashMap<String, Compteurs> courants = compteurs;
+        return courants == null ? null : courants.computeIfAbsent(codeAgence, code -> new Compteurs());
+    }
+}
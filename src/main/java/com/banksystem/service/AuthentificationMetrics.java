@@ -0,0 +1,178 @@
+// src/main/java/com/banksystem/service/AuthentificationMetrics.java
+package com.banksystem.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs de l'authentification : tentatives, succès, échecs, refus (limite de tentatives, saturation,
+ * délai dépassé), temps d'attente dans la file de hachage, temps de hachage, et histogramme de la latence
+ * totale d'une vérification de mot de passe (attente + hachage).
+ */
+public class AuthentificationMetrics {
+
+    // Bornes supérieures (en microsecondes) des classes de l'histogramme ; la dernière classe est ouverte.
+    private static final long[] BORNES_LATENCE_MICROS = {10_000, 50_000, 100_000, 250_000, 500_000, 1_000_000, 2_000_000};
+
+    private final LongAdder[] histogrammeLatence = new LongAdder[BORNES_LATENCE_MICROS.length + 1];
+    private final LongAdder tentatives = new LongAdder();
+    private final LongAdder reussites = new LongAdder();
+    private final LongAdder echecs = new LongAdder();
+    private final LongAdder refusLimite = new LongAdder();
+    private final LongAdder refusSaturation = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder rehachages = new LongAdder();
+    private final LongAdder rehachagesAbandonnes = new LongAdder();
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder attenteFileTotaleNanos = new LongAdder();
+    private final LongAdder hachageTotalNanos = new LongAdder();
+
+    AuthentificationMetrics() {
+        for (int i = 0; i < histogrammeLatence.length; i++) {
+            histogrammeLatence[i] = new LongAdder();
+        }
+    }
+
+    void enregistrerTentative() {
+        tentatives.increment();
+    }
+
+    void enregistrerReussite() {
+        reussites.increment();
+    }
+
+    void enregistrerEchec() {
+        echecs.increment();
+    }
+
+    void enregistrerRefusLimite() {
+        refusLimite.increment();
+    }
+
+    void enregistrerRefusSaturation() {
+        refusSaturation.increment();
+    }
+
+    void enregistrerExpiration() {
+        expirations.increment();
+    }
+
+    void enregistrerRehachage() {
+        rehachages.increment();
+    }
+
+    void enregistrerRehachageAbandonne() {
+        rehachagesAbandonnes.increment();
+    }
+
+    void enregistrerVerification(long attenteFileNanos, long hachageNanos) {
+        verifications.increment();
+        attenteFileTotaleNanos.add(attenteFileNanos);
+        hachageTotalNanos.add(hachageNanos);
+        long micros = TimeUnit.NANOSECONDS.toMicros(attenteFileNanos + hachageNanos);
+        int classe = 0;
+        while (classe < BORNES_LATENCE_MICROS.length && micros >= BORNES_LATENCE_MICROS[classe]) {
+            classe++;
+        }
+        histogrammeLatence[classe].increment();
+    }
+
+    // --- Getters ---
+    public long getTentatives() {
+        return tentatives.sum();
+    }
+
+    public long getReussites() {
+        return reussites.sum();
+    }
+
+    public long getEchecs() {
+        return echecs.sum();
+    }
+
+    public long getRefusLimite() {
+        return refusLimite.sum();
+    }
+
+    public long getRefusSaturation() {
+        return refusSaturation.sum();
+    }
+
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    public long getVerifications() {
+        return verifications.sum();
+    }
+
+    public long getAttenteFileMoyenneMicros() {
+        long n = verifications.sum();
+        return n == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(attenteFileTotaleNanos.sum() / n);
+    }
+
+    public long getHachageMoyenMicros() {
+        long n = verifications.sum();
+        return n == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(hachageTotalNanos.sum() / n);
+    }
+
+    /**
+     * Hachages stockés remplacés après une connexion parce que leur coût BCrypt n'était plus celui configuré.
+     */
+    public long getRehachages() {
+        return rehachages.sum();
+    }
+
+    /**
+     * Rehachages non faits (file de hachage pleine, erreur d'écriture, hachage modifié entre-temps) :
+     * ils seront retentés à la prochaine connexion.
+     */
+    public long getRehachagesAbandonnes() {
+        return rehachagesAbandonnes.sum();
+    }
+
+    /**
+     * Retourne une copie de l'histogramme de latence des vérifications de mot de passe.
+     * La case i compte les vérifications dont la latence est inférieure à getBornesLatenceMicros()[i]
+     * (et supérieure ou égale à la borne précédente) ; la dernière case compte le reste.
+     *
+     * @return Le nombre de vérifications par classe de latence.
+     */
+    public long[] getHistogrammeLatence() {
+        long[] copie = new long[histogrammeLatence.length];
+        for (int i = 0; i < copie.length; i++) {
+            copie[i] = histogrammeLatence[i].sum();
+        }
+        return copie;
+    }
+
+    public long[] getBornesLatenceMicros() {
+        return BORNES_LATENCE_MICROS.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder histogramme = new StringBuilder();
+        long[] valeurs = getHistogrammeLatence();
+        for (int i = 0; i < valeurs.length; i++) {
+            histogramme.append(i < BORNES_LATENCE_MICROS.length ? "<" + BORNES_LATENCE_MICROS[i] / 1_000 + "ms" : ">=" + BORNES_LATENCE_MICROS[BORNES_LATENCE_MICROS.length - 1] / 1_000 + "ms")
+                    .append('=').append(valeurs[i]);
+            if (i < valeurs.length - 1) {
+                histogramme.append(", ");
+            }
+        }
+        return "AuthentificationMetrics{" +
+                "tentatives=" + getTentatives() +
+                ", reussites=" + getReussites() +
+                ", echecs=" + getEchecs() +
+                ", refusLimite=" + getRefusLimite() +
+                ", refusSaturation=" + getRefusSaturation() +
+                ", expirations=" + getExpirations() +
+                ", rehachages=" + getRehachages() +
+                ", rehachagesAbandonnes=" + getRehachagesAbandonnes() +
+                ", attenteFileMoyenneUs=" + getAttenteFileMoyenneMicros() +
+                ", hachageMoyenUs=" + getHachageMoyenMicros() +
+                ", latence=[" + histogramme + "]" +
+                '}';
+    }
+}
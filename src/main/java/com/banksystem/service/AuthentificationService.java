@@ -3,23 +3,45 @@ package com.banksystem.service;
 
 import com.banksystem.model.Client;
 import com.banksystem.model.Admin;
-import com.banksystem.dao.ClientDAO; // Importer le DAO
-import com.banksystem.dao.AdminDAO;   // Importer le DAO
+import com.banksystem.dao.ClientRepository; // Importer le DAO
+import com.banksystem.dao.AdminRepository;  // Importer le DAO
+import com.banksystem.dao.FabriqueRepositories;
 import com.banksystem.exception.AuthentificationException;
+import com.banksystem.exception.AuthentificationIndisponibleException;
+import com.banksystem.exception.TropDeTentativesException;
+import com.banksystem.util.Journal;
+import com.banksystem.util.LimiteurTentatives;
 
 import java.sql.SQLException;
 import java.util.Optional;
 
 public class AuthentificationService {
 
+    private static final Journal JOURNAL = Journal.pour(AuthentificationService.class);
+
+    // Partagés par toutes les instances : un seul exécuteur de hachage et une seule limite par email dans la JVM.
+    private static final AuthentificationMetrics METRIQUES = new AuthentificationMetrics();
+    private static final ExecuteurHachage HACHAGE = new ExecuteurHachage(
+            Integer.getInteger("banksystem.auth.threads", Runtime.getRuntime().availableProcessors()),
+            Integer.getInteger("banksystem.auth.tailleFile", 256),
+            Long.getLong("banksystem.auth.delaiMs", 5_000L),
+            METRIQUES);
+    // 5 tentatives d'affilée, puis une toutes les 12 secondes ; banksystem.auth.tentatives.max=0 désactive la limite.
+    private static final int TENTATIVES_MAX = Integer.getInteger("banksystem.auth.tentatives.max", 5);
+    private static final LimiteurTentatives LIMITEUR = TENTATIVES_MAX > 0
+            ? new LimiteurTentatives(TENTATIVES_MAX,
+                    Long.getLong("banksystem.auth.tentatives.intervalleMs", 12_000L),
+                    Integer.getInteger("banksystem.auth.tentatives.cles", 100_000))
+            : null;
+
     private GestionMotDePasse gestionMotDePasse;
-    private ClientDAO clientDAO; // Dépendance vers ClientDAO
-    private AdminDAO adminDAO;   // Dépendance vers AdminDAO
+    private ClientRepository clientDAO; // Dépendance vers le repository des clients
+    private AdminRepository adminDAO;   // Dépendance vers le repository des admins
 
     public AuthentificationService() {
         this.gestionMotDePasse = new GestionMotDePasse();
-        this.clientDAO = new ClientDAO(); // Initialiser ClientDAO
-        this.adminDAO = new AdminDAO();   // Initialiser AdminDAO
+        this.clientDAO = FabriqueRepositories.clients(); // Stockage choisi au démarrage
+        this.adminDAO = FabriqueRepositories.admins();
     }
 
     /**
@@ -28,9 +50,12 @@ public class AuthentificationService {
      * @param email L'email du client.
      * @param motDePasse Le mot de passe en clair fourni par le client.
      * @return L'objet Client si l'authentification réussit.
+     * @throws TropDeTentativesException Si cet email a épuisé ses tentatives (le mot de passe n'est pas vérifié).
+     * @throws AuthentificationIndisponibleException Si la vérification du mot de passe est saturée ou trop lente.
      * @throws AuthentificationException Si l'authentification échoue (mauvais email/mot de passe, ou erreur DB).
      */
     public Client authentifierClient(String email, String motDePasse) throws AuthentificationException {
+        controlerTentative("client:" + email.trim().toLowerCase());
         try {
             // 1. Chercher le client par email dans la base de données
             Optional<Client> clientOptional = clientDAO.getClientByEmail(email);
@@ -38,12 +63,18 @@ public class AuthentificationService {
             // 2. Vérifier si un client a été trouvé
             if (clientOptional.isPresent()) {
                 Client client = clientOptional.get();
-                // 3. Vérifier le mot de passe fourni avec le hachage stocké
-                if (gestionMotDePasse.verifier(motDePasse, client.getMotDePasseHash())) {
+                // 3. Vérifier le mot de passe fourni avec le hachage stocké (sur l'exécuteur de hachage)
+                if (HACHAGE.verifier(gestionMotDePasse, motDePasse, client.getMotDePasseHash())) {
+                    METRIQUES.enregistrerReussite();
+                    String hash = client.getMotDePasseHash();
+                    if (gestionMotDePasse.doitEtreRehache(hash)) {
+                        rehacher(motDePasse, nouveau -> clientDAO.updateMotDePasseHash(client.getId(), hash, nouveau));
+                    }
                     return client; // Authentification réussie
                 }
             }
             // Si pas de client trouvé ou mot de passe incorrect
+            METRIQUES.enregistrerEchec();
             throw new AuthentificationException("Email ou mot de passe client incorrect.");
 
         } catch (SQLException e) {
@@ -58,9 +89,12 @@ public class AuthentificationService {
      * @param login Le login de l'administrateur.
      * @param motDePasse Le mot de passe en clair fourni par l'admin.
      * @return L'objet Admin si l'authentification réussit.
+     * @throws TropDeTentativesException Si ce login a épuisé ses tentatives (le mot de passe n'est pas vérifié).
+     * @throws AuthentificationIndisponibleException Si la vérification du mot de passe est saturée ou trop lente.
      * @throws AuthentificationException Si l'authentification échoue (mauvais login/mot de passe, ou erreur DB).
      */
     public Admin authentifierAdmin(String login, String motDePasse) throws AuthentificationException {
+        controlerTentative("admin:" + login);
         try {
             // 1. Chercher l'administrateur par login dans la base de données
             Optional<Admin> adminOptional = adminDAO.getAdminByLogin(login);
@@ -68,12 +102,18 @@ public class AuthentificationService {
             // 2. Vérifier si un administrateur a été trouvé
             if (adminOptional.isPresent()) {
                 Admin admin = adminOptional.get();
-                // 3. Vérifier le mot de passe fourni avec le hachage stocké
-                if (gestionMotDePasse.verifier(motDePasse, admin.getMotDePasseHash())) {
+                // 3. Vérifier le mot de passe fourni avec le hachage stocké (sur l'exécuteur de hachage)
+                if (HACHAGE.verifier(gestionMotDePasse, motDePasse, admin.getMotDePasseHash())) {
+                    METRIQUES.enregistrerReussite();
+                    String hash = admin.getMotDePasseHash();
+                    if (gestionMotDePasse.doitEtreRehache(hash)) {
+                        rehacher(motDePasse, nouveau -> adminDAO.updateMotDePasseHash(login, hash, nouveau));
+                    }
                     return admin; // Authentification réussie
                 }
             }
             // Si pas d'admin trouvé ou mot de passe incorrect
+            METRIQUES.enregistrerEchec();
             throw new AuthentificationException("Login ou mot de passe administrateur incorrect.");
 
         } catch (SQLException e) {
@@ -81,4 +121,64 @@ public class AuthentificationService {
             throw new AuthentificationException("Erreur de connexion/base de données lors de l'authentification de l'administrateur: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Écriture conditionnelle d'un nouveau hachage (updateMotDePasseHash d'un repository).
+     */
+    @FunctionalInterface
+    private interface EcritureHachage {
+        boolean ecrire(String nouveauHash) throws SQLException;
+    }
+
+    /**
+     * Recalcule en arrière-plan, au coût configuré, le hachage d'un mot de passe qui vient d'être vérifié.
+     * La connexion n'attend pas ce second BCrypt ; s'il ne peut pas être fait maintenant (file de hachage chargée,
+     * erreur d'écriture), l'ancien hachage reste valide et le rehachage sera retenté à la prochaine connexion.
+     */
+    private void rehacher(String motDePasse, EcritureHachage ecriture) {
+        boolean accepte = HACHAGE.executerEnArrierePlan(() -> {
+            try {
+                if (ecriture.ecrire(gestionMotDePasse.hasher(motDePasse))) {
+                    METRIQUES.enregistrerRehachage();
+                } else {
+                    METRIQUES.enregistrerRehachageAbandonne(); // Mot de passe changé entre-temps
+                }
+            } catch (SQLException | RuntimeException e) {
+                METRIQUES.enregistrerRehachageAbandonne();
+                JOURNAL.avertissement("Rehachage du mot de passe impossible : {}", e.getMessage());
+            }
+        });
+        if (!accepte) {
+            METRIQUES.enregistrerRehachageAbandonne();
+        }
+    }
+
+    /**
+     * Compte la tentative et la refuse si la clé (email ou login) a épuisé ses tentatives.
+     */
+    private void controlerTentative(String cle) {
+        METRIQUES.enregistrerTentative();
+        if (LIMITEUR != null && !LIMITEUR.autoriser(cle)) {
+            METRIQUES.enregistrerRefusLimite();
+            throw new TropDeTentativesException("Trop de tentatives de connexion, veuillez réessayer plus tard.");
+        }
+    }
+
+    /**
+     * Retourne les compteurs de l'authentification (tentatives, refus, latence des vérifications).
+     *
+     * @return Les métriques de l'authentification.
+     */
+    public static AuthentificationMetrics getMetriques() {
+        return METRIQUES;
+    }
+
+    /**
+     * Nombre de vérifications de mot de passe en attente d'un thread de hachage.
+     *
+     * @return La taille actuelle de la file de hachage.
+     */
+    public static int getVerificationsEnAttente() {
+        return HACHAGE.getTailleFile();
+    }
+}
@@ -1,71 +1,125 @@
 // src/main/java/com/banksystem/service/CompteService.java
 package com.banksystem.service;
 
-import com.banksystem.dao.CompteDAO;
-import com.banksystem.dao.TransactionDAO; // Pour enregistrer les transactions
+import com.banksystem.dao.CompteRepository;
+import com.banksystem.dao.FabriqueRepositories;
+import com.banksystem.dao.TransactionRepository; // Pour enregistrer les transactions
 import com.banksystem.exception.CompteNonTrouveException;
 import com.banksystem.exception.SoldeInsuffisantException;
+import com.banksystem.model.Agence;
 import com.banksystem.model.Client;
 import com.banksystem.model.Compte;
 import com.banksystem.model.CompteCourant;
 import com.banksystem.model.CompteEpargne;
+import com.banksystem.model.JournalAction;
+import com.banksystem.model.Message;
+import com.banksystem.model.MouvementSolde;
 import com.banksystem.model.Transaction;
+import com.banksystem.util.Identifiants;
+import com.banksystem.util.Journal;
+import com.banksystem.util.Montant;
+import com.banksystem.util.UnitOfWork;
+import com.banksystem.util.VerrousComptes;
 
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Optional;
-import java.util.UUID; // Pour générer des IDs uniques
 
 public class CompteService {
 
-    private CompteDAO compteDAO;
-    private TransactionDAO transactionDAO; // Pour enregistrer les transactions
+    private static final Journal JOURNAL = Journal.pour(CompteService.class);
+
+    private CompteRepository compteDAO;
+    private TransactionRepository transactionDAO; // Pour enregistrer les transactions
 
     public CompteService() {
-        this.compteDAO = new CompteDAO();
-        this.transactionDAO = new TransactionDAO();
+        this.compteDAO = FabriqueRepositories.comptes();
+        this.transactionDAO = FabriqueRepositories.transactions();
+        AgregatsAgences.initialiser(); // Avant la première opération : ses variations s'ajouteront aux agrégats chargés
     }
 
-    public CompteDAO getCompteDAO() {
+    public CompteRepository getCompteDAO() {
         return compteDAO;
     }
 
+    /**
+     * Crée un nouveau compte courant pour un client, rattaché à l'agence par défaut.
+     *
+     * @see #creerCompteCourant(Client, String, long, long)
+     */
+    public CompteCourant creerCompteCourant(Client client, long soldeInitialCentimes, long decouvertAutoriseCentimes) throws SQLException {
+        return creerCompteCourant(client, Agence.CODE_PAR_DEFAUT, soldeInitialCentimes, decouvertAutoriseCentimes);
+    }
+
     /**
      * Crée un nouveau compte courant pour un client et le sauvegarde en base de données.
      *
      * @param client Le client propriétaire du compte.
-     * @param soldeInitial Le solde initial du compte.
-     * @param decouvertAutorise Le découvert autorisé pour ce compte.
+     * @param codeAgence Le code de l'agence de rattachement.
+     * @param soldeInitialCentimes Le solde initial du compte, en centimes.
+     * @param decouvertAutoriseCentimes Le découvert autorisé pour ce compte, en centimes.
      * @return L'objet CompteCourant créé.
-     * @throws SQLException En cas d'erreur de base de données.
+     * @throws SQLException En cas d'erreur de base de données (ou si l'agence n'existe pas).
      */
-    public CompteCourant creerCompteCourant(Client client, double soldeInitial, double decouvertAutorise) throws SQLException {
-        String numeroCompte = "CC-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase(); // Génère un numéro unique
-        CompteCourant newCompte = new CompteCourant(numeroCompte, soldeInitial, client, decouvertAutorise);
-        if (compteDAO.addCompte(newCompte)) {
+    public CompteCourant creerCompteCourant(Client client, String codeAgence, long soldeInitialCentimes, long decouvertAutoriseCentimes) throws SQLException {
+        String numeroCompte = Identifiants.nouveau("CC-");
+        CompteCourant newCompte = new CompteCourant(numeroCompte, soldeInitialCentimes, client, decouvertAutoriseCentimes);
+        newCompte.setCodeAgence(codeAgence);
+        // Création et journalisation dans la même unité de travail : pas d'action journalisée sans compte
+        boolean cree = UnitOfWork.executer(() -> {
+            if (!compteDAO.addCompte(newCompte)) {
+                return false;
+            }
+            JournalisationActions.journaliser(new JournalAction(JournalAction.Type.CREATION_COMPTE, numeroCompte, null, soldeInitialCentimes, null));
+            Portefeuilles.enregistrerOuverture(newCompte);
+            AgregatsAgences.enregistrerOuverture(newCompte);
+            return true;
+        });
+        if (cree) {
             client.ajouterCompte(newCompte); // Associe le compte au client en mémoire
-            System.out.println("Compte courant " + numeroCompte + " créé pour " + client.getNomComplet());
+            JOURNAL.info("Compte courant {} créé pour le client {}.", numeroCompte, client.getId());
             return newCompte;
         } else {
             throw new SQLException("Impossible de créer le compte courant.");
         }
     }
 
+    /**
+     * Crée un nouveau compte épargne pour un client, rattaché à l'agence par défaut.
+     *
+     * @see #creerCompteEpargne(Client, String, long, double)
+     */
+    public CompteEpargne creerCompteEpargne(Client client, long soldeInitialCentimes, double tauxInteret) throws SQLException {
+        return creerCompteEpargne(client, Agence.CODE_PAR_DEFAUT, soldeInitialCentimes, tauxInteret);
+    }
+
     /**
      * Crée un nouveau compte épargne pour un client et le sauvegarde en base de données.
      *
      * @param client Le client propriétaire du compte.
-     * @param soldeInitial Le solde initial du compte.
+     * @param codeAgence Le code de l'agence de rattachement.
+     * @param soldeInitialCentimes Le solde initial du compte, en centimes.
      * @param tauxInteret Le taux d'intérêt pour ce compte.
      * @return L'objet CompteEpargne créé.
-     * @throws SQLException En cas d'erreur de base de données.
+     * @throws SQLException En cas d'erreur de base de données (ou si l'agence n'existe pas).
      */
-    public CompteEpargne creerCompteEpargne(Client client, double soldeInitial, double tauxInteret) throws SQLException {
-        String numeroCompte = "CE-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase(); // Génère un numéro unique
-        CompteEpargne newCompte = new CompteEpargne(numeroCompte, soldeInitial, client, tauxInteret);
-        if (compteDAO.addCompte(newCompte)) {
+    public CompteEpargne creerCompteEpargne(Client client, String codeAgence, long soldeInitialCentimes, double tauxInteret) throws SQLException {
+        String numeroCompte = Identifiants.nouveau("CE-");
+        CompteEpargne newCompte = new CompteEpargne(numeroCompte, soldeInitialCentimes, client, tauxInteret);
+        newCompte.setCodeAgence(codeAgence);
+        // Création et journalisation dans la même unité de travail : pas d'action journalisée sans compte
+        boolean cree = UnitOfWork.executer(() -> {
+            if (!compteDAO.addCompte(newCompte)) {
+                return false;
+            }
+            JournalisationActions.journaliser(new JournalAction(JournalAction.Type.CREATION_COMPTE, numeroCompte, null, soldeInitialCentimes, null));
+            Portefeuilles.enregistrerOuverture(newCompte);
+            AgregatsAgences.enregistrerOuverture(newCompte);
+            return true;
+        });
+        if (cree) {
             client.ajouterCompte(newCompte); // Associe le compte au client en mémoire
-            System.out.println("Compte épargne " + numeroCompte + " créé pour " + client.getNomComplet());
+            JOURNAL.info("Compte épargne {} créé pour le client {}.", numeroCompte, client.getId());
             return newCompte;
         } else {
             throw new SQLException("Impossible de créer le compte épargne.");
@@ -76,41 +130,46 @@ public class CompteService {
      * Effectue un dépôt sur un compte spécifié et enregistre la transaction.
      *
      * @param numeroCompte Le numéro du compte cible.
-     * @param montant Le montant à déposer.
+     * @param montantCentimes Le montant à déposer, en centimes (voir Montant.deEuros).
      * @throws CompteNonTrouveException Si le compte n'existe pas.
      * @throws IllegalArgumentException Si le montant est négatif.
      * @throws SQLException En cas d'erreur de base de données.
      */
-    public void deposer(String numeroCompte, double montant) throws CompteNonTrouveException, SQLException, IllegalArgumentException {
-        if (montant <= 0) {
+    public void deposer(String numeroCompte, long montantCentimes) throws CompteNonTrouveException, SQLException, IllegalArgumentException {
+        if (montantCentimes <= 0) {
             throw new IllegalArgumentException("Le montant du dépôt doit être positif.");
         }
 
-        Optional<Compte> compteOptional = compteDAO.getCompteByNumero(numeroCompte);
-        if (!compteOptional.isPresent()) {
-            throw new CompteNonTrouveException("Compte non trouvé avec le numéro : " + numeroCompte);
-        }
-
-        Compte compte = compteOptional.get();
-        compte.deposer(montant); // Appelle la méthode de dépôt du modèle Compte
-
-        // Met à jour le solde dans la base de données
-        if (!compteDAO.updateCompte(compte)) {
-            throw new SQLException("Erreur lors de la mise à jour du solde du compte " + numeroCompte);
-        }
+        // Crédit atomique en base et enregistrement de la transaction dans une seule transaction SQL,
+        // sous le verrou du compte (les opérations sur un même compte sont sérialisées dans la JVM)
+        MouvementSolde mouvement = VerrousComptes.executer(numeroCompte, () -> UnitOfWork.executer(() -> {
+            Optional<MouvementSolde> resultat = compteDAO.crediter(numeroCompte, montantCentimes);
+            if (!resultat.isPresent()) {
+                throw new CompteNonTrouveException("Compte non trouvé avec le numéro : " + numeroCompte);
+            }
 
-        // Enregistrer la transaction
-        Transaction transaction = new Transaction(
-                "T-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase(),
-                "CREDIT", // Type de transaction
-                montant,
-                LocalDateTime.now(),
-                "Dépôt sur le compte " + numeroCompte,
-                compte, // Compte source est le même que la destination pour un dépôt sur soi-même
-                null // Pas de compte destination externe pour un dépôt
-        );
-        if (!transactionDAO.addTransaction(transaction)) {
-            System.err.println("Avertissement: Impossible d'enregistrer la transaction de dépôt pour le compte " + numeroCompte);
+            // Enregistrer la transaction
+            Transaction transaction = new Transaction(
+                    Identifiants.nouveau("T-"),
+                    "CREDIT", // Type de transaction
+                    montantCentimes,
+                    LocalDateTime.now(),
+                    "Dépôt sur le compte " + numeroCompte,
+                    numeroCompte, // Compte source est le même que la destination pour un dépôt sur soi-même
+                    null // Pas de compte destination externe pour un dépôt
+            );
+            if (!transactionDAO.addTransaction(transaction)) {
+                // Annule le mouvement : pas de solde modifié sans transaction enregistrée
+                throw new SQLException("Impossible d'enregistrer la transaction de dépôt pour le compte " + numeroCompte + ".");
+            }
+            JournalisationActions.journaliser(new JournalAction(JournalAction.Type.DEPOT, numeroCompte, null, montantCentimes, transaction.getId()));
+            Portefeuilles.enregistrerMouvements(resultat.get());
+            AgregatsAgences.enregistrerMouvement(resultat.get());
+            return resultat.get();
+        }));
+        NotificationService.publier(new Message(Message.Type.DEPOT, numeroCompte, mouvement.getClientId(), montantCentimes));
+        if (JOURNAL.estActif(Journal.Niveau.INFO)) {
+            JOURNAL.info("Dépôt de {} EUR effectué sur le compte {}. Nouveau solde : {} EUR", Montant.formater(montantCentimes), numeroCompte, Montant.formater(mouvement.getNouveauSoldeCentimes()));
         }
     }
 
@@ -118,42 +177,50 @@ public class CompteService {
      * Effectue un retrait d'un compte spécifié et enregistre la transaction.
      *
      * @param numeroCompte Le numéro du compte source.
-     * @param montant Le montant à retirer.
+     * @param montantCentimes Le montant à retirer, en centimes (voir Montant.deEuros).
      * @throws CompteNonTrouveException Si le compte n'existe pas.
      * @throws SoldeInsuffisantException Si le solde est insuffisant (y compris découvert).
      * @throws IllegalArgumentException Si le montant est négatif.
      * @throws SQLException En cas d'erreur de base de données.
      */
-    public void retirer(String numeroCompte, double montant) throws CompteNonTrouveException, SoldeInsuffisantException, SQLException, IllegalArgumentException {
-        if (montant <= 0) {
+    public void retirer(String numeroCompte, long montantCentimes) throws CompteNonTrouveException, SoldeInsuffisantException, SQLException, IllegalArgumentException {
+        if (montantCentimes <= 0) {
             throw new IllegalArgumentException("Le montant du retrait doit être positif.");
         }
 
-        Optional<Compte> compteOptional = compteDAO.getCompteByNumero(numeroCompte);
-        if (!compteOptional.isPresent()) {
-            throw new CompteNonTrouveException("Compte non trouvé avec le numéro : " + numeroCompte);
-        }
-
-        Compte compte = compteOptional.get();
-        compte.retirer(montant); // Appelle la méthode de retrait du modèle Compte (gère les exceptions de solde)
-
-        // Met à jour le solde dans la base de données
-        if (!compteDAO.updateCompte(compte)) {
-            throw new SQLException("Erreur lors de la mise à jour du solde du compte " + numeroCompte);
-        }
+        // Débit conditionnel atomique en base (contrôle du découvert inclus) et enregistrement de la transaction,
+        // sous le verrou du compte
+        MouvementSolde mouvement = VerrousComptes.executer(numeroCompte, () -> UnitOfWork.executer(() -> {
+            Optional<MouvementSolde> resultat = compteDAO.debiter(numeroCompte, montantCentimes);
+            if (!resultat.isPresent()) {
+                if (!compteDAO.existeCompte(numeroCompte)) {
+                    throw new CompteNonTrouveException("Compte non trouvé avec le numéro : " + numeroCompte);
+                }
+                throw new SoldeInsuffisantException("Fonds insuffisants pour le retrait de " + Montant.formater(montantCentimes) + " EUR sur le compte " + numeroCompte + ".");
+            }
 
-        // Enregistrer la transaction
-        Transaction transaction = new Transaction(
-                "T-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase(),
-                "DEBIT", // Type de transaction
-                montant,
-                LocalDateTime.now(),
-                "Retrait du compte " + numeroCompte,
-                compte, // Compte source
-                null // Pas de compte destination externe pour un retrait
-        );
-        if (!transactionDAO.addTransaction(transaction)) {
-            System.err.println("Avertissement: Impossible d'enregistrer la transaction de retrait pour le compte " + numeroCompte);
+            // Enregistrer la transaction
+            Transaction transaction = new Transaction(
+                    Identifiants.nouveau("T-"),
+                    "DEBIT", // Type de transaction
+                    montantCentimes,
+                    LocalDateTime.now(),
+                    "Retrait du compte " + numeroCompte,
+                    numeroCompte, // Compte source
+                    null // Pas de compte destination externe pour un retrait
+            );
+            if (!transactionDAO.addTransaction(transaction)) {
+                // Annule le mouvement : pas de solde modifié sans transaction enregistrée
+                throw new SQLException("Impossible d'enregistrer la transaction de retrait pour le compte " + numeroCompte + ".");
+            }
+            JournalisationActions.journaliser(new JournalAction(JournalAction.Type.RETRAIT, numeroCompte, null, montantCentimes, transaction.getId()));
+            Portefeuilles.enregistrerMouvements(resultat.get());
+            AgregatsAgences.enregistrerMouvement(resultat.get());
+            return resultat.get();
+        }));
+        NotificationService.publier(new Message(Message.Type.RETRAIT, numeroCompte, mouvement.getClientId(), montantCentimes));
+        if (JOURNAL.estActif(Journal.Niveau.INFO)) {
+            JOURNAL.info("Retrait de {} EUR effectué sur le compte {}. Nouveau solde : {} EUR", Montant.formater(montantCentimes), numeroCompte, Montant.formater(mouvement.getNouveauSoldeCentimes()));
         }
     }
 
@@ -171,31 +238,38 @@ public class CompteService {
     }
 
     /**
-     * Supprime un compte de la base de données.
+     * Supprime un compte de la base de données, seulement si son solde est nul.
      *
      * @param numeroCompte Le numéro du compte à supprimer.
      * @return true si la suppression réussit, false sinon.
      * @throws SQLException En cas d'erreur de base de données.
      */
     public boolean supprimerCompte(String numeroCompte) throws SQLException {
-        Optional<Compte> compteOptional = compteDAO.getCompteByNumero(numeroCompte);
-        if (!compteOptional.isPresent()) {
-            System.out.println("Compte " + numeroCompte + " non trouvé pour suppression.");
-            return false;
-        }
-        Compte compte = compteOptional.get();
-
-        // Si le solde n'est pas zéro, on peut refuser la suppression
-        if (compte.getSolde() != 0) {
-            System.err.println("Impossible de supprimer le compte " + numeroCompte + " : Solde non nul (" + compte.getSolde() + " EUR).");
-            return false;
-        }
-
         // Dissocier le compte du client en mémoire (si le client est chargé)
         // Ceci nécessiterait que le client soit mis à jour en base de données aussi.
         // Pour l'instant, on se concentre sur la suppression physique du compte de la DB.
         // L'implémentation complète nécessiterait une gestion des clients en mémoire ou un rechargement.
 
-        return compteDAO.deleteCompte(numeroCompte);
+        // Sous le verrou du compte et dans une seule unité de travail : le solde nul est vérifié par la
+        // suppression elle-même, et les variations de fermeture viennent de la ligne supprimée.
+        Optional<Compte> supprime = VerrousComptes.executer(numeroCompte, () -> UnitOfWork.executer(() -> {
+            Optional<Compte> compte = compteDAO.deleteCompteSoldeNul(numeroCompte);
+            if (compte.isPresent()) {
+                JournalisationActions.journaliser(new JournalAction(JournalAction.Type.SUPPRESSION_COMPTE, numeroCompte, null, 0, null));
+                Portefeuilles.enregistrerFermeture(compte.get());
+                AgregatsAgences.enregistrerFermeture(compte.get());
+            }
+            return compte;
+        }));
+        if (supprime.isPresent()) {
+            return true;
+        }
+        Optional<Compte> existant = compteDAO.getCompteByNumero(numeroCompte);
+        if (!existant.isPresent()) {
+            JOURNAL.info("Compte {} non trouvé pour suppression.", numeroCompte);
+        } else {
+            JOURNAL.avertissement("Impossible de supprimer le compte {} : Solde non nul ({} EUR).", numeroCompte, Montant.formater(existant.get().getSoldeCentimes()));
+        }
+        return false;
     }
 }
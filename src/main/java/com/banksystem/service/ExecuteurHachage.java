@@ -0,0 +1,119 @@
+// src/main/java/com/banksystem/service/ExecuteurHachage.java
+package com.banksystem.service;
+
+import com.banksystem.exception.AuthentificationIndisponibleException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exécuteur dédié aux vérifications BCrypt : un thread par cœur et une file bornée.
+ * <p>
+ * Le hachage (plusieurs dizaines de millisecondes de calcul) ne s'exécute jamais sur le thread de l'appelant :
+ * une vague de connexions occupe au plus ces threads, et les threads qui servent les virements ou les dépôts
+ * gardent leurs cœurs. Quand la file est pleine, la vérification est refusée immédiatement plutôt que
+ * d'allonger l'attente de tout le monde.
+ */
+final class ExecuteurHachage {
+
+    private final ThreadPoolExecutor executeur;
+    private final long delaiMaxMillis;
+    private final int tailleFile;
+    private final AuthentificationMetrics metriques;
+
+    ExecuteurHachage(int nombreThreads, int tailleFile, long delaiMaxMillis, AuthentificationMetrics metriques) {
+        if (nombreThreads <= 0 || tailleFile <= 0 || delaiMaxMillis <= 0) {
+            throw new IllegalArgumentException("Le nombre de threads, la taille de file et le délai doivent être positifs.");
+        }
+        this.delaiMaxMillis = delaiMaxMillis;
+        this.tailleFile = tailleFile;
+        this.metriques = metriques;
+        this.executeur = new ThreadPoolExecutor(nombreThreads, nombreThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tailleFile), nouvelleFabrique(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Vérifie un mot de passe sur l'exécuteur et attend le résultat.
+     *
+     * @param gestionMotDePasse La vérification BCrypt.
+     * @param motDePasse Le mot de passe en clair.
+     * @param hash Le hachage stocké.
+     * @return true si le mot de passe correspond au hachage.
+     * @throws AuthentificationIndisponibleException Si la file est pleine, si le délai est dépassé ou si l'attente est interrompue.
+     */
+    boolean verifier(GestionMotDePasse gestionMotDePasse, String motDePasse, String hash) {
+        long soumission = System.nanoTime();
+        Future<Boolean> resultat;
+        try {
+            resultat = executeur.submit(() -> {
+                long debut = System.nanoTime();
+                boolean correspond = gestionMotDePasse.verifier(motDePasse, hash);
+                metriques.enregistrerVerification(debut - soumission, System.nanoTime() - debut);
+                return correspond;
+            });
+        } catch (RejectedExecutionException e) {
+            metriques.enregistrerRefusSaturation();
+            throw new AuthentificationIndisponibleException("Service d'authentification saturé, veuillez réessayer plus tard.");
+        }
+        try {
+            return resultat.get(delaiMaxMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            resultat.cancel(true);
+            metriques.enregistrerExpiration();
+            throw new AuthentificationIndisponibleException("Délai de vérification du mot de passe dépassé, veuillez réessayer plus tard.");
+        } catch (InterruptedException e) {
+            resultat.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthentificationIndisponibleException("Vérification du mot de passe interrompue.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause; // ex: IllegalArgumentException pour un hachage mal formé
+            }
+            throw new IllegalStateException("Erreur lors de la vérification du mot de passe", cause);
+        }
+    }
+
+    /**
+     * Exécute une tâche de fond (rehachage) sur l'exécuteur sans l'attendre.
+     * Une tâche de fond ne doit pas retarder les connexions : elle n'est acceptée que si la file est vide
+     * aux trois quarts.
+     *
+     * @param tache La tâche.
+     * @return true si la tâche a été acceptée.
+     */
+    boolean executerEnArrierePlan(Runnable tache) {
+        if (executeur.getQueue().remainingCapacity() < tailleFile / 4 + 1) {
+            return false;
+        }
+        try {
+            executeur.execute(tache);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Nombre de vérifications en attente dans la file.
+     */
+    int getTailleFile() {
+        return executeur.getQueue().size();
+    }
+
+    private static ThreadFactory nouvelleFabrique() {
+        AtomicInteger numero = new AtomicInteger();
+        return tache -> {
+            Thread thread = new Thread(tache, "hachage-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
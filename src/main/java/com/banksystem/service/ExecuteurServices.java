@@ -0,0 +1,217 @@
+// src/main/java/com/banksystem/service/ExecuteurServices.java
+package com.banksystem.service;
+
+import com.banksystem.model.Admin;
+import com.banksystem.model.Client;
+import com.banksystem.model.CritereHistorique;
+import com.banksystem.model.PageTransactions;
+import com.banksystem.model.Transaction;
+import com.banksystem.util.DatabaseConnection;
+import com.banksystem.util.Journal;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exécution asynchrone des opérations bancaires : chaque appel (dépôt, retrait, virement, historique,
+ * connexion) s'exécute sur son propre thread virtuel et retourne immédiatement un CompletableFuture.
+ * <p>
+ * Les services restent bloquants (JDBC) : un thread virtuel bloqué sur une requête ne consomme pas de thread
+ * système, on peut donc accepter des dizaines de milliers de requêtes simultanées. Au-delà, c'est la base qui
+ * limite : un sémaphore borne le nombre d'opérations en cours à la taille du pool de connexions
+ * (-Dbanksystem.services.concurrence pour une autre valeur). Les opérations en surplus attendent un permis
+ * sur leur thread virtuel, sans occuper de connexion ni de thread système.
+ * <p>
+ * Les exceptions des services (SQLException, CompteNonTrouveException...) terminent le CompletableFuture
+ * en échec, enveloppées dans une CompletionException.
+ */
+public class ExecuteurServices implements AutoCloseable {
+
+    private static final Journal JOURNAL = Journal.pour(ExecuteurServices.class);
+
+    /**
+     * Opération de service exécutée par l'exécuteur.
+     *
+     * @param <T> Le type du résultat.
+     */
+    @FunctionalInterface
+    public interface Operation<T> {
+        T executer() throws Exception;
+    }
+
+    private final CompteService compteService;
+    private final TransactionService transactionService;
+    private final AuthentificationService authentificationService;
+    private final ExecutorService executeur;
+    private final Semaphore limiteur;
+    private final int concurrenceMax;
+
+    private final LongAdder soumises = new LongAdder();
+    private final LongAdder terminees = new LongAdder();
+    private final LongAdder enEchec = new LongAdder();
+
+    public ExecuteurServices() {
+        this(new CompteService(), new TransactionService(), new AuthentificationService(),
+                Integer.getInteger("banksystem.services.concurrence", DatabaseConnection.getTailleMaxPool()));
+    }
+
+    public ExecuteurServices(CompteService compteService, TransactionService transactionService,
+                             AuthentificationService authentificationService, int concurrenceMax) {
+        if (concurrenceMax <= 0) {
+            throw new IllegalArgumentException("La concurrence maximale doit être positive.");
+        }
+        this.compteService = compteService;
+        this.transactionService = transactionService;
+        this.authentificationService = authentificationService;
+        this.concurrenceMax = concurrenceMax;
+        this.limiteur = new Semaphore(concurrenceMax);
+        this.executeur = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("service-", 0).factory());
+    }
+
+    // --- Opérations bancaires ---
+
+    public CompletableFuture<Void> deposer(String numeroCompte, long montantCentimes) {
+        return soumettre(() -> {
+            compteService.deposer(numeroCompte, montantCentimes);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> retirer(String numeroCompte, long montantCentimes) {
+        return soumettre(() -> {
+            compteService.retirer(numeroCompte, montantCentimes);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> effectuerVirement(String numeroCompteSource, String numeroCompteDestination, long montantCentimes, String description) {
+        return soumettre(() -> {
+            transactionService.effectuerVirement(numeroCompteSource, numeroCompteDestination, montantCentimes, description);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<Transaction>> getHistoriqueTransactions(String numeroCompte) {
+        return soumettre(() -> transactionService.getHistoriqueTransactions(numeroCompte));
+    }
+
+    public CompletableFuture<PageTransactions> getHistoriqueTransactions(String numeroCompte, CritereHistorique critere) {
+        return soumettre(() -> transactionService.getHistoriqueTransactions(numeroCompte, critere));
+    }
+
+    public CompletableFuture<Client> authentifierClient(String email, String motDePasse) {
+        return soumettre(() -> authentificationService.authentifierClient(email, motDePasse));
+    }
+
+    public CompletableFuture<Admin> authentifierAdmin(String login, String motDePasse) {
+        return soumettre(() -> authentificationService.authentifierAdmin(login, motDePasse));
+    }
+
+    /**
+     * Exécute une opération quelconque sur un thread virtuel, sous la même limite de concurrence.
+     *
+     * @param operation L'opération à exécuter.
+     * @return Le résultat de l'opération, ou un échec portant son exception.
+     */
+    public <T> CompletableFuture<T> soumettre(Operation<T> operation) {
+        soumises.increment();
+        CompletableFuture<T> resultat = new CompletableFuture<>();
+        try {
+            executeur.execute(() -> executerLimite(operation, resultat));
+        } catch (RuntimeException e) { // RejectedExecutionException après close()
+            enEchec.increment();
+            resultat.completeExceptionally(e);
+        }
+        return resultat;
+    }
+
+    private <T> void executerLimite(Operation<T> operation, CompletableFuture<T> resultat) {
+        try {
+            limiteur.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            enEchec.increment();
+            resultat.completeExceptionally(e);
+            return;
+        }
+        try {
+            T valeur = operation.executer();
+            terminees.increment();
+            resultat.complete(valeur);
+        } catch (Exception e) {
+            enEchec.increment();
+            resultat.completeExceptionally(e instanceof CompletionException ? e : new CompletionException(e));
+        } catch (Error e) {
+            enEchec.increment();
+            resultat.completeExceptionally(e);
+            throw e;
+        } finally {
+            limiteur.release();
+        }
+    }
+
+    // --- Suivi ---
+
+    public int getConcurrenceMax() {
+        return concurrenceMax;
+    }
+
+    /**
+     * Nombre d'opérations en cours d'exécution (au plus getConcurrenceMax()).
+     */
+    public int getOperationsEnCours() {
+        return concurrenceMax - limiteur.availablePermits();
+    }
+
+    /**
+     * Nombre approximatif d'opérations soumises qui attendent un permis.
+     */
+    public int getOperationsEnAttente() {
+        return limiteur.getQueueLength();
+    }
+
+    public long getOperationsSoumises() {
+        return soumises.sum();
+    }
+
+    public long getOperationsTerminees() {
+        return terminees.sum();
+    }
+
+    public long getOperationsEnEchec() {
+        return enEchec.sum();
+    }
+
+    /**
+     * Refuse les nouvelles opérations et attend la fin de celles déjà soumises (30 secondes au plus).
+     */
+    @Override
+    public void close() {
+        executeur.shutdown();
+        try {
+            if (!executeur.awaitTermination(30, TimeUnit.SECONDS)) {
+                JOURNAL.avertissement("{} opération(s) encore en cours à la fermeture de l'exécuteur.", getOperationsEnCours());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ExecuteurServices{" +
+                "concurrenceMax=" + concurrenceMax +
+                ", enCours=" + getOperationsEnCours() +
+                ", enAttente=" + getOperationsEnAttente() +
+                ", soumises=" + getOperationsSoumises() +
+                ", terminees=" + getOperationsTerminees() +
+                ", enEchec=" + getOperationsEnEchec() +
+                '}';
+    }
+}
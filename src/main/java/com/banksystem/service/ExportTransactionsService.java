@@ -0,0 +1,150 @@
+// src/main/java/com/banksystem/service/ExportTransactionsService.java
+package com.banksystem.service;
+
+import com.banksystem.dao.FabriqueRepositories;
+import com.banksystem.dao.TransactionRepository;
+import com.banksystem.model.Transaction;
+import com.banksystem.util.Montant;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * Export des transactions (relevés, extractions d'audit) en CSV ou en JSON Lines.
+ * Les lignes sont écrites au fil de la lecture de la base : la mémoire utilisée est constante,
+ * quel que soit le nombre de transactions exportées.
+ */
+public class ExportTransactionsService {
+
+    private static final int TAILLE_TAMPON_ECRITURE = 64 * 1024;
+    private static final String ENTETE_CSV = "id,type,montant,date,description,compte_source,compte_destination";
+
+    private TransactionRepository transactionDAO;
+
+    public ExportTransactionsService() {
+        this.transactionDAO = FabriqueRepositories.transactions();
+    }
+
+    /**
+     * Exporte les transactions au format CSV (une ligne d'en-tête puis une ligne par transaction).
+     * Le flux de sortie est vidé mais n'est pas fermé.
+     *
+     * @param numeroCompte Le numéro du compte, ou null pour toutes les transactions de la banque.
+     * @param sortie Le flux de sortie.
+     * @return Le nombre de transactions exportées.
+     * @throws SQLException En cas d'erreur de base de données.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    public long exporterCsv(String numeroCompte, OutputStream sortie) throws SQLException, IOException {
+        Writer writer = ouvrir(sortie);
+        writer.write(ENTETE_CSV);
+        writer.write('\n');
+        long nombre = transactionDAO.parcourirTransactions(numeroCompte, transaction -> {
+            writer.write(champCsv(transaction.getId()));
+            writer.write(',');
+            writer.write(champCsv(transaction.getType()));
+            writer.write(',');
+            writer.write(Montant.formater(transaction.getMontantCentimes()));
+            writer.write(',');
+            writer.write(transaction.getDate() != null ? transaction.getDate().toString() : "");
+            writer.write(',');
+            writer.write(champCsv(transaction.getDescription()));
+            writer.write(',');
+            writer.write(champCsv(transaction.getNumeroCompteSource()));
+            writer.write(',');
+            writer.write(champCsv(transaction.getNumeroCompteDestination()));
+            writer.write('\n');
+        });
+        writer.flush();
+        return nombre;
+    }
+
+    /**
+     * Exporte les transactions au format JSON Lines (un objet JSON par ligne).
+     * Le flux de sortie est vidé mais n'est pas fermé.
+     *
+     * @param numeroCompte Le numéro du compte, ou null pour toutes les transactions de la banque.
+     * @param sortie Le flux de sortie.
+     * @return Le nombre de transactions exportées.
+     * @throws SQLException En cas d'erreur de base de données.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    public long exporterJsonLignes(String numeroCompte, OutputStream sortie) throws SQLException, IOException {
+        Writer writer = ouvrir(sortie);
+        long nombre = transactionDAO.parcourirTransactions(numeroCompte, transaction -> {
+            writer.write("{\"id\":");
+            writer.write(chaineJson(transaction.getId()));
+            writer.write(",\"type\":");
+            writer.write(chaineJson(transaction.getType()));
+            writer.write(",\"montant\":");
+            writer.write(Montant.formater(transaction.getMontantCentimes()));
+            writer.write(",\"date\":");
+            writer.write(chaineJson(transaction.getDate() != null ? transaction.getDate().toString() : null));
+            writer.write(",\"description\":");
+            writer.write(chaineJson(transaction.getDescription()));
+            writer.write(",\"compteSource\":");
+            writer.write(chaineJson(transaction.getNumeroCompteSource()));
+            writer.write(",\"compteDestination\":");
+            writer.write(chaineJson(transaction.getNumeroCompteDestination()));
+            writer.write("}\n");
+        });
+        writer.flush();
+        return nombre;
+    }
+
+    private Writer ouvrir(OutputStream sortie) {
+        return new BufferedWriter(new OutputStreamWriter(sortie, StandardCharsets.UTF_8), TAILLE_TAMPON_ECRITURE);
+    }
+
+    // Un champ CSV est entouré de guillemets seulement s'il contient un séparateur, un guillemet ou un saut de ligne.
+    private static String champCsv(String valeur) {
+        if (valeur == null) {
+            return "";
+        }
+        boolean aEchapper = false;
+        for (int i = 0; i < valeur.length() && !aEchapper; i++) {
+            char c = valeur.charAt(i);
+            aEchapper = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return aEchapper ? '"' + valeur.replace("\"", "\"\"") + '"' : valeur;
+    }
+
+    private static String chaineJson(String valeur) {
+        if (valeur == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(valeur.length() + 2).append('"');
+        for (int i = 0; i < valeur.length(); i++) {
+            char c = valeur.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -3,15 +3,111 @@ package com.banksystem.service;
 
 import org.mindrot.jbcrypt.BCrypt;
 
+/**
+ * Hachage et vérification des mots de passe avec BCrypt.
+ * <p>
+ * Le coût (facteur de travail, log2 du nombre de tours) se règle par déploiement avec -Dbanksystem.bcrypt.cout
+ * (10 par défaut) : chaque point de plus double le temps d'une connexion. {@link #calibrerCout(long)} mesure la
+ * machine courante pour choisir la valeur. Un hachage produit avec un autre coût reste vérifiable ;
+ * {@link #doitEtreRehache(String)} signale qu'il faut le remplacer à la prochaine connexion réussie.
+ */
 public class GestionMotDePasse {
 
+    public static final int COUT_MIN = 4;
+    public static final int COUT_MAX = 30; // jBCrypt refuse plus de 30 ("Bad number of rounds")
+    public static final int COUT_DEFAUT = Integer.getInteger("banksystem.bcrypt.cout", 10);
+
+    private final int cout;
+
+    public GestionMotDePasse() {
+        this(COUT_DEFAUT);
+    }
+
+    public GestionMotDePasse(int cout) {
+        if (cout < COUT_MIN || cout > COUT_MAX) {
+            throw new IllegalArgumentException("Coût BCrypt hors de [" + COUT_MIN + ", " + COUT_MAX + "] : " + cout);
+        }
+        this.cout = cout;
+    }
+
+    public int getCout() {
+        return cout;
+    }
+
     public String hasher(String password) {
 
-        return BCrypt.hashpw(password, BCrypt.gensalt(10));
+        return BCrypt.hashpw(password, BCrypt.gensalt(cout));
     }
 
     public boolean verifier(String password, String hashedPassword) {
 
         return BCrypt.checkpw(password, hashedPassword);
     }
-}
\ No newline at end of file
+
+    /**
+     * Indique si un hachage stocké n'a pas été produit avec le coût configuré (plus faible après un durcissement,
+     * plus élevé après un allègement) et doit être recalculé.
+     *
+     * @param hashedPassword Le hachage stocké.
+     * @return true si le hachage doit être remplacé.
+     */
+    public boolean doitEtreRehache(String hashedPassword) {
+        return coutDe(hashedPassword) != cout;
+    }
+
+    /**
+     * Lit le coût d'un hachage BCrypt ("$2a$10$...").
+     *
+     * @param hashedPassword Le hachage.
+     * @return Le coût, ou -1 si le hachage n'est pas au format BCrypt.
+     */
+    public static int coutDe(String hashedPassword) {
+        if (hashedPassword == null || hashedPassword.length() < 7 || hashedPassword.charAt(0) != '$'
+                || hashedPassword.charAt(3) != '$' || hashedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        char dizaines = hashedPassword.charAt(4);
+        char unites = hashedPassword.charAt(5);
+        if (!Character.isDigit(dizaines) || !Character.isDigit(unites)) {
+            return -1;
+        }
+        return (dizaines - '0') * 10 + (unites - '0');
+    }
+
+    /**
+     * Cherche le coût le plus élevé dont une vérification tient dans le délai visé sur cette machine.
+     * Le temps est mesuré à partir de COUT_MIN puis extrapolé (il double à chaque point) et confirmé par une
+     * mesure au coût retenu ; l'appel dure donc quelques fois la cible.
+     *
+     * @param cibleMillis Le temps de vérification visé (ex: 100 ms pour une connexion interactive).
+     * @return Le coût à configurer (-Dbanksystem.bcrypt.cout), au moins COUT_MIN.
+     */
+    public static int calibrerCout(long cibleMillis) {
+        long cibleNanos = cibleMillis * 1_000_000L;
+        int candidat = COUT_MIN;
+        long mesure = mesurerNanos(candidat);
+        // Extrapolation, puis correction par la mesure réelle (le temps n'est pas exactement proportionnel)
+        while (candidat < COUT_MAX && mesure * 2 <= cibleNanos) {
+            candidat++;
+            mesure *= 2;
+        }
+        mesure = mesurerNanos(candidat);
+        while (candidat > COUT_MIN && mesure > cibleNanos) {
+            candidat--;
+            mesure /= 2;
+        }
+        return candidat;
+    }
+
+    private static long mesurerNanos(int cout) {
+        String hash = BCrypt.hashpw("calibration", BCrypt.gensalt(cout));
+        BCrypt.checkpw("calibration", hash); // Première exécution : chargement des classes et compilation
+        long meilleur = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long debut = System.nanoTime();
+            BCrypt.checkpw("calibration", hash);
+            meilleur = Math.min(meilleur, System.nanoTime() - debut);
+        }
+        return meilleur;
+    }
+}
@@ -0,0 +1,612 @@
+// src/main/java/com/banksystem/service/ImportClients.java
+package com.banksystem.service;
+
+import com.banksystem.dao.AgenceRepository;
+import com.banksystem.dao.ClientRepository;
+import com.banksystem.dao.CompteRepository;
+import com.banksystem.dao.FabriqueRepositories;
+import com.banksystem.model.Agence;
+import com.banksystem.model.Client;
+import com.banksystem.model.Compte;
+import com.banksystem.model.CompteCourant;
+import com.banksystem.model.CompteEpargne;
+import com.banksystem.model.JournalAction;
+import com.banksystem.model.Portefeuille;
+import com.banksystem.util.Identifiants;
+import com.banksystem.util.Journal;
+import com.banksystem.util.Montant;
+import com.banksystem.util.UnitOfWork;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Import en masse de clients et de leurs comptes depuis un fichier CSV (UTF-8, séparateur virgule, champs
+ * éventuellement entre guillemets), avec l'en-tête :
+ * <pre>
+ * email,nom,prenom,telephone,adresse,mot_de_passe,code_agence,solde_courant,decouvert_autorise,solde_epargne,taux_interet
+ * </pre>
+ * Une ligne crée un client et, selon les colonnes renseignées, un compte courant (solde_courant) et/ou un compte
+ * épargne (solde_epargne). Les montants sont en euros ("1234.56") ; un code agence vide vaut l'agence par défaut.
+ * <p>
+ * Le fichier est lu en flux par lots de lignes. Pour chaque lot, le thread de lecture valide les lignes, écarte
+ * les emails en double (dans le lot, puis déjà en base) et confie les hachages BCrypt à un pool dédié de la
+ * taille du nombre de processeurs. Un unique thread d'écriture attend ces hachages et écrit le lot dans une
+ * unité de travail : clients et comptes par lots JDBC, synthèses clients et journal des actions. Les lots sont
+ * donc écrits dans l'ordre du fichier pendant que les suivants sont hachés ; au plus quelques lots sont en
+ * attente, la mémoire reste bornée quelle que soit la taille du fichier. Un client refusé par la base (email
+ * créé entre-temps, donnée invalide) est écarté avec ses comptes sans faire échouer le reste du lot.
+ * <p>
+ * Après chaque lot validé, la dernière ligne traitée est enregistrée dans le fichier de reprise
+ * ({@code <fichier>.reprise}, remplacé atomiquement). Une nouvelle exécution sur le même fichier reprend après
+ * cette ligne ; si l'arrêt a eu lieu entre la validation d'un lot et l'écriture de la reprise, les lignes du lot
+ * sont retrouvées en base par leur email et comptées comme doublons, sans être importées deux fois. Les lignes
+ * écartées sont listées dans {@code <fichier>.rejets} avec leur numéro et la raison (jamais le mot de passe) ;
+ * après une reprise, ce fichier peut répéter des lignes du dernier lot non validé.
+ * <p>
+ * Usage : java com.banksystem.service.ImportClients fichier.csv [tailleLot]
+ */
+public class ImportClients {
+
+    private static final Journal JOURNAL = Journal.pour(ImportClients.class);
+
+    static final String ENTETE = "email,nom,prenom,telephone,adresse,mot_de_passe,code_agence,solde_courant,decouvert_autorise,solde_epargne,taux_interet";
+    private static final int NOMBRE_COLONNES = 11;
+    private static final int LOTS_EN_ATTENTE = 4; // Lots lus (et en cours de hachage) mais pas encore écrits
+    private static final int LOTS_ENTRE_PROGRESSIONS = 20;
+
+    private final int tailleLot;
+    private final int parallelismeHachage;
+    private final GestionMotDePasse gestionMotDePasse;
+    private ClientRepository clientDAO;
+    private CompteRepository compteDAO;
+    private AgenceRepository agenceDAO;
+
+    public ImportClients() {
+        this(500, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ImportClients(int tailleLot, int parallelismeHachage) {
+        if (tailleLot <= 0 || parallelismeHachage <= 0) {
+            throw new IllegalArgumentException("La taille de lot et le parallélisme doivent être positifs.");
+        }
+        this.tailleLot = tailleLot;
+        this.parallelismeHachage = parallelismeHachage;
+        this.gestionMotDePasse = new GestionMotDePasse();
+        this.clientDAO = FabriqueRepositories.clients();
+        this.compteDAO = FabriqueRepositories.comptes();
+        this.agenceDAO = FabriqueRepositories.agences();
+        AgregatsAgences.initialiser(); // Avant le premier lot : ses ouvertures s'ajouteront aux agrégats chargés
+    }
+
+    /**
+     * Résultat d'un import (de cette exécution seulement, sans les lignes traitées avant la reprise).
+     */
+    public static final class Resultat {
+        private final long repriseApresLigne;
+        private final AtomicLong lignesLues = new AtomicLong();
+        private final AtomicLong clientsImportes = new AtomicLong();
+        private final AtomicLong comptesImportes = new AtomicLong();
+        private final AtomicLong doublons = new AtomicLong();
+        private final AtomicLong rejets = new AtomicLong();
+        private final AtomicLong lots = new AtomicLong();
+        private volatile long derniereLigneValidee;
+        private volatile long dureeMs;
+
+        Resultat(long repriseApresLigne) {
+            this.repriseApresLigne = repriseApresLigne;
+            this.derniereLigneValidee = repriseApresLigne;
+        }
+
+        /**
+         * Numéro de la dernière ligne déjà traitée par une exécution précédente (0 sans reprise).
+         */
+        public long getRepriseApresLigne() {
+            return repriseApresLigne;
+        }
+
+        /**
+         * Numéro de la dernière ligne du dernier lot validé (celle enregistrée pour la reprise).
+         */
+        public long getDerniereLigneValidee() {
+            return derniereLigneValidee;
+        }
+
+        public long getLignesLues() {
+            return lignesLues.get();
+        }
+
+        public long getClientsImportes() {
+            return clientsImportes.get();
+        }
+
+        public long getComptesImportes() {
+            return comptesImportes.get();
+        }
+
+        /**
+         * Lignes dont l'email figure déjà plus haut dans le fichier ou en base.
+         */
+        public long getDoublons() {
+            return doublons.get();
+        }
+
+        /**
+         * Lignes invalides ou refusées par le stockage.
+         */
+        public long getRejets() {
+            return rejets.get();
+        }
+
+        public long getLots() {
+            return lots.get();
+        }
+
+        public long getDureeMs() {
+            return dureeMs;
+        }
+
+        @Override
+        public String toString() {
+            return "Import{" +
+                    "repriseApresLigne=" + repriseApresLigne +
+                    ", lignesLues=" + getLignesLues() +
+                    ", clients=" + getClientsImportes() +
+                    ", comptes=" + getComptesImportes() +
+                    ", doublons=" + getDoublons() +
+                    ", rejets=" + getRejets() +
+                    ", lots=" + getLots() +
+                    ", derniereLigneValidee=" + derniereLigneValidee +
+                    ", dureeMs=" + dureeMs +
+                    ", clientsParSeconde=" + (dureeMs > 0 ? getClientsImportes() * 1000 / dureeMs : getClientsImportes()) +
+                    '}';
+        }
+    }
+
+    /**
+     * Ligne valide du fichier, en attente d'écriture.
+     */
+    private static final class Ligne {
+        final long numero;
+        final String email;
+        final String nom;
+        final String prenom;
+        final String telephone;
+        final String adresse;
+        final String codeAgence;
+        final Long soldeCourantCentimes; // null : pas de compte courant
+        final long decouvertAutoriseCentimes;
+        final Long soldeEpargneCentimes; // null : pas de compte épargne
+        final double tauxInteret;
+        String motDePasse; // Effacé dès que son hachage est soumis
+        Future<String> motDePasseHash;
+
+        Ligne(long numero, String[] champs, String codeAgence, Long soldeCourantCentimes, long decouvertAutoriseCentimes,
+              Long soldeEpargneCentimes, double tauxInteret) {
+            this.numero = numero;
+            this.email = champs[0];
+            this.nom = champs[1];
+            this.prenom = champs[2];
+            this.telephone = champs[3].isEmpty() ? null : champs[3];
+            this.adresse = champs[4].isEmpty() ? null : champs[4];
+            this.codeAgence = codeAgence;
+            this.soldeCourantCentimes = soldeCourantCentimes;
+            this.decouvertAutoriseCentimes = decouvertAutoriseCentimes;
+            this.soldeEpargneCentimes = soldeEpargneCentimes;
+            this.tauxInteret = tauxInteret;
+            this.motDePasse = champs[5];
+        }
+    }
+
+    /**
+     * Lignes valides d'un lot, avec le numéro de la dernière ligne lue (valide ou non) pour la reprise.
+     */
+    private static final class Lot {
+        final Map<String, Ligne> lignesParEmail = new LinkedHashMap<>(); // Clé : email normalisé
+        long derniereLigne;
+    }
+
+    /**
+     * Importe le fichier, en reprenant après la dernière ligne validée d'une exécution précédente s'il en existe une.
+     *
+     * @param fichier Le fichier CSV.
+     * @return Le résultat de l'import.
+     * @throws IOException Si le fichier ne peut pas être lu, si son en-tête est invalide ou s'il a changé depuis la
+     *                     reprise enregistrée.
+     * @throws SQLException Si un lot n'a pas pu être écrit : l'import s'arrête, et une nouvelle exécution reprend
+     *                      après le dernier lot validé.
+     */
+    public synchronized Resultat importer(Path fichier) throws IOException, SQLException {
+        Path fichierReprise = Path.of(fichier + ".reprise");
+        Path fichierRejets = Path.of(fichier + ".rejets");
+        long taille = Files.size(fichier);
+        long repriseApres = lireReprise(fichierReprise, taille);
+        Resultat resultat = new Resultat(repriseApres);
+        if (repriseApres > 0) {
+            JOURNAL.info("Reprise de l'import de {} après la ligne {}.", fichier, repriseApres);
+        }
+        Set<String> agences = new HashSet<>();
+        for (Agence agence : agenceDAO.getAllAgences()) {
+            agences.add(agence.getCode());
+        }
+
+        long debut = System.nanoTime();
+        AtomicInteger numeroThread = new AtomicInteger();
+        ExecutorService hachage = Executors.newFixedThreadPool(parallelismeHachage, r -> {
+            Thread t = new Thread(r, "import-hachage-" + numeroThread.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        ExecutorService ecriture = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "import-ecriture");
+            t.setDaemon(true);
+            return t;
+        });
+        Semaphore lotsEnAttente = new Semaphore(LOTS_EN_ATTENTE);
+        AtomicReference<Exception> echec = new AtomicReference<>();
+        try (BufferedReader lecteur = Files.newBufferedReader(fichier, StandardCharsets.UTF_8);
+             BufferedWriter rejets = Files.newBufferedWriter(fichierRejets, StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            String entete = lecteur.readLine(); // Peut commencer par une marque d'ordre des octets (BOM)
+            if (entete == null || !ENTETE.equals(entete.replace("\uFEFF", "").strip())) {
+                throw new IOException("En-tête CSV invalide, attendu : " + ENTETE);
+            }
+            long numero = 1;
+            Lot lot = new Lot();
+            String texte;
+            while ((texte = lecteur.readLine()) != null && echec.get() == null) {
+                numero++;
+                lot.derniereLigne = numero;
+                if (numero <= repriseApres || texte.isBlank()) {
+                    continue;
+                }
+                resultat.lignesLues.incrementAndGet();
+                lireLigne(numero, texte, agences, lot, rejets, resultat);
+                if (lot.lignesParEmail.size() == tailleLot) {
+                    soumettreLot(lot, hachage, ecriture, lotsEnAttente, echec, fichierReprise, taille, rejets, resultat);
+                    lot = new Lot();
+                }
+            }
+            if (lot.derniereLigne > repriseApres && echec.get() == null) {
+                soumettreLot(lot, hachage, ecriture, lotsEnAttente, echec, fichierReprise, taille, rejets, resultat);
+            }
+            ecriture.shutdown();
+            ecriture.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            echec.compareAndSet(null, e);
+        } finally {
+            ecriture.shutdownNow();
+            hachage.shutdownNow();
+        }
+        resultat.dureeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - debut);
+        if (echec.get() != null) {
+            JOURNAL.erreur("Import de {} interrompu : {}", fichier, resultat);
+            throw new SQLException("Import interrompu ; une nouvelle exécution reprendra après la ligne "
+                    + resultat.derniereLigneValidee + ".", echec.get());
+        }
+        JOURNAL.info("Import de {} terminé : {}", fichier, resultat);
+        return resultat;
+    }
+
+    private void lireLigne(long numero, String texte, Set<String> agences, Lot lot, BufferedWriter rejets, Resultat resultat) throws IOException {
+        String[] champs;
+        Ligne ligne;
+        try {
+            champs = decouper(texte);
+            if (champs.length != NOMBRE_COLONNES) {
+                throw new IllegalArgumentException(champs.length + " colonnes au lieu de " + NOMBRE_COLONNES);
+            }
+            for (int i = 0; i < champs.length; i++) {
+                champs[i] = champs[i].strip();
+            }
+            String email = champs[0];
+            if (email.isEmpty() || email.length() > 100 || email.indexOf('@') <= 0 || email.indexOf('@') == email.length() - 1
+                    || email.chars().anyMatch(Character::isWhitespace)) {
+                throw new IllegalArgumentException("email invalide");
+            }
+            if (champs[1].isEmpty() || champs[2].isEmpty()) {
+                throw new IllegalArgumentException("nom et prénom obligatoires");
+            }
+            if (champs[1].length() > 100 || champs[2].length() > 100 || champs[3].length() > 20 || champs[4].length() > 255) {
+                throw new IllegalArgumentException("champ trop long");
+            }
+            if (champs[5].isEmpty()) {
+                throw new IllegalArgumentException("mot de passe obligatoire");
+            }
+            String codeAgence = champs[6].isEmpty() ? Agence.CODE_PAR_DEFAUT : champs[6];
+            if (!agences.contains(codeAgence)) {
+                throw new IllegalArgumentException("agence inconnue : " + codeAgence);
+            }
+            Long soldeCourant = champs[7].isEmpty() ? null : Montant.parser(champs[7]);
+            long decouvert = champs[8].isEmpty() ? 0 : Montant.parser(champs[8]);
+            if (decouvert < 0 || (soldeCourant != null && soldeCourant < -decouvert)) {
+                throw new IllegalArgumentException("découvert négatif ou dépassé par le solde courant");
+            }
+            Long soldeEpargne = champs[9].isEmpty() ? null : Montant.parser(champs[9]);
+            if (soldeEpargne != null && soldeEpargne < 0) {
+                throw new IllegalArgumentException("solde épargne négatif");
+            }
+            double taux = champs[10].isEmpty() ? 0 : Double.parseDouble(champs[10]);
+            if (!(taux >= 0 && taux <= 100)) { // En pourcentage annuel, comme CompteEpargne
+                throw new IllegalArgumentException("taux d'intérêt hors de [0, 100]");
+            }
+            ligne = new Ligne(numero, champs, codeAgence, soldeCourant, decouvert, soldeEpargne, taux);
+        } catch (IllegalArgumentException e) { // Dont NumberFormatException
+            rejeter(rejets, numero, e.getMessage(), resultat.rejets);
+            return;
+        }
+        if (lot.lignesParEmail.putIfAbsent(cle(ligne.email), ligne) != null) {
+            rejeter(rejets, numero, "email en double dans le fichier : " + ligne.email, resultat.doublons);
+        }
+    }
+
+    /**
+     * Écarte les emails déjà en base, lance les hachages du lot et confie son écriture au thread d'écriture.
+     */
+    private void soumettreLot(Lot lot, ExecutorService hachage, ExecutorService ecriture, Semaphore lotsEnAttente,
+                              AtomicReference<Exception> echec, Path fichierReprise, long taille, BufferedWriter rejets,
+                              Resultat resultat) throws IOException, InterruptedException {
+        try {
+            ecarterExistants(lot, rejets, resultat);
+        } catch (SQLException e) {
+            echec.compareAndSet(null, e);
+            return;
+        }
+        for (Ligne ligne : lot.lignesParEmail.values()) {
+            String motDePasse = ligne.motDePasse;
+            ligne.motDePasse = null;
+            ligne.motDePasseHash = hachage.submit(() -> gestionMotDePasse.hasher(motDePasse));
+        }
+        lotsEnAttente.acquire();
+        ecriture.execute(() -> {
+            try {
+                if (echec.get() == null) {
+                    ecrireLot(lot, rejets, resultat);
+                    ecrireReprise(fichierReprise, taille, lot.derniereLigne);
+                    resultat.derniereLigneValidee = lot.derniereLigne;
+                    if (resultat.lots.incrementAndGet() % LOTS_ENTRE_PROGRESSIONS == 0) {
+                        JOURNAL.info("Import en cours : {}", resultat);
+                    }
+                }
+            } catch (Exception e) {
+                echec.compareAndSet(null, e);
+                JOURNAL.erreur("Lot se terminant à la ligne {} non importé : {}", lot.derniereLigne, e.getMessage());
+            } finally {
+                lotsEnAttente.release();
+            }
+        });
+    }
+
+    private void ecarterExistants(Lot lot, BufferedWriter rejets, Resultat resultat) throws SQLException, IOException {
+        if (lot.lignesParEmail.isEmpty()) {
+            return;
+        }
+        List<String> emails = new ArrayList<>(lot.lignesParEmail.size());
+        for (Ligne ligne : lot.lignesParEmail.values()) {
+            emails.add(ligne.email);
+        }
+        for (String existant : clientDAO.getEmailsExistants(emails)) {
+            Ligne ligne = lot.lignesParEmail.remove(cle(existant));
+            if (ligne != null) {
+                rejeter(rejets, ligne.numero, "email déjà utilisé : " + ligne.email, resultat.doublons);
+            }
+        }
+    }
+
+    /**
+     * Écrit un lot dans une unité de travail, après avoir écarté les lignes dont le hachage a échoué ou dont
+     * l'email est apparu en base depuis la lecture.
+     */
+    private void ecrireLot(Lot lot, BufferedWriter rejets, Resultat resultat) throws SQLException, IOException, InterruptedException {
+        List<Ligne> lignes = new ArrayList<>(lot.lignesParEmail.size());
+        for (Ligne ligne : lot.lignesParEmail.values()) {
+            try {
+                ligne.motDePasseHash.get();
+                lignes.add(ligne);
+            } catch (ExecutionException e) {
+                rejeter(rejets, ligne.numero, "hachage du mot de passe impossible : " + e.getCause().getMessage(), resultat.rejets);
+            }
+        }
+        // Un import concurrent ou une inscription a pu créer ces emails depuis la lecture du lot
+        ecarterExistants(lot, rejets, resultat);
+        lignes.removeIf(ligne -> lot.lignesParEmail.get(cle(ligne.email)) != ligne);
+        if (lignes.isEmpty()) {
+            return;
+        }
+        ecrire(lignes, rejets, resultat);
+    }
+
+    /**
+     * Écrit des lignes (clients, comptes, synthèses, journal des actions) dans une seule unité de travail.
+     * Les clients refusés par la base sont écartés avec leurs comptes ; les autres lignes sont conservées.
+     */
+    private void ecrire(List<Ligne> lignes, BufferedWriter rejets, Resultat resultat) throws SQLException, IOException {
+        List<Client> clients = new ArrayList<>(lignes.size());
+        for (Ligne ligne : lignes) {
+            clients.add(new Client(Identifiants.nouveau("C-"), ligne.nom, ligne.prenom, ligne.email, ligne.telephone,
+                    ligne.adresse, hachage(ligne)));
+        }
+        List<Ligne> refusees = new ArrayList<>();
+        List<Compte> comptes = UnitOfWork.executer(() -> {
+            boolean[] ecrits = clientDAO.addClients(clients, tailleLot);
+            List<Compte> ouverts = new ArrayList<>(lignes.size() * 2);
+            for (int i = 0; i < ecrits.length; i++) {
+                if (ecrits[i]) {
+                    ouvrirComptes(lignes.get(i), clients.get(i), ouverts);
+                } else {
+                    refusees.add(lignes.get(i));
+                }
+            }
+            if (ouverts.isEmpty()) {
+                return ouverts;
+            }
+            verifierTous(compteDAO.addComptes(ouverts, tailleLot), "compte");
+            List<Portefeuille> ouvertures = new ArrayList<>(ouverts.size());
+            List<JournalAction> actions = new ArrayList<>(ouverts.size());
+            for (Compte compte : ouverts) {
+                ouvertures.add(Portefeuille.variationCompte(compte.getClientId(), compte instanceof CompteEpargne, compte.getSoldeCentimes(), 1));
+                actions.add(new JournalAction(JournalAction.Type.CREATION_COMPTE, compte.getNumero(), null, compte.getSoldeCentimes(), null));
+                AgregatsAgences.enregistrerOuverture(compte);
+            }
+            Portefeuilles.enregistrerVariations(ouvertures);
+            JournalisationActions.journaliser(actions);
+            return ouverts;
+        });
+        for (Ligne ligne : refusees) {
+            rejeter(rejets, ligne.numero, "client refusé par la base (email déjà utilisé ou donnée invalide)", resultat.rejets);
+        }
+        resultat.clientsImportes.addAndGet(clients.size() - refusees.size());
+        resultat.comptesImportes.addAndGet(comptes.size());
+    }
+
+    private static void ouvrirComptes(Ligne ligne, Client client, List<Compte> comptes) {
+        if (ligne.soldeCourantCentimes != null) {
+            Compte compte = new CompteCourant(Identifiants.nouveau("CC-"), ligne.soldeCourantCentimes, client, ligne.decouvertAutoriseCentimes);
+            compte.setCodeAgence(ligne.codeAgence);
+            comptes.add(compte);
+        }
+        if (ligne.soldeEpargneCentimes != null) {
+            Compte compte = new CompteEpargne(Identifiants.nouveau("CE-"), ligne.soldeEpargneCentimes, client, ligne.tauxInteret);
+            compte.setCodeAgence(ligne.codeAgence);
+            comptes.add(compte);
+        }
+    }
+
+    private static void verifierTous(boolean[] ecrits, String quoi) throws SQLException {
+        for (boolean ecrit : ecrits) {
+            if (!ecrit) {
+                throw new SQLException("Un " + quoi + " du lot n'a pas été enregistré.");
+            }
+        }
+    }
+
+    private static String hachage(Ligne ligne) {
+        try {
+            return ligne.motDePasseHash.get(); // Déjà terminé (attendu par ecrireLot)
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String cle(String email) {
+        return email.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static void rejeter(BufferedWriter rejets, long numero, String raison, AtomicLong compteur) throws IOException {
+        compteur.incrementAndGet();
+        synchronized (rejets) {
+            rejets.write(numero + ";" + raison.replace('\n', ' '));
+            rejets.newLine();
+            rejets.flush();
+        }
+    }
+
+    // --- Reprise ---
+
+    private static long lireReprise(Path fichierReprise, long taille) throws IOException {
+        if (!Files.exists(fichierReprise)) {
+            return 0;
+        }
+        Properties reprise = new Properties();
+        try (InputStream entree = Files.newInputStream(fichierReprise)) {
+            reprise.load(entree);
+        }
+        try {
+            if (Long.parseLong(reprise.getProperty("taille")) != taille) {
+                throw new IOException("Le fichier a changé depuis la reprise enregistrée dans " + fichierReprise
+                        + " : supprimer ce fichier pour recommencer l'import.");
+            }
+            return Long.parseLong(reprise.getProperty("ligne"));
+        } catch (NumberFormatException e) {
+            throw new IOException("Fichier de reprise illisible : " + fichierReprise, e);
+        }
+    }
+
+    private static void ecrireReprise(Path fichierReprise, long taille, long ligne) throws IOException {
+        Properties reprise = new Properties();
+        reprise.setProperty("taille", Long.toString(taille));
+        reprise.setProperty("ligne", Long.toString(ligne));
+        Path temporaire = Path.of(fichierReprise + ".tmp");
+        try (OutputStream sortie = Files.newOutputStream(temporaire)) {
+            reprise.store(sortie, "Derniere ligne importee");
+        }
+        Files.move(temporaire, fichierReprise, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // --- CSV ---
+
+    /**
+     * Découpe une ligne CSV : virgule comme séparateur, guillemets autour d'un champ contenant des virgules,
+     * guillemet doublé pour un guillemet dans un tel champ. Les champs sur plusieurs lignes ne sont pas acceptés.
+     */
+    static String[] decouper(String ligne) {
+        List<String> champs = new ArrayList<>(NOMBRE_COLONNES);
+        StringBuilder champ = new StringBuilder();
+        boolean entreGuillemets = false;
+        for (int i = 0; i < ligne.length(); i++) {
+            char c = ligne.charAt(i);
+            if (entreGuillemets) {
+                if (c != '"') {
+                    champ.append(c);
+                } else if (i + 1 < ligne.length() && ligne.charAt(i + 1) == '"') {
+                    champ.append('"');
+                    i++;
+                } else {
+                    entreGuillemets = false;
+                }
+            } else if (c == ',') {
+                champs.add(champ.toString());
+                champ.setLength(0);
+            } else if (c == '"' && champ.toString().isBlank()) {
+                champ.setLength(0);
+                entreGuillemets = true;
+            } else {
+                champ.append(c);
+            }
+        }
+        if (entreGuillemets) {
+            throw new IllegalArgumentException("guillemet non fermé");
+        }
+        champs.add(champ.toString());
+        return champs.toArray(new String[0]);
+    }
+
+    public static void main(String[] args) throws IOException, SQLException {
+        if (args.length < 1) {
+            System.err.println("Usage : java com.banksystem.service.ImportClients fichier.csv [tailleLot]");
+            System.exit(2);
+        }
+        ImportClients importClients = args.length > 1
+                ? new ImportClients(Integer.parseInt(args[1]), Runtime.getRuntime().availableProcessors())
+                : new ImportClients();
+        System.out.println(importClients.importer(Path.of(args[0])));
+        Journal.vider(1_000);
+    }
+}
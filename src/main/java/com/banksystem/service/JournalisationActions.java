@@ -0,0 +1,124 @@
+// src/main/java/com/banksystem/service/JournalisationActions.java
+package com.banksystem.service;
+
+import com.banksystem.dao.JournalEcritureAnticipee;
+import com.banksystem.model.JournalAction;
+import com.banksystem.util.Journal;
+import com.banksystem.util.UnitOfWork;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Inscription des actions sur les comptes dans le journal d'écriture anticipée, partagé par les services.
+ * <p>
+ * Les actions sont écrites (et, en mode synchrone, sur disque) à l'intérieur de l'unité de travail, donc avant
+ * son commit ; si l'écriture échoue, l'exception annule l'unité de travail. Leur validation ou leur annulation
+ * est inscrite à la fin de l'unité de travail.
+ * <p>
+ * Configuration : -Dbanksystem.wal.actif (true par défaut), -Dbanksystem.wal.repertoire ("journal-actions"),
+ * -Dbanksystem.wal.tailleSegmentMo (64), -Dbanksystem.wal.synchrone (true : attendre le fsync avant le commit)
+ * et -Dbanksystem.wal.delaiGroupeMicros (0).
+ */
+public final class JournalisationActions {
+
+    private static final Journal JOURNAL = Journal.pour(JournalisationActions.class);
+    private static final boolean ACTIF = Boolean.parseBoolean(System.getProperty("banksystem.wal.actif", "true"));
+
+    private static volatile JournalEcritureAnticipee journal;
+
+    private JournalisationActions() {
+    }
+
+    /**
+     * Inscrit une action dans le journal. Doit être appelé dans une unité de travail.
+     *
+     * @param action L'action.
+     * @throws SQLException Si le journal ne peut pas être écrit (l'unité de travail est alors annulée).
+     */
+    static void journaliser(JournalAction action) throws SQLException {
+        journaliser(List.of(action));
+    }
+
+    /**
+     * Inscrit des actions dans le journal (une seule attente de fsync). Doit être appelé dans une unité de travail.
+     *
+     * @param actions Les actions.
+     * @throws SQLException Si le journal ne peut pas être écrit (l'unité de travail est alors annulée).
+     */
+    static void journaliser(List<JournalAction> actions) throws SQLException {
+        if (!ACTIF || actions.isEmpty()) {
+            return;
+        }
+        if (!UnitOfWork.estActive()) {
+            throw new IllegalStateException("Une action ne peut être journalisée que dans une unité de travail.");
+        }
+        JournalEcritureAnticipee cible;
+        long premiere;
+        try {
+            cible = ouvrir();
+            premiere = cible.ajouter(actions);
+        } catch (IOException e) {
+            throw new SQLException("Écriture du journal des actions impossible : " + e.getMessage(), e);
+        }
+        int nombre = actions.size();
+        UnitOfWork.apresValidation(() -> marquer(cible, premiere, nombre, true));
+        UnitOfWork.siAnnulation(() -> marquer(cible, premiere, nombre, false));
+    }
+
+    /**
+     * Retourne le journal des actions (compteurs, répertoire), ou null s'il est désactivé ou pas encore ouvert.
+     *
+     * @return Le journal des actions.
+     */
+    public static JournalEcritureAnticipee getJournal() {
+        return journal;
+    }
+
+    /**
+     * @return Le répertoire des segments du journal.
+     */
+    public static Path getRepertoire() {
+        return Paths.get(System.getProperty("banksystem.wal.repertoire", "journal-actions"));
+    }
+
+    private static void marquer(JournalEcritureAnticipee cible, long premiere, int nombre, boolean validees) {
+        try {
+            if (validees) {
+                cible.marquerValidees(premiere, nombre);
+            } else {
+                cible.marquerAnnulees(premiere, nombre);
+            }
+        } catch (IOException e) {
+            // L'unité de travail est déjà terminée : l'action restera "incertaine" à la relecture.
+            JOURNAL.erreur("Marque de {} des actions à partir de {} non écrite : {}", validees ? "validation" : "annulation", premiere, e.getMessage());
+        }
+    }
+
+    private static JournalEcritureAnticipee ouvrir() throws IOException {
+        JournalEcritureAnticipee courant = journal;
+        if (courant != null) {
+            return courant;
+        }
+        synchronized (JournalisationActions.class) {
+            if (journal == null) {
+                JournalEcritureAnticipee nouveau = new JournalEcritureAnticipee(getRepertoire(),
+                        Integer.getInteger("banksystem.wal.tailleSegmentMo", 64) * 1024 * 1024,
+                        Boolean.parseBoolean(System.getProperty("banksystem.wal.synchrone", "true")),
+                        Long.getLong("banksystem.wal.delaiGroupeMicros", 0L));
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        nouveau.close();
+                    } catch (IOException e) {
+                        JOURNAL.erreur("Fermeture du journal des actions : {}", e.getMessage());
+                    }
+                }, "journal-actions-arret"));
+                journal = nouveau;
+            }
+            return journal;
+        }
+    }
+}
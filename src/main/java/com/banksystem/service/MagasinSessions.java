@@ -0,0 +1,130 @@
+// src/main/java/com/banksystem/service/MagasinSessions.java
+package com.banksystem.service;
+
+import com.banksystem.model.Session;
+import com.banksystem.util.Journal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Magasin en mémoire des sessions ouvertes, indexées par leur identifiant.
+ * <p>
+ * Les sessions expirées sont retirées par une roue d'expiration : chaque session est rangée dans la case
+ * correspondant à son heure d'expiration (une case par tranche de granularité), et un thread d'horloge
+ * vide à chaque tranche écoulée les cases dépassées. Le coût de la purge est proportionnel au nombre de
+ * sessions qui expirent, pas au nombre de sessions ouvertes. La roue a au moins autant de cases que la
+ * durée d'une session compte de tranches ; une session plus lointaine (après un retard de l'horloge)
+ * est simplement remise dans sa case pour le tour suivant.
+ * <p>
+ * La roue ne sert qu'à libérer la mémoire : la validation d'un jeton contrôle elle-même l'expiration.
+ * Une session révoquée quitte immédiatement la table ; son entrée dans la roue est ignorée à la purge.
+ */
+final class MagasinSessions {
+
+    private static final Journal JOURNAL = Journal.pour(MagasinSessions.class);
+
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Session>[] roue;
+    private final int masque;
+    private final long granulariteMillis;
+    private final SessionMetrics metriques;
+    private long prochaineTranche; // Protégé par this (purger)
+
+    @SuppressWarnings("unchecked")
+    MagasinSessions(long dureeSessionMillis, long granulariteMillis, SessionMetrics metriques) {
+        if (granulariteMillis <= 0) {
+            throw new IllegalArgumentException("La granularité de la roue d'expiration doit être positive.");
+        }
+        int nombreCases = Integer.highestOneBit((int) Math.min(1 << 20, dureeSessionMillis / granulariteMillis + 2) * 2 - 1);
+        this.roue = new ConcurrentLinkedQueue[nombreCases];
+        for (int i = 0; i < roue.length; i++) {
+            roue[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.masque = nombreCases - 1;
+        this.granulariteMillis = granulariteMillis;
+        this.metriques = metriques;
+        this.prochaineTranche = System.currentTimeMillis() / granulariteMillis;
+
+        ScheduledExecutorService horloge = Executors.newSingleThreadScheduledExecutor(tache -> {
+            Thread thread = new Thread(tache, "sessions-expiration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        horloge.scheduleAtFixedRate(() -> {
+            try {
+                purger(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                JOURNAL.erreur("Purge des sessions expirées impossible", e);
+            }
+        }, granulariteMillis, granulariteMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void ajouter(Session session) {
+        sessions.put(session.getIdentifiant(), session);
+        roue[(int) (session.getExpirationMillis() / granulariteMillis) & masque].add(session);
+    }
+
+    Session trouver(String identifiant) {
+        return sessions.get(identifiant);
+    }
+
+    boolean retirer(Session session) {
+        return sessions.remove(session.getIdentifiant(), session);
+    }
+
+    int retirerSi(Predicate<Session> condition) {
+        int retirees = 0;
+        for (Session session : sessions.values()) {
+            if (condition.test(session) && retirer(session)) {
+                retirees++;
+            }
+        }
+        return retirees;
+    }
+
+    int getNombre() {
+        return sessions.size();
+    }
+
+    /**
+     * Vide les cases des tranches entièrement écoulées (au plus un tour de roue) et retire les sessions expirées.
+     *
+     * @param maintenantMillis L'heure courante.
+     * @return Le nombre de sessions retirées.
+     */
+    synchronized int purger(long maintenantMillis) {
+        long trancheCourante = maintenantMillis / granulariteMillis;
+        long debut = Math.max(prochaineTranche, trancheCourante - roue.length);
+        int purgees = 0;
+        List<Session> aReplacer = new ArrayList<>();
+        for (long tranche = debut; tranche < trancheCourante; tranche++) {
+            ConcurrentLinkedQueue<Session> caseRoue = roue[(int) tranche & masque];
+            Session session;
+            while ((session = caseRoue.poll()) != null) {
+                if (session.estExpiree(maintenantMillis)) {
+                    if (sessions.remove(session.getIdentifiant(), session)) {
+                        purgees++;
+                    }
+                } else {
+                    aReplacer.add(session); // Expire dans un tour suivant de la roue
+                }
+            }
+            for (Session restante : aReplacer) {
+                caseRoue.add(restante);
+            }
+            aReplacer.clear();
+        }
+        prochaineTranche = Math.max(prochaineTranche, trancheCourante);
+        if (purgees > 0) {
+            metriques.enregistrerPurgees(purgees);
+        }
+        return purgees;
+    }
+}
@@ -0,0 +1,289 @@
+// src/main/java/com/banksystem/service/MoteurInterets.java
+package com.banksystem.service;
+
+import com.banksystem.dao.CompteRepository;
+import com.banksystem.dao.FabriqueRepositories;
+import com.banksystem.dao.InteretsRepository;
+import com.banksystem.dao.TransactionRepository;
+import com.banksystem.model.CompteEpargne;
+import com.banksystem.model.JournalAction;
+import com.banksystem.model.Portefeuille;
+import com.banksystem.model.Transaction;
+import com.banksystem.util.DatabaseConnection;
+import com.banksystem.util.Journal;
+import com.banksystem.util.Montant;
+import com.banksystem.util.UnitOfWork;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versement des intérêts mensuels de tous les comptes épargne.
+ * <p>
+ * Les comptes sont parcourus par lots (pagination par numéro) ; chaque lot est traité en parallèle
+ * par un pool de travailleurs, dans sa propre transaction SQL : crédits des soldes, transactions CREDIT
+ * et trace des versements sont écrits par lots JDBC, ainsi que les synthèses des clients concernés. La table interets_verses rend le traitement
+ * idempotent par période : une exécution interrompue peut être relancée sans double versement.
+ */
+public class MoteurInterets {
+
+    private static final Journal JOURNAL = Journal.pour(MoteurInterets.class);
+    private static final int PERIODES_PAR_AN = 12;
+
+    private final int tailleLot;
+    private final int parallelisme;
+    private CompteRepository compteDAO;
+    private TransactionRepository transactionDAO;
+    private InteretsRepository interetsDAO;
+    private ScheduledExecutorService planificateur;
+
+    // --- Progression de l'exécution en cours (ou de la dernière exécution) ---
+    private volatile YearMonth periodeEnCours;
+    private volatile YearMonth dernierePeriodeTerminee;
+    private final AtomicLong comptesParcourus = new AtomicLong();
+    private final AtomicLong comptesCredites = new AtomicLong();
+    private final AtomicLong comptesDejaCredites = new AtomicLong();
+    private final AtomicLong lotsTraites = new AtomicLong();
+    private final AtomicLong lotsEnEchec = new AtomicLong();
+    private final AtomicLong montantVerseCentimes = new AtomicLong();
+    private volatile long debutNanos;
+
+    public MoteurInterets() {
+        // Un travailleur de moins que de connexions : le parcours des lots garde sa propre connexion.
+        this(1_000, Math.max(1, DatabaseConnection.getTailleMaxPool() - 1));
+    }
+
+    public MoteurInterets(int tailleLot, int parallelisme) {
+        if (tailleLot <= 0 || parallelisme <= 0) {
+            throw new IllegalArgumentException("La taille de lot et le parallélisme doivent être positifs.");
+        }
+        this.tailleLot = tailleLot;
+        this.parallelisme = parallelisme;
+        this.compteDAO = FabriqueRepositories.comptes();
+        this.transactionDAO = FabriqueRepositories.transactions();
+        this.interetsDAO = FabriqueRepositories.interets();
+        AgregatsAgences.initialiser();
+    }
+
+    /**
+     * Verse les intérêts de la période à tous les comptes épargne qui ne les ont pas encore reçus.
+     * Un lot en échec est annulé et compté dans getLotsEnEchec() ; il sera traité à la prochaine exécution.
+     *
+     * @param periode Le mois pour lequel les intérêts sont versés.
+     * @throws SQLException En cas d'erreur de base de données lors du parcours des comptes.
+     */
+    public synchronized void verserInterets(YearMonth periode) throws SQLException {
+        reinitialiserProgression(periode);
+        String codePeriode = periode.toString();
+        AtomicInteger numeroThread = new AtomicInteger();
+        ExecutorService travailleurs = Executors.newFixedThreadPool(parallelisme, r -> {
+            Thread t = new Thread(r, "interets-" + numeroThread.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        // Limite le nombre de lots lus mais pas encore traités : la mémoire reste bornée.
+        Semaphore lotsEnAttente = new Semaphore(parallelisme * 2);
+        try {
+            String dernierNumero = null;
+            List<CompteEpargne> lot;
+            do {
+                lot = compteDAO.getComptesEpargneApres(dernierNumero, tailleLot);
+                if (lot.isEmpty()) {
+                    break;
+                }
+                dernierNumero = lot.get(lot.size() - 1).getNumero();
+                lotsEnAttente.acquire();
+                List<CompteEpargne> lotCourant = lot;
+                travailleurs.execute(() -> {
+                    try {
+                        traiterLot(codePeriode, lotCourant);
+                        lotsTraites.incrementAndGet();
+                    } catch (SQLException | RuntimeException e) {
+                        lotsEnEchec.incrementAndGet();
+                        JOURNAL.erreur("Lot d'intérêts {} ({}...) annulé : {}", codePeriode, lotCourant.get(0).getNumero(), e.getMessage());
+                    } finally {
+                        lotsEnAttente.release();
+                    }
+                });
+            } while (lot.size() == tailleLot);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Versement des intérêts interrompu.", e);
+        } finally {
+            travailleurs.shutdown();
+            try {
+                travailleurs.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (lotsEnEchec.get() == 0) {
+            dernierePeriodeTerminee = periode;
+        }
+        JOURNAL.info("Intérêts {} : {}", codePeriode, toString()); // Progression figée à la fin de l'exécution
+    }
+
+    private void traiterLot(String periode, List<CompteEpargne> lot) throws SQLException {
+        comptesParcourus.addAndGet(lot.size());
+
+        // 1. Calcul des intérêts (en mémoire, sans accès à la base)
+        LocalDateTime maintenant = LocalDateTime.now();
+        String prefixeId = "I-" + periode.replace("-", "") + "-";
+        List<Transaction> credits = new ArrayList<>(lot.size());
+        Map<String, CompteEpargne> parNumero = new HashMap<>();
+        for (CompteEpargne compte : lot) {
+            long interetsCentimes = Montant.appliquerTaux(compte.getSoldeCentimes(), compte.getTauxInteret(), PERIODES_PAR_AN);
+            if (interetsCentimes > 0) {
+                credits.add(new Transaction(prefixeId + compte.getNumero(), "CREDIT", interetsCentimes, maintenant,
+                        "Intérêts " + periode, compte.getNumero(), null));
+                parNumero.put(compte.getNumero(), compte);
+            }
+        }
+        if (credits.isEmpty()) {
+            return;
+        }
+
+        // 2. Écriture du lot dans une seule transaction SQL
+        List<Transaction> verses = UnitOfWork.executer(() -> {
+            List<String> numeros = new ArrayList<>(credits.size());
+            for (Transaction credit : credits) {
+                numeros.add(credit.getNumeroCompteSource());
+            }
+            Set<String> dejaCredites = interetsDAO.getComptesDejaCredites(periode, numeros);
+            List<Transaction> aVerser = new ArrayList<>(credits.size());
+            for (Transaction credit : credits) {
+                if (!dejaCredites.contains(credit.getNumeroCompteSource())) {
+                    aVerser.add(credit);
+                }
+            }
+            if (!aVerser.isEmpty()) {
+                compteDAO.appliquerCredits(aVerser, tailleLot);
+                transactionDAO.addTransactions(aVerser, tailleLot);
+                interetsDAO.marquerVerses(periode, aVerser, tailleLot);
+                List<JournalAction> actions = new ArrayList<>(aVerser.size());
+                List<Portefeuille> variations = new ArrayList<>(aVerser.size());
+                for (Transaction credit : aVerser) {
+                    actions.add(new JournalAction(JournalAction.Type.INTERETS, credit.getNumeroCompteSource(), null,
+                            credit.getMontantCentimes(), credit.getId()));
+                    // Solde d'épargne toujours positif : la variation des dépôts de l'agence est exacte
+                    CompteEpargne compte = parNumero.get(credit.getNumeroCompteSource());
+                    AgregatsAgences.enregistrerVariation(compte.getCodeAgence(), compte.getSoldeCentimes(),
+                            compte.getSoldeCentimes() + credit.getMontantCentimes());
+                    variations.add(Portefeuille.variationSolde(compte.getClientId(), true, compte.getSoldeCentimes(),
+                            compte.getSoldeCentimes() + credit.getMontantCentimes()));
+                }
+                Portefeuilles.enregistrerVariations(variations); // Une ligne par client du lot, dans l'ordre des IDs
+                JournalisationActions.journaliser(actions);
+            }
+            return aVerser;
+        });
+
+        comptesDejaCredites.addAndGet(credits.size() - verses.size());
+        comptesCredites.addAndGet(verses.size());
+        long centimes = 0;
+        for (Transaction credit : verses) {
+            centimes += credit.getMontantCentimes();
+        }
+        montantVerseCentimes.addAndGet(centimes);
+    }
+
+    /**
+     * Planifie une vérification quotidienne : si les intérêts du mois précédent n'ont pas encore été
+     * entièrement versés par ce moteur, ils le sont (les comptes déjà crédités sont ignorés).
+     */
+    public synchronized void demarrerPlanification() {
+        if (planificateur != null) {
+            return;
+        }
+        planificateur = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "interets-planification");
+            t.setDaemon(true);
+            return t;
+        });
+        planificateur.scheduleAtFixedRate(() -> {
+            YearMonth moisPrecedent = YearMonth.now().minusMonths(1);
+            if (!moisPrecedent.equals(dernierePeriodeTerminee)) {
+                try {
+                    verserInterets(moisPrecedent);
+                } catch (SQLException | RuntimeException e) {
+                    JOURNAL.erreur("Échec du versement planifié des intérêts {} : {}", moisPrecedent, e.getMessage());
+                }
+            }
+        }, 0, 1, TimeUnit.DAYS);
+    }
+
+    public synchronized void arreterPlanification() {
+        if (planificateur != null) {
+            planificateur.shutdownNow();
+            planificateur = null;
+        }
+    }
+
+    private void reinitialiserProgression(YearMonth periode) {
+        periodeEnCours = periode;
+        comptesParcourus.set(0);
+        comptesCredites.set(0);
+        comptesDejaCredites.set(0);
+        lotsTraites.set(0);
+        lotsEnEchec.set(0);
+        montantVerseCentimes.set(0);
+        debutNanos = System.nanoTime();
+    }
+
+    // --- Progression ---
+    public YearMonth getPeriodeEnCours() {
+        return periodeEnCours;
+    }
+
+    public long getComptesParcourus() {
+        return comptesParcourus.get();
+    }
+
+    public long getComptesCredites() {
+        return comptesCredites.get();
+    }
+
+    public long getComptesDejaCredites() {
+        return comptesDejaCredites.get();
+    }
+
+    public long getLotsTraites() {
+        return lotsTraites.get();
+    }
+
+    public long getLotsEnEchec() {
+        return lotsEnEchec.get();
+    }
+
+    public long getMontantVerseCentimes() {
+        return montantVerseCentimes.get();
+    }
+
+    @Override
+    public String toString() {
+        long dureeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - debutNanos);
+        return "MoteurInterets{" +
+                "periode=" + periodeEnCours +
+                ", comptesParcourus=" + getComptesParcourus() +
+                ", comptesCredites=" + getComptesCredites() +
+                ", dejaCredites=" + getComptesDejaCredites() +
+                ", lotsTraites=" + getLotsTraites() +
+                ", lotsEnEchec=" + getLotsEnEchec() +
+                ", montantVerse=" + Montant.formater(getMontantVerseCentimes()) +
+                ", dureeMs=" + dureeMillis +
+                '}';
+    }
+}
@@ -0,0 +1,142 @@
+// src/main/java/com/banksystem/service/NotificationMetrics.java
+package com.banksystem.service;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs des notifications ({@link NotificationService}) : messages publiés et rejetés (file pleine),
+ * notifications écrites et regroupements, échecs d'écriture, et histogramme du délai entre l'opération et
+ * l'écriture de sa notification.
+ */
+public class NotificationMetrics {
+
+    // Bornes supérieures (en millisecondes) des classes de l'histogramme ; la dernière classe est ouverte.
+    private static final long[] BORNES_DELAI_MILLIS = {10, 50, 100, 250, 500, 1_000};
+
+    private final LongAdder[] histogrammeDelai = new LongAdder[BORNES_DELAI_MILLIS.length + 1];
+    private final LongAdder publies = new LongAdder();
+    private final LongAdder rejetes = new LongAdder();
+    private final LongAdder sansDestinataire = new LongAdder();
+    private final LongAdder notificationsEcrites = new LongAdder();
+    private final LongAdder messagesEcrits = new LongAdder();
+    private final LongAdder echecs = new LongAdder();
+    private final LongAdder lots = new LongAdder();
+
+    NotificationMetrics() {
+        for (int i = 0; i < histogrammeDelai.length; i++) {
+            histogrammeDelai[i] = new LongAdder();
+        }
+    }
+
+    void enregistrerPublication() {
+        publies.increment();
+    }
+
+    void enregistrerRejet() {
+        rejetes.increment();
+    }
+
+    void enregistrerSansDestinataire() {
+        sansDestinataire.increment();
+    }
+
+    void enregistrerLot(int notifications, int messages, long delaiMaxMillis) {
+        lots.increment();
+        notificationsEcrites.add(notifications);
+        messagesEcrits.add(messages);
+        int classe = 0;
+        while (classe < BORNES_DELAI_MILLIS.length && delaiMaxMillis >= BORNES_DELAI_MILLIS[classe]) {
+            classe++;
+        }
+        histogrammeDelai[classe].increment();
+    }
+
+    void enregistrerEchecs(int notifications) {
+        echecs.add(notifications);
+    }
+
+    // --- Getters ---
+    public long getPublies() {
+        return publies.sum();
+    }
+
+    /**
+     * Messages abandonnés à la publication parce que la file était pleine.
+     */
+    public long getRejetes() {
+        return rejetes.sum();
+    }
+
+    /**
+     * Messages abandonnés faute de client destinataire (publiés sans ID client).
+     */
+    public long getSansDestinataire() {
+        return sansDestinataire.sum();
+    }
+
+    public long getNotificationsEcrites() {
+        return notificationsEcrites.sum();
+    }
+
+    /**
+     * Messages couverts par les notifications écrites (supérieur à getNotificationsEcrites() s'il y a eu
+     * des regroupements).
+     */
+    public long getMessagesEcrits() {
+        return messagesEcrits.sum();
+    }
+
+    public long getEchecs() {
+        return echecs.sum();
+    }
+
+    public long getLots() {
+        return lots.sum();
+    }
+
+    /**
+     * Retourne une copie de l'histogramme, par lot écrit, du délai entre la publication du message le plus
+     * ancien du lot et la fin de son écriture.
+     * La case i compte les lots inférieurs à getBornesDelaiMillis()[i] (et supérieurs ou égaux à la borne
+     * précédente) ; la dernière case compte le reste.
+     *
+     * @return Le nombre de lots par classe de délai.
+     */
+    public long[] getHistogrammeDelai() {
+        long[] copie = new long[histogrammeDelai.length];
+        for (int i = 0; i < copie.length; i++) {
+            copie[i] = histogrammeDelai[i].sum();
+        }
+        return copie;
+    }
+
+    public long[] getBornesDelaiMillis() {
+        return BORNES_DELAI_MILLIS.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder histogramme = new StringBuilder();
+        long[] valeurs = getHistogrammeDelai();
+        for (int i = 0; i < valeurs.length; i++) {
+            histogramme.append(i < BORNES_DELAI_MILLIS.length ? "<" + BORNES_DELAI_MILLIS[i] + "ms" : ">=" + BORNES_DELAI_MILLIS[BORNES_DELAI_MILLIS.length - 1] + "ms")
+                    .append('=').append(valeurs[i]);
+            if (i < valeurs.length - 1) {
+                histogramme.append(", ");
+            }
+        }
+        long notifications = getNotificationsEcrites();
+        return "NotificationMetrics{" +
+                "publies=" + getPublies() +
+                ", rejetes=" + getRejetes() +
+                ", sansDestinataire=" + getSansDestinataire() +
+                ", notificationsEcrites=" + notifications +
+                ", messagesEcrits=" + getMessagesEcrits() +
+                ", messagesParNotification=" + (notifications == 0 ? 0 : String.format(Locale.ROOT, "%.2f", (double) getMessagesEcrits() / notifications)) +
+                ", echecs=" + getEchecs() +
+                ", lots=" + getLots() +
+                ", delai=[" + histogramme + "]" +
+                '}';
+    }
+}
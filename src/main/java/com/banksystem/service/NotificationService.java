@@ -0,0 +1,288 @@
+// src/main/java/com/banksystem/service/NotificationService.java
+package com.banksystem.service;
+
+import com.banksystem.dao.FabriqueRepositories;
+import com.banksystem.dao.NotificationRepository;
+import com.banksystem.model.Message;
+import com.banksystem.model.Notification;
+import com.banksystem.util.Journal;
+import com.banksystem.util.LotsJdbc;
+import com.banksystem.util.Montant;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Notifications des clients, produites en arrière-plan à partir des opérations sur leurs comptes.
+ * <p>
+ * Une opération validée ne fait que déposer un {@link Message} (valeurs brutes) dans une file bornée :
+ * ni lecture en base, ni mise en forme, ni écriture. Si la file est pleine, le message est abandonné et compté
+ * plutôt que de ralentir l'opération. Les files sont réparties par numéro de compte entre plusieurs
+ * consommateurs ; chacun attend une courte fenêtre après le premier message, regroupe les messages reçus par
+ * client (une notification "3 opérations sur vos comptes" au lieu de trois) et écrit ses notifications par lots.
+ * <p>
+ * Configuration : -Dbanksystem.notifications.actif (true par défaut), .consommateurs (2), .tailleFile
+ * (capacité totale, 65 536), .fenetreMs (fenêtre de regroupement, 200) et .tailleLot (comme
+ * -Dbanksystem.db.tailleLot).
+ */
+public final class NotificationService {
+
+    private static final Journal JOURNAL = Journal.pour(NotificationService.class);
+    private static final boolean ACTIF = Boolean.parseBoolean(System.getProperty("banksystem.notifications.actif", "true"));
+    private static final NotificationMetrics METRIQUES = new NotificationMetrics();
+
+    private static final int MESSAGES_PAR_LOT_MAX = 1_000;
+
+    private NotificationService() {
+    }
+
+    /**
+     * Les consommateurs ne démarrent qu'à la première publication (idiome du "holder").
+     */
+    private static final class Diffusion {
+        private static final AtomicLong PUBLIES = new AtomicLong();
+        private static final AtomicLong TRAITES = new AtomicLong(); // Écrits, rejetés ou en échec
+        private static final Consommateur[] CONSOMMATEURS = demarrer();
+    }
+
+    /**
+     * Publie un message pour le client propriétaire du compte. À appeler après la validation de l'opération.
+     * Ne bloque jamais : si la file est pleine, le message est abandonné.
+     *
+     * @param message Le message.
+     */
+    public static void publier(Message message) {
+        if (!ACTIF) {
+            return;
+        }
+        Consommateur[] consommateurs = Diffusion.CONSOMMATEURS;
+        Diffusion.PUBLIES.incrementAndGet();
+        METRIQUES.enregistrerPublication();
+        // Tous les messages d'un compte vont au même consommateur : ils restent dans l'ordre
+        int index = (message.getNumeroCompte().hashCode() & Integer.MAX_VALUE) % consommateurs.length;
+        if (!consommateurs[index].file.offer(message)) {
+            METRIQUES.enregistrerRejet();
+            Diffusion.TRAITES.incrementAndGet();
+        }
+    }
+
+    /**
+     * Récupère les notifications les plus récentes d'un client.
+     *
+     * @param clientId L'ID du client.
+     * @param limite Le nombre maximal de notifications.
+     * @return Les notifications, de la plus récente à la plus ancienne.
+     * @throws SQLException En cas d'erreur de base de données.
+     */
+    public static List<Notification> getNotifications(String clientId, int limite) throws SQLException {
+        return FabriqueRepositories.notifications().getNotificationsByClientId(clientId, limite);
+    }
+
+    /**
+     * Attend que les messages publiés jusqu'ici soient traités (notifications écrites, ou messages abandonnés).
+     *
+     * @param delaiMaxMillis Le délai d'attente maximal.
+     * @return true si tout a été traité dans le délai.
+     */
+    public static boolean vider(long delaiMaxMillis) {
+        if (!ACTIF) {
+            return true;
+        }
+        long cible = Diffusion.PUBLIES.get();
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delaiMaxMillis);
+        while (Diffusion.TRAITES.get() < cible) {
+            if (System.nanoTime() - limite > 0) {
+                return false;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static NotificationMetrics getMetriques() {
+        return METRIQUES;
+    }
+
+    private static Consommateur[] demarrer() {
+        int nombre = Math.max(1, Integer.getInteger("banksystem.notifications.consommateurs", 2));
+        int capacite = Math.max(nombre, Integer.getInteger("banksystem.notifications.tailleFile", 65_536));
+        long fenetreNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("banksystem.notifications.fenetreMs", 200L));
+        int tailleLot = Integer.getInteger("banksystem.notifications.tailleLot", LotsJdbc.TAILLE_LOT_DEFAUT);
+        Consommateur[] consommateurs = new Consommateur[nombre];
+        for (int i = 0; i < nombre; i++) {
+            consommateurs[i] = new Consommateur(capacite / nombre, fenetreNanos, tailleLot);
+            Thread thread = new Thread(consommateurs[i]::consommer, "notifications-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        // Les messages encore en file à l'arrêt de la JVM sont écrits avant la sortie.
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> vider(2_000), "notifications-arret"));
+        return consommateurs;
+    }
+
+    /**
+     * Consommateur d'une file : regroupe, met en forme et écrit. Seul son thread utilise ses champs
+     * (hors la file).
+     */
+    private static final class Consommateur {
+        private final ArrayBlockingQueue<Message> file;
+        private final long fenetreNanos;
+        private final int tailleLot;
+        private final NotificationRepository notifications = FabriqueRepositories.notifications();
+
+        Consommateur(int capacite, long fenetreNanos, int tailleLot) {
+            this.file = new ArrayBlockingQueue<>(capacite);
+            this.fenetreNanos = fenetreNanos;
+            this.tailleLot = tailleLot;
+        }
+
+        void consommer() {
+            List<Message> lot = new ArrayList<>();
+            while (true) {
+                try {
+                    lot.add(file.take());
+                    // Fenêtre de regroupement : les messages arrivés peu après le premier partent avec lui
+                    long fin = System.nanoTime() + fenetreNanos;
+                    while (lot.size() < MESSAGES_PAR_LOT_MAX) {
+                        file.drainTo(lot, MESSAGES_PAR_LOT_MAX - lot.size());
+                        long reste = fin - System.nanoTime();
+                        if (reste <= 0 || lot.size() >= MESSAGES_PAR_LOT_MAX) {
+                            break;
+                        }
+                        Message suivant = file.poll(reste, TimeUnit.NANOSECONDS);
+                        if (suivant == null) {
+                            break;
+                        }
+                        lot.add(suivant);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    traiter(lot);
+                } catch (RuntimeException e) {
+                    // Une erreur inattendue ne doit pas arrêter le consommateur
+                    JOURNAL.erreur("Traitement d'un lot de notifications impossible", e);
+                }
+                Diffusion.TRAITES.addAndGet(lot.size());
+                lot.clear();
+            }
+        }
+
+        private void traiter(List<Message> lot) {
+            // Regroupement par client, dans l'ordre d'arrivée
+            Map<String, List<Message>> parClient = new LinkedHashMap<>();
+            for (Message message : lot) {
+                String clientId = message.getClientId();
+                if (clientId == null) {
+                    METRIQUES.enregistrerSansDestinataire();
+                    continue;
+                }
+                parClient.computeIfAbsent(clientId, id -> new ArrayList<>()).add(message);
+            }
+            if (parClient.isEmpty()) {
+                return;
+            }
+
+            LocalDateTime maintenant = LocalDateTime.now();
+            List<Notification> aEcrire = new ArrayList<>(parClient.size());
+            long plusAncien = Long.MAX_VALUE;
+            int messages = 0;
+            for (Map.Entry<String, List<Message>> entree : parClient.entrySet()) {
+                List<Message> messagesClient = entree.getValue();
+                aEcrire.add(new Notification(entree.getKey(), rediger(messagesClient), messagesClient.size(), maintenant));
+                messages += messagesClient.size();
+                for (Message message : messagesClient) {
+                    plusAncien = Math.min(plusAncien, message.getHorodatageMillis());
+                }
+            }
+
+            try {
+                boolean[] resultats = notifications.addNotifications(aEcrire, tailleLot);
+                int ecrites = 0;
+                for (boolean resultat : resultats) {
+                    if (resultat) {
+                        ecrites++;
+                    }
+                }
+                if (ecrites < aEcrire.size()) {
+                    METRIQUES.enregistrerEchecs(aEcrire.size() - ecrites);
+                    JOURNAL.avertissement("{} notification(s) sur {} non enregistrée(s).", aEcrire.size() - ecrites, aEcrire.size());
+                }
+                METRIQUES.enregistrerLot(ecrites, messages, System.currentTimeMillis() - plusAncien);
+            } catch (SQLException e) {
+                METRIQUES.enregistrerEchecs(aEcrire.size());
+                JOURNAL.erreur("Écriture de {} notification(s) impossible : {}", aEcrire.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Rédige le texte d'une notification : l'opération elle-même, ou un résumé de plusieurs opérations.
+     */
+    static String rediger(List<Message> messages) {
+        if (messages.size() == 1) {
+            Message message = messages.get(0);
+            String montant = Montant.formater(message.getMontantCentimes());
+            switch (message.getType()) {
+                case DEPOT:
+                    return "Dépôt de " + montant + " EUR sur le compte " + message.getNumeroCompte() + ".";
+                case RETRAIT:
+                    return "Retrait de " + montant + " EUR du compte " + message.getNumeroCompte() + ".";
+                case VIREMENT_EMIS:
+                    return "Virement de " + montant + " EUR émis depuis le compte " + message.getNumeroCompte() + ".";
+                case VIREMENT_RECU:
+                    return "Virement de " + montant + " EUR reçu sur le compte " + message.getNumeroCompte() + ".";
+                default:
+                    throw new IllegalStateException("Type de message inconnu : " + message.getType());
+            }
+        }
+        Map<Message.Type, Integer> parType = new EnumMap<>(Message.Type.class);
+        long variation = 0;
+        for (Message message : messages) {
+            parType.merge(message.getType(), 1, Integer::sum);
+            variation += message.getVariationCentimes();
+        }
+        StringBuilder texte = new StringBuilder(120);
+        texte.append(messages.size()).append(" opérations sur vos comptes : ");
+        boolean premier = true;
+        for (Map.Entry<Message.Type, Integer> entree : parType.entrySet()) {
+            if (!premier) {
+                texte.append(", ");
+            }
+            premier = false;
+            int nombre = entree.getValue();
+            texte.append(nombre).append(' ').append(libelle(entree.getKey(), nombre > 1));
+        }
+        return texte.append(". Variation totale : ").append(variation > 0 ? "+" : "").append(Montant.formater(variation))
+                .append(" EUR.").toString();
+    }
+
+    private static String libelle(Message.Type type, boolean pluriel) {
+        switch (type) {
+            case DEPOT:
+                return pluriel ? "dépôts" : "dépôt";
+            case RETRAIT:
+                return pluriel ? "retraits" : "retrait";
+            case VIREMENT_EMIS:
+                return pluriel ? "virements émis" : "virement émis";
+            case VIREMENT_RECU:
+                return pluriel ? "virements reçus" : "virement reçu";
+            default:
+                throw new IllegalStateException("Type de message inconnu : " + type);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+// src/main/java/com/banksystem/service/PortefeuilleService.java
+package com.banksystem.service;
+
+import com.banksystem.dao.FabriqueRepositories;
+import com.banksystem.dao.PortefeuilleRepository;
+import com.banksystem.model.Portefeuille;
+
+import java.sql.SQLException;
+
+/**
+ * Synthèse des avoirs d'un client (total, par type de compte, découvert utilisé), tenue à jour par les services
+ * à chaque ouverture, fermeture et mouvement : la lire coûte une lecture par clé, sans charger ni le client
+ * ni ses comptes.
+ */
+public class PortefeuilleService {
+
+    private PortefeuilleRepository portefeuilleDAO;
+
+    public PortefeuilleService() {
+        this.portefeuilleDAO = FabriqueRepositories.portefeuilles();
+    }
+
+    /**
+     * Retourne la synthèse d'un client.
+     *
+     * @param clientId L'ID du client.
+     * @return La synthèse (zéros si le client n'a jamais eu de compte).
+     * @throws SQLException En cas d'erreur de base de données.
+     */
+    public Portefeuille getPortefeuille(String clientId) throws SQLException {
+        return portefeuilleDAO.getPortefeuille(clientId).orElseGet(() -> Portefeuille.vide(clientId));
+    }
+}
@@ -0,0 +1,83 @@
+// src/main/java/com/banksystem/service/Portefeuilles.java
+package com.banksystem.service;
+
+import com.banksystem.dao.FabriqueRepositories;
+import com.banksystem.model.Compte;
+import com.banksystem.model.CompteEpargne;
+import com.banksystem.model.MouvementSolde;
+import com.banksystem.model.Portefeuille;
+import com.banksystem.util.LotsJdbc;
+import com.banksystem.util.UnitOfWork;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mise à jour des synthèses par client (table portefeuilles) par les services qui modifient des comptes.
+ * <p>
+ * Les variations sont écrites dans l'unité de travail de l'opération, après les mises à jour des comptes :
+ * synthèse et soldes sont validés ou annulés ensemble. Une unité regroupe ses variations par client et les
+ * écrit dans l'ordre des IDs clients ; comme toutes les unités prennent les verrous des comptes avant ceux des
+ * synthèses, et ceux-ci toujours dans le même ordre, deux opérations ne peuvent pas s'interbloquer sur les
+ * synthèses.
+ */
+final class Portefeuilles {
+
+    private Portefeuilles() {
+    }
+
+    /**
+     * Ouverture d'un compte. Doit être appelé dans l'unité de travail qui crée le compte.
+     */
+    static void enregistrerOuverture(Compte compte) throws SQLException {
+        enregistrerVariations(List.of(variationCompte(compte, 1)));
+    }
+
+    /**
+     * Suppression d'un compte. Doit être appelé dans l'unité de travail qui supprime le compte.
+     */
+    static void enregistrerFermeture(Compte compte) throws SQLException {
+        enregistrerVariations(List.of(variationCompte(compte, -1)));
+    }
+
+    /**
+     * Mouvements de solde d'une même unité de travail (ex: les deux comptes d'un virement).
+     */
+    static void enregistrerMouvements(MouvementSolde... mouvements) throws SQLException {
+        List<Portefeuille> variations = new ArrayList<>(mouvements.length);
+        for (MouvementSolde mouvement : mouvements) {
+            variations.add(Portefeuille.variationSolde(mouvement.getClientId(), mouvement.isEpargne(),
+                    mouvement.getAncienSoldeCentimes(), mouvement.getNouveauSoldeCentimes()));
+        }
+        enregistrerVariations(variations);
+    }
+
+    /**
+     * Applique des variations (plusieurs par client possibles), regroupées par client et triées par ID client.
+     * Doit être appelé dans une unité de travail.
+     *
+     * @param variations Les variations.
+     * @throws SQLException En cas d'erreur de base de données (l'unité de travail est alors annulée).
+     */
+    static void enregistrerVariations(Collection<Portefeuille> variations) throws SQLException {
+        if (!UnitOfWork.estActive()) {
+            throw new IllegalStateException("Une synthèse client ne peut être modifiée que dans une unité de travail.");
+        }
+        Map<String, Portefeuille> parClient = new TreeMap<>();
+        for (Portefeuille variation : variations) {
+            parClient.merge(variation.getClientId(), variation, Portefeuille::plus);
+        }
+        parClient.values().removeIf(Portefeuille::estNul);
+        if (!parClient.isEmpty()) {
+            FabriqueRepositories.portefeuilles().appliquerVariations(new ArrayList<>(parClient.values()), LotsJdbc.TAILLE_LOT_DEFAUT);
+        }
+    }
+
+    private static Portefeuille variationCompte(Compte compte, int sens) {
+        return Portefeuille.variationCompte(compte.getClientId(), compte instanceof CompteEpargne, compte.getSoldeCentimes(), sens);
+    }
+}
@@ -0,0 +1,308 @@
+// src/main/java/com/banksystem/service/ReconciliationPortefeuilles.java
+package com.banksystem.service;
+
+import com.banksystem.dao.ClientRepository;
+import com.banksystem.dao.CompteRepository;
+import com.banksystem.dao.FabriqueRepositories;
+import com.banksystem.dao.PortefeuilleRepository;
+import com.banksystem.model.Portefeuille;
+import com.banksystem.util.DatabaseConnection;
+import com.banksystem.util.Journal;
+import com.banksystem.util.UnitOfWork;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vérification des synthèses par client (table portefeuilles) à partir des comptes.
+ * <p>
+ * Les IDs clients sont parcourus par tranches (pagination par ID) ; chaque tranche est vérifiée en parallèle
+ * par un pool de travailleurs : un GROUP BY client_id sur les comptes de la tranche, comparé aux synthèses
+ * enregistrées de la même tranche. Un écart peut venir d'une opération en cours entre les deux lectures : il
+ * est donc confirmé dans une unité de travail qui verrouille d'abord les synthèses concernées (SELECT ... FOR
+ * UPDATE) puis relit les comptes. Une opération en cours attend ce verrou avant de modifier la synthèse, et ses
+ * mises à jour de comptes ne sont pas encore visibles : seuls les écarts réels restent. Avec le stockage en
+ * mémoire, sans verrou de ligne, la seconde lecture ne fait que réduire la fenêtre.
+ * <p>
+ * Avec correction, chaque écart confirmé est remplacé par la synthèse recalculée, dans la même unité de travail.
+ * <p>
+ * Usage : java com.banksystem.service.ReconciliationPortefeuilles [--corriger]
+ */
+public class ReconciliationPortefeuilles {
+
+    private static final Journal JOURNAL = Journal.pour(ReconciliationPortefeuilles.class);
+    private static final int ECARTS_CONSERVES = 1_000; // Au-delà, les écarts sont comptés mais pas gardés
+
+    private final int tailleTranche;
+    private final int parallelisme;
+    private ClientRepository clientDAO;
+    private CompteRepository compteDAO;
+    private PortefeuilleRepository portefeuilleDAO;
+
+    public ReconciliationPortefeuilles() {
+        // Un travailleur de moins que de connexions : le parcours des IDs garde sa propre connexion.
+        this(1_000, Math.max(1, DatabaseConnection.getTailleMaxPool() - 1));
+    }
+
+    public ReconciliationPortefeuilles(int tailleTranche, int parallelisme) {
+        if (tailleTranche <= 0 || parallelisme <= 0) {
+            throw new IllegalArgumentException("La taille de tranche et le parallélisme doivent être positifs.");
+        }
+        this.tailleTranche = tailleTranche;
+        this.parallelisme = parallelisme;
+        this.clientDAO = FabriqueRepositories.clients();
+        this.compteDAO = FabriqueRepositories.comptes();
+        this.portefeuilleDAO = FabriqueRepositories.portefeuilles();
+    }
+
+    /**
+     * Écart confirmé entre la synthèse enregistrée d'un client et celle calculée à partir de ses comptes.
+     */
+    public static final class Ecart {
+        private final Portefeuille attendu;
+        private final Portefeuille enregistre; // null si la synthèse n'existe pas
+
+        Ecart(Portefeuille attendu, Portefeuille enregistre) {
+            this.attendu = attendu;
+            this.enregistre = enregistre;
+        }
+
+        public String getClientId() {
+            return attendu.getClientId();
+        }
+
+        public Portefeuille getAttendu() {
+            return attendu;
+        }
+
+        public Portefeuille getEnregistre() {
+            return enregistre;
+        }
+
+        @Override
+        public String toString() {
+            return "Ecart{attendu=" + attendu + ", enregistre=" + (enregistre != null ? enregistre : "absent") + '}';
+        }
+    }
+
+    /**
+     * Résultat d'une réconciliation.
+     */
+    public static final class Resultat {
+        private final boolean correction;
+        private final AtomicLong clientsVerifies = new AtomicLong();
+        private final AtomicLong tranches = new AtomicLong();
+        private final AtomicLong tranchesEnEchec = new AtomicLong();
+        private final AtomicLong ecartsTransitoires = new AtomicLong();
+        private final AtomicLong ecartsConfirmes = new AtomicLong();
+        private final AtomicLong ecartsCorriges = new AtomicLong();
+        private final List<Ecart> ecarts = Collections.synchronizedList(new ArrayList<>());
+        private volatile long dureeMs;
+
+        Resultat(boolean correction) {
+            this.correction = correction;
+        }
+
+        public long getClientsVerifies() {
+            return clientsVerifies.get();
+        }
+
+        public long getTranches() {
+            return tranches.get();
+        }
+
+        /**
+         * Tranches non vérifiées (erreur de base de données) : à relancer.
+         */
+        public long getTranchesEnEchec() {
+            return tranchesEnEchec.get();
+        }
+
+        /**
+         * Écarts disparus à la seconde lecture (opération en cours pendant la première).
+         */
+        public long getEcartsTransitoires() {
+            return ecartsTransitoires.get();
+        }
+
+        public long getEcartsConfirmes() {
+            return ecartsConfirmes.get();
+        }
+
+        public long getEcartsCorriges() {
+            return ecartsCorriges.get();
+        }
+
+        /**
+         * Les premiers écarts confirmés (au plus 1 000).
+         */
+        public List<Ecart> getEcarts() {
+            synchronized (ecarts) {
+                return new ArrayList<>(ecarts);
+            }
+        }
+
+        /**
+         * @return true si toutes les tranches ont été vérifiées sans écart confirmé.
+         */
+        public boolean estConforme() {
+            return getTranchesEnEchec() == 0 && getEcartsConfirmes() == 0;
+        }
+
+        public long getDureeMs() {
+            return dureeMs;
+        }
+
+        @Override
+        public String toString() {
+            return "Reconciliation{" +
+                    "correction=" + correction +
+                    ", clients=" + getClientsVerifies() +
+                    ", tranches=" + getTranches() +
+                    ", tranchesEnEchec=" + getTranchesEnEchec() +
+                    ", ecartsTransitoires=" + getEcartsTransitoires() +
+                    ", ecartsConfirmes=" + getEcartsConfirmes() +
+                    ", ecartsCorriges=" + getEcartsCorriges() +
+                    ", dureeMs=" + dureeMs +
+                    '}';
+        }
+    }
+
+    /**
+     * Vérifie les synthèses de tous les clients. Une tranche en échec est comptée dans getTranchesEnEchec()
+     * sans arrêter les autres.
+     *
+     * @param corriger true pour remplacer les synthèses en écart par les valeurs recalculées.
+     * @return Le résultat de la réconciliation.
+     * @throws SQLException En cas d'erreur de base de données lors du parcours des clients.
+     */
+    public synchronized Resultat reconcilier(boolean corriger) throws SQLException {
+        Resultat resultat = new Resultat(corriger);
+        long debut = System.nanoTime();
+        AtomicInteger numeroThread = new AtomicInteger();
+        ExecutorService travailleurs = Executors.newFixedThreadPool(parallelisme, r -> {
+            Thread t = new Thread(r, "reconciliation-" + numeroThread.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        // Limite le nombre de tranches lues mais pas encore vérifiées : la mémoire reste bornée.
+        Semaphore tranchesEnAttente = new Semaphore(parallelisme * 2);
+        try {
+            String apres = null;
+            List<String> ids;
+            do {
+                ids = clientDAO.getIdsClientsApres(apres, tailleTranche);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                String premierExclu = apres;
+                String dernier = ids.get(ids.size() - 1);
+                apres = dernier;
+                tranchesEnAttente.acquire();
+                travailleurs.execute(() -> {
+                    try {
+                        verifierTranche(premierExclu, dernier, corriger, resultat);
+                        resultat.tranches.incrementAndGet();
+                    } catch (SQLException | RuntimeException e) {
+                        resultat.tranchesEnEchec.incrementAndGet();
+                        JOURNAL.erreur("Tranche de réconciliation après {} non vérifiée : {}", premierExclu, e.getMessage());
+                    } finally {
+                        tranchesEnAttente.release();
+                    }
+                });
+                resultat.clientsVerifies.addAndGet(ids.size());
+            } while (ids.size() == tailleTranche);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Réconciliation des synthèses interrompue.", e);
+        } finally {
+            travailleurs.shutdown();
+            try {
+                travailleurs.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        resultat.dureeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - debut);
+        if (resultat.estConforme()) {
+            JOURNAL.info("Synthèses clients conformes : {}", resultat);
+        } else {
+            JOURNAL.avertissement("Synthèses clients en écart : {}", resultat);
+        }
+        return resultat;
+    }
+
+    private void verifierTranche(String apres, String dernier, boolean corriger, Resultat resultat) throws SQLException {
+        // 1. Première lecture, sans verrou : comptes de la tranche, puis synthèses enregistrées
+        Map<String, Portefeuille> attendus = compteDAO.calculerPortefeuilles(apres, dernier);
+        Map<String, Portefeuille> enregistres = portefeuilleDAO.getPortefeuilles(apres, dernier);
+        TreeSet<String> suspects = new TreeSet<>();
+        for (String clientId : attendus.keySet()) {
+            if (!conforme(attendus.get(clientId), enregistres.get(clientId))) {
+                suspects.add(clientId);
+            }
+        }
+        for (Map.Entry<String, Portefeuille> entree : enregistres.entrySet()) {
+            if (!attendus.containsKey(entree.getKey()) && !entree.getValue().estNul()) {
+                suspects.add(entree.getKey());
+            }
+        }
+        if (suspects.isEmpty()) {
+            return;
+        }
+
+        // 2. Confirmation : verrous des synthèses suspectes (dans l'ordre des IDs, comme les opérations), puis comptes
+        UnitOfWork.executer(() -> {
+            Map<String, Optional<Portefeuille>> verrouilles = new LinkedHashMap<>();
+            for (String clientId : suspects) {
+                verrouilles.put(clientId, portefeuilleDAO.getPortefeuillePourMiseAJour(clientId));
+            }
+            Map<String, Portefeuille> recalcules = compteDAO.calculerPortefeuilles(apres, dernier);
+            for (Map.Entry<String, Optional<Portefeuille>> entree : verrouilles.entrySet()) {
+                String clientId = entree.getKey();
+                Portefeuille attendu = recalcules.getOrDefault(clientId, Portefeuille.vide(clientId));
+                Portefeuille enregistre = entree.getValue().orElse(null);
+                if (conforme(attendu, enregistre)) {
+                    resultat.ecartsTransitoires.incrementAndGet();
+                    continue;
+                }
+                resultat.ecartsConfirmes.incrementAndGet();
+                JOURNAL.avertissement("Synthèse du client {} en écart : attendu {}, enregistré {}", clientId, attendu, enregistre);
+                synchronized (resultat.ecarts) {
+                    if (resultat.ecarts.size() < ECARTS_CONSERVES) {
+                        resultat.ecarts.add(new Ecart(attendu, enregistre));
+                    }
+                }
+                if (corriger && portefeuilleDAO.remplacerPortefeuille(attendu)) {
+                    UnitOfWork.apresValidation(resultat.ecartsCorriges::incrementAndGet);
+                }
+            }
+        });
+    }
+
+    private static boolean conforme(Portefeuille attendu, Portefeuille enregistre) {
+        return enregistre != null ? enregistre.memesTotaux(attendu) : attendu.estNul();
+    }
+
+    public static void main(String[] args) throws SQLException {
+        boolean corriger = args.length > 0 && "--corriger".equals(args[0]);
+        Resultat resultat = new ReconciliationPortefeuilles().reconcilier(corriger);
+        System.out.println(resultat);
+        for (Ecart ecart : resultat.getEcarts()) {
+            System.out.println("  " + ecart);
+        }
+        Journal.vider(1_000);
+    }
+}
@@ -0,0 +1,240 @@
+// src/main/java/com/banksystem/service/RejeuJournal.java
+package com.banksystem.service;
+
+import com.banksystem.dao.CompteRepository;
+import com.banksystem.dao.FabriqueRepositories;
+import com.banksystem.dao.JournalEcritureAnticipee;
+import com.banksystem.dao.TransactionRepository;
+import com.banksystem.model.Compte;
+import com.banksystem.model.JournalAction;
+import com.banksystem.util.Montant;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Relecture du journal des actions pour reconstruire les soldes.
+ * <p>
+ * Seules les actions dont la validation a été inscrite sont appliquées, chacune à la lecture de sa marque de
+ * validation : l'ordre d'application est celui des marques dans le journal, pas celui des séquences des actions.
+ * Les actions annulées sont ignorées. Une action sans marque (arrêt brutal entre l'écriture de l'action et celle
+ * de sa marque) est "incertaine". Un mouvement (dépôt, retrait, virement, intérêts) porte l'ID de sa transaction,
+ * écrite dans la même unité de travail : {@link #resoudreIncertaines} le tranche par la présence de cette
+ * transaction en base. Une création ou une suppression de compte n'a pas de référence et reste incertaine.
+ * <p>
+ * Le solde d'un compte créé dans la période couverte par le journal est absolu ; pour les autres comptes,
+ * c'est la variation depuis le premier segment conservé.
+ * <p>
+ * Usage : java com.banksystem.service.RejeuJournal [répertoire] — tranche les mouvements incertains et compare
+ * les soldes avec la base.
+ */
+public final class RejeuJournal {
+
+    private RejeuJournal() {
+    }
+
+    /**
+     * Résultat d'une relecture.
+     */
+    public static final class Resultat {
+        private final Map<String, Long> soldes = new TreeMap<>();
+        private final Set<String> comptesCrees = new HashSet<>();
+        private final Set<String> comptesSupprimes = new HashSet<>();
+        private final List<JournalAction> incertaines = new ArrayList<>();
+        private long actionsAppliquees;
+        private long actionsAnnulees;
+        private long incertainesResolues;
+
+        private void appliquer(JournalAction action) {
+            String numero = action.getNumeroCompte();
+            long montant = action.getMontantCentimes();
+            switch (action.getType()) {
+                case CREATION_COMPTE:
+                    soldes.put(numero, montant);
+                    comptesCrees.add(numero);
+                    comptesSupprimes.remove(numero);
+                    break;
+                case SUPPRESSION_COMPTE:
+                    soldes.remove(numero);
+                    comptesSupprimes.add(numero);
+                    break;
+                case DEPOT:
+                case INTERETS:
+                    soldes.merge(numero, montant, Long::sum);
+                    break;
+                case RETRAIT:
+                    soldes.merge(numero, -montant, Long::sum);
+                    break;
+                case VIREMENT:
+                    soldes.merge(numero, -montant, Long::sum);
+                    soldes.merge(action.getNumeroCompteDestination(), montant, Long::sum);
+                    break;
+                default:
+                    throw new IllegalStateException("Type d'action inconnu : " + action.getType());
+            }
+            actionsAppliquees++;
+        }
+
+        /**
+         * Soldes (absolus pour les comptes créés dans le journal, variations sinon), en centimes.
+         */
+        public Map<String, Long> getSoldes() {
+            return soldes;
+        }
+
+        /**
+         * @return true si le solde du compte est absolu (compte créé dans la période couverte par le journal).
+         */
+        public boolean estAbsolu(String numeroCompte) {
+            return comptesCrees.contains(numeroCompte);
+        }
+
+        public Set<String> getComptesSupprimes() {
+            return comptesSupprimes;
+        }
+
+        public List<JournalAction> getIncertaines() {
+            return incertaines;
+        }
+
+        public long getActionsAppliquees() {
+            return actionsAppliquees;
+        }
+
+        public long getActionsAnnulees() {
+            return actionsAnnulees;
+        }
+
+        /**
+         * Actions incertaines tranchées par la base (comptées aussi comme appliquées ou annulées).
+         */
+        public long getIncertainesResolues() {
+            return incertainesResolues;
+        }
+
+        @Override
+        public String toString() {
+            return "RejeuJournal.Resultat{" +
+                    "comptes=" + soldes.size() +
+                    ", comptesCrees=" + comptesCrees.size() +
+                    ", comptesSupprimes=" + comptesSupprimes.size() +
+                    ", actionsAppliquees=" + actionsAppliquees +
+                    ", actionsAnnulees=" + actionsAnnulees +
+                    ", incertainesResolues=" + incertainesResolues +
+                    ", incertaines=" + incertaines.size() +
+                    '}';
+        }
+    }
+
+    /**
+     * Relit le journal et reconstruit les soldes.
+     *
+     * @param repertoire Le répertoire des segments.
+     * @return Le résultat de la relecture.
+     * @throws IOException Si un segment ne peut pas être lu.
+     */
+    public static Resultat rejouer(Path repertoire) throws IOException {
+        Resultat resultat = new Resultat();
+        // Actions sans marque, par séquence (les marques suivent leurs actions dans le journal)
+        TreeMap<Long, JournalAction> enAttente = new TreeMap<>();
+        JournalEcritureAnticipee.lire(repertoire, new JournalEcritureAnticipee.Lecteur() {
+            @Override
+            public void action(JournalAction action) {
+                enAttente.put(action.getSequence(), action);
+            }
+
+            @Override
+            public void validation(long premiereSequence, int nombre) {
+                Iterator<JournalAction> it = enAttente.subMap(premiereSequence, premiereSequence + nombre).values().iterator();
+                while (it.hasNext()) {
+                    resultat.appliquer(it.next());
+                    it.remove();
+                }
+            }
+
+            @Override
+            public void annulation(long premiereSequence, int nombre) {
+                Map<Long, JournalAction> annulees = enAttente.subMap(premiereSequence, premiereSequence + nombre);
+                resultat.actionsAnnulees += annulees.size();
+                annulees.clear();
+            }
+        });
+        resultat.incertaines.addAll(enAttente.values());
+        return resultat;
+    }
+
+    /**
+     * Tranche les actions incertaines qui référencent une transaction : la transaction est écrite dans la même
+     * unité de travail que le mouvement, elle n'est en base que si l'action a été validée. Une action validée
+     * est alors appliquée (une variation de solde : son rang parmi les autres n'y change rien), sinon comptée
+     * comme annulée. Les actions sans référence restent dans {@link Resultat#getIncertaines()}.
+     *
+     * @param resultat Le résultat de {@link #rejouer(Path)}.
+     * @param transactions Le stockage des transactions.
+     * @throws SQLException En cas d'erreur d'accès au stockage.
+     */
+    public static void resoudreIncertaines(Resultat resultat, TransactionRepository transactions) throws SQLException {
+        Iterator<JournalAction> it = resultat.incertaines.iterator();
+        while (it.hasNext()) {
+            JournalAction action = it.next();
+            if (action.getReference() == null) {
+                continue;
+            }
+            if (transactions.existeTransaction(action.getReference())) {
+                resultat.appliquer(action);
+            } else {
+                resultat.actionsAnnulees++;
+            }
+            resultat.incertainesResolues++;
+            it.remove();
+        }
+    }
+
+    public static void main(String[] args) throws IOException, SQLException {
+        Path repertoire = args.length > 0 ? Paths.get(args[0]) : JournalisationActions.getRepertoire();
+        Resultat resultat = rejouer(repertoire);
+        resoudreIncertaines(resultat, FabriqueRepositories.transactions());
+        System.out.println(resultat);
+        for (JournalAction action : resultat.getIncertaines()) {
+            System.out.println("  Incertaine (sans référence, à vérifier) : " + action);
+        }
+
+        CompteRepository comptes = FabriqueRepositories.comptes();
+        Map<String, Long> ecarts = new HashMap<>();
+        for (Map.Entry<String, Long> entree : resultat.getSoldes().entrySet()) {
+            String numero = entree.getKey();
+            if (!resultat.estAbsolu(numero)) {
+                continue; // Variation seulement : pas comparable au solde en base
+            }
+            Optional<Compte> compte = comptes.getCompteByNumero(numero);
+            long enBase = compte.map(Compte::getSoldeCentimes).orElse(0L);
+            if (!compte.isPresent() || enBase != entree.getValue()) {
+                ecarts.put(numero, enBase - entree.getValue());
+            }
+        }
+        for (String numero : resultat.getComptesSupprimes()) {
+            if (comptes.existeCompte(numero)) {
+                ecarts.put(numero, null);
+            }
+        }
+        if (ecarts.isEmpty()) {
+            System.out.println("Soldes reconstruits conformes à la base.");
+        } else {
+            for (Map.Entry<String, Long> ecart : ecarts.entrySet()) {
+                System.out.println("  Écart sur " + ecart.getKey() + " : " + (ecart.getValue() == null
+                        ? "supprimé dans le journal, présent en base" : Montant.formater(ecart.getValue()) + " EUR (base - journal)"));
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+// src/main/java/com/banksystem/service/SessionMetrics.java
+package com.banksystem.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs des sessions ({@link SessionService}) : ouvertures, validations et leurs rejets par motif,
+ * révocations, sessions purgées par la roue d'expiration, et histogramme du temps de validation.
+ */
+public class SessionMetrics {
+
+    // Bornes supérieures (en microsecondes) des classes de l'histogramme ; la dernière classe est ouverte.
+    private static final long[] BORNES_VALIDATION_MICROS = {1, 5, 10, 50, 100, 1_000};
+
+    private final LongAdder[] histogrammeValidation = new LongAdder[BORNES_VALIDATION_MICROS.length + 1];
+    private final LongAdder ouvertures = new LongAdder();
+    private final LongAdder validations = new LongAdder();
+    private final LongAdder rejetsSignature = new LongAdder();
+    private final LongAdder rejetsExpiration = new LongAdder();
+    private final LongAdder rejetsInconnues = new LongAdder();
+    private final LongAdder revocations = new LongAdder();
+    private final LongAdder purgees = new LongAdder();
+    private final LongAdder validationTotaleNanos = new LongAdder();
+
+    SessionMetrics() {
+        for (int i = 0; i < histogrammeValidation.length; i++) {
+            histogrammeValidation[i] = new LongAdder();
+        }
+    }
+
+    void enregistrerOuverture() {
+        ouvertures.increment();
+    }
+
+    void enregistrerValidation(long dureeNanos) {
+        validations.increment();
+        validationTotaleNanos.add(dureeNanos);
+        long micros = TimeUnit.NANOSECONDS.toMicros(dureeNanos);
+        int classe = 0;
+        while (classe < BORNES_VALIDATION_MICROS.length && micros >= BORNES_VALIDATION_MICROS[classe]) {
+            classe++;
+        }
+        histogrammeValidation[classe].increment();
+    }
+
+    void enregistrerRejetSignature() {
+        rejetsSignature.increment();
+    }
+
+    void enregistrerRejetExpiration() {
+        rejetsExpiration.increment();
+    }
+
+    void enregistrerRejetInconnue() {
+        rejetsInconnues.increment();
+    }
+
+    void enregistrerRevocations(int nombre) {
+        revocations.add(nombre);
+    }
+
+    void enregistrerPurgees(int nombre) {
+        purgees.add(nombre);
+    }
+
+    // --- Getters ---
+    public long getOuvertures() {
+        return ouvertures.sum();
+    }
+
+    /**
+     * Nombre de jetons validés avec succès.
+     */
+    public long getValidations() {
+        return validations.sum();
+    }
+
+    /**
+     * Jetons mal formés ou dont la signature ne correspond pas.
+     */
+    public long getRejetsSignature() {
+        return rejetsSignature.sum();
+    }
+
+    public long getRejetsExpiration() {
+        return rejetsExpiration.sum();
+    }
+
+    /**
+     * Jetons correctement signés mais absents du magasin (révoqués, ou émis avant un redémarrage).
+     */
+    public long getRejetsInconnues() {
+        return rejetsInconnues.sum();
+    }
+
+    public long getRevocations() {
+        return revocations.sum();
+    }
+
+    /**
+     * Sessions expirées retirées du magasin par la roue d'expiration.
+     */
+    public long getPurgees() {
+        return purgees.sum();
+    }
+
+    public long getValidationTotaleNanos() {
+        return validationTotaleNanos.sum();
+    }
+
+    /**
+     * Retourne une copie de l'histogramme des temps de validation réussie.
+     * La case i compte les validations inférieures à getBornesValidationMicros()[i] (et supérieures ou égales
+     * à la borne précédente) ; la dernière case compte le reste.
+     *
+     * @return Le nombre de validations par classe de durée.
+     */
+    public long[] getHistogrammeValidation() {
+        long[] copie = new long[histogrammeValidation.length];
+        for (int i = 0; i < copie.length; i++) {
+            copie[i] = histogrammeValidation[i].sum();
+        }
+        return copie;
+    }
+
+    public long[] getBornesValidationMicros() {
+        return BORNES_VALIDATION_MICROS.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder histogramme = new StringBuilder();
+        long[] valeurs = getHistogrammeValidation();
+        for (int i = 0; i < valeurs.length; i++) {
+            histogramme.append(i < BORNES_VALIDATION_MICROS.length ? "<" + BORNES_VALIDATION_MICROS[i] + "us" : ">=" + BORNES_VALIDATION_MICROS[BORNES_VALIDATION_MICROS.length - 1] + "us")
+                    .append('=').append(valeurs[i]);
+            if (i < valeurs.length - 1) {
+                histogramme.append(", ");
+            }
+        }
+        long validationsReussies = getValidations();
+        return "SessionMetrics{" +
+                "ouvertures=" + getOuvertures() +
+                ", validations=" + validationsReussies +
+                ", rejetsSignature=" + getRejetsSignature() +
+                ", rejetsExpiration=" + getRejetsExpiration() +
+                ", rejetsInconnues=" + getRejetsInconnues() +
+                ", revocations=" + getRevocations() +
+                ", purgees=" + getPurgees() +
+                ", validationMoyenneNs=" + (validationsReussies == 0 ? 0 : getValidationTotaleNanos() / validationsReussies) +
+                ", validation=[" + histogramme + "]" +
+                '}';
+    }
+}
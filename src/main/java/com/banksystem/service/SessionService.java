@@ -0,0 +1,241 @@
+// src/main/java/com/banksystem/service/SessionService.java
+package com.banksystem.service;
+
+import com.banksystem.exception.AuthentificationException;
+import com.banksystem.exception.SessionInvalideException;
+import com.banksystem.model.Admin;
+import com.banksystem.model.Client;
+import com.banksystem.model.Session;
+import com.banksystem.util.Journal;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sessions ouvertes après une connexion : le mot de passe (BCrypt, des dizaines de millisecondes) n'est vérifié
+ * qu'une fois, les requêtes suivantes présentent un jeton validé en quelques microsecondes.
+ * <p>
+ * Le jeton a la forme {@code identifiant.expiration.signature} : un identifiant aléatoire de 128 bits,
+ * l'heure d'expiration (millisecondes epoch) et un HMAC-SHA256 des deux premières parties. Un jeton forgé,
+ * modifié ou expiré est refusé sans consulter le magasin ; un jeton valide doit encore correspondre à une
+ * session ouverte, ce qui permet la révocation.
+ * <p>
+ * Le magasin est partagé par toutes les instances de la JVM. Configuration :
+ * -Dbanksystem.session.dureeSecondes (1800 par défaut), -Dbanksystem.session.granulariteMs (pas de la roue
+ * d'expiration, 1000 par défaut) et -Dbanksystem.session.cle (clé HMAC en Base64 ; sans elle, une clé
+ * aléatoire est tirée au démarrage et les jetons émis ne survivent pas à un redémarrage).
+ */
+public class SessionService {
+
+    private static final Journal JOURNAL = Journal.pour(SessionService.class);
+
+    private static final String ALGORITHME = "HmacSHA256";
+    private static final long DUREE_MILLIS = TimeUnit.SECONDS.toMillis(Long.getLong("banksystem.session.dureeSecondes", 1_800L));
+
+    private static final SecureRandom ALEA = new SecureRandom();
+    private static final Base64.Encoder ENCODEUR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODEUR = Base64.getUrlDecoder();
+    private static final SecretKeySpec CLE = new SecretKeySpec(lireCle(), ALGORITHME);
+    // Mac n'est pas thread-safe. Les requêtes tournent sur des threads virtuels, un par requête : un ThreadLocal
+    // y créerait une instance par validation. Un petit réservoir partagé d'instances initialisées est réutilisé ;
+    // s'il est vide, une instance est clonée du prototype (sans refaire getInstance ni init).
+    private static final Mac PROTOTYPE = creerMac();
+    private static final ArrayBlockingQueue<Mac> MACS = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+
+    private static final SessionMetrics METRIQUES = new SessionMetrics();
+    private static final MagasinSessions MAGASIN = new MagasinSessions(DUREE_MILLIS,
+            Long.getLong("banksystem.session.granulariteMs", 1_000L), METRIQUES);
+
+    private final AuthentificationService authentificationService;
+
+    public SessionService() {
+        this(new AuthentificationService());
+    }
+
+    public SessionService(AuthentificationService authentificationService) {
+        this.authentificationService = authentificationService;
+    }
+
+    /**
+     * Authentifie un client et lui ouvre une session.
+     *
+     * @param email L'email du client.
+     * @param motDePasse Le mot de passe en clair.
+     * @return La session ouverte ; son jeton est à présenter aux requêtes suivantes.
+     * @throws AuthentificationException Si l'authentification échoue.
+     */
+    public Session connecterClient(String email, String motDePasse) throws AuthentificationException {
+        Client client = authentificationService.authentifierClient(email, motDePasse);
+        String identifiant = nouvelIdentifiant();
+        long expiration = System.currentTimeMillis() + DUREE_MILLIS;
+        return ouvrir(new Session(jeton(identifiant, expiration), identifiant, client, expiration));
+    }
+
+    /**
+     * Authentifie un administrateur et lui ouvre une session.
+     *
+     * @param login Le login de l'administrateur.
+     * @param motDePasse Le mot de passe en clair.
+     * @return La session ouverte ; son jeton est à présenter aux requêtes suivantes.
+     * @throws AuthentificationException Si l'authentification échoue.
+     */
+    public Session connecterAdmin(String login, String motDePasse) throws AuthentificationException {
+        Admin admin = authentificationService.authentifierAdmin(login, motDePasse);
+        String identifiant = nouvelIdentifiant();
+        long expiration = System.currentTimeMillis() + DUREE_MILLIS;
+        return ouvrir(new Session(jeton(identifiant, expiration), identifiant, admin, expiration));
+    }
+
+    /**
+     * Valide un jeton et retourne la session correspondante, sans vérifier de mot de passe.
+     *
+     * @param jeton Le jeton reçu lors de la connexion.
+     * @return La session ouverte.
+     * @throws SessionInvalideException Si le jeton est mal formé, mal signé, expiré ou révoqué.
+     */
+    public Session valider(String jeton) throws SessionInvalideException {
+        long debut = System.nanoTime();
+        int finIdentifiant = jeton == null ? -1 : jeton.indexOf('.');
+        int finExpiration = finIdentifiant <= 0 ? -1 : jeton.indexOf('.', finIdentifiant + 1);
+        if (finExpiration <= finIdentifiant + 1 || finExpiration == jeton.length() - 1) {
+            METRIQUES.enregistrerRejetSignature();
+            throw new SessionInvalideException("Jeton de session mal formé.");
+        }
+        long expiration;
+        byte[] signature;
+        try {
+            expiration = Long.parseLong(jeton, finIdentifiant + 1, finExpiration, 10);
+            signature = DECODEUR.decode(jeton.substring(finExpiration + 1));
+        } catch (IllegalArgumentException e) { // NumberFormatException comprise
+            METRIQUES.enregistrerRejetSignature();
+            throw new SessionInvalideException("Jeton de session mal formé.");
+        }
+        // Comparaison en temps constant : la durée ne révèle pas combien d'octets de la signature sont justes.
+        if (!MessageDigest.isEqual(signer(jeton.substring(0, finExpiration)), signature)) {
+            METRIQUES.enregistrerRejetSignature();
+            throw new SessionInvalideException("Signature du jeton de session invalide.");
+        }
+        if (System.currentTimeMillis() >= expiration) {
+            METRIQUES.enregistrerRejetExpiration();
+            throw new SessionInvalideException("Session expirée, veuillez vous reconnecter.");
+        }
+        Session session = MAGASIN.trouver(jeton.substring(0, finIdentifiant));
+        if (session == null || !session.getJeton().equals(jeton)) {
+            METRIQUES.enregistrerRejetInconnue();
+            throw new SessionInvalideException("Session fermée, veuillez vous reconnecter.");
+        }
+        METRIQUES.enregistrerValidation(System.nanoTime() - debut);
+        return session;
+    }
+
+    /**
+     * Ferme une session (déconnexion) : son jeton est refusé dès le retour de cette méthode.
+     *
+     * @param jeton Le jeton de la session.
+     * @return true si une session ouverte a été fermée.
+     */
+    public boolean revoquer(String jeton) {
+        int finIdentifiant = jeton == null ? -1 : jeton.indexOf('.');
+        if (finIdentifiant <= 0) {
+            return false;
+        }
+        Session session = MAGASIN.trouver(jeton.substring(0, finIdentifiant));
+        if (session == null || !session.getJeton().equals(jeton) || !MAGASIN.retirer(session)) {
+            return false;
+        }
+        METRIQUES.enregistrerRevocations(1);
+        return true;
+    }
+
+    /**
+     * Ferme toutes les sessions d'un client ou d'un administrateur (changement de mot de passe, compte bloqué).
+     * Parcourt toutes les sessions ouvertes.
+     *
+     * @param idUtilisateur L'identifiant du client ou de l'administrateur.
+     * @return Le nombre de sessions fermées.
+     */
+    public int revoquerSessionsUtilisateur(String idUtilisateur) {
+        int revoquees = MAGASIN.retirerSi(session -> session.getIdUtilisateur().equals(idUtilisateur));
+        if (revoquees > 0) {
+            METRIQUES.enregistrerRevocations(revoquees);
+        }
+        return revoquees;
+    }
+
+    /**
+     * @return Le nombre de sessions actuellement dans le magasin (les expirées non encore purgées comprises).
+     */
+    public static int getNombreSessions() {
+        return MAGASIN.getNombre();
+    }
+
+    public static SessionMetrics getMetriques() {
+        return METRIQUES;
+    }
+
+    private Session ouvrir(Session session) {
+        MAGASIN.ajouter(session);
+        METRIQUES.enregistrerOuverture();
+        return session;
+    }
+
+    private static String nouvelIdentifiant() {
+        byte[] octets = new byte[16];
+        ALEA.nextBytes(octets);
+        return ENCODEUR.encodeToString(octets);
+    }
+
+    private static String jeton(String identifiant, long expiration) {
+        String contenu = identifiant + '.' + expiration;
+        return contenu + '.' + ENCODEUR.encodeToString(signer(contenu));
+    }
+
+    private static byte[] signer(String contenu) {
+        Mac mac = MACS.poll();
+        if (mac == null) {
+            mac = nouveauMac();
+        }
+        byte[] signature = mac.doFinal(contenu.getBytes(StandardCharsets.US_ASCII)); // doFinal réinitialise le Mac
+        MACS.offer(mac); // Réservoir plein : l'instance est abandonnée
+        return signature;
+    }
+
+    private static Mac nouveauMac() {
+        try {
+            return (Mac) PROTOTYPE.clone();
+        } catch (CloneNotSupportedException e) {
+            return creerMac(); // Fournisseur sans clone
+        }
+    }
+
+    private static Mac creerMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHME);
+            mac.init(CLE);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC indisponible pour les jetons de session", e);
+        }
+    }
+
+    private static byte[] lireCle() {
+        String valeur = System.getProperty("banksystem.session.cle");
+        if (valeur != null && !valeur.isBlank()) {
+            byte[] cle = Base64.getDecoder().decode(valeur.trim());
+            if (cle.length < 32) {
+                JOURNAL.avertissement("Clé de session de {} octets : 32 octets au moins sont recommandés.", cle.length);
+            }
+            return cle;
+        }
+        byte[] cle = new byte[32];
+        ALEA.nextBytes(cle);
+        return cle;
+    }
+}
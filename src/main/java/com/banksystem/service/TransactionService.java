@@ -1,29 +1,39 @@
 // src/main/java/com/banksystem/service/TransactionService.java
 package com.banksystem.service;
 
-import com.banksystem.dao.CompteDAO;
-import com.banksystem.dao.TransactionDAO;
+import com.banksystem.dao.CompteRepository;
+import com.banksystem.dao.FabriqueRepositories;
+import com.banksystem.dao.TransactionRepository;
 import com.banksystem.exception.CompteNonTrouveException;
 import com.banksystem.exception.SoldeInsuffisantException;
-import com.banksystem.model.Compte;
+import com.banksystem.model.CritereHistorique;
+import com.banksystem.model.JournalAction;
+import com.banksystem.model.Message;
+import com.banksystem.model.MouvementSolde;
+import com.banksystem.model.PageTransactions;
 import com.banksystem.model.Transaction;
-import com.banksystem.util.DatabaseConnection;
+import com.banksystem.util.Identifiants;
+import com.banksystem.util.Journal;
+import com.banksystem.util.Montant;
+import com.banksystem.util.UnitOfWork;
+import com.banksystem.util.VerrousComptes;
 
-import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 public class TransactionService {
 
-    private CompteDAO compteDAO;
-    private TransactionDAO transactionDAO;
+    private static final Journal JOURNAL = Journal.pour(TransactionService.class);
+
+    private CompteRepository compteDAO;
+    private TransactionRepository transactionDAO;
 
     public TransactionService() {
-        this.compteDAO = new CompteDAO();
-        this.transactionDAO = new TransactionDAO();
+        this.compteDAO = FabriqueRepositories.comptes();
+        this.transactionDAO = FabriqueRepositories.transactions();
+        AgregatsAgences.initialiser();
     }
 
     /**
@@ -33,104 +43,96 @@ public class TransactionService {
      *
      * @param numeroCompteSource Le numéro du compte d'où l'argent sera retiré.
      * @param numeroCompteDestination Le numéro du compte où l'argent sera déposé.
-     * @param montant Le montant à transférer.
+     * @param montantCentimes Le montant à transférer, en centimes (voir Montant.deEuros).
      * @param description Une description facultative de la transaction.
      * @throws CompteNonTrouveException Si l'un des comptes n'existe pas.
      * @throws SoldeInsuffisantException Si le compte source n'a pas les fonds suffisants.
      * @throws IllegalArgumentException Si le montant est négatif ou si les comptes sont identiques.
      * @throws SQLException En cas d'erreur de base de données.
      */
-    public void effectuerVirement(String numeroCompteSource, String numeroCompteDestination, double montant, String description)
+    public void effectuerVirement(String numeroCompteSource, String numeroCompteDestination, long montantCentimes, String description)
             throws CompteNonTrouveException, SoldeInsuffisantException, IllegalArgumentException, SQLException {
 
-        if (montant <= 0) {
+        if (montantCentimes <= 0) {
             throw new IllegalArgumentException("Le montant du virement doit être positif.");
         }
         if (numeroCompteSource.equals(numeroCompteDestination)) {
             throw new IllegalArgumentException("Le compte source et le compte destination ne peuvent pas être identiques pour un virement.");
         }
 
-        // 1. Récupérer les comptes depuis la base de données
-        Optional<Compte> sourceOptional = compteDAO.getCompteByNumero(numeroCompteSource);
-        Optional<Compte> destinationOptional = compteDAO.getCompteByNumero(numeroCompteDestination);
-
-        if (!sourceOptional.isPresent()) {
-            throw new CompteNonTrouveException("Compte source non trouvé : " + numeroCompteSource);
-        }
-        if (!destinationOptional.isPresent()) {
-            throw new CompteNonTrouveException("Compte destination non trouvé : " + numeroCompteDestination);
-        }
-
-        Compte compteSource = sourceOptional.get();
-        Compte compteDestination = destinationOptional.get();
-
-        Connection connection = null; // Gérer la connexion pour la transaction SQL (ACID)
         try {
-            connection = DatabaseConnection.getConnection();
-            connection.setAutoCommit(false); // Démarrer une transaction (très important pour les virements !)
-
-            // 2. Tenter de retirer le montant du compte source
-            // La méthode retirer du modèle gère la logique de solde insuffisant et découvert
-            // et lance SoldeInsuffisantException si nécessaire.
-            compteSource.retirer(montant); // Modifie l'objet Compte en mémoire
-
-            // 3. Tenter de déposer le montant sur le compte destination
-            compteDestination.deposer(montant); // Modifie l'objet Compte en mémoire
+            // Une seule connexion et une seule transaction SQL (ACID) pour tout le virement :
+            // les deux mises à jour de solde et l'insertion sont validées ou annulées ensemble.
+            // Les verrous des deux comptes sont pris avant (ordre global fixe, sans interblocage)
+            // et rendus après le commit.
+            MouvementSolde[] mouvements = VerrousComptes.executer(numeroCompteSource, numeroCompteDestination, () -> UnitOfWork.executer(() -> {
+                // 1. et 2. Débiter la source et créditer la destination directement en base.
+                // Les deux comptes sont toujours mis à jour dans l'ordre de leurs numéros : deux virements
+                // croisés (A->B et B->A) verrouillent ainsi les lignes dans le même ordre, sans interblocage.
+                MouvementSolde debit;
+                MouvementSolde credit;
+                if (numeroCompteSource.compareTo(numeroCompteDestination) < 0) {
+                    debit = debiterSource(numeroCompteSource, montantCentimes);
+                    credit = crediterDestination(numeroCompteDestination, montantCentimes);
+                } else {
+                    credit = crediterDestination(numeroCompteDestination, montantCentimes);
+                    debit = debiterSource(numeroCompteSource, montantCentimes);
+                }
+                // Synthèses des deux clients (une seule si les comptes sont au même client), après les comptes
+                Portefeuilles.enregistrerMouvements(debit, credit);
+                AgregatsAgences.enregistrerMouvement(debit);
+                AgregatsAgences.enregistrerMouvement(credit);
+
+                // 3. Enregistrer la transaction
+                Transaction transaction = new Transaction(
+                        Identifiants.nouveau("T-"),
+                        "TRANSFERT", // Type de transaction
+                        montantCentimes,
+                        LocalDateTime.now(),
+                        description,
+                        numeroCompteSource,
+                        numeroCompteDestination
+                );
+                if (!transactionDAO.addTransaction(transaction)) {
+                    throw new SQLException("Impossible d'enregistrer la transaction de virement.");
+                }
 
-            // 4. Mettre à jour les soldes dans la base de données
-            if (!compteDAO.updateCompte(compteSource)) {
-                throw new SQLException("Échec de la mise à jour du compte source lors du virement.");
-            }
-            if (!compteDAO.updateCompte(compteDestination)) {
-                throw new SQLException("Échec de la mise à jour du compte destination lors du virement.");
+                // 4. Journaliser le virement avant le commit
+                JournalisationActions.journaliser(new JournalAction(JournalAction.Type.VIREMENT, numeroCompteSource,
+                        numeroCompteDestination, montantCentimes, transaction.getId()));
+                return new MouvementSolde[] {debit, credit};
+            }));
+            // Après le commit et hors des verrous : deux dépôts en file, rien de plus
+            NotificationService.publier(new Message(Message.Type.VIREMENT_EMIS, numeroCompteSource, mouvements[0].getClientId(), montantCentimes));
+            NotificationService.publier(new Message(Message.Type.VIREMENT_RECU, numeroCompteDestination, mouvements[1].getClientId(), montantCentimes));
+            if (JOURNAL.estActif(Journal.Niveau.INFO)) {
+                JOURNAL.info("Virement de {} EUR de {} vers {} effectué avec succès.", Montant.formater(montantCentimes), numeroCompteSource, numeroCompteDestination);
             }
+        } catch (SQLException | RuntimeException e) {
+            // UnitOfWork a déjà annulé la transaction SQL ; l'exception originale est propagée à l'appelant.
+            JOURNAL.avertissement("Virement de {} vers {} annulé : {}", numeroCompteSource, numeroCompteDestination, e.getMessage());
+            throw e;
+        }
+    }
 
-            // 5. Enregistrer la transaction
-            Transaction transaction = new Transaction(
-                    "T-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase(),
-                    "TRANSFERT", // Type de transaction
-                    montant,
-                    LocalDateTime.now(),
-                    description,
-                    compteSource,
-                    compteDestination
-            );
-            if (!transactionDAO.addTransaction(transaction)) {
-                throw new SQLException("Impossible d'enregistrer la transaction de virement.");
+    private MouvementSolde debiterSource(String numeroCompteSource, long montantCentimes) throws SQLException {
+        // Le débit conditionnel gère la logique de solde insuffisant et de découvert autorisé.
+        Optional<MouvementSolde> mouvement = compteDAO.debiter(numeroCompteSource, montantCentimes);
+        if (!mouvement.isPresent()) {
+            if (!compteDAO.existeCompte(numeroCompteSource)) {
+                throw new CompteNonTrouveException("Compte source non trouvé : " + numeroCompteSource);
             }
+            throw new SoldeInsuffisantException("Fonds insuffisants sur le compte source " + numeroCompteSource + " pour un virement de " + Montant.formater(montantCentimes) + " EUR.");
+        }
+        return mouvement.get();
+    }
 
-            connection.commit(); // Confirmer la transaction SQL
-            System.out.println("Virement de " + montant + " EUR de " + numeroCompteSource + " vers " + numeroCompteDestination + " effectué avec succès.");
-
-        } catch (SQLException | SoldeInsuffisantException | CompteNonTrouveException | IllegalArgumentException e) {
-            if (connection != null) {
-                try {
-                    connection.rollback(); // Annuler la transaction SQL en cas d'erreur
-                    System.err.println("Virement annulé en raison d'une erreur.");
-                } catch (SQLException rollbackEx) {
-                    System.err.println("Erreur lors de l'annulation de la transaction: " + rollbackEx.getMessage());
-                }
-            }
-            // Rendre l'exception originale pour que l'appelant puisse la gérer
-            if (e instanceof SQLException) {
-                throw (SQLException)e;
-            } else if (e instanceof SoldeInsuffisantException) {
-                throw (SoldeInsuffisantException) e;
-            } else if (e instanceof CompteNonTrouveException) {
-                throw (CompteNonTrouveException) e;
-            } else { // IllegalArgumentException
-                throw (IllegalArgumentException) e;
-            }
-        } finally {
-            if (connection != null) {
-                try {
-                    connection.setAutoCommit(true); // Rétablir le mode auto-commit
-                } catch (SQLException e) {
-                    System.err.println("Erreur lors du rétablissement de l'auto-commit : " + e.getMessage());
-                }
-                DatabaseConnection.closeConnection(connection); // Fermer la connexion
-            }
+    private MouvementSolde crediterDestination(String numeroCompteDestination, long montantCentimes) throws SQLException {
+        Optional<MouvementSolde> mouvement = compteDAO.crediter(numeroCompteDestination, montantCentimes);
+        if (!mouvement.isPresent()) {
+            throw new CompteNonTrouveException("Compte destination non trouvé : " + numeroCompteDestination);
         }
+        return mouvement.get();
     }
 
     /**
@@ -143,4 +145,17 @@ public class TransactionService {
     public List<Transaction> getHistoriqueTransactions(String numeroCompte) throws SQLException {
         return transactionDAO.getTransactionsByCompteNumero(numeroCompte);
     }
+
+    /**
+     * Récupère une page de l'historique des transactions d'un compte, de la plus récente à la plus ancienne.
+     * Pour lire la page suivante, passer le curseur retourné (getSuivant()) dans critere.setApres(...).
+     *
+     * @param numeroCompte Le numéro du compte.
+     * @param critere La taille de page, le curseur de reprise et les filtres facultatifs (période, type).
+     * @return La page de transactions et le curseur de la page suivante (null si c'est la dernière).
+     * @throws SQLException En cas d'erreur de base de données.
+     */
+    public PageTransactions getHistoriqueTransactions(String numeroCompte, CritereHistorique critere) throws SQLException {
+        return transactionDAO.getTransactionsPage(numeroCompte, critere);
+    }
 }
@@ -0,0 +1,229 @@
+// src/main/java/com/banksystem/util/CacheLRU.java
+package com.banksystem.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Cache borné en taille (éviction LRU) et en durée de vie (TTL).
+ * Les entrées sont réparties sur plusieurs segments indépendants pour limiter la contention
+ * entre threads ; chaque segment est une LinkedHashMap en ordre d'accès.
+ *
+ * @param <K> Le type des clés.
+ * @param <V> Le type des valeurs.
+ */
+public class CacheLRU<K, V> {
+
+    private static final int NOMBRE_SEGMENTS = 16;
+
+    private final String nom;
+    private final long dureeVieNanos;
+    private final Segment[] segments;
+
+    private final LongAdder succes = new LongAdder();
+    private final LongAdder echecs = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * @param nom Le nom du cache (pour les statistiques).
+     * @param tailleMax Le nombre maximal d'entrées.
+     * @param dureeVieMillis La durée de vie d'une entrée, en millisecondes.
+     */
+    @SuppressWarnings("unchecked")
+    public CacheLRU(String nom, int tailleMax, long dureeVieMillis) {
+        if (tailleMax <= 0) {
+            throw new IllegalArgumentException("La taille du cache doit être positive.");
+        }
+        this.nom = nom;
+        this.dureeVieNanos = TimeUnit.MILLISECONDS.toNanos(dureeVieMillis);
+        this.segments = new CacheLRU.Segment[NOMBRE_SEGMENTS];
+        int tailleSegment = Math.max(1, (tailleMax + NOMBRE_SEGMENTS - 1) / NOMBRE_SEGMENTS);
+        for (int i = 0; i < NOMBRE_SEGMENTS; i++) {
+            segments[i] = new Segment(tailleSegment);
+        }
+    }
+
+    /**
+     * Retourne la valeur associée à la clé si elle est présente et non expirée.
+     *
+     * @param cle La clé recherchée.
+     * @return La valeur, ou null si absente ou expirée.
+     */
+    public V get(K cle) {
+        Segment segment = segment(cle);
+        synchronized (segment) {
+            Entree<V> entree = segment.map.get(cle);
+            if (entree != null) {
+                if (System.nanoTime() - entree.dateInsertion < dureeVieNanos) {
+                    succes.increment();
+                    return entree.valeur;
+                }
+                segment.map.remove(cle);
+                expirations.increment();
+            }
+        }
+        echecs.increment();
+        return null;
+    }
+
+    public void put(K cle, V valeur) {
+        Segment segment = segment(cle);
+        synchronized (segment) {
+            segment.map.put(cle, new Entree<>(valeur, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Retourne un jeton à lire avant de charger une valeur depuis la source (ex: la base de données),
+     * puis à passer à {@link #putSiInchange(Object, Object, long)}.
+     *
+     * @param cle La clé qui va être chargée.
+     * @return Le jeton de génération courant pour cette clé.
+     */
+    public long jeton(K cle) {
+        Segment segment = segment(cle);
+        synchronized (segment) {
+            return segment.generation;
+        }
+    }
+
+    /**
+     * Ajoute une valeur seulement si aucune invalidation n'a touché son segment depuis la lecture du jeton :
+     * une valeur lue en base juste avant une mise à jour concurrente n'est ainsi jamais mise en cache.
+     *
+     * @param cle La clé.
+     * @param valeur La valeur chargée.
+     * @param jeton Le jeton obtenu par {@link #jeton(Object)} avant le chargement.
+     */
+    public void putSiInchange(K cle, V valeur, long jeton) {
+        Segment segment = segment(cle);
+        synchronized (segment) {
+            if (segment.generation == jeton) {
+                segment.map.put(cle, new Entree<>(valeur, System.nanoTime()));
+            }
+        }
+    }
+
+    public void invalider(K cle) {
+        Segment segment = segment(cle);
+        synchronized (segment) {
+            segment.generation++;
+            if (segment.map.remove(cle) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    /**
+     * Invalide toutes les entrées dont la valeur satisfait le prédicat (parcours complet du cache).
+     *
+     * @param predicat La condition d'invalidation.
+     */
+    public void invaliderSi(Predicate<V> predicat) {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.generation++;
+                Iterator<Entree<V>> it = segment.map.values().iterator();
+                while (it.hasNext()) {
+                    if (predicat.test(it.next().valeur)) {
+                        it.remove();
+                        invalidations.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    public void vider() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.generation++;
+                segment.map.clear();
+            }
+        }
+    }
+
+    public int getTaille() {
+        int taille = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                taille += segment.map.size();
+            }
+        }
+        return taille;
+    }
+
+    // --- Statistiques ---
+    public long getSucces() {
+        return succes.sum();
+    }
+
+    public long getEchecs() {
+        return echecs.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    private Segment segment(K cle) {
+        int h = cle.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (NOMBRE_SEGMENTS - 1)];
+    }
+
+    @Override
+    public String toString() {
+        return "CacheLRU{" +
+                "nom='" + nom + '\'' +
+                ", taille=" + getTaille() +
+                ", succes=" + getSucces() +
+                ", echecs=" + getEchecs() +
+                ", evictions=" + getEvictions() +
+                ", expirations=" + getExpirations() +
+                ", invalidations=" + getInvalidations() +
+                '}';
+    }
+
+    private static final class Entree<V> {
+        private final V valeur;
+        private final long dateInsertion;
+
+        private Entree(V valeur, long dateInsertion) {
+            this.valeur = valeur;
+            this.dateInsertion = dateInsertion;
+        }
+    }
+
+    private final class Segment {
+        private final LinkedHashMap<K, Entree<V>> map;
+        private long generation; // Incrémentée à chaque invalidation touchant ce segment
+
+        private Segment(int tailleMax) {
+            this.map = new LinkedHashMap<K, Entree<V>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entree<V>> plusAncienne) {
+                    if (size() > tailleMax) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,327 @@
+// src/main/java/com/banksystem/util/ConnectionPool.java
+package com.banksystem.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool borné de connexions JDBC.
+ * Les connexions retournées sont des proxys : appeler close() rend la connexion physique
+ * au pool au lieu de la fermer, ce qui permet aux DAO de garder leur code inchangé.
+ */
+public class ConnectionPool {
+
+    private static final Journal JOURNAL = Journal.pour(ConnectionPool.class);
+
+    private final String jdbcUrl;
+    private final String user;
+    private final String password;
+    private final int tailleMin;
+    private final int tailleMax;
+    private final long delaiEmpruntMillis;
+    private final long delaiInactiviteMillis;
+    private final long intervalleValidationMillis;
+    // 0 désactive la détection des fuites, et avec elle la capture de la pile à chaque emprunt.
+    private final long seuilFuiteMillis;
+
+    // Les permis bornent le nombre de connexions empruntées simultanément.
+    private final Semaphore permis;
+    // Pile LIFO : la connexion la plus récemment rendue est la plus "chaude".
+    private final LinkedBlockingDeque<ConnexionPhysique> inactives = new LinkedBlockingDeque<>();
+    private final Set<ConnexionPhysique> empruntees = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger enAttente = new AtomicInteger();
+    private final PoolMetrics metriques;
+    private final ScheduledExecutorService maintenance;
+    private volatile boolean ferme = false;
+
+    public ConnectionPool(String jdbcUrl, String user, String password, int tailleMin, int tailleMax,
+                          long delaiEmpruntMillis, long delaiInactiviteMillis,
+                          long intervalleValidationMillis, long seuilFuiteMillis) {
+        if (tailleMin < 0 || tailleMax <= 0 || tailleMin > tailleMax) {
+            throw new IllegalArgumentException("Tailles de pool invalides : min=" + tailleMin + ", max=" + tailleMax);
+        }
+        this.jdbcUrl = jdbcUrl;
+        this.user = user;
+        this.password = password;
+        this.tailleMin = tailleMin;
+        this.tailleMax = tailleMax;
+        this.delaiEmpruntMillis = delaiEmpruntMillis;
+        this.delaiInactiviteMillis = delaiInactiviteMillis;
+        this.intervalleValidationMillis = intervalleValidationMillis;
+        this.seuilFuiteMillis = seuilFuiteMillis;
+        this.permis = new Semaphore(tailleMax, true);
+        this.metriques = new PoolMetrics(this);
+
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "pool-connexions-maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+        long periode = Math.max(1_000L, Math.min(delaiInactiviteMillis, seuilFuiteMillis > 0 ? seuilFuiteMillis : Long.MAX_VALUE) / 2);
+        this.maintenance.scheduleWithFixedDelay(this::maintenir, periode, periode, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Emprunte une connexion au pool, en attendant au plus le délai d'emprunt configuré.
+     *
+     * @return Une connexion dont close() la rend au pool.
+     * @throws SQLException Si aucune connexion n'est disponible à temps ou si la création échoue.
+     */
+    public Connection emprunter() throws SQLException {
+        if (ferme) {
+            throw new SQLException("Le pool de connexions est fermé.");
+        }
+        long debut = System.nanoTime();
+        enAttente.incrementAndGet();
+        boolean obtenu;
+        try {
+            obtenu = permis.tryAcquire(delaiEmpruntMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompu en attendant une connexion du pool.", e);
+        } finally {
+            enAttente.decrementAndGet();
+        }
+        if (!obtenu) {
+            metriques.enregistrerExpirationEmprunt();
+            throw new SQLException("Aucune connexion disponible après " + delaiEmpruntMillis + " ms (pool de " + tailleMax + " connexions saturé).");
+        }
+
+        try {
+            ConnexionPhysique connexion = obtenirConnexionValide();
+            connexion.marquerEmpruntee(seuilFuiteMillis > 0);
+            empruntees.add(connexion);
+            metriques.enregistrerAttente(System.nanoTime() - debut);
+            return connexion.creerProxy();
+        } catch (SQLException | RuntimeException e) {
+            permis.release();
+            throw e;
+        }
+    }
+
+    private ConnexionPhysique obtenirConnexionValide() throws SQLException {
+        ConnexionPhysique connexion;
+        while ((connexion = inactives.pollFirst()) != null) {
+            if (estValide(connexion)) {
+                return connexion;
+            }
+            metriques.enregistrerValidationEchouee();
+            detruire(connexion);
+        }
+        return creerConnexion();
+    }
+
+    private boolean estValide(ConnexionPhysique connexion) {
+        // On ne "ping" la base que si la connexion est restée inactive assez longtemps.
+        if (System.currentTimeMillis() - connexion.derniereUtilisation < intervalleValidationMillis) {
+            return true;
+        }
+        try {
+            return connexion.physique.isValid(5);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private ConnexionPhysique creerConnexion() throws SQLException {
+        Connection physique = DriverManager.getConnection(jdbcUrl, user, password);
+        metriques.enregistrerCreation();
+        return new ConnexionPhysique(physique);
+    }
+
+    private void rendre(ConnexionPhysique connexion) {
+        empruntees.remove(connexion);
+        try {
+            if (ferme || connexion.physique.isClosed()) {
+                detruire(connexion);
+                return;
+            }
+            // Remettre la connexion dans un état neutre pour le prochain emprunteur.
+            if (!connexion.physique.getAutoCommit()) {
+                connexion.physique.rollback();
+                connexion.physique.setAutoCommit(true);
+            }
+            connexion.physique.clearWarnings();
+            connexion.marquerRendue();
+            inactives.offerFirst(connexion);
+        } catch (SQLException e) {
+            JOURNAL.avertissement("Connexion retirée du pool après une erreur de réinitialisation : {}", e.getMessage());
+            detruire(connexion);
+        } finally {
+            permis.release();
+        }
+    }
+
+    private void detruire(ConnexionPhysique connexion) {
+        try {
+            connexion.physique.close();
+        } catch (SQLException e) {
+            JOURNAL.avertissement("Erreur lors de la fermeture d'une connexion du pool : {}", e.getMessage());
+        }
+        metriques.enregistrerDestruction();
+    }
+
+    /**
+     * Tâche périodique : éviction des connexions inactives au-delà du minimum,
+     * remplissage jusqu'au minimum et détection des connexions empruntées trop longtemps.
+     */
+    private void maintenir() {
+        if (ferme) {
+            return;
+        }
+        long maintenant = System.currentTimeMillis();
+
+        Iterator<ConnexionPhysique> it = inactives.descendingIterator(); // Les plus anciennes d'abord
+        while (it.hasNext() && inactives.size() + empruntees.size() > tailleMin) {
+            ConnexionPhysique connexion = it.next();
+            if (maintenant - connexion.derniereUtilisation >= delaiInactiviteMillis && inactives.remove(connexion)) {
+                detruire(connexion);
+            }
+        }
+
+        while (inactives.size() + empruntees.size() < tailleMin) {
+            try {
+                inactives.offerLast(creerConnexion());
+            } catch (SQLException e) {
+                JOURNAL.avertissement("Impossible de préchauffer le pool de connexions : {}", e.getMessage());
+                break;
+            }
+        }
+
+        if (seuilFuiteMillis > 0) {
+            for (ConnexionPhysique connexion : empruntees) {
+                if (!connexion.fuiteSignalee && maintenant - connexion.dateEmprunt >= seuilFuiteMillis) {
+                    connexion.fuiteSignalee = true;
+                    metriques.enregistrerFuite();
+                    if (connexion.pileEmprunt != null) {
+                        JOURNAL.avertissement("Fuite de connexion probable : empruntée depuis " + (maintenant - connexion.dateEmprunt) + " ms.", connexion.pileEmprunt);
+                    } else {
+                        JOURNAL.avertissement("Fuite de connexion probable : empruntée depuis {} ms.", maintenant - connexion.dateEmprunt);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Ferme le pool : les connexions inactives sont fermées immédiatement,
+     * les connexions empruntées le seront à leur restitution.
+     */
+    public void fermer() {
+        ferme = true;
+        maintenance.shutdownNow();
+        ConnexionPhysique connexion;
+        while ((connexion = inactives.pollFirst()) != null) {
+            detruire(connexion);
+        }
+    }
+
+    public PoolMetrics getMetriques() {
+        return metriques;
+    }
+
+    public int getTailleMax() {
+        return tailleMax;
+    }
+
+    int getNombreActives() {
+        return empruntees.size();
+    }
+
+    int getNombreInactives() {
+        return inactives.size();
+    }
+
+    int getNombreEnAttente() {
+        return enAttente.get();
+    }
+
+    /**
+     * Connexion physique gérée par le pool, avec les informations d'emprunt.
+     */
+    private final class ConnexionPhysique {
+        private final Connection physique;
+        private volatile long derniereUtilisation = System.currentTimeMillis();
+        private volatile long dateEmprunt;
+        private volatile Throwable pileEmprunt;
+        private volatile boolean fuiteSignalee;
+
+        private ConnexionPhysique(Connection physique) {
+            this.physique = physique;
+        }
+
+        private void marquerEmpruntee(boolean capturerPile) {
+            dateEmprunt = System.currentTimeMillis();
+            fuiteSignalee = false;
+            pileEmprunt = capturerPile ? new Throwable("Connexion empruntée ici") : null;
+        }
+
+        private void marquerRendue() {
+            derniereUtilisation = System.currentTimeMillis();
+            pileEmprunt = null;
+        }
+
+        private Connection creerProxy() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new GestionnaireProxy(this));
+        }
+    }
+
+    /**
+     * Intercepte close()/isClosed() ; tous les autres appels sont délégués à la connexion physique.
+     * Chaque emprunt a son propre proxy, de sorte qu'un double close() ne rend la connexion qu'une fois.
+     */
+    private final class GestionnaireProxy implements InvocationHandler {
+        private final ConnexionPhysique connexion;
+        private boolean rendue = false;
+
+        private GestionnaireProxy(ConnexionPhysique connexion) {
+            this.connexion = connexion;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!rendue) {
+                        rendue = true;
+                        rendre(connexion);
+                    }
+                    return null;
+                case "isClosed":
+                    return rendue || connexion.physique.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConnexionPool[" + connexion.physique + (rendue ? ", rendue" : "") + "]";
+                default:
+                    if (rendue) {
+                        throw new SQLException("Connexion déjà rendue au pool.");
+                    }
+                    try {
+                        return method.invoke(connexion.physique, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -2,35 +2,101 @@
 package com.banksystem.util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DatabaseConnection {
 
-    private static final String JDBC_URL = "jdbc:mysql://localhost:3306/banking_system_db";
-    private static final String USER = "root";
-    private static final String PASSWORD = "";
+    private static final Journal JOURNAL = Journal.pour(DatabaseConnection.class);
+
+    // Chaque paramètre peut être surchargé au lancement via -Dbanksystem.db.<clé>=<valeur>.
+    // rewriteBatchedStatements : le pilote MySQL regroupe les lots d'INSERT (addBatch) en une seule instruction.
+    private static final String JDBC_URL = System.getProperty("banksystem.db.url", "jdbc:mysql://localhost:3306/banking_system_db?rewriteBatchedStatements=true");
+    private static final String USER = System.getProperty("banksystem.db.user", "root");
+    private static final String PASSWORD = System.getProperty("banksystem.db.password", "");
+
+    private static final int POOL_TAILLE_MIN = Integer.getInteger("banksystem.db.pool.min", 2);
+    private static final int POOL_TAILLE_MAX = Integer.getInteger("banksystem.db.pool.max", 10);
+    private static final long POOL_DELAI_EMPRUNT_MS = Long.getLong("banksystem.db.pool.delaiEmpruntMs", 5_000L);
+    private static final long POOL_DELAI_INACTIVITE_MS = Long.getLong("banksystem.db.pool.delaiInactiviteMs", 300_000L);
+    private static final long POOL_INTERVALLE_VALIDATION_MS = Long.getLong("banksystem.db.pool.intervalleValidationMs", 30_000L);
+    // Détection des fuites désactivée par défaut : elle capture la pile d'appel à chaque emprunt.
+    private static final long POOL_SEUIL_FUITE_MS = Long.getLong("banksystem.db.pool.seuilFuiteMs", 0L); // 0 = désactivé
 
     /**
-     * Établit et retourne une connexion à la base de données.
+     * Le pool n'est créé qu'au premier accès (idiome du "holder"), ce qui charge le pilote une seule fois.
+     */
+    private static final class PoolHolder {
+        private static final ConnectionPool POOL = creerPool();
+
+        private static ConnectionPool creerPool() {
+            // La ligne suivante n'est plus strictement nécessaire avec JDBC 4.0+
+            // car le pilote se charge automatiquement, mais peut être utile pour la clarté.
+            // Les autres bases (ex: H2 en mémoire pour les benchmarks) utilisent le pilote enregistré pour leur URL.
+            if (JDBC_URL.startsWith("jdbc:mysql:")) {
+                try {
+                    Class.forName("com.mysql.cj.jdbc.Driver");
+                } catch (ClassNotFoundException e) {
+                    JOURNAL.avertissement("Le pilote JDBC MySQL n'a pas été trouvé, utilisation du pilote enregistré pour {}", JDBC_URL);
+                }
+            }
+            return new ConnectionPool(JDBC_URL, USER, PASSWORD, POOL_TAILLE_MIN, POOL_TAILLE_MAX,
+                    POOL_DELAI_EMPRUNT_MS, POOL_DELAI_INACTIVITE_MS, POOL_INTERVALLE_VALIDATION_MS, POOL_SEUIL_FUITE_MS);
+        }
+    }
+
+    /**
+     * Retourne une connexion à la base de données.
+     * Si une unité de travail ({@link UnitOfWork}) est active sur le thread courant, sa connexion
+     * transactionnelle est retournée ; sinon une connexion est empruntée au pool.
+     * Dans les deux cas, fermer la connexion obtenue (close() ou closeConnection) est sans risque.
      *
      * @return Un objet Connection pour interagir avec la base de données.
-     * @throws SQLException Si une erreur de connexion à la base de données se produit.
+     * @throws SQLException Si aucune connexion n'est disponible ou si la connexion à la base échoue.
      */
     public static Connection getConnection() throws SQLException {
-        // La ligne suivante n'est plus strictement nécessaire avec JDBC 4.0+
-        // car le pilote se charge automatiquement, mais peut être utile pour la clarté.
-        try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-        } catch (ClassNotFoundException e) {
-            System.err.println("Erreur: Le pilote JDBC MySQL n'a pas été trouvé.");
-            throw new SQLException("Pilote JDBC manquant", e);
+        Connection connexionTransactionnelle = UnitOfWork.connexionCourante();
+        if (connexionTransactionnelle != null) {
+            return connexionTransactionnelle;
         }
-        return DriverManager.getConnection(JDBC_URL, USER, PASSWORD);
+        return emprunterAuPool();
+    }
+
+    static Connection emprunterAuPool() throws SQLException {
+        return PoolHolder.POOL.emprunter();
+    }
+
+    /**
+     * Retourne les métriques du pool (connexions actives, inactives, attentes...).
+     *
+     * @return Les métriques du pool de connexions.
+     */
+    public static PoolMetrics getMetriquesPool() {
+        return PoolHolder.POOL.getMetriques();
+    }
+
+    /**
+     * Retourne la taille maximale du pool, c'est-à-dire le nombre maximal de connexions simultanées.
+     *
+     * @return La taille maximale du pool.
+     */
+    public static int getTailleMaxPool() {
+        return POOL_TAILLE_MAX;
+    }
+
+    /**
+     * Ferme le pool de connexions (à appeler à l'arrêt de l'application).
+     */
+    public static void fermerPool() {
+        PoolHolder.POOL.fermer();
     }
 
     /**
      * Ferme une connexion à la base de données en toute sécurité.
+     * Pour une connexion issue du pool, cela la rend au pool.
+     * <p>
+     * Dans les blocs finally des DAO, l'ordre de fermeture est toujours ResultSet, Statement, puis la connexion
+     * en dernier : une connexion rendue au pool peut être empruntée aussitôt par un autre thread, et un
+     * Statement fermé après coup agirait sur une connexion qui ne nous appartient plus.
      *
      * @param connection La connexion à fermer.
      */
@@ -39,7 +105,7 @@ public class DatabaseConnection {
             try {
                 connection.close();
             } catch (SQLException e) {
-                System.err.println("Erreur lors de la fermeture de la connexion à la base de données : " + e.getMessage());
+                JOURNAL.avertissement("Erreur lors de la fermeture de la connexion à la base de données : {}", e.getMessage());
             }
         }
     }
@@ -0,0 +1,251 @@
+// src/main/java/com/banksystem/util/FiltreBloom.java
+package com.banksystem.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtre de Bloom sur des identifiants (emails, logins) : répond "absent à coup sûr" ou "peut-être présent".
+ * Un identifiant absent du filtre n'existe pas en base, la requête peut être évitée ; un "peut-être" se vérifie
+ * en base, et s'il n'y est pas, l'appelant le signale ({@link #signalerFauxPositif()}) pour mesurer le taux
+ * de faux positifs réel.
+ * <p>
+ * Le filtre est dimensionné pour une capacité et un taux de faux positifs visés (environ 9,6 bits par
+ * identifiant pour 1 %). Il ne sait pas retirer un identifiant : un client supprimé ou un email modifié laisse
+ * ses bits, ce qui ne produit que des faux positifs. Au-delà de la capacité, le taux de faux positifs monte ;
+ * {@link #getTauxFauxPositifsEstime()} et {@link #getTauxFauxPositifsObserve()} indiquent quand l'agrandir.
+ * <p>
+ * Les identifiants sont comparés sans tenir compte de la casse, des accents ni des espaces en bordure, comme
+ * les collations "_ci" de MySQL : deux identifiants égaux pour la base ont toujours les mêmes bits.
+ * <p>
+ * Le filtre n'est utilisable qu'une fois chargé avec les identifiants existants
+ * ({@link #demarrerChargement()} puis {@link #terminerChargement(boolean)}) ; les ajouts faits pendant le
+ * chargement sont conservés. Un chargement n'est valable que pour sa durée de vie : le filtre ne voit pas les
+ * identifiants créés hors de cette JVM, il doit donc être rechargé régulièrement, et tant qu'il ne l'est pas,
+ * {@link #estCharge()} retourne false et les recherches doivent interroger la base.
+ */
+public class FiltreBloom {
+
+    private final String nom;
+    private final int capacite;
+    private final double tauxFauxPositifsVise;
+    private final long nombreBits;
+    private final int nombreHachages;
+    private final AtomicLongArray bits;
+
+    private final long dureeVieMillis;
+    private final AtomicBoolean chargementDemarre = new AtomicBoolean();
+    private volatile boolean charge;
+    private volatile long debutChargementMillis;
+    private volatile long chargeLeMillis;
+
+    private final LongAdder ajouts = new LongAdder();
+    private final LongAdder requetes = new LongAdder();
+    private final LongAdder absents = new LongAdder();
+    private final LongAdder fauxPositifs = new LongAdder();
+
+    /**
+     * @param nom Le nom du filtre (pour les statistiques).
+     * @param capacite Le nombre d'identifiants prévu.
+     * @param tauxFauxPositifs Le taux de faux positifs visé à pleine capacité (ex: 0.01).
+     * @param dureeVieMillis La durée de validité d'un chargement, comptée depuis son début (0 = illimitée).
+     */
+    public FiltreBloom(String nom, int capacite, double tauxFauxPositifs, long dureeVieMillis) {
+        if (capacite <= 0 || tauxFauxPositifs <= 0 || tauxFauxPositifs >= 1 || dureeVieMillis < 0) {
+            throw new IllegalArgumentException("Capacité positive, taux de faux positifs dans ]0, 1[ et durée de vie positive attendus.");
+        }
+        this.nom = nom;
+        this.dureeVieMillis = dureeVieMillis;
+        this.capacite = capacite;
+        this.tauxFauxPositifsVise = tauxFauxPositifs;
+        double bitsOptimaux = -capacite * Math.log(tauxFauxPositifs) / (Math.log(2) * Math.log(2));
+        int mots = (int) Math.min(Integer.MAX_VALUE - 8, (long) Math.ceil(bitsOptimaux / 64));
+        this.bits = new AtomicLongArray(mots);
+        this.nombreBits = (long) mots * 64;
+        this.nombreHachages = Math.max(1, (int) Math.round((double) nombreBits / capacite * Math.log(2)));
+    }
+
+    /**
+     * Ajoute un identifiant.
+     *
+     * @param cle L'identifiant (email, login).
+     */
+    public void ajouter(String cle) {
+        long h = hacher(normaliser(cle));
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < nombreHachages; i++) {
+            long bit = position(h1, h2, i);
+            int mot = (int) (bit >>> 6);
+            long masque = 1L << bit;
+            long valeur = bits.get(mot);
+            while ((valeur & masque) == 0 && !bits.compareAndSet(mot, valeur, valeur | masque)) {
+                valeur = bits.get(mot);
+            }
+        }
+        ajouts.increment();
+    }
+
+    /**
+     * Indique si l'identifiant peut exister.
+     *
+     * @param cle L'identifiant recherché.
+     * @return false si l'identifiant n'a jamais été ajouté (certain), true s'il l'a peut-être été.
+     */
+    public boolean peutContenir(String cle) {
+        requetes.increment();
+        long h = hacher(normaliser(cle));
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < nombreHachages; i++) {
+            long bit = position(h1, h2, i);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                absents.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Signale qu'un identifiant annoncé "peut-être présent" n'existait pas.
+     */
+    public void signalerFauxPositif() {
+        fauxPositifs.increment();
+    }
+
+    // --- Chargement ---
+
+    /**
+     * Réserve le chargement (initial, ou rechargement d'un filtre expiré) : un seul appelant obtient true et
+     * doit appeler terminerChargement. Les bits existants sont conservés, le chargement ne fait qu'ajouter.
+     *
+     * @return true si l'appelant doit charger le filtre.
+     */
+    public boolean demarrerChargement() {
+        if (estCharge() || !chargementDemarre.compareAndSet(false, true)) {
+            return false;
+        }
+        if (estCharge()) { // Chargement terminé par un autre appelant entre-temps
+            chargementDemarre.set(false);
+            return false;
+        }
+        debutChargementMillis = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * Termine le chargement. En cas d'échec, un prochain appelant pourra le retenter.
+     *
+     * @param reussi true si tous les identifiants existants ont été ajoutés.
+     */
+    public void terminerChargement(boolean reussi) {
+        if (reussi) {
+            // Un identifiant créé ailleurs pendant la lecture a pu être manqué : la validité part du début
+            chargeLeMillis = debutChargementMillis;
+            charge = true;
+        }
+        chargementDemarre.set(false);
+    }
+
+    /**
+     * @return true si le filtre contient tous les identifiants existants au début de son dernier chargement,
+     *         et que ce chargement n'a pas expiré : il peut alors écarter des requêtes.
+     */
+    public boolean estCharge() {
+        return charge && (dureeVieMillis == 0 || System.currentTimeMillis() - chargeLeMillis < dureeVieMillis);
+    }
+
+    // --- Statistiques ---
+    public long getNombreBits() {
+        return nombreBits;
+    }
+
+    public int getNombreHachages() {
+        return nombreHachages;
+    }
+
+    public long getAjouts() {
+        return ajouts.sum();
+    }
+
+    public long getRequetes() {
+        return requetes.sum();
+    }
+
+    /**
+     * Requêtes écartées sans consulter la base.
+     */
+    public long getAbsents() {
+        return absents.sum();
+    }
+
+    public long getFauxPositifs() {
+        return fauxPositifs.sum();
+    }
+
+    /**
+     * Part des identifiants inexistants que le filtre n'a pas écartés.
+     */
+    public double getTauxFauxPositifsObserve() {
+        long inexistants = getAbsents() + getFauxPositifs();
+        return inexistants == 0 ? 0 : (double) getFauxPositifs() / inexistants;
+    }
+
+    /**
+     * Taux de faux positifs théorique pour le nombre d'ajouts actuel : (1 - e^(-k.n/m))^k.
+     */
+    public double getTauxFauxPositifsEstime() {
+        return Math.pow(1 - Math.exp(-(double) nombreHachages * getAjouts() / nombreBits), nombreHachages);
+    }
+
+    private long position(int h1, int h2, int i) {
+        return Math.floorMod(h1 + (long) i * h2, nombreBits); // Double hachage de Kirsch-Mitzenmacher
+    }
+
+    private static String normaliser(String cle) {
+        String resultat = cle.strip().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < resultat.length(); i++) {
+            if (resultat.charAt(i) >= 128) {
+                // Sans accents : "é" et "e" sont égaux pour une collation "_ai_ci"
+                return Normalizer.normalize(resultat, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+            }
+        }
+        return resultat;
+    }
+
+    private static long hacher(String cle) {
+        // FNV-1a 64 bits, puis mélange final de MurmurHash3 pour répartir les bits de poids fort
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < cle.length(); i++) {
+            h ^= cle.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return "FiltreBloom{" +
+                "nom='" + nom + '\'' +
+                ", charge=" + estCharge() +
+                ", capacite=" + capacite +
+                ", bits=" + nombreBits +
+                ", hachages=" + nombreHachages +
+                ", ajouts=" + getAjouts() +
+                ", requetes=" + getRequetes() +
+                ", absents=" + getAbsents() +
+                ", fauxPositifs=" + getFauxPositifs() +
+                String.format(Locale.ROOT, ", tauxFauxPositifsObserve=%.4f, tauxFauxPositifsEstime=%.4f, tauxVise=%.4f",
+                        getTauxFauxPositifsObserve(), getTauxFauxPositifsEstime(), tauxFauxPositifsVise) +
+                '}';
+    }
+}
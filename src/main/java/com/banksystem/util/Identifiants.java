@@ -0,0 +1,197 @@
+// src/main/java/com/banksystem/util/Identifiants.java
+package com.banksystem.util;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Génération des identifiants (clients, comptes, transactions) : un préfixe ("C-", "CC-", "T-"...) suivi de
+ * 13 caractères en base 32 de Crockford (0-9, A-Z sans I, L, O, U), soit un entier de 64 bits.
+ * <p>
+ * Le générateur est choisi au démarrage via -Dbanksystem.identifiants :
+ * <ul>
+ *   <li>{@code ordonne} (défaut) : à la manière de Snowflake, 41 bits de millisecondes depuis le 01/01/2024,
+ *       10 bits de numéro de nœud (-Dbanksystem.noeud, 0 à 1023) et 12 bits de séquence. Les identifiants
+ *       d'un nœud sont strictement croissants, même si l'horloge recule ; deux nœuds de numéros différents ne
+ *       peuvent pas produire le même identifiant. Triés comme des chaînes, ils suivent l'ordre de création :
+ *       les insertions s'ajoutent en fin d'index (clé primaire InnoDB) au lieu de se disperser dans l'arbre.</li>
+ *   <li>{@code aleatoire} : 64 bits aléatoires (ThreadLocalRandom, sans la contention de SecureRandom), pour
+ *       les déploiements où l'ordre de création ne doit pas se lire dans les identifiants.</li>
+ * </ul>
+ * Au-delà de 4 096 identifiants dans la même milliseconde, un nœud emprunte la milliseconde suivante : la
+ * séquence ne déborde jamais sur le numéro de nœud.
+ * <p>
+ * L'unicité entre instances repose entièrement sur le numéro de nœud : chaque instance qui écrit dans la même
+ * base doit recevoir un -Dbanksystem.noeud distinct. Sans cette propriété, le numéro est dérivé du nom d'hôte
+ * et du PID, ce qui ne convient qu'à une instance seule : deux instances peuvent tomber sur le même numéro
+ * (une chance sur 1 024 pour deux instances, bien plus au-delà) et produire alors des clés primaires
+ * identiques. Un avertissement le rappelle au démarrage.
+ */
+public final class Identifiants {
+
+    private static final Journal JOURNAL = Journal.pour(Identifiants.class);
+
+    /** 2024-01-01T00:00:00Z : les 41 bits d'horodatage couvrent jusqu'en 2093. */
+    static final long EPOQUE_MILLIS = 1_704_067_200_000L;
+    static final int BITS_NOEUD = 10;
+    static final int BITS_SEQUENCE = 12;
+    public static final int NOEUD_MAX = (1 << BITS_NOEUD) - 1;
+    private static final long MASQUE_SEQUENCE = (1L << BITS_SEQUENCE) - 1;
+    private static final int DECALAGE_HORODATAGE = BITS_NOEUD + BITS_SEQUENCE;
+
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final int LONGUEUR = 13; // 13 x 5 bits >= 64 bits
+
+    /**
+     * Produit un identifiant unique pour un préfixe donné.
+     */
+    public interface Generateur {
+        String nouveau(String prefixe);
+    }
+
+    private static final int NOEUD = lireNoeud();
+    private static final Generateur GENERATEUR = lireGenerateur();
+
+    private Identifiants() {
+    }
+
+    /**
+     * Nouvel identifiant avec le générateur choisi au démarrage.
+     *
+     * @param prefixe Le préfixe (ex: "CC-").
+     * @return Le préfixe suivi de 13 caractères.
+     */
+    public static String nouveau(String prefixe) {
+        return GENERATEUR.nouveau(prefixe);
+    }
+
+    public static Generateur getGenerateur() {
+        return GENERATEUR;
+    }
+
+    /**
+     * Numéro de ce nœud (celui du générateur ordonné par défaut).
+     */
+    public static int getNoeud() {
+        return NOEUD;
+    }
+
+    /**
+     * Générateur ordonné pour un numéro de nœud donné. Un seul générateur par nœud et par JVM : deux
+     * générateurs du même nœud produiraient les mêmes identifiants.
+     *
+     * @param noeud Le numéro de nœud, de 0 à {@link #NOEUD_MAX}.
+     */
+    public static Generateur ordonne(int noeud) {
+        return new Ordonne(noeud);
+    }
+
+    public static Generateur aleatoire() {
+        return prefixe -> prefixe + encoder(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Milliseconde de création d'un identifiant ordonné (utile pour le diagnostic).
+     *
+     * @param identifiant Un identifiant produit par un générateur ordonné.
+     * @return Les millisecondes depuis le 01/01/1970 (UTC).
+     * @throws IllegalArgumentException Si l'identifiant n'est pas au format attendu.
+     */
+    public static long horodatageMillis(String identifiant) {
+        return (decoder(identifiant) >>> DECALAGE_HORODATAGE) + EPOQUE_MILLIS;
+    }
+
+    private static final class Ordonne implements Generateur {
+        private final long noeud;
+        private final AtomicLong dernier = new AtomicLong();
+
+        Ordonne(int noeud) {
+            if (noeud < 0 || noeud > NOEUD_MAX) {
+                throw new IllegalArgumentException("Numéro de nœud hors de [0, " + NOEUD_MAX + "] : " + noeud);
+            }
+            this.noeud = noeud;
+        }
+
+        @Override
+        public String nouveau(String prefixe) {
+            return prefixe + encoder(suivant());
+        }
+
+        long suivant() {
+            long candidat = ((System.currentTimeMillis() - EPOQUE_MILLIS) << DECALAGE_HORODATAGE) | (noeud << BITS_SEQUENCE);
+            while (true) {
+                long precedent = dernier.get();
+                long valeur;
+                if (candidat > precedent) {
+                    valeur = candidat;
+                } else if ((precedent & MASQUE_SEQUENCE) != MASQUE_SEQUENCE) {
+                    valeur = precedent + 1;
+                } else { // Séquence épuisée (ou horloge en retard) : milliseconde suivante, même nœud
+                    valeur = (((precedent >>> DECALAGE_HORODATAGE) + 1) << DECALAGE_HORODATAGE) | (noeud << BITS_SEQUENCE);
+                }
+                if (dernier.compareAndSet(precedent, valeur)) {
+                    return valeur;
+                }
+            }
+        }
+    }
+
+    /**
+     * Encode 64 bits (non signés) sur 13 caractères de largeur fixe : l'ordre des chaînes est celui des entiers.
+     */
+    static String encoder(long valeur) {
+        char[] caracteres = new char[LONGUEUR];
+        for (int i = LONGUEUR - 1; i >= 0; i--) {
+            caracteres[i] = ALPHABET.charAt((int) (valeur & 31));
+            valeur >>>= 5;
+        }
+        return new String(caracteres);
+    }
+
+    private static long decoder(String identifiant) {
+        if (identifiant.length() < LONGUEUR) {
+            throw new IllegalArgumentException("Identifiant trop court : " + identifiant);
+        }
+        long valeur = 0;
+        for (int i = identifiant.length() - LONGUEUR; i < identifiant.length(); i++) {
+            int chiffre = ALPHABET.indexOf(identifiant.charAt(i));
+            if (chiffre < 0) {
+                throw new IllegalArgumentException("Identifiant invalide : " + identifiant);
+            }
+            valeur = (valeur << 5) | chiffre;
+        }
+        return valeur;
+    }
+
+    private static int lireNoeud() {
+        Integer configure = Integer.getInteger("banksystem.noeud");
+        if (configure != null) {
+            return configure;
+        }
+        String hote;
+        try {
+            hote = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            hote = "inconnu";
+        }
+        int noeud = (31 * hote.hashCode() + Long.hashCode(ProcessHandle.current().pid())) & NOEUD_MAX;
+        JOURNAL.avertissement("Numéro de nœud des identifiants dérivé de l'hôte et du PID : {}. Sûr pour une instance seule"
+                + " uniquement : fixer un -Dbanksystem.noeud distinct (0 à {}) par instance qui écrit dans la base.", noeud, NOEUD_MAX);
+        return noeud;
+    }
+
+    private static Generateur lireGenerateur() {
+        String valeur = System.getProperty("banksystem.identifiants", "ordonne");
+        switch (valeur.trim().toLowerCase()) {
+            case "ordonne":
+                return ordonne(NOEUD);
+            case "aleatoire":
+                return aleatoire();
+            default:
+                throw new IllegalStateException("Générateur d'identifiants inconnu (-Dbanksystem.identifiants) : " + valeur
+                        + " ; valeurs possibles : ordonne, aleatoire.");
+        }
+    }
+}
@@ -0,0 +1,298 @@
+// src/main/java/com/banksystem/util/Journal.java
+package com.banksystem.util;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Journal applicatif asynchrone.
+ * <p>
+ * Les threads métier ne font aucune entrée/sortie : un événement (niveau, source, format et arguments)
+ * est déposé dans une file bornée, et un unique thread d'écriture le met en forme puis l'écrit sur la
+ * console (System.err à partir du niveau AVERTISSEMENT, System.out sinon). Si la file est pleine,
+ * l'événement est abandonné et compté plutôt que de ralentir l'appelant.
+ * <p>
+ * Les méthodes à arité fixe évitent le tableau des varargs ; un message sous le niveau minimal
+ * (-Dbanksystem.journal.niveau, INFO par défaut) est rejeté sans allocation. Sur un chemin critique,
+ * la construction des arguments eux-mêmes peut être protégée par {@link #estActif(Niveau)}.
+ */
+public final class Journal {
+
+    public enum Niveau {
+        TRACE, DEBUG, INFO, AVERTISSEMENT, ERREUR
+    }
+
+    private static final int CAPACITE = Integer.getInteger("banksystem.journal.capacite", 8_192);
+    private static final int TAILLE_LOT_ECRITURE = 256;
+
+    private static final ArrayBlockingQueue<Evenement> FILE = new ArrayBlockingQueue<>(CAPACITE);
+    private static final AtomicLong PUBLIES = new AtomicLong();
+    private static final AtomicLong TRAITES = new AtomicLong(); // Écrits ou abandonnés
+    private static final LongAdder PERDUS = new LongAdder();
+    private static volatile Niveau niveauMinimal = lireNiveau();
+
+    static {
+        Thread ecrivain = new Thread(Journal::ecrire, "journal-ecrivain");
+        ecrivain.setDaemon(true);
+        ecrivain.start();
+        // Les événements encore en file à l'arrêt de la JVM sont écrits avant la sortie.
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> vider(1_000), "journal-arret"));
+    }
+
+    private final String source;
+
+    private Journal(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Retourne le journal d'une classe (le nom simple de la classe apparaît dans chaque ligne).
+     *
+     * @param classe La classe émettrice.
+     * @return Le journal de la classe.
+     */
+    public static Journal pour(Class<?> classe) {
+        return new Journal(classe.getSimpleName());
+    }
+
+    public static Niveau getNiveau() {
+        return niveauMinimal;
+    }
+
+    public static void setNiveau(Niveau niveau) {
+        niveauMinimal = niveau;
+    }
+
+    /**
+     * Nombre d'événements abandonnés parce que la file était pleine.
+     */
+    public static long getEvenementsPerdus() {
+        return PERDUS.sum();
+    }
+
+    public boolean estActif(Niveau niveau) {
+        return niveau.ordinal() >= niveauMinimal.ordinal();
+    }
+
+    // --- DEBUG ---
+    public void debug(String message) {
+        publier(Niveau.DEBUG, message, null, null, null, null);
+    }
+
+    public void debug(String format, Object a) {
+        publier(Niveau.DEBUG, format, a, null, null, null);
+    }
+
+    public void debug(String format, Object a, Object b) {
+        publier(Niveau.DEBUG, format, a, b, null, null);
+    }
+
+    public void debug(String format, Object a, Object b, Object c) {
+        publier(Niveau.DEBUG, format, a, b, c, null);
+    }
+
+    // --- INFO ---
+    public void info(String message) {
+        publier(Niveau.INFO, message, null, null, null, null);
+    }
+
+    public void info(String format, Object a) {
+        publier(Niveau.INFO, format, a, null, null, null);
+    }
+
+    public void info(String format, Object a, Object b) {
+        publier(Niveau.INFO, format, a, b, null, null);
+    }
+
+    public void info(String format, Object a, Object b, Object c) {
+        publier(Niveau.INFO, format, a, b, c, null);
+    }
+
+    // --- AVERTISSEMENT ---
+    public void avertissement(String message) {
+        publier(Niveau.AVERTISSEMENT, message, null, null, null, null);
+    }
+
+    public void avertissement(String format, Object a) {
+        publier(Niveau.AVERTISSEMENT, format, a, null, null, null);
+    }
+
+    public void avertissement(String format, Object a, Object b) {
+        publier(Niveau.AVERTISSEMENT, format, a, b, null, null);
+    }
+
+    public void avertissement(String format, Object a, Object b, Object c) {
+        publier(Niveau.AVERTISSEMENT, format, a, b, c, null);
+    }
+
+    public void avertissement(String message, Throwable cause) {
+        publier(Niveau.AVERTISSEMENT, message, null, null, null, cause);
+    }
+
+    // --- ERREUR ---
+    public void erreur(String message) {
+        publier(Niveau.ERREUR, message, null, null, null, null);
+    }
+
+    public void erreur(String format, Object a) {
+        publier(Niveau.ERREUR, format, a, null, null, null);
+    }
+
+    public void erreur(String format, Object a, Object b) {
+        publier(Niveau.ERREUR, format, a, b, null, null);
+    }
+
+    public void erreur(String format, Object a, Object b, Object c) {
+        publier(Niveau.ERREUR, format, a, b, c, null);
+    }
+
+    public void erreur(String message, Throwable cause) {
+        publier(Niveau.ERREUR, message, null, null, null, cause);
+    }
+
+    /**
+     * Attend que les événements publiés jusqu'ici soient écrits (ou abandonnés).
+     *
+     * @param delaiMaxMillis Le délai d'attente maximal.
+     * @return true si tout a été écrit dans le délai.
+     */
+    public static boolean vider(long delaiMaxMillis) {
+        long cible = PUBLIES.get();
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delaiMaxMillis);
+        while (TRAITES.get() < cible) {
+            if (System.nanoTime() - limite > 0) {
+                return false;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void publier(Niveau niveau, String format, Object a, Object b, Object c, Throwable cause) {
+        if (niveau.ordinal() < niveauMinimal.ordinal()) {
+            return;
+        }
+        PUBLIES.incrementAndGet();
+        Evenement evenement = new Evenement(System.currentTimeMillis(), niveau, source, Thread.currentThread().getName(), format, a, b, c, cause);
+        if (!FILE.offer(evenement)) {
+            PERDUS.increment();
+            TRAITES.incrementAndGet();
+        }
+    }
+
+    // --- Thread d'écriture ---
+
+    private static void ecrire() {
+        List<Evenement> lot = new ArrayList<>(TAILLE_LOT_ECRITURE);
+        StringBuilder ligne = new StringBuilder(256);
+        long perdusSignales = 0;
+        while (true) {
+            try {
+                lot.add(FILE.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            FILE.drainTo(lot, TAILLE_LOT_ECRITURE - 1);
+            PrintStream sortie = System.out;
+            PrintStream erreurs = System.err;
+            long perdus = PERDUS.sum();
+            if (perdus > perdusSignales) {
+                erreurs.println("[journal] " + (perdus - perdusSignales) + " événement(s) perdu(s) : file pleine.");
+                perdusSignales = perdus;
+            }
+            boolean erreursEcrites = false;
+            for (Evenement evenement : lot) {
+                ligne.setLength(0);
+                try {
+                    mettreEnForme(evenement, ligne);
+                } catch (RuntimeException e) {
+                    // Un toString() défaillant ne doit pas arrêter le thread d'écriture
+                    ligne.append(evenement.source).append(" - ").append(evenement.format).append(" (mise en forme impossible : ").append(e).append(')');
+                }
+                if (evenement.niveau.ordinal() >= Niveau.AVERTISSEMENT.ordinal()) {
+                    erreurs.append(ligne).append(System.lineSeparator());
+                    erreursEcrites = true;
+                } else {
+                    sortie.append(ligne).append(System.lineSeparator());
+                }
+            }
+            sortie.flush();
+            if (erreursEcrites) {
+                erreurs.flush();
+            }
+            TRAITES.addAndGet(lot.size());
+            lot.clear();
+        }
+    }
+
+    private static void mettreEnForme(Evenement evenement, StringBuilder ligne) {
+        ligne.append(LocalDateTime.ofInstant(Instant.ofEpochMilli(evenement.horodatage), ZoneId.systemDefault()))
+                .append(' ').append(evenement.niveau)
+                .append(" [").append(evenement.thread).append("] ")
+                .append(evenement.source).append(" - ");
+        String format = evenement.format;
+        Object[] arguments = {evenement.a, evenement.b, evenement.c};
+        int argument = 0;
+        int debut = 0;
+        int position;
+        while (argument < arguments.length && (position = format.indexOf("{}", debut)) >= 0) {
+            ligne.append(format, debut, position).append(arguments[argument++]);
+            debut = position + 2;
+        }
+        ligne.append(format, debut, format.length());
+        if (evenement.cause != null) {
+            StringWriter pile = new StringWriter();
+            evenement.cause.printStackTrace(new PrintWriter(pile));
+            ligne.append(System.lineSeparator()).append(pile.toString().trim());
+        }
+    }
+
+    private static Niveau lireNiveau() {
+        String valeur = System.getProperty("banksystem.journal.niveau", "INFO");
+        try {
+            return Niveau.valueOf(valeur.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Niveau.INFO;
+        }
+    }
+
+    private static final class Evenement {
+        private final long horodatage;
+        private final Niveau niveau;
+        private final String source;
+        private final String thread;
+        private final String format;
+        private final Object a;
+        private final Object b;
+        private final Object c;
+        private final Throwable cause;
+
+        private Evenement(long horodatage, Niveau niveau, String source, String thread, String format,
+                          Object a, Object b, Object c, Throwable cause) {
+            this.horodatage = horodatage;
+            this.niveau = niveau;
+            this.source = source;
+            this.thread = thread;
+            this.format = format;
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.cause = cause;
+        }
+    }
+}
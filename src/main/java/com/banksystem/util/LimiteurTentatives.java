@@ -0,0 +1,92 @@
+// src/main/java/com/banksystem/util/LimiteurTentatives.java
+package com.banksystem.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitation du nombre de tentatives par clé (ex: email), par seau à jetons : chaque clé dispose de
+ * {@code capacite} jetons, un jeton est consommé par tentative et les jetons se reconstituent au rythme
+ * d'un par {@code intervalleRechargeMillis}. Une rafale de {@code capacite} tentatives est donc permise,
+ * puis une tentative par intervalle.
+ * <p>
+ * Les seaux pleins (clés inactives) sont retirés dès que le nombre de clés suivies dépasse
+ * {@code nombreMaxCles}, ce qui borne la mémoire face à un balayage d'emails.
+ */
+public class LimiteurTentatives {
+
+    private final int capacite;
+    private final long intervalleRechargeNanos;
+    private final int nombreMaxCles;
+    private final ConcurrentHashMap<String, Seau> seaux = new ConcurrentHashMap<>();
+
+    public LimiteurTentatives(int capacite, long intervalleRechargeMillis, int nombreMaxCles) {
+        if (capacite <= 0 || intervalleRechargeMillis <= 0 || nombreMaxCles <= 0) {
+            throw new IllegalArgumentException("La capacité, l'intervalle de recharge et le nombre de clés doivent être positifs.");
+        }
+        this.capacite = capacite;
+        this.intervalleRechargeNanos = TimeUnit.MILLISECONDS.toNanos(intervalleRechargeMillis);
+        this.nombreMaxCles = nombreMaxCles;
+    }
+
+    /**
+     * Consomme un jeton pour la clé s'il en reste.
+     *
+     * @param cle La clé (ex: email normalisé).
+     * @return true si la tentative est autorisée, false si la clé a épuisé ses jetons.
+     */
+    public boolean autoriser(String cle) {
+        long maintenant = System.nanoTime();
+        Seau seau = seaux.computeIfAbsent(cle, c -> new Seau(capacite, maintenant));
+        boolean autorise = seau.consommer(maintenant, capacite, intervalleRechargeNanos);
+        if (seaux.size() > nombreMaxCles) {
+            purger(maintenant);
+        }
+        return autorise;
+    }
+
+    /**
+     * Nombre de clés actuellement suivies.
+     */
+    public int getNombreCles() {
+        return seaux.size();
+    }
+
+    private void purger(long maintenant) {
+        // Un seau plein retiré pendant qu'un autre thread l'utilise coûte au plus une tentative non décomptée.
+        seaux.entrySet().removeIf(entree -> entree.getValue().estPlein(maintenant, capacite, intervalleRechargeNanos));
+    }
+
+    private static final class Seau {
+        private long jetons;
+        private long derniereRecharge;
+
+        private Seau(long jetons, long derniereRecharge) {
+            this.jetons = jetons;
+            this.derniereRecharge = derniereRecharge;
+        }
+
+        private synchronized boolean consommer(long maintenant, int capacite, long intervalleRechargeNanos) {
+            recharger(maintenant, capacite, intervalleRechargeNanos);
+            if (jetons == 0) {
+                return false;
+            }
+            jetons--;
+            return true;
+        }
+
+        private synchronized boolean estPlein(long maintenant, int capacite, long intervalleRechargeNanos) {
+            recharger(maintenant, capacite, intervalleRechargeNanos);
+            return jetons == capacite;
+        }
+
+        private void recharger(long maintenant, int capacite, long intervalleRechargeNanos) {
+            long gagnes = (maintenant - derniereRecharge) / intervalleRechargeNanos;
+            if (gagnes > 0) {
+                jetons = Math.min(capacite, jetons + gagnes);
+                // Le reste de l'intervalle entamé est conservé ; un seau plein repart de maintenant.
+                derniereRecharge = jetons == capacite ? maintenant : derniereRecharge + gagnes * intervalleRechargeNanos;
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+// src/main/java/com/banksystem/util/LotsJdbc.java
+package com.banksystem.util;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Exécution d'une même instruction SQL pour une liste d'éléments, par lots JDBC (addBatch/executeBatch).
+ * Avec rewriteBatchedStatements=true (voir DatabaseConnection), le pilote MySQL réécrit chaque lot
+ * d'INSERT en une seule instruction multi-lignes : un aller-retour par lot au lieu d'un par ligne.
+ */
+public final class LotsJdbc {
+
+    private static final Journal JOURNAL = Journal.pour(LotsJdbc.class);
+
+    /** Taille de lot par défaut, modifiable via -Dbanksystem.db.tailleLot. */
+    public static final int TAILLE_LOT_DEFAUT = Integer.getInteger("banksystem.db.tailleLot", 500);
+
+    private LotsJdbc() {
+    }
+
+    /**
+     * Affecte les paramètres de l'instruction pour un élément.
+     *
+     * @param <T> Le type des éléments.
+     */
+    @FunctionalInterface
+    public interface Lieur<T> {
+        void lier(PreparedStatement statement, T element) throws SQLException;
+    }
+
+    /**
+     * Exécute l'instruction pour chaque élément, par lots de tailleLot éléments.
+     * <p>
+     * Hors unité de travail, chaque lot est validé dans sa propre transaction. Un lot en échec est annulé puis
+     * ses lignes sont réécrites une à une, chacune dans sa transaction : seules les lignes refusées pour leurs
+     * données (voir {@link #erreurDeDonnees}) sont marquées en échec, les autres sont conservées.
+     * Dans une unité de travail, les lots en font partie et la première erreur est propagée
+     * (l'unité de travail englobante est alors annulée).
+     *
+     * @param sql L'instruction paramétrée (typiquement un INSERT).
+     * @param elements Les éléments à traiter.
+     * @param tailleLot Le nombre d'éléments par lot.
+     * @param lieur L'affectation des paramètres pour un élément.
+     * @return Pour chaque élément (dans l'ordre), true si sa ligne a été traitée avec succès.
+     * @throws SQLException En cas d'erreur SQL dans une unité de travail, ou d'erreur qui ne tient pas aux
+     *                      données d'une ligne (connexion perdue, serveur indisponible...).
+     */
+    public static <T> boolean[] executer(String sql, List<T> elements, int tailleLot, Lieur<T> lieur) throws SQLException {
+        return executer(sql, elements, tailleLot, lieur, false);
+    }
+
+    /**
+     * Comme {@link #executer}, mais une ligne refusée pour ses données est marquée en échec même dans une unité
+     * de travail, sans l'annuler : le lot en échec est défait jusqu'à un point de sauvegarde posé avant lui,
+     * puis ses lignes sont réécrites une à une, chacune sous son propre point de sauvegarde.
+     * Réservé aux appelants qui exploitent le résultat ligne par ligne.
+     */
+    public static <T> boolean[] executerLigneParLigne(String sql, List<T> elements, int tailleLot, Lieur<T> lieur) throws SQLException {
+        return executer(sql, elements, tailleLot, lieur, true);
+    }
+
+    /**
+     * Vrai pour une erreur due aux données d'une ligne : contrainte violée (SQLIntegrityConstraintViolationException
+     * ou classe SQLSTATE 23, ex: email déjà utilisé) ou donnée refusée (classe 22). Une erreur sans SQLSTATE
+     * (pool fermé ou saturé, attente interrompue...) n'est pas liée à la ligne et doit être propagée.
+     *
+     * @param e L'erreur levée pour une ligne.
+     * @return true si réécrire les autres lignes a un sens.
+     */
+    public static boolean erreurDeDonnees(SQLException e) {
+        String etat = e.getSQLState();
+        return e instanceof SQLIntegrityConstraintViolationException
+                || (etat != null && (etat.startsWith("23") || etat.startsWith("22")));
+    }
+
+    private static <T> boolean[] executer(String sql, List<T> elements, int tailleLot, Lieur<T> lieur, boolean ligneParLigne) throws SQLException {
+        if (tailleLot <= 0) {
+            throw new IllegalArgumentException("La taille de lot doit être positive.");
+        }
+        boolean[] resultats = new boolean[elements.size()];
+        boolean dansUniteDeTravail = UnitOfWork.estActive();
+        for (int debut = 0; debut < elements.size(); debut += tailleLot) {
+            int fin = Math.min(debut + tailleLot, elements.size());
+            List<T> lot = elements.subList(debut, fin);
+            int decalage = debut;
+            if (!dansUniteDeTravail) {
+                try {
+                    UnitOfWork.executer(() -> executerLot(sql, lot, lieur, resultats, decalage));
+                } catch (BatchUpdateException e) {
+                    // Le lot a été annulé : aucune de ses lignes n'est conservée, chacune est réécrite seule.
+                    JOURNAL.avertissement("Lot {}-{} annulé ({}), réécriture ligne par ligne.", debut, fin - 1, e.getMessage());
+                    for (int i = debut; i < fin; i++) {
+                        T element = elements.get(i);
+                        resultats[i] = ecrireLigne(() -> UnitOfWork.executer(() -> executerLigne(sql, element, lieur)));
+                    }
+                }
+            } else if (!ligneParLigne) {
+                executerLot(sql, lot, lieur, resultats, decalage);
+            } else {
+                executerLotSousPointDeSauvegarde(sql, lot, lieur, resultats, decalage);
+            }
+        }
+        return resultats;
+    }
+
+    private static <T> void executerLotSousPointDeSauvegarde(String sql, List<T> lot, Lieur<T> lieur, boolean[] resultats, int decalage) throws SQLException {
+        Connection connection = DatabaseConnection.getConnection(); // Connexion de l'unité de travail
+        Savepoint avantLot = connection.setSavepoint();
+        try {
+            executerLot(sql, lot, lieur, resultats, decalage);
+            connection.releaseSavepoint(avantLot);
+            return;
+        } catch (BatchUpdateException e) {
+            connection.rollback(avantLot);
+            JOURNAL.avertissement("Lot {}-{} défait ({}), réécriture ligne par ligne.", decalage, decalage + lot.size() - 1, e.getMessage());
+        }
+        for (int i = 0; i < lot.size(); i++) {
+            T element = lot.get(i);
+            resultats[decalage + i] = ecrireLigne(() -> {
+                Savepoint avantLigne = connection.setSavepoint();
+                try {
+                    boolean ecrite = executerLigne(sql, element, lieur);
+                    connection.releaseSavepoint(avantLigne);
+                    return ecrite;
+                } catch (SQLException e) {
+                    connection.rollback(avantLigne);
+                    throw e;
+                }
+            });
+        }
+    }
+
+    /**
+     * Écrit une ligne seule : false si elle est refusée pour ses données, l'erreur est propagée sinon.
+     */
+    private static boolean ecrireLigne(UnitOfWork.Travail<Boolean> ecriture) throws SQLException {
+        try {
+            return ecriture.executer();
+        } catch (SQLException e) {
+            if (!erreurDeDonnees(e)) {
+                throw e;
+            }
+            JOURNAL.avertissement("Ligne refusée : {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static <T> boolean executerLigne(String sql, T element, Lieur<T> lieur) throws SQLException {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            lieur.lier(statement, element);
+            return statement.executeUpdate() > 0;
+        } finally {
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+    }
+
+    private static <T> void executerLot(String sql, List<T> lot, Lieur<T> lieur, boolean[] resultats, int decalage) throws SQLException {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = DatabaseConnection.getConnection();
+            statement = connection.prepareStatement(sql);
+            for (T element : lot) {
+                lieur.lier(statement, element);
+                statement.addBatch();
+            }
+            int[] comptes = statement.executeBatch();
+            for (int i = 0; i < comptes.length; i++) {
+                // SUCCESS_NO_INFO est retourné par MySQL pour les lots réécrits en un seul INSERT multi-lignes.
+                resultats[decalage + i] = comptes[i] > 0 || comptes[i] == Statement.SUCCESS_NO_INFO;
+            }
+        } finally {
+            if (statement != null) {
+                statement.close();
+            }
+            DatabaseConnection.closeConnection(connection);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+// src/main/java/com/banksystem/util/Montant.java
+package com.banksystem.util;
+
+/**
+ * Arithmétique monétaire exacte sur des montants en centimes stockés dans un long.
+ * <p>
+ * Les montants ne sont jamais représentés en double dans le modèle ni en base : un double ne sait pas
+ * représenter exactement 0.10 EUR, les soldes dérivent et les comparaisons (solde == 0) deviennent
+ * peu fiables. Un long de centimes est exact jusqu'à ±92 233 720 368 547 758,07 EUR et ne demande
+ * aucune allocation, contrairement à BigDecimal. Les opérations détectent les dépassements.
+ */
+public final class Montant {
+
+    public static final int CENTIMES_PAR_EURO = 100;
+
+    private Montant() {
+    }
+
+    /**
+     * Convertit un montant en euros (saisie utilisateur, API existante) en centimes, arrondi au centime le plus proche.
+     * À n'utiliser qu'aux frontières de l'application : toute l'arithmétique interne se fait en centimes.
+     *
+     * @param euros Le montant en euros.
+     * @return Le montant en centimes.
+     * @throws IllegalArgumentException Si le montant n'est pas fini ou dépasse la capacité d'un long.
+     */
+    public static long deEuros(double euros) {
+        if (Double.isNaN(euros) || Double.isInfinite(euros) || Math.abs(euros) >= Long.MAX_VALUE / (double) CENTIMES_PAR_EURO) {
+            throw new IllegalArgumentException("Montant invalide : " + euros);
+        }
+        return Math.round(euros * CENTIMES_PAR_EURO);
+    }
+
+    /**
+     * Convertit des centimes en euros, pour l'affichage ou les calculs non monétaires (ex: taux).
+     *
+     * @param centimes Le montant en centimes.
+     * @return Le montant en euros (approché).
+     */
+    public static double enEuros(long centimes) {
+        return centimes / (double) CENTIMES_PAR_EURO;
+    }
+
+    /**
+     * Lit un montant décimal exact (ex: "-1234.5", "0.07") et le convertit en centimes.
+     *
+     * @param texte Le montant, avec au plus deux décimales et '.' comme séparateur.
+     * @return Le montant en centimes.
+     * @throws IllegalArgumentException Si le texte n'est pas un montant valide.
+     */
+    public static long parser(String texte) {
+        if (texte == null || texte.isEmpty()) {
+            throw new IllegalArgumentException("Montant vide.");
+        }
+        int i = 0;
+        boolean negatif = false;
+        if (texte.charAt(0) == '-' || texte.charAt(0) == '+') {
+            negatif = texte.charAt(0) == '-';
+            i++;
+        }
+        long unites = 0;
+        int chiffres = 0;
+        for (; i < texte.length() && texte.charAt(i) != '.'; i++, chiffres++) {
+            unites = Math.addExact(Math.multiplyExact(unites, 10), chiffre(texte, i));
+        }
+        long centimes = 0;
+        if (i < texte.length()) { // Partie décimale
+            int decimales = 0;
+            for (i++; i < texte.length(); i++, decimales++, chiffres++) {
+                if (decimales == 2) {
+                    throw new IllegalArgumentException("Montant avec plus de deux décimales : " + texte);
+                }
+                centimes = centimes * 10 + chiffre(texte, i);
+            }
+            if (decimales == 1) {
+                centimes *= 10;
+            }
+        }
+        if (chiffres == 0) {
+            throw new IllegalArgumentException("Montant invalide : " + texte);
+        }
+        long total = Math.addExact(Math.multiplyExact(unites, CENTIMES_PAR_EURO), centimes);
+        return negatif ? -total : total;
+    }
+
+    private static int chiffre(String texte, int position) {
+        char c = texte.charAt(position);
+        if (c < '0' || c > '9') {
+            throw new IllegalArgumentException("Montant invalide : " + texte);
+        }
+        return c - '0';
+    }
+
+    /**
+     * Formate un montant en centimes avec exactement deux décimales (ex: 12345 -> "123.45", -5 -> "-0.05").
+     *
+     * @param centimes Le montant en centimes.
+     * @return Le montant formaté.
+     */
+    public static String formater(long centimes) {
+        if (centimes == Long.MIN_VALUE) {
+            return "-92233720368547758.08"; // Math.abs(Long.MIN_VALUE) dépasse la capacité d'un long
+        }
+        StringBuilder sb = new StringBuilder(24);
+        long valeurAbsolue = Math.abs(centimes);
+        if (centimes < 0) {
+            sb.append('-');
+        }
+        long reste = valeurAbsolue % CENTIMES_PAR_EURO;
+        sb.append(valeurAbsolue / CENTIMES_PAR_EURO).append('.');
+        if (reste < 10) {
+            sb.append('0');
+        }
+        return sb.append(reste).toString();
+    }
+
+    public static long ajouter(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long soustraire(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * Applique un taux en pourcentage à un montant, divisé par un nombre de périodes, avec arrondi
+     * au centime le plus proche (ex: intérêts mensuels d'un taux annuel : appliquerTaux(solde, 1.5, 12)).
+     *
+     * @param centimes Le montant de base en centimes.
+     * @param tauxPourcent Le taux en pourcentage.
+     * @param periodes Le diviseur (1 pour le taux plein).
+     * @return Le résultat en centimes.
+     */
+    public static long appliquerTaux(long centimes, double tauxPourcent, int periodes) {
+        return Math.round(centimes * (tauxPourcent / 100.0) / periodes);
+    }
+}
@@ -0,0 +1,143 @@
+// src/main/java/com/banksystem/util/PoolMetrics.java
+package com.banksystem.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs du pool de connexions : connexions actives/inactives, threads en attente,
+ * et histogramme des temps d'attente lors de l'emprunt d'une connexion.
+ */
+public class PoolMetrics {
+
+    // Bornes supérieures (en microsecondes) des classes de l'histogramme ; la dernière classe est ouverte.
+    private static final long[] BORNES_ATTENTE_MICROS = {100, 1_000, 5_000, 10_000, 50_000, 100_000, 500_000, 1_000_000};
+
+    private final LongAdder[] histogrammeAttente = new LongAdder[BORNES_ATTENTE_MICROS.length + 1];
+    private final LongAdder emprunts = new LongAdder();
+    private final LongAdder expirationsEmprunt = new LongAdder();
+    private final LongAdder connexionsCreees = new LongAdder();
+    private final LongAdder connexionsDetruites = new LongAdder();
+    private final LongAdder validationsEchouees = new LongAdder();
+    private final LongAdder fuitesDetectees = new LongAdder();
+
+    private final ConnectionPool pool;
+
+    PoolMetrics(ConnectionPool pool) {
+        this.pool = pool;
+        for (int i = 0; i < histogrammeAttente.length; i++) {
+            histogrammeAttente[i] = new LongAdder();
+        }
+    }
+
+    void enregistrerAttente(long attenteNanos) {
+        emprunts.increment();
+        long micros = TimeUnit.NANOSECONDS.toMicros(attenteNanos);
+        int classe = 0;
+        while (classe < BORNES_ATTENTE_MICROS.length && micros >= BORNES_ATTENTE_MICROS[classe]) {
+            classe++;
+        }
+        histogrammeAttente[classe].increment();
+    }
+
+    void enregistrerExpirationEmprunt() {
+        expirationsEmprunt.increment();
+    }
+
+    void enregistrerCreation() {
+        connexionsCreees.increment();
+    }
+
+    void enregistrerDestruction() {
+        connexionsDetruites.increment();
+    }
+
+    void enregistrerValidationEchouee() {
+        validationsEchouees.increment();
+    }
+
+    void enregistrerFuite() {
+        fuitesDetectees.increment();
+    }
+
+    // --- Getters ---
+    public int getConnexionsActives() {
+        return pool.getNombreActives();
+    }
+
+    public int getConnexionsInactives() {
+        return pool.getNombreInactives();
+    }
+
+    public int getThreadsEnAttente() {
+        return pool.getNombreEnAttente();
+    }
+
+    public long getEmprunts() {
+        return emprunts.sum();
+    }
+
+    public long getExpirationsEmprunt() {
+        return expirationsEmprunt.sum();
+    }
+
+    public long getConnexionsCreees() {
+        return connexionsCreees.sum();
+    }
+
+    public long getConnexionsDetruites() {
+        return connexionsDetruites.sum();
+    }
+
+    public long getValidationsEchouees() {
+        return validationsEchouees.sum();
+    }
+
+    public long getFuitesDetectees() {
+        return fuitesDetectees.sum();
+    }
+
+    /**
+     * Retourne une copie de l'histogramme des temps d'attente à l'emprunt.
+     * La case i compte les emprunts dont l'attente est inférieure à getBornesAttenteMicros()[i]
+     * (et supérieure ou égale à la borne précédente) ; la dernière case compte le reste.
+     *
+     * @return Le nombre d'emprunts par classe de temps d'attente.
+     */
+    public long[] getHistogrammeAttente() {
+        long[] copie = new long[histogrammeAttente.length];
+        for (int i = 0; i < copie.length; i++) {
+            copie[i] = histogrammeAttente[i].sum();
+        }
+        return copie;
+    }
+
+    public long[] getBornesAttenteMicros() {
+        return BORNES_ATTENTE_MICROS.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder histogramme = new StringBuilder();
+        long[] valeurs = getHistogrammeAttente();
+        for (int i = 0; i < valeurs.length; i++) {
+            histogramme.append(i < BORNES_ATTENTE_MICROS.length ? "<" + BORNES_ATTENTE_MICROS[i] + "us" : ">=" + BORNES_ATTENTE_MICROS[BORNES_ATTENTE_MICROS.length - 1] + "us")
+                    .append('=').append(valeurs[i]);
+            if (i < valeurs.length - 1) {
+                histogramme.append(", ");
+            }
+        }
+        return "PoolMetrics{" +
+                "actives=" + getConnexionsActives() +
+                ", inactives=" + getConnexionsInactives() +
+                ", enAttente=" + getThreadsEnAttente() +
+                ", emprunts=" + getEmprunts() +
+                ", expirations=" + getExpirationsEmprunt() +
+                ", creees=" + getConnexionsCreees() +
+                ", detruites=" + getConnexionsDetruites() +
+                ", validationsEchouees=" + getValidationsEchouees() +
+                ", fuites=" + getFuitesDetectees() +
+                ", attente=[" + histogramme + "]" +
+                '}';
+    }
+}
@@ -0,0 +1,240 @@
+// src/main/java/com/banksystem/util/UnitOfWork.java
+package com.banksystem.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unité de travail liée au thread courant : toutes les méthodes DAO appelées pendant
+ * {@link #executer(Travail)} partagent la même connexion et la même transaction SQL.
+ * La connexion n'est empruntée au pool qu'au premier accès, puis validée (commit) à la fin
+ * du travail, ou annulée (rollback) si une exception est levée.
+ */
+public final class UnitOfWork {
+
+    private static final Journal JOURNAL = Journal.pour(UnitOfWork.class);
+    private static final ThreadLocal<Contexte> COURANT = new ThreadLocal<>();
+
+    private UnitOfWork() {
+    }
+
+    /**
+     * Travail exécuté dans une unité de travail.
+     *
+     * @param <T> Le type du résultat.
+     */
+    @FunctionalInterface
+    public interface Travail<T> {
+        T executer() throws SQLException;
+    }
+
+    /**
+     * Travail sans résultat exécuté dans une unité de travail.
+     */
+    @FunctionalInterface
+    public interface Action {
+        void executer() throws SQLException;
+    }
+
+    /**
+     * Exécute un travail dans une transaction SQL unique.
+     * Si une unité de travail est déjà active sur ce thread, le travail y participe
+     * (la validation reste à la charge de l'unité englobante).
+     *
+     * @param travail Le travail à exécuter.
+     * @return Le résultat du travail.
+     * @throws SQLException En cas d'erreur SQL (la transaction est alors annulée).
+     */
+    public static <T> T executer(Travail<T> travail) throws SQLException {
+        if (COURANT.get() != null) {
+            return travail.executer();
+        }
+        Contexte contexte = new Contexte();
+        COURANT.set(contexte);
+        T resultat;
+        try {
+            resultat = travail.executer();
+            contexte.valider();
+        } catch (SQLException | RuntimeException | Error e) {
+            contexte.annuler(e);
+            throw e;
+        } finally {
+            COURANT.remove();
+            contexte.liberer();
+        }
+        contexte.executerApresValidation();
+        return resultat;
+    }
+
+    /**
+     * Variante de {@link #executer(Travail)} pour un travail sans résultat.
+     *
+     * @param action L'action à exécuter.
+     * @throws SQLException En cas d'erreur SQL (la transaction est alors annulée).
+     */
+    public static void executer(Action action) throws SQLException {
+        executer(() -> {
+            action.executer();
+            return null;
+        });
+    }
+
+    /**
+     * Indique si une unité de travail est active sur le thread courant.
+     *
+     * @return true si une unité de travail est active.
+     */
+    public static boolean estActive() {
+        return COURANT.get() != null;
+    }
+
+    /**
+     * Planifie une action à exécuter une fois l'unité de travail courante validée (jamais en cas d'annulation),
+     * ou immédiatement si aucune unité de travail n'est active. Sert par exemple à invalider un cache
+     * seulement lorsque les nouvelles valeurs sont visibles par les autres connexions.
+     *
+     * @param action L'action à exécuter après le commit.
+     */
+    public static void apresValidation(Runnable action) {
+        Contexte contexte = COURANT.get();
+        if (contexte != null) {
+            contexte.actionsApresValidation.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Planifie une action de compensation à exécuter si l'unité de travail courante est annulée
+     * (jamais en cas de validation). Les actions sont exécutées dans l'ordre inverse de leur enregistrement.
+     * Sert aux stockages sans transaction SQL (moteur en mémoire) pour défaire leurs écritures ;
+     * hors unité de travail, l'écriture est définitive et l'action est ignorée.
+     *
+     * @param action L'action qui défait une écriture.
+     */
+    public static void siAnnulation(Runnable action) {
+        Contexte contexte = COURANT.get();
+        if (contexte != null) {
+            contexte.actionsSiAnnulation.add(action);
+        }
+    }
+
+    /**
+     * Retourne la connexion de l'unité de travail courante, ou null si aucune n'est active.
+     * La connexion retournée ignore close() : elle est rendue au pool à la fin de l'unité de travail.
+     */
+    static Connection connexionCourante() throws SQLException {
+        Contexte contexte = COURANT.get();
+        return contexte != null ? contexte.connexion() : null;
+    }
+
+    /**
+     * État d'une unité de travail : connexion empruntée paresseusement et sa vue "non fermante".
+     */
+    private static final class Contexte {
+        private Connection connexion;
+        private Connection vue;
+        private final List<Runnable> actionsApresValidation = new ArrayList<>();
+        private final List<Runnable> actionsSiAnnulation = new ArrayList<>();
+
+        private Connection connexion() throws SQLException {
+            if (connexion == null) {
+                Connection nouvelle = DatabaseConnection.emprunterAuPool();
+                try {
+                    nouvelle.setAutoCommit(false);
+                } catch (SQLException e) {
+                    DatabaseConnection.closeConnection(nouvelle);
+                    throw e;
+                }
+                connexion = nouvelle;
+                vue = creerVueNonFermante(nouvelle);
+            }
+            return vue;
+        }
+
+        private void valider() throws SQLException {
+            if (connexion != null) {
+                connexion.commit();
+            }
+        }
+
+        private void executerApresValidation() {
+            for (Runnable action : actionsApresValidation) {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    // La transaction est déjà validée : une action annexe ne doit pas la faire paraître en échec.
+                    JOURNAL.erreur("Erreur dans une action après validation", e);
+                }
+            }
+        }
+
+        private void annuler(Throwable cause) {
+            if (connexion != null) {
+                try {
+                    connexion.rollback();
+                } catch (SQLException rollbackEx) {
+                    cause.addSuppressed(rollbackEx);
+                    JOURNAL.erreur("Erreur lors de l'annulation de la transaction : {}", rollbackEx.getMessage());
+                }
+            }
+            for (int i = actionsSiAnnulation.size() - 1; i >= 0; i--) {
+                try {
+                    actionsSiAnnulation.get(i).run();
+                } catch (RuntimeException e) {
+                    cause.addSuppressed(e);
+                    JOURNAL.erreur("Erreur dans une action de compensation", e);
+                }
+            }
+        }
+
+        private void liberer() {
+            if (connexion != null) {
+                // Le pool rétablit l'auto-commit lorsque la connexion lui est rendue.
+                DatabaseConnection.closeConnection(connexion);
+                connexion = null;
+                vue = null;
+            }
+        }
+
+        private static Connection creerVueNonFermante(Connection connexion) {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                return null; // La fermeture est gérée par l'unité de travail
+                            case "rollback":
+                                if (args != null && args.length == 1) {
+                                    // Retour à un point de sauvegarde : la transaction de l'unité continue
+                                    return invoquer(connexion, method, args);
+                                }
+                                throw new SQLException("La transaction est gérée par UnitOfWork ; rollback() n'est pas autorisé ici.");
+                            case "commit":
+                            case "setAutoCommit":
+                                throw new SQLException("La transaction est gérée par UnitOfWork ; " + method.getName() + "() n'est pas autorisé ici.");
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                return invoquer(connexion, method, args);
+                        }
+                    });
+        }
+
+        private static Object invoquer(Connection connexion, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(connexion, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+// src/main/java/com/banksystem/util/VerrousComptes.java
+package com.banksystem.util;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verrous par compte, répartis en bandes : un numéro de compte est associé à l'une des N bandes
+ * (-Dbanksystem.verrous.bandes, arrondi à une puissance de deux, 1024 par défaut) et toutes les opérations
+ * sur un même compte s'exécutent l'une après l'autre dans la JVM.
+ * <p>
+ * Le verrou est pris avant l'unité de travail : un thread qui attend un compte occupé n'a encore emprunté
+ * aucune connexion, au lieu d'en immobiliser une en attendant le verrou de ligne de la base.
+ * Pour un virement, les deux bandes sont toujours prises dans l'ordre croissant de leur indice (une seule
+ * fois si les deux comptes tombent dans la même bande) : deux virements croisés ne peuvent pas s'interbloquer.
+ * <p>
+ * Les verrous sont réentrants ; un travail exécuté sous verrou peut donc appeler une autre opération
+ * verrouillée sur le même compte.
+ */
+public final class VerrousComptes {
+
+    private static final int NOMBRE_BANDES = puissanceDeDeux(Integer.getInteger("banksystem.verrous.bandes", 1_024));
+    private static final long DELAI_ATTENTE_MS = Long.getLong("banksystem.verrous.delaiAttenteMs", 10_000L);
+
+    private static final ReentrantLock[] BANDES = new ReentrantLock[NOMBRE_BANDES];
+    private static final VerrousMetrics METRIQUES = new VerrousMetrics(NOMBRE_BANDES);
+
+    static {
+        for (int i = 0; i < BANDES.length; i++) {
+            BANDES[i] = new ReentrantLock();
+        }
+    }
+
+    private VerrousComptes() {
+    }
+
+    /**
+     * Exécute un travail en détenant le verrou d'un compte.
+     *
+     * @param numeroCompte Le numéro du compte.
+     * @param travail Le travail à exécuter (typiquement une unité de travail complète, commit compris).
+     * @return Le résultat du travail.
+     * @throws SQLTimeoutException Si le verrou n'a pas pu être obtenu dans le délai (-Dbanksystem.verrous.delaiAttenteMs).
+     * @throws SQLException En cas d'erreur SQL dans le travail.
+     */
+    public static <T> T executer(String numeroCompte, UnitOfWork.Travail<T> travail) throws SQLException {
+        ReentrantLock verrou = BANDES[bande(numeroCompte)];
+        acquerir(verrou, numeroCompte);
+        try {
+            return travail.executer();
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    /**
+     * Exécute un travail en détenant les verrous de deux comptes, acquis dans un ordre global fixe.
+     *
+     * @param numeroCompteA Le numéro du premier compte.
+     * @param numeroCompteB Le numéro du second compte.
+     * @param travail Le travail à exécuter.
+     * @return Le résultat du travail.
+     * @throws SQLTimeoutException Si un verrou n'a pas pu être obtenu dans le délai.
+     * @throws SQLException En cas d'erreur SQL dans le travail.
+     */
+    public static <T> T executer(String numeroCompteA, String numeroCompteB, UnitOfWork.Travail<T> travail) throws SQLException {
+        int bandeA = bande(numeroCompteA);
+        int bandeB = bande(numeroCompteB);
+        if (bandeA == bandeB) {
+            return executer(numeroCompteA, travail);
+        }
+        ReentrantLock premier = BANDES[Math.min(bandeA, bandeB)];
+        ReentrantLock second = BANDES[Math.max(bandeA, bandeB)];
+        acquerir(premier, bandeA < bandeB ? numeroCompteA : numeroCompteB);
+        try {
+            acquerir(second, bandeA < bandeB ? numeroCompteB : numeroCompteA);
+            try {
+                return travail.executer();
+            } finally {
+                second.unlock();
+            }
+        } finally {
+            premier.unlock();
+        }
+    }
+
+    /**
+     * Retourne les compteurs des verrous (acquisitions, attentes, expirations).
+     *
+     * @return Les métriques des verrous de comptes.
+     */
+    public static VerrousMetrics getMetriques() {
+        return METRIQUES;
+    }
+
+    private static void acquerir(ReentrantLock verrou, String numeroCompte) throws SQLException {
+        if (verrou.tryLock()) {
+            METRIQUES.enregistrerAcquisitionImmediate();
+            return;
+        }
+        long debut = System.nanoTime();
+        boolean obtenu;
+        try {
+            obtenu = verrou.tryLock(DELAI_ATTENTE_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompu en attendant le verrou du compte " + numeroCompte + ".", e);
+        }
+        if (!obtenu) {
+            METRIQUES.enregistrerExpiration();
+            throw new SQLTimeoutException("Délai dépassé (" + DELAI_ATTENTE_MS + " ms) en attendant le verrou du compte " + numeroCompte + ".");
+        }
+        METRIQUES.enregistrerAttente(System.nanoTime() - debut);
+    }
+
+    private static int bande(String numeroCompte) {
+        int h = numeroCompte.hashCode();
+        return (h ^ (h >>> 16)) & (NOMBRE_BANDES - 1); // Mélange des bits de poids fort, comme HashMap
+    }
+
+    private static int puissanceDeDeux(int valeur) {
+        if (valeur <= 1) {
+            return 1;
+        }
+        return Math.min(Integer.highestOneBit(valeur - 1) << 1, 1 << 16);
+    }
+}
@@ -0,0 +1,122 @@
+// src/main/java/com/banksystem/util/VerrousMetrics.java
+package com.banksystem.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs des verrous de comptes ({@link VerrousComptes}) : acquisitions, acquisitions qui ont dû attendre,
+ * expirations, temps d'attente cumulé et maximal, et histogramme des temps d'attente.
+ */
+public class VerrousMetrics {
+
+    // Bornes supérieures (en microsecondes) des classes de l'histogramme ; la dernière classe est ouverte.
+    private static final long[] BORNES_ATTENTE_MICROS = {10, 100, 1_000, 5_000, 10_000, 50_000, 100_000, 1_000_000};
+
+    private final LongAdder[] histogrammeAttente = new LongAdder[BORNES_ATTENTE_MICROS.length + 1];
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder acquisitionsContestees = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder attenteTotaleNanos = new LongAdder();
+    private final LongAccumulator attenteMaxNanos = new LongAccumulator(Math::max, 0);
+
+    private final int nombreBandes;
+
+    VerrousMetrics(int nombreBandes) {
+        this.nombreBandes = nombreBandes;
+        for (int i = 0; i < histogrammeAttente.length; i++) {
+            histogrammeAttente[i] = new LongAdder();
+        }
+    }
+
+    void enregistrerAcquisitionImmediate() {
+        acquisitions.increment();
+    }
+
+    void enregistrerAttente(long attenteNanos) {
+        acquisitions.increment();
+        acquisitionsContestees.increment();
+        attenteTotaleNanos.add(attenteNanos);
+        attenteMaxNanos.accumulate(attenteNanos);
+        long micros = TimeUnit.NANOSECONDS.toMicros(attenteNanos);
+        int classe = 0;
+        while (classe < BORNES_ATTENTE_MICROS.length && micros >= BORNES_ATTENTE_MICROS[classe]) {
+            classe++;
+        }
+        histogrammeAttente[classe].increment();
+    }
+
+    void enregistrerExpiration() {
+        expirations.increment();
+    }
+
+    // --- Getters ---
+    public int getNombreBandes() {
+        return nombreBandes;
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    /**
+     * Nombre d'acquisitions qui n'ont pas obtenu le verrou immédiatement.
+     */
+    public long getAcquisitionsContestees() {
+        return acquisitionsContestees.sum();
+    }
+
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    public long getAttenteTotaleNanos() {
+        return attenteTotaleNanos.sum();
+    }
+
+    public long getAttenteMaxNanos() {
+        return attenteMaxNanos.get();
+    }
+
+    /**
+     * Retourne une copie de l'histogramme des temps d'attente des acquisitions contestées.
+     * La case i compte les attentes inférieures à getBornesAttenteMicros()[i] (et supérieures ou égales
+     * à la borne précédente) ; la dernière case compte le reste.
+     *
+     * @return Le nombre d'acquisitions contestées par classe de temps d'attente.
+     */
+    public long[] getHistogrammeAttente() {
+        long[] copie = new long[histogrammeAttente.length];
+        for (int i = 0; i < copie.length; i++) {
+            copie[i] = histogrammeAttente[i].sum();
+        }
+        return copie;
+    }
+
+    public long[] getBornesAttenteMicros() {
+        return BORNES_ATTENTE_MICROS.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder histogramme = new StringBuilder();
+        long[] valeurs = getHistogrammeAttente();
+        for (int i = 0; i < valeurs.length; i++) {
+            histogramme.append(i < BORNES_ATTENTE_MICROS.length ? "<" + BORNES_ATTENTE_MICROS[i] + "us" : ">=" + BORNES_ATTENTE_MICROS[BORNES_ATTENTE_MICROS.length - 1] + "us")
+                    .append('=').append(valeurs[i]);
+            if (i < valeurs.length - 1) {
+                histogramme.append(", ");
+            }
+        }
+        return "VerrousMetrics{" +
+                "bandes=" + nombreBandes +
+                ", acquisitions=" + getAcquisitions() +
+                ", contestees=" + getAcquisitionsContestees() +
+                ", expirations=" + getExpirations() +
+                ", attenteTotaleMs=" + TimeUnit.NANOSECONDS.toMillis(getAttenteTotaleNanos()) +
+                ", attenteMaxUs=" + TimeUnit.NANOSECONDS.toMicros(getAttenteMaxNanos()) +
+                ", attente=[" + histogramme + "]" +
+                '}';
+    }
+}